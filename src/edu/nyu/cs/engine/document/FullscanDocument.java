@@ -21,8 +21,8 @@ public class FullscanDocument extends SearchDocument {
     private static final long serialVersionUID = 1819751558060838909L;
     
     private final FullscanIndexer indexer;
-    private final List<Integer> titleTokens;
-    private final List<Integer> bodyTokens;
+    private final int[] titleTokens;
+    private final int[] bodyTokens;
     
     /**
      * Initializes a newly created {@code FullscanDocument} object with given values and default document url, 
@@ -32,15 +32,15 @@ public class FullscanDocument extends SearchDocument {
      * @param id the document id
      * @param title the document title
      * @param indexer the fullscan indexer
-     * @param titleTokens the list of index points to the document title tokens
-     * @param bodyTokens the list of index points to the document body tokens
+     * @param titleTokens the array of index points to the document title tokens
+     * @param bodyTokens the array of index points to the document body tokens
      */
     public FullscanDocument(
             int id, 
             String title,
             FullscanIndexer indexer,
-            List<Integer> titleTokens,
-            List<Integer> bodyTokens) {
+            int[] titleTokens,
+            int[] bodyTokens) {
         super(id, title);
         this.indexer = indexer;
         this.titleTokens = titleTokens;
@@ -57,8 +57,8 @@ public class FullscanDocument extends SearchDocument {
      * @param pageRank the document page rank
      * @param numberOfViews the document number of views
      * @param indexer the fullscan indexer
-     * @param titleTokens the list of index points to the document title tokens
-     * @param bodyTokens the list of index points to the document body tokens
+     * @param titleTokens the array of index points to the document title tokens
+     * @param bodyTokens the array of index points to the document body tokens
      */
     public FullscanDocument(
             int id,
@@ -67,8 +67,8 @@ public class FullscanDocument extends SearchDocument {
             float pageRank,
             int numberOfViews,
             FullscanIndexer indexer,
-            List<Integer> titleTokens,
-            List<Integer> bodyTokens) {
+            int[] titleTokens,
+            int[] bodyTokens) {
         super(id, title, url, pageRank, numberOfViews);
         this.indexer = indexer;
         this.titleTokens = titleTokens;
@@ -76,29 +76,25 @@ public class FullscanDocument extends SearchDocument {
     }
 
     /**
-     * Returns an unmodifiable view of the title tokens index list. This method allows modules to provide users 
-     * with "read-only" access to internal lists. Query operations on the returned list "read through" to the 
-     * specified list, and attempts to modify the returned list, whether direct or via its iterator, result 
-     * in an {@link java.lang.UnsupportedOperationException}.
+     * Returns the title tokens index array. The internal array is returned without copying so that rankers 
+     * could scan it without allocation, thus callers must not modify it.
      * <p>
-     * @return an unmodifiable view of the specified list. If no tokens in document title have been collected, 
-     * returns an empty list
+     * @return the title tokens index array. If no tokens in document title have been collected, returns an 
+     * empty array
      */
-    public List<Integer> getTitleTokens() {
-        return Collections.unmodifiableList(titleTokens);
+    public int[] getTitleTokens() {
+        return titleTokens;
     }
 
     /**
-     * Returns an unmodifiable view of the body tokens index list. This method allows modules to provide users 
-     * with "read-only" access to internal lists. Query operations on the returned list "read through" to the 
-     * specified list, and attempts to modify the returned list, whether direct or via its iterator, result 
-     * in an {@link java.lang.UnsupportedOperationException}.
+     * Returns the body tokens index array. The internal array is returned without copying so that rankers 
+     * could scan it without allocation, thus callers must not modify it.
      * <p>
-     * @return an unmodifiable view of the specified list. If no tokens in document body have been collected, 
-     * returns an empty list
+     * @return the body tokens index array. If no tokens in document body have been collected, returns an 
+     * empty array
      */
-    public List<Integer> getBodyTokens() {
-        return Collections.unmodifiableList(bodyTokens);
+    public int[] getBodyTokens() {
+        return bodyTokens;
     }
     
     /**
@@ -0,0 +1,25 @@
+package edu.nyu.cs.engine.exception;
+
+import java.io.IOException;
+
+/**
+ * @author shenli
+ * <p>
+ * Thrown to indicate that a search index file is damaged, truncated or was not written by a compatible 
+ * search indexer.
+ */
+public class CorruptIndexException extends IOException {
+    private static final long serialVersionUID = 5381229861390541723L;
+
+    /**
+     * Create a new {@code CorruptIndexException} with the index file {@code path} and the {@code reason} 
+     * specified as an error message.
+     * <p>
+     * @param path the index file path
+     * @param reason the corruption reason
+     */
+    public CorruptIndexException(String path, String reason) {
+        super("Corrupt index file " + path + ": " + reason);
+    }
+    
+}
@@ -0,0 +1,839 @@
+package edu.nyu.cs.engine.index;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import edu.nyu.cs.engine.document.SearchDocument;
+import edu.nyu.cs.engine.exception.CorruptIndexException;
+import edu.nyu.cs.engine.exception.IllegalSearchEngineConfigurationException;
+import edu.nyu.cs.engine.index.build.BatchProcessor;
+import edu.nyu.cs.engine.index.build.DocumentBatch;
+import edu.nyu.cs.engine.index.build.IndexingPipeline;
+import edu.nyu.cs.engine.index.build.RenumberingPostingsWriter;
+import edu.nyu.cs.engine.index.build.SpimiInverter;
+import edu.nyu.cs.engine.index.io.DocumentTable;
+import edu.nyu.cs.engine.index.io.DocumentTableWriter;
+import edu.nyu.cs.engine.index.io.DocumentValues;
+import edu.nyu.cs.engine.index.io.IndexFileReader;
+import edu.nyu.cs.engine.index.io.IndexFileWriter;
+import edu.nyu.cs.engine.index.io.IndexSection;
+import edu.nyu.cs.engine.index.io.PostingsWriter;
+import edu.nyu.cs.engine.index.io.TermDictionary;
+import edu.nyu.cs.engine.index.io.TermDictionaryBuilder;
+import edu.nyu.cs.engine.index.postings.BlockBoundsCursor;
+import edu.nyu.cs.engine.index.postings.ConjunctionCursor;
+import edu.nyu.cs.engine.index.postings.PositionalPostingsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsBuilder;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
+import edu.nyu.cs.engine.index.utils.DocumentOrder;
+import edu.nyu.cs.engine.index.utils.IndexLoadMode;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+import edu.nyu.cs.engine.index.utils.Tokenizer;
+import edu.nyu.cs.engine.query.SearchQuery;
+import edu.nyu.cs.engine.query.impl.PhraseQuery;
+import edu.nyu.cs.engine.query.impl.WordQuery;
+import edu.nyu.cs.engine.server.ServerOption;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code InvertedIndexer} abstract class represents a skeletal implementation of the inverted search 
+ * indexers, which map each term to the sorted list of documents it appears in. It provides the corpus 
+ * processing, the term dictionary, the term statistics as well as the document-at-a-time 
+ * {@link #nextDocument(SearchQuery, int)} logic, so that concrete indexers only need to decide how the 
+ * postings lists are stored.
+ * <p>
+ * To implement a specific inverted indexer type, the programmer needs to extend this abstract class and 
+ * provides concrete implementation for {@link #getIndexerType()}, {@link #isPositional()}, 
+ * {@link #newPostingsWriter(IndexFileWriter)}, {@link #readPostings(ByteBuffer)} and 
+ * {@link #getPostingsCursor(int)}.
+ * <p>
+ * The postings lists are built with single-pass in-memory indexing by a 
+ * {@link edu.nyu.cs.engine.index.build.SpimiInverter}. When the {@code indexer_memory_mb} option is set, the 
+ * accumulated postings are flushed to sorted runs on disk whenever they exceed the budget, and the runs are 
+ * merged while the postings section is written, so the corpus size is not bounded by the heap size.
+ * <p>
+ * When the {@code document_order} option is {@code quality}, document ids are assigned in descending order of 
+ * the number of views once the corpus is processed, and the postings lists are renumbered by a 
+ * {@link edu.nyu.cs.engine.index.build.RenumberingPostingsWriter} as they are written. Every postings list is 
+ * then traversed best documents first, and {@link #getMaxNumberOfViews(int)} shrinks along it, so rankers 
+ * scoring the number of views could stop as soon as no remaining document could enter the results. The 
+ * documents are held in memory until the corpus is processed in this mode.
+ * <p>
+ * The index file holds the dictionary, statistics, documents, postings, norms, document values, bounds and 
+ * block bounds sections described in {@link edu.nyu.cs.engine.index.io.IndexFile}. The norms section holds the 
+ * L2 norm of the tf-idf vector of every document, with term weight {@code tf * log(N / df)}, which is 
+ * accumulated while the postings are written, and the 
+ * {@linkplain edu.nyu.cs.engine.index.io.DocumentValues document values} section holds the number of views, 
+ * page rank and number of tokens of every document in fixed-width columns, so that rankers never need to read 
+ * the tokens or the metadata record of a document at query time. The bounds section holds the maximum 
+ * frequency and normalized frequency of every term, from which dynamic pruning rankers derive the maximum score 
+ * of each query term, and the block bounds section holds the same maxima for every block of postings. The 
+ * layout of the postings section is owned by the concrete indexer. The dictionary, documents and postings are 
+ * read directly from the section buffers, which are memory-mapped when the {@code index_load_mode} option is 
+ * {@code mmap}.
+ * <p>
+ * Note: {@code InvertedIndexer} objects are mutable during indexing and effectively immutable once loaded. 
+ * The cursors returned by {@link #getPostingsCursor(int)} are not thread-safe, but each search query could 
+ * obtain its own cursors concurrently.
+ */
+public abstract class InvertedIndexer extends SearchIndexer {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.index.InvertedIndexer");
+    
+    /**
+     * The number of positions skipped between the last title token and the first body token of a document, so 
+     * that no phrase is matched across the two fields.
+     */
+    public static final int FIELD_POSITION_GAP = 1;
+    
+    protected TermDictionary dictionary = TermDictionary.EMPTY;
+    protected int[] termFrequency = new int[0];
+    protected int[] documentFrequency = new int[0];
+    protected DocumentTable documentTable = null;
+    protected FloatBuffer documentNorms = FloatBuffer.allocate(0);
+    protected DocumentValues documentValues = DocumentValues.EMPTY;
+    protected int minDocumentLength = 0;
+    protected int maxNumberOfViews = 0;
+    protected DocumentOrder documentOrder = DocumentOrder.CORPUS;
+    protected int[] maxTermFrequency = new int[0];
+    protected FloatBuffer maxNormalizedTermFrequency = FloatBuffer.allocate(0);
+    protected ByteBuffer blockBounds = ByteBuffer.allocate(0);
+    protected IntBuffer blockStarts = IntBuffer.allocate(1);
+    
+    /**
+     * Initializes a newly created {@code InvertedIndexer} object so that it records specific server option 
+     * arguments using in inverted search indexing process.
+     * <p>
+     * @param serverOption the search engine server option
+     */
+    public InvertedIndexer(ServerOption serverOption) {
+        super(serverOption);
+    }
+    
+    /**
+     * Returns the indexer type recorded in the index file.
+     * <p>
+     * @return the indexer type
+     */
+    protected abstract IndexerType getIndexerType();
+    
+    /**
+     * Returns true if this indexer records the term positions within each document, which is required by 
+     * phrase matching.
+     * <p>
+     * @return true if this indexer records the term positions within each document
+     */
+    public abstract boolean isPositional();
+    
+    /**
+     * Called once at the beginning of the postings section of the index file. Returns a writer which receives 
+     * the postings list of every term in term id order, and writes them in the layout of the concrete indexer.
+     * <p>
+     * @param writer the index file writer
+     * @return the postings writer
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract PostingsWriter newPostingsWriter(IndexFileWriter writer) throws IOException;
+    
+    /**
+     * Called by {@link #load()} with the content of the postings section written by the writer returned by 
+     * {@link #newPostingsWriter(IndexFileWriter)}, after the dictionary and term statistics are loaded. 
+     * Implementations should keep views of the buffer rather than copying the postings lists.
+     * <p>
+     * @param buffer the postings section content
+     * @throws IOException if the postings section is not valid
+     */
+    protected abstract void readPostings(ByteBuffer buffer) throws IOException;
+    
+    /**
+     * Returns a new cursor over the postings list of the term with specific {@code termId}.
+     * <p>
+     * @param termId the term id
+     * @return a new cursor over the postings list of the term
+     */
+    public abstract PostingsCursor getPostingsCursor(int termId);
+    
+    /**
+     * Returns a new cursor over the postings list of {@code term}, or {@code null} if the term does not 
+     * appear in the corpus.
+     * <p>
+     * @param term the string representation term
+     * @return a new cursor over the postings list of the term, or {@code null} if the term does not exist
+     */
+    public PostingsCursor getPostingsCursor(String term) {
+        final int termId = getIndexByTerm(term);
+        return termId < 0 ? null : getPostingsCursor(termId);
+    }
+    
+    /**
+     * Returns a new positional cursor over the postings list of {@code term}, or {@code null} if the term does 
+     * not appear in the corpus.
+     * <p>
+     * @param term the string representation term
+     * @return a new positional cursor over the postings list of the term, or {@code null} if the term does 
+     * not exist
+     * @throws UnsupportedOperationException if this indexer does not record term positions
+     */
+    public PositionalPostingsCursor getPositionalPostingsCursor(String term) {
+        if (!isPositional()) {
+            throw new UnsupportedOperationException(
+                    getClass().getSimpleName() + " does not record term positions");
+        }
+        return (PositionalPostingsCursor) getPostingsCursor(term);
+    }
+    
+    /**
+     * Returns the distinct word tokens of the search query in their order of appearance. The search query 
+     * must have been processed. The tokens of each phrase in a {@link edu.nyu.cs.engine.query.impl.PhraseQuery} 
+     * are treated as individual words.
+     * <p>
+     * @param query the processed search query
+     * @return the distinct word tokens of the search query
+     */
+    public static List<String> getQueryTerms(SearchQuery query) {
+        final Set<String> tokens = new LinkedHashSet<>();
+        if (query instanceof WordQuery) {
+            tokens.addAll(((WordQuery) query).getTokens());
+        } else if (query instanceof PhraseQuery) {
+            for (List<String> phrase : ((PhraseQuery) query).getPhrases()) {
+                tokens.addAll(phrase);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SearchDocument getDocument(int docId) {
+        return documentTable == null ? null : documentTable.get(docId);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DocumentValues getDocumentValues() {
+        return documentValues;
+    }
+    
+    /**
+     * Returns the next document after {@code docId} which contains all terms of the processed search query, by 
+     * leapfrogging the postings lists of the query terms from the rarest one. Returns {@code null} if the query 
+     * has no term, any query term does not exist in the corpus, or no more document matches.
+     */
+    @Override
+    public SearchDocument nextDocument(SearchQuery query, int docId) {
+        final List<String> queryTerms = getQueryTerms(query);
+        if (queryTerms.isEmpty()) {
+            return null;
+        }
+        final List<PostingsCursor> cursors = new ArrayList<>(queryTerms.size());
+        for (String term : queryTerms) {
+            final PostingsCursor cursor = getPostingsCursor(term);
+            if (cursor == null) {
+                return null;
+            }
+            cursors.add(cursor);
+        }
+        final int next = new ConjunctionCursor(cursors).advance(docId + 1);
+        return next == PostingsCursor.NO_MORE_DOCS ? null : getDocument(next);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void construct() throws IOException {
+        final String corpusPath = serverOption.getCorpusPath();
+        LOGGER.info("Construct search index from " + corpusPath);
+        
+        final String indexPath = serverOption.getIndexPath();
+        final long memoryBudget = (long) serverOption.getIntOption("indexer_memory_mb", 0) << 20;
+        final SpimiInverter inverter = new SpimiInverter(
+                isPositional(), memoryBudget, new File(indexPath).getAbsoluteFile().getParentFile());
+        documentOrder = readDocumentOrder();
+        final boolean renumber = documentOrder == DocumentOrder.QUALITY;
+        IndexFileWriter writer = new IndexFileWriter(indexPath, getIndexerType());
+        try {
+            // in corpus order, documents are streamed to the index file while the corpus is processed
+            DocumentTableWriter documentTableWriter = null;
+            if (!renumber) {
+                writer.beginSection(IndexSection.DOCUMENTS);
+                documentTableWriter = new DocumentTableWriter(writer);
+            }
+            final List<SearchDocument> documents = new ArrayList<>();
+            final IntArrayList lengths = new IntArrayList();
+            final IntArrayList numberOfViews = new IntArrayList();
+            final IntArrayList pageRankBits = new IntArrayList();
+            maxNumberOfViews = 0;
+            IndexingPipeline<PartialIndex> pipeline = new IndexingPipeline<>(corpusPath, getIndexerThreads(), 
+                    IndexingPipeline.DEFAULT_BATCH_SIZE, new BatchProcessor<PartialIndex>() {
+                        @Override
+                        public PartialIndex process(DocumentBatch batch) {
+                            return invert(batch);
+                        }
+                    });
+            try {
+                PartialIndex partialIndex = null;
+                while ((partialIndex = pipeline.next()) != null) {
+                    // partial indexes arrive in corpus order, so their postings lists are appended
+                    inverter.add(partialIndex.dictionaryBuilder, partialIndex.builders);
+                    for (SearchDocument document : partialIndex.documents) {
+                        if (renumber) {
+                            documents.add(document);
+                        } else {
+                            documentTableWriter.add(document);
+                        }
+                        numberOfViews.add(document.getNumberOfViews());
+                        pageRankBits.add(Float.floatToRawIntBits(document.getPageRank()));
+                        maxNumberOfViews = Math.max(maxNumberOfViews, document.getNumberOfViews());
+                    }
+                    lengths.addAll(partialIndex.lengths);
+                    totalTermFrequency += partialIndex.totalTermFrequency;
+                }
+            } finally {
+                pipeline.close();
+            }
+            numberOfDocs = lengths.size();
+            int[] newDocIds = null;
+            if (renumber) {
+                newDocIds = getQualityOrder(documents);
+                final SearchDocument[] renumbered = new SearchDocument[numberOfDocs];
+                for (SearchDocument document : documents) {
+                    final int docId = newDocIds[document.getId()];
+                    renumbered[docId] = new SearchDocument(docId, document.getTitle(), document.getUrl(), 
+                            document.getPageRank(), document.getNumberOfViews());
+                }
+                documents.clear();
+                writer.beginSection(IndexSection.DOCUMENTS);
+                DocumentTable.write(writer, Arrays.asList(renumbered));
+            } else {
+                documentTableWriter.finish();
+            }
+            writer.endSection();
+            
+            // term ids are the ranks of the terms in the sorted dictionary
+            final ByteBuffer dictionarySection = inverter.finish();
+            dictionary = new TermDictionary(dictionarySection);
+            termFrequency = inverter.getTermFrequency();
+            documentFrequency = inverter.getDocumentFrequency();
+            LOGGER.info("Indexed " + Integer.toString(numberOfDocs) + " documents with " 
+                    + Long.toString(totalTermFrequency) + " terms in " + inverter.getNumberOfRuns() + " runs");
+            LOGGER.info("Save search index to " + indexPath);
+            
+            writer.beginSection(IndexSection.DICTIONARY);
+            writer.writeBytes(dictionarySection.array(), 0, dictionarySection.limit());
+            writer.endSection();
+            
+            writer.beginSection(IndexSection.STATISTICS);
+            writer.writeInt(numberOfDocs);
+            writer.writeLong(totalTermFrequency);
+            writer.writeInt(termFrequency.length);
+            writer.writeInts(termFrequency, 0, termFrequency.length);
+            writer.writeInts(documentFrequency, 0, documentFrequency.length);
+            writer.writeInt(documentOrder.ordinal());
+            writer.endSection();
+            
+            writer.beginSection(IndexSection.POSTINGS);
+            final double[] squaredNorms = new double[numberOfDocs];
+            final PostingsWriter layoutWriter = newPostingsWriter(writer);
+            final PostingsWriter postingsWriter = new PostingsWriter() {
+                @Override
+                public void add(PostingsBuilder builder) throws IOException {
+                    addSquaredWeights(builder, squaredNorms);
+                    layoutWriter.add(builder);
+                }
+                
+                @Override
+                public void finish() throws IOException {
+                    layoutWriter.finish();
+                }
+            };
+            inverter.writePostings(
+                    renumber ? new RenumberingPostingsWriter(postingsWriter, newDocIds) : postingsWriter);
+            postingsWriter.finish();
+            writer.endSection();
+            
+            final float[] norms = new float[numberOfDocs];
+            writer.beginSection(IndexSection.NORMS);
+            for (int docId = 0; docId < numberOfDocs; docId++) {
+                norms[docId] = (float) Math.sqrt(squaredNorms[docId]);
+                writer.writeFloat(norms[docId]);
+            }
+            writer.endSection();
+            
+            final int[] documentLengths = new int[numberOfDocs];
+            final int[] documentViews = new int[numberOfDocs];
+            final float[] pageRanks = new float[numberOfDocs];
+            for (int docId = 0; docId < numberOfDocs; docId++) {
+                final int newDocId = renumber ? newDocIds[docId] : docId;
+                documentLengths[newDocId] = lengths.get(docId);
+                documentViews[newDocId] = numberOfViews.get(docId);
+                pageRanks[newDocId] = Float.intBitsToFloat(pageRankBits.get(docId));
+            }
+            writer.beginSection(IndexSection.DOCUMENT_VALUES);
+            DocumentValues.write(writer, documentViews, pageRanks, documentLengths);
+            writer.endSection();
+            
+            // the normalized frequencies depend on the final norms, so the postings are iterated once more
+            writer.beginSection(IndexSection.BLOCK_BOUNDS);
+            final BoundsWriter boundsWriter = new BoundsWriter(writer, norms, termFrequency.length);
+            inverter.writePostings(
+                    renumber ? new RenumberingPostingsWriter(boundsWriter, newDocIds) : boundsWriter);
+            boundsWriter.finish();
+            writer.endSection();
+            
+            writer.beginSection(IndexSection.BOUNDS);
+            int minDocumentLength = Integer.MAX_VALUE;
+            for (int length : documentLengths) {
+                minDocumentLength = Math.min(minDocumentLength, length);
+            }
+            writer.writeInt(numberOfDocs == 0 ? 0 : minDocumentLength);
+            writer.writeInt(maxNumberOfViews);
+            writer.writeInts(boundsWriter.maxFrequencies, 0, boundsWriter.maxFrequencies.length);
+            for (float maxNormalizedFrequency : boundsWriter.maxNormalizedFrequencies) {
+                writer.writeFloat(maxNormalizedFrequency);
+            }
+            writer.endSection();
+            writer.finish();
+        } finally {
+            inverter.close();
+            writer.close();
+        }
+        advanceGeneration();
+    }
+    
+    /**
+     * Adds the squared tf-idf weight of the term of the {@code builder} in each document of its postings list 
+     * to the squared norm of the document. The term frequency is 1 if this indexer does not record term 
+     * frequencies, consistently with {@link edu.nyu.cs.engine.index.postings.PostingsCursor#frequency()}.
+     * <p>
+     * @param builder the complete postings list of a term
+     * @param squaredNorms the squared norms indexed by document id
+     */
+    private void addSquaredWeights(PostingsBuilder builder, double[] squaredNorms) {
+        final double idf = inverseDocumentFrequency(numberOfDocs, builder.getDocumentFrequency());
+        for (int i = 0; i < builder.getDocumentFrequency(); i++) {
+            final double weight = getFrequency(builder, i) * idf;
+            squaredNorms[builder.getDocIds().get(i)] += weight * weight;
+        }
+    }
+    
+    /**
+     * Returns the frequency of the {@code i}-th posting of the {@code builder} as the postings cursors of this 
+     * indexer report it, which is 1 if this indexer does not record term frequencies.
+     * <p>
+     * @param builder the postings list of a term
+     * @param i the index of the posting
+     * @return the frequency of the posting
+     */
+    private int getFrequency(PostingsBuilder builder, int i) {
+        return isPositional() ? builder.getFrequencies().get(i) : 1;
+    }
+    
+    /**
+     * Returns the smallest float which is not less than {@code value}, so that upper bounds stay upper bounds 
+     * when they are narrowed.
+     */
+    private static float roundUp(double value) {
+        final float rounded = (float) value;
+        return rounded < value ? Math.nextUp(rounded) : rounded;
+    }
+    
+    /**
+     * Returns the document order defined by the {@code document_order} option in server configuration file, 
+     * {@link edu.nyu.cs.engine.index.utils.DocumentOrder#CORPUS} by default.
+     * <p>
+     * @return the document order of the index to construct
+     * @throws IllegalSearchEngineConfigurationException if the option value is not a valid document order
+     */
+    private DocumentOrder readDocumentOrder() {
+        final String order = serverOption.getOption("document_order", DocumentOrder.CORPUS.name());
+        try {
+            return DocumentOrder.valueOf(order.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalSearchEngineConfigurationException("No such document order: " + order);
+        }
+    }
+    
+    /**
+     * Returns the new document id of every document when documents are ordered by descending number of views, 
+     * and by corpus order among documents with the same number of views.
+     * <p>
+     * @param documents the documents in corpus order
+     * @return the new document ids indexed by corpus order document id
+     */
+    private static int[] getQualityOrder(List<SearchDocument> documents) {
+        // the complemented number of views in the high bits sorts descending, the corpus order id breaks ties
+        final long[] keys = new long[documents.size()];
+        for (int docId = 0; docId < keys.length; docId++) {
+            keys[docId] = (long) (Integer.MAX_VALUE - documents.get(docId).getNumberOfViews()) << 32 | docId;
+        }
+        Arrays.sort(keys);
+        final int[] newDocIds = new int[keys.length];
+        for (int docId = 0; docId < keys.length; docId++) {
+            newDocIds[(int) keys[docId]] = docId;
+        }
+        return newDocIds;
+    }
+    
+    /**
+     * Builds the partial index of all documents in the {@code batch}. Called on the indexing pipeline worker 
+     * threads, thus it only touches the returned partial index.
+     * <p>
+     * @param batch the document batch
+     * @return the partial index of the batch
+     */
+    private PartialIndex invert(DocumentBatch batch) {
+        final PartialIndex partialIndex = new PartialIndex();
+        final Tokenizer tokenizer = new Tokenizer();
+        int docId = batch.getFirstDocId();
+        for (String line : batch.getLines()) {
+            final int titleEnd = line.indexOf('\t');
+            final int bodyEnd = line.indexOf('\t', titleEnd + 1);
+            final int viewsEnd = line.indexOf('\t', bodyEnd + 1);
+            final String title = line.substring(0, titleEnd);
+            final int titleLength = readTerms(tokenizer.reset(line, 0, titleEnd), docId, 0, partialIndex);
+            final int bodyStart = titleLength + FIELD_POSITION_GAP;
+            final int length = titleLength + readTerms(
+                    tokenizer.reset(line, titleEnd + 1, bodyEnd), docId, bodyStart, partialIndex) - bodyStart;
+            final int numberOfViews = Integer.parseInt(
+                    line.substring(bodyEnd + 1, viewsEnd < 0 ? line.length() : viewsEnd));
+            
+            partialIndex.documents.add(new SearchDocument(docId++, title, "", 0.0f, numberOfViews));
+            partialIndex.lengths.add(length);
+            partialIndex.totalTermFrequency += length;
+        }
+        return partialIndex;
+    }
+    
+    /**
+     * Read the tokens of the content and add each token occurrence to the postings list builder of its term. 
+     * New terms are added to the dictionary builder of the partial index.
+     * <p>
+     * @param tokenizer the tokenizer reset to the content
+     * @param docId the document id
+     * @param position the position of the first token in the content
+     * @param partialIndex the partial index
+     * @return the position after the last token in the content
+     */
+    private int readTerms(Tokenizer tokenizer, int docId, int position, PartialIndex partialIndex) {
+        while (tokenizer.next()) {
+            final int termId = partialIndex.dictionaryBuilder.add(
+                    tokenizer.text(), tokenizer.start(), tokenizer.end());
+            if (termId == partialIndex.builders.size()) {
+                partialIndex.builders.add(new PostingsBuilder(isPositional()));
+            }
+            partialIndex.builders.get(termId).add(docId, position++);
+        }
+        return position;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void load() throws IOException, ClassNotFoundException {
+        final String indexPath = serverOption.getIndexPath();
+        final IndexLoadMode loadMode = getIndexLoadMode();
+        LOGGER.info("Load index file from " + indexPath + " in " + loadMode.name().toLowerCase() + " mode");
+        
+        IndexFileReader reader = new IndexFileReader(indexPath, getIndexerType(), loadMode);
+        try {
+            this.dictionary = new TermDictionary(reader.getSection(IndexSection.DICTIONARY));
+            final int numberOfTerms = dictionary.size();
+            
+            final ByteBuffer statisticsSection = reader.getSection(IndexSection.STATISTICS);
+            this.numberOfDocs = statisticsSection.getInt();
+            this.totalTermFrequency = statisticsSection.getLong();
+            final int storedNumberOfTerms = statisticsSection.getInt();
+            if (storedNumberOfTerms != numberOfTerms) {
+                throw new CorruptIndexException(indexPath, "the statistics of " + storedNumberOfTerms 
+                        + " terms do not match the dictionary of " + numberOfTerms + " terms");
+            }
+            this.termFrequency = IndexFileReader.readInts(statisticsSection, numberOfTerms);
+            this.documentFrequency = IndexFileReader.readInts(statisticsSection, numberOfTerms);
+            final int documentOrderOrdinal = statisticsSection.getInt();
+            if (documentOrderOrdinal < 0 || documentOrderOrdinal >= DocumentOrder.values().length) {
+                throw new CorruptIndexException(indexPath, "no such document order ordinal: " + documentOrderOrdinal);
+            }
+            this.documentOrder = DocumentOrder.values()[documentOrderOrdinal];
+            
+            this.documentTable = new DocumentTable(reader.getSection(IndexSection.DOCUMENTS));
+            
+            readPostings(reader.getSection(IndexSection.POSTINGS));
+            
+            this.documentNorms = IndexFileReader.sliceFloats(reader.getSection(IndexSection.NORMS), numberOfDocs);
+            this.documentValues = new DocumentValues(reader.getSection(IndexSection.DOCUMENT_VALUES));
+            
+            final ByteBuffer boundsSection = reader.getSection(IndexSection.BOUNDS);
+            this.minDocumentLength = boundsSection.getInt();
+            this.maxNumberOfViews = boundsSection.getInt();
+            this.maxTermFrequency = IndexFileReader.readInts(boundsSection, numberOfTerms);
+            this.maxNormalizedTermFrequency = IndexFileReader.sliceFloats(boundsSection, numberOfTerms);
+            
+            final ByteBuffer blockBoundsSection = reader.getSection(IndexSection.BLOCK_BOUNDS);
+            final int numberOfBlocks = blockBoundsSection.getInt(blockBoundsSection.limit() - 4);
+            this.blockBounds = IndexFileReader.sliceBytes(
+                    blockBoundsSection, numberOfBlocks * BlockBoundsCursor.RECORD_SIZE);
+            this.blockStarts = IndexFileReader.sliceInts(blockBoundsSection, numberOfTerms + 1);
+        } finally {
+            reader.close();
+        }
+        
+        advanceGeneration();
+        LOGGER.info(
+                Integer.toString(numberOfDocs) + " documents loaded with " + Long.toString(totalTermFrequency) + " terms");
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getTermByIndex(int index) {
+        return dictionary.getTerm(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getIndexByTerm(String term) {
+        return dictionary.getTermId(term);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTermFrequency(String term) {
+        final int index = getIndexByTerm(term);
+        return index < 0 ? 0 : termFrequency[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getDocumentFrequencyByTerm(String term) {
+        final int index = getIndexByTerm(term);
+        return index < 0 ? 0 : documentFrequency[index];
+    }
+
+    /**
+     * Returns the frequency recorded by the postings list of {@code term} for the document with specific 
+     * {@code docId}, which is found by advancing a cursor over the postings list. The frequency is 1 for every 
+     * matching document if this indexer does not record term frequencies.
+     */
+    @Override
+    public int getTermFrequencyByDocument(String term, int docId) {
+        final PostingsCursor cursor = getPostingsCursor(term);
+        if (cursor == null || docId < 0 || cursor.advance(docId) != docId) {
+            return 0;
+        }
+        return cursor.frequency();
+    }
+
+    /**
+     * Returns a new cursor over the bounds of the blocks of the postings list of the term with specific 
+     * {@code termId}, whose maxima are tighter than {@link #getMaxTermFrequency(int)} and 
+     * {@link #getMaxNormalizedTermFrequency(int)} within each block.
+     * <p>
+     * @param termId the term id
+     * @return a new cursor over the block bounds of the postings list of the term
+     */
+    public BlockBoundsCursor getBlockBoundsCursor(int termId) {
+        return new BlockBoundsCursor(blockBounds, blockStarts.get(termId), blockStarts.get(termId + 1));
+    }
+
+    /**
+     * Returns the inverse document frequency {@code log(N / df)} of the term with specific {@code termId}.
+     * <p>
+     * @param termId the term id
+     * @return the inverse document frequency of the term
+     */
+    public double getInverseDocumentFrequency(int termId) {
+        return inverseDocumentFrequency(numberOfDocs, documentFrequency[termId]);
+    }
+    
+    /**
+     * Returns the L2 norm of the tf-idf vector of the document with specific {@code docId}, computed when the 
+     * index was constructed.
+     * <p>
+     * @param docId the document id
+     * @return the tf-idf vector norm of the document
+     */
+    public float getDocumentNorm(int docId) {
+        return documentNorms.get(docId);
+    }
+    
+    /**
+     * Returns the number of tokens in the title and body of the document with specific {@code docId}, recorded 
+     * when the index was constructed.
+     * <p>
+     * @param docId the document id
+     * @return the length of the document
+     */
+    public int getDocumentLength(int docId) {
+        return documentValues.length(docId);
+    }
+    
+    /**
+     * Returns the length of the shortest document in the corpus.
+     * <p>
+     * @return the minimum document length
+     */
+    public int getMinDocumentLength() {
+        return minDocumentLength;
+    }
+    
+    /**
+     * Returns the order in which document ids were assigned when the index was constructed.
+     * <p>
+     * @return the document order of the index
+     */
+    public DocumentOrder getDocumentOrder() {
+        return documentOrder;
+    }
+    
+    /**
+     * Returns the maximum number of views of the documents whose id is equal or greater than {@code docId}, 
+     * which is the number of views of the document itself when documents are in 
+     * {@linkplain edu.nyu.cs.engine.index.utils.DocumentOrder#QUALITY quality order}, or the maximum over the 
+     * corpus otherwise. It never increases with {@code docId}, so it could bound a document-level score.
+     * <p>
+     * @param docId the document id
+     * @return the maximum number of views from {@code docId} on
+     */
+    public int getMaxNumberOfViews(int docId) {
+        if (documentOrder == DocumentOrder.CORPUS) {
+            return maxNumberOfViews;
+        }
+        return docId < numberOfDocs ? documentValues.numberOfViews(docId) : 0;
+    }
+    
+    /**
+     * Returns the maximum frequency of the term with specific {@code termId} in any document, as reported by 
+     * {@link edu.nyu.cs.engine.index.postings.PostingsCursor#frequency()}.
+     * <p>
+     * @param termId the term id
+     * @return the maximum frequency of the term
+     */
+    public int getMaxTermFrequency(int termId) {
+        return maxTermFrequency[termId];
+    }
+    
+    /**
+     * Returns an upper bound of the frequency of the term with specific {@code termId} divided by the 
+     * {@linkplain #getDocumentNorm(int) norm} of the document, over all documents the term appears in. Together 
+     * with {@link #getMaxTermFrequency(int)} it lets dynamic pruning rankers bound the score contribution of a 
+     * term without reading its postings list.
+     * <p>
+     * @param termId the term id
+     * @return the maximum normalized frequency of the term
+     */
+    public float getMaxNormalizedTermFrequency(int termId) {
+        return maxNormalizedTermFrequency.get(termId);
+    }
+    
+    /**
+     * Returns the inverse document frequency of a term appearing in {@code documentFrequency} of 
+     * {@code numberOfDocs} documents.
+     */
+    private static double inverseDocumentFrequency(int numberOfDocs, int documentFrequency) {
+        return Math.log((double) numberOfDocs / documentFrequency);
+    }
+    
+    /**
+     * The {@code BoundsWriter} class writes the block bounds section: for every block of 
+     * {@link edu.nyu.cs.engine.index.postings.BlockBoundsCursor#BLOCK_SIZE} postings of each postings list, the 
+     * last document id, the maximum frequency and the maximum normalized frequency of the block, followed by 
+     * the index of the first block of every term and the number of blocks. The maximum frequency and 
+     * normalized frequency of every postings list are kept for the bounds section.
+     */
+    private final class BoundsWriter implements PostingsWriter {
+        private final IndexFileWriter writer;
+        private final float[] norms;
+        private final int[] maxFrequencies;
+        private final float[] maxNormalizedFrequencies;
+        private final int[] blockStarts;
+        private int termId = 0;
+        private int numberOfBlocks = 0;
+        
+        /**
+         * Initializes a newly created {@code BoundsWriter} object.
+         * <p>
+         * @param writer the index file writer
+         * @param norms the document norms
+         * @param numberOfTerms the number of terms
+         */
+        private BoundsWriter(IndexFileWriter writer, float[] norms, int numberOfTerms) {
+            this.writer = writer;
+            this.norms = norms;
+            this.maxFrequencies = new int[numberOfTerms];
+            this.maxNormalizedFrequencies = new float[numberOfTerms];
+            this.blockStarts = new int[numberOfTerms + 1];
+        }
+        
+        @Override
+        public void add(PostingsBuilder builder) throws IOException {
+            blockStarts[termId] = numberOfBlocks;
+            final int documentFrequency = builder.getDocumentFrequency();
+            for (int start = 0; start < documentFrequency; start += BlockBoundsCursor.BLOCK_SIZE) {
+                final int end = Math.min(start + BlockBoundsCursor.BLOCK_SIZE, documentFrequency);
+                int maxFrequency = 0;
+                double maxNormalizedFrequency = 0.0;
+                for (int i = start; i < end; i++) {
+                    final int frequency = getFrequency(builder, i);
+                    maxFrequency = Math.max(maxFrequency, frequency);
+                    final float norm = norms[builder.getDocIds().get(i)];
+                    if (norm > 0.0f) {
+                        // a document of terms appearing in every document has a zero vector and a 0 cosine
+                        maxNormalizedFrequency = Math.max(maxNormalizedFrequency, frequency / (double) norm);
+                    }
+                }
+                final float blockMaxNormalizedFrequency = roundUp(maxNormalizedFrequency);
+                writer.writeInt(builder.getDocIds().get(end - 1));
+                writer.writeInt(maxFrequency);
+                writer.writeFloat(blockMaxNormalizedFrequency);
+                ++numberOfBlocks;
+                maxFrequencies[termId] = Math.max(maxFrequencies[termId], maxFrequency);
+                maxNormalizedFrequencies[termId] = Math.max(
+                        maxNormalizedFrequencies[termId], blockMaxNormalizedFrequency);
+            }
+            ++termId;
+        }
+        
+        @Override
+        public void finish() throws IOException {
+            blockStarts[termId] = numberOfBlocks;
+            writer.writeInts(blockStarts, 0, blockStarts.length);
+            writer.writeInt(numberOfBlocks);
+        }
+    }
+    
+    /**
+     * The {@code PartialIndex} class holds the postings lists and documents of one document batch, with term 
+     * ids local to the batch.
+     */
+    private static final class PartialIndex {
+        private final TermDictionaryBuilder dictionaryBuilder = new TermDictionaryBuilder();
+        private final List<PostingsBuilder> builders = new ArrayList<>();
+        private final List<SearchDocument> documents = new ArrayList<>();
+        private final IntArrayList lengths = new IntArrayList();
+        private long totalTermFrequency = 0;
+    }
+    
+}
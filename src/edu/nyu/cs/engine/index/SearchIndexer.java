@@ -3,6 +3,9 @@ package edu.nyu.cs.engine.index;
 import java.io.IOException;
 
 import edu.nyu.cs.engine.document.SearchDocument;
+import edu.nyu.cs.engine.exception.IllegalSearchEngineConfigurationException;
+import edu.nyu.cs.engine.index.io.DocumentValues;
+import edu.nyu.cs.engine.index.utils.IndexLoadMode;
 import edu.nyu.cs.engine.query.SearchQuery;
 import edu.nyu.cs.engine.server.ServerOption;
 
@@ -20,6 +23,7 @@ public abstract class SearchIndexer {
     protected final ServerOption serverOption;
     protected int numberOfDocs = 0;
     protected long totalTermFrequency = 0;
+    private volatile int generation = 0;
     
     /**
      * Initializes a newly created {@code SearchIndexer} object with no server option object. This constructor 
@@ -58,6 +62,58 @@ public abstract class SearchIndexer {
         return totalTermFrequency;
     }
 
+    /**
+     * Returns the number of times the search indexes have been constructed or loaded by this indexer. The results 
+     * of a search query could only change when the generation changes, so callers keeping query results could 
+     * discard them when it differs from the generation they were computed with.
+     * <p>
+     * @return the generation of the search indexes
+     */
+    public final int getGeneration() {
+        return generation;
+    }
+    
+    /**
+     * Advances the generation of the search indexes, see {@link #getGeneration()}. Implementations call it once 
+     * the search indexes are constructed or loaded.
+     */
+    protected final void advanceGeneration() {
+        ++generation;
+    }
+
+    /**
+     * Returns the index load mode defined by the {@code index_load_mode} option in server configuration file, 
+     * {@link edu.nyu.cs.engine.index.utils.IndexLoadMode#HEAP} by default.
+     * <p>
+     * @return the index load mode
+     * @throws IllegalSearchEngineConfigurationException if the option value is not a valid index load mode
+     */
+    protected final IndexLoadMode getIndexLoadMode() {
+        final String loadMode = serverOption.getOption("index_load_mode", IndexLoadMode.HEAP.name());
+        try {
+            return IndexLoadMode.valueOf(loadMode.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalSearchEngineConfigurationException("No such index load mode: " + loadMode);
+        }
+    }
+
+    /**
+     * Returns the number of worker threads used to process the corpus, defined by the {@code indexer_threads} 
+     * option in server configuration file, the number of available processors by default.
+     * <p>
+     * @return the number of indexing worker threads
+     * @throws IllegalSearchEngineConfigurationException if the option value is not a positive integer
+     */
+    protected final int getIndexerThreads() {
+        final int threads = serverOption.getIntOption(
+                "indexer_threads", Runtime.getRuntime().availableProcessors());
+        if (threads <= 0) {
+            throw new IllegalSearchEngineConfigurationException(
+                    "indexer_threads option must be positive but was " + threads);
+        }
+        return threads;
+    }
+
     /**
      * Returns the {@link edu.nyu.cs.engine.document.SearchDocument} object or its subclass instance based on 
      * the document id.
@@ -68,6 +124,15 @@ public abstract class SearchIndexer {
      */
     public abstract SearchDocument getDocument(int docId);
     
+    /**
+     * Returns the numeric features of all documents in columns indexed by document id, so that rankers could read 
+     * the number of views, page rank or length of a document without its 
+     * {@link edu.nyu.cs.engine.document.SearchDocument} object.
+     * <p>
+     * @return the document values of the corpus
+     */
+    public abstract DocumentValues getDocumentValues();
+    
     /**
      * Returns the {@link edu.nyu.cs.engine.document.SearchDocument} object or its subclass instance which is 
      * the next {@link edu.nyu.cs.engine.document.SearchDocument} object after specific {@code docId} satisfying 
@@ -151,4 +216,15 @@ public abstract class SearchIndexer {
      */
     public abstract int getTermFrequencyByDocument(String term, String url);
     
+    /**
+     * Returns the number of times that {@code term} appeared in the document with specific {@code docId}, or 0 
+     * if the term does not appear in the document. The lookup does not scan the tokens of the document, so 
+     * rankers could call it for every candidate document.
+     * <p>
+     * @param term the string representation term
+     * @param docId the document id
+     * @return the number of times that {@code term} appeared in the document with specific {@code docId}
+     */
+    public abstract int getTermFrequencyByDocument(String term, int docId);
+    
 }
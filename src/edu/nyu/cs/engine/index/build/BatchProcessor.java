@@ -0,0 +1,22 @@
+package edu.nyu.cs.engine.index.build;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code BatchProcessor} interface is implemented by search indexers to turn a 
+ * {@link edu.nyu.cs.engine.index.build.DocumentBatch} into a partial index on one of the 
+ * {@link edu.nyu.cs.engine.index.build.IndexingPipeline} worker threads. Implementations are called 
+ * concurrently and must not modify shared state.
+ * <p>
+ * @param <T> the partial index type
+ */
+public interface BatchProcessor<T> {
+    /**
+     * Builds the partial index of all documents in the {@code batch}.
+     * <p>
+     * @param batch the document batch
+     * @return the partial index of the batch
+     */
+    T process(DocumentBatch batch);
+    
+}
@@ -0,0 +1,49 @@
+package edu.nyu.cs.engine.index.build;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code DocumentBatch} class represents a run of consecutive corpus lines read by the 
+ * {@link edu.nyu.cs.engine.index.build.IndexingPipeline} reader stage. The document id of each line is the 
+ * first document id of the batch plus the line index within the batch.
+ * <p>
+ * {@code DocumentBatch} objects are immutable once handed to the workers.
+ */
+public class DocumentBatch {
+    private final int firstDocId;
+    private final List<String> lines;
+    
+    /**
+     * Initializes a newly created {@code DocumentBatch} object.
+     * <p>
+     * @param firstDocId the document id of the first line
+     * @param lines the corpus lines
+     */
+    DocumentBatch(int firstDocId, List<String> lines) {
+        this.firstDocId = firstDocId;
+        this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+    }
+    
+    /**
+     * Returns the document id of the first line.
+     * <p>
+     * @return the document id of the first line
+     */
+    public int getFirstDocId() {
+        return firstDocId;
+    }
+    
+    /**
+     * Returns an unmodifiable view of the corpus lines in document id order.
+     * <p>
+     * @return the corpus lines
+     */
+    public List<String> getLines() {
+        return lines;
+    }
+    
+}
@@ -0,0 +1,208 @@
+package edu.nyu.cs.engine.index.build;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code IndexingPipeline} class runs the corpus processing of search indexing process on multiple 
+ * threads. It consists of three stages:
+ * <ul>
+ * <li>a reader thread which splits the corpus file into {@link edu.nyu.cs.engine.index.build.DocumentBatch} 
+ * objects of consecutive documents;</li>
+ * <li>a pool of worker threads which turn each batch into a partial index with the 
+ * {@link edu.nyu.cs.engine.index.build.BatchProcessor};</li>
+ * <li>the caller thread which takes the partial indexes in corpus order with {@link #next()} and merges them 
+ * into the global index.</li>
+ * </ul>
+ * The queue between the reader and the caller is bounded, so that at most a few batches per worker are held 
+ * in memory at any time and the merge overlaps with the processing of following batches.
+ * <p>
+ * Note: {@code IndexingPipeline} objects are not thread-safe; {@link #next()} must be called from one thread.
+ * <p>
+ * @param <T> the partial index type
+ */
+public class IndexingPipeline<T> implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.index.build.IndexingPipeline");
+    
+    /**
+     * The default number of documents in each batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    
+    private final String corpusPath;
+    private final int batchSize;
+    private final BatchProcessor<T> processor;
+    private final ExecutorService workers;
+    private final BlockingQueue<Future<T>> results;
+    private final Thread reader;
+    private volatile IOException readerException = null;
+    
+    /**
+     * Initializes a newly created {@code IndexingPipeline} object and starts reading the corpus file at 
+     * {@code corpusPath}.
+     * <p>
+     * @param corpusPath the corpus file path
+     * @param numberOfThreads the number of worker threads
+     * @param batchSize the number of documents in each batch
+     * @param processor the batch processor run by the worker threads
+     */
+    public IndexingPipeline(String corpusPath, int numberOfThreads, int batchSize, BatchProcessor<T> processor) {
+        this.corpusPath = corpusPath;
+        this.batchSize = batchSize;
+        this.processor = processor;
+        this.workers = Executors.newFixedThreadPool(numberOfThreads);
+        this.results = new ArrayBlockingQueue<>(numberOfThreads * 4);
+        this.reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                read();
+            }
+        }, "indexing-pipeline-reader");
+        reader.setDaemon(true);
+        reader.start();
+        LOGGER.info("Started indexing pipeline with " + numberOfThreads + " worker threads");
+    }
+    
+    /**
+     * Reads the corpus file into batches and submits them to the workers, followed by an end marker.
+     */
+    private void read() {
+        try {
+            BufferedReader in = new BufferedReader(new FileReader(corpusPath));
+            try {
+                List<String> lines = new ArrayList<>(batchSize);
+                int firstDocId = 0;
+                String line = null;
+                while ((line = in.readLine()) != null) {
+                    lines.add(line);
+                    if (lines.size() == batchSize) {
+                        submit(new DocumentBatch(firstDocId, lines));
+                        firstDocId += lines.size();
+                        lines.clear();
+                    }
+                }
+                if (!lines.isEmpty()) {
+                    submit(new DocumentBatch(firstDocId, lines));
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            readerException = e;
+        } catch (InterruptedException | RejectedExecutionException e) {
+            // the pipeline has been closed
+            return;
+        }
+        try {
+            results.put(new EndOfCorpus<T>());
+        } catch (InterruptedException e) {
+            return;
+        }
+    }
+    
+    /**
+     * Submits the {@code batch} to the workers and queues its result in corpus order.
+     * <p>
+     * @param batch the document batch
+     * @throws InterruptedException if the pipeline is closed while waiting for queue space
+     */
+    private void submit(final DocumentBatch batch) throws InterruptedException {
+        results.put(workers.submit(new Callable<T>() {
+            @Override
+            public T call() {
+                return processor.process(batch);
+            }
+        }));
+    }
+    
+    /**
+     * Returns the partial index of the next batch in corpus order, waiting for it to be processed, or 
+     * {@code null} if all batches have been returned.
+     * <p>
+     * @return the partial index of the next batch, or {@code null} at the end of the corpus
+     * @throws IOException if an I/O error occurs while reading the corpus, or the thread is interrupted
+     */
+    public T next() throws IOException {
+        try {
+            final Future<T> result = results.take();
+            if (result instanceof EndOfCorpus) {
+                results.put(result);
+                if (readerException != null) {
+                    throw readerException;
+                }
+                return null;
+            }
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the indexing pipeline", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Stops the reader and worker threads. Batches not yet taken are discarded.
+     */
+    @Override
+    public void close() {
+        reader.interrupt();
+        workers.shutdownNow();
+    }
+    
+    /**
+     * The {@code EndOfCorpus} class marks the end of the result queue.
+     */
+    private static final class EndOfCorpus<T> implements Future<T> {
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return false;
+        }
+
+        @Override
+        public boolean isDone() {
+            return true;
+        }
+
+        @Override
+        public T get() {
+            return null;
+        }
+
+        @Override
+        public T get(long timeout, TimeUnit unit) {
+            return null;
+        }
+        
+    }
+    
+}
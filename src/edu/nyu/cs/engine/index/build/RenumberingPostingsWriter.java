@@ -0,0 +1,84 @@
+package edu.nyu.cs.engine.index.build;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import edu.nyu.cs.engine.index.io.PostingsWriter;
+import edu.nyu.cs.engine.index.postings.PostingsBuilder;
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code RenumberingPostingsWriter} class is a {@link edu.nyu.cs.engine.index.io.PostingsWriter} decorator
+ * which assigns new document ids to the postings lists accumulated in corpus order before passing them on. The
+ * postings of each list are sorted by their new document id, with the frequency and positions of every posting
+ * kept, so the delegate receives valid postings lists of the renumbered corpus one term at a time.
+ * <p>
+ * Note: {@code RenumberingPostingsWriter} objects are mutable and not thread-safe.
+ */
+public class RenumberingPostingsWriter implements PostingsWriter {
+    private final PostingsWriter delegate;
+    private final int[] newDocIds;
+
+    /**
+     * Initializes a newly created {@code RenumberingPostingsWriter} object.
+     * <p>
+     * @param delegate the postings writer receiving the renumbered postings lists
+     * @param newDocIds the new document id of every document, indexed by its id in corpus order
+     */
+    public RenumberingPostingsWriter(PostingsWriter delegate, int[] newDocIds) {
+        this.delegate = delegate;
+        this.newDocIds = newDocIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void add(PostingsBuilder builder) throws IOException {
+        delegate.add(renumber(builder));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void finish() throws IOException {
+        delegate.finish();
+    }
+
+    /**
+     * Returns a copy of the postings list of {@code builder} with the new document ids, in increasing new
+     * document id order.
+     * <p>
+     * @param builder the postings list in corpus order
+     * @return the renumbered postings list
+     */
+    private PostingsBuilder renumber(PostingsBuilder builder) {
+        final IntArrayList docIds = builder.getDocIds();
+        final IntArrayList frequencies = builder.getFrequencies();
+        final int documentFrequency = builder.getDocumentFrequency();
+
+        // sorting the new document id with the posting index in the low bits keeps the sort primitive
+        final long[] keys = new long[documentFrequency];
+        final int[] offsets = new int[documentFrequency];
+        int offset = 0;
+        for (int i = 0; i < documentFrequency; i++) {
+            keys[i] = (long) newDocIds[docIds.get(i)] << 32 | i;
+            offsets[i] = offset;
+            offset += frequencies.get(i);
+        }
+        Arrays.sort(keys);
+
+        final boolean positional = builder.getPositions() != null;
+        final int[] positions = positional ? builder.getPositions().toArray() : null;
+        final PostingsBuilder renumbered = new PostingsBuilder(positional);
+        for (long key : keys) {
+            final int i = (int) key;
+            renumbered.add((int) (key >>> 32), frequencies.get(i), positions, offsets[i]);
+        }
+        return renumbered;
+    }
+
+}
@@ -0,0 +1,469 @@
+package edu.nyu.cs.engine.index.build;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.logging.Logger;
+
+import edu.nyu.cs.engine.index.io.PostingsWriter;
+import edu.nyu.cs.engine.index.io.TermDictionary;
+import edu.nyu.cs.engine.index.io.TermDictionaryBuilder;
+import edu.nyu.cs.engine.index.io.TermDictionaryWriter;
+import edu.nyu.cs.engine.index.postings.PostingsBuilder;
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code SpimiInverter} class accumulates the postings lists of the inverted indexers with single-pass
+ * in-memory indexing (SPIMI). Partial indexes are merged in corpus order into in-memory postings lists until
+ * the estimated size exceeds the memory budget; the accumulated postings are then sorted by term and flushed
+ * to disk as a run, and accumulation restarts with an empty dictionary. At the end, the runs are merged with a
+ * k-way merge by term, first to build the dictionary and term statistics and then to stream the merged
+ * postings lists to a {@link edu.nyu.cs.engine.index.io.PostingsWriter}. Since runs cover increasing document
+ * ranges, the postings of a term are merged by concatenating them in run order.
+ * <p>
+ * If the memory budget is never exceeded, or is 0 which means unlimited, no run is written and the postings
+ * are written from memory.
+ * <p>
+ * Each run consists of a terms file holding the term, document frequency and total frequency of every term in
+ * sorted order, and a postings file holding the document id, frequency and positions of every posting in the
+ * same term order. The memory estimate counts 4 bytes per document id, frequency and position plus a fixed
+ * overhead per term, and ignores the spare capacity of the growing arrays.
+ * <p>
+ * Note: {@code SpimiInverter} objects are mutable and not thread-safe.
+ */
+public class SpimiInverter implements Closeable {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.index.build.SpimiInverter");
+    private static final int TERM_OVERHEAD = 96;
+
+    private final boolean recordPositions;
+    private final long memoryBudget;
+    private final File runDirectory;
+    private final List<File[]> runs = new ArrayList<>();
+    private TermDictionaryBuilder dictionaryBuilder = new TermDictionaryBuilder();
+    private List<PostingsBuilder> builders = new ArrayList<>();
+    private long estimatedBytes = 0;
+    private int[] termFrequency = null;
+    private int[] documentFrequency = null;
+
+    /**
+     * Initializes a newly created {@code SpimiInverter} object.
+     * <p>
+     * @param recordPositions true if the term positions within each document are recorded
+     * @param memoryBudget the estimated bytes of in-memory postings which triggers a flush, or 0 for unlimited
+     * @param runDirectory the directory to write the runs in
+     */
+    public SpimiInverter(boolean recordPositions, long memoryBudget, File runDirectory) {
+        this.recordPositions = recordPositions;
+        this.memoryBudget = memoryBudget;
+        this.runDirectory = runDirectory;
+    }
+
+    /**
+     * Merges the partial index of documents after all documents added before. The partial postings list
+     * builders are taken over and must not be used by the caller afterwards.
+     * <p>
+     * @param partialDictionary the dictionary of the partial index with term ids local to it
+     * @param partialBuilders the postings list builders of the partial index indexed by local term id
+     * @throws IOException if an I/O error occurs while flushing a run
+     */
+    public void add(TermDictionaryBuilder partialDictionary, List<PostingsBuilder> partialBuilders)
+            throws IOException {
+        for (int localTermId = 0; localTermId < partialDictionary.size(); localTermId++) {
+            final String term = partialDictionary.getTerm(localTermId);
+            final PostingsBuilder partialBuilder = partialBuilders.get(localTermId);
+            final int termId = dictionaryBuilder.add(term);
+            if (termId == builders.size()) {
+                builders.add(partialBuilder);
+                estimatedBytes += TERM_OVERHEAD + 2 * term.length();
+            } else {
+                builders.get(termId).append(partialBuilder);
+            }
+            estimatedBytes += 4L * (2 * partialBuilder.getDocumentFrequency()
+                    + (recordPositions ? partialBuilder.getPositions().size() : 0));
+        }
+        if (memoryBudget > 0 && estimatedBytes > memoryBudget) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns the number of runs written to disk so far.
+     * <p>
+     * @return the number of runs written to disk
+     */
+    public int getNumberOfRuns() {
+        return runs.size();
+    }
+
+    /**
+     * Sorts the in-memory postings lists by term and writes them as a new run, then resets the in-memory state.
+     * <p>
+     * @throws IOException if an I/O error occurs
+     */
+    private void flush() throws IOException {
+        final List<PostingsBuilder> sortedBuilders = sort();
+        final File termsFile = File.createTempFile("spimi-run", ".terms", runDirectory);
+        final File postingsFile = File.createTempFile("spimi-run", ".postings", runDirectory);
+        runs.add(new File[] { termsFile, postingsFile });
+
+        DataOutputStream terms = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(termsFile)));
+        try {
+            DataOutputStream postings = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(postingsFile)));
+            try {
+                terms.writeInt(sortedBuilders.size());
+                for (int termId = 0; termId < sortedBuilders.size(); termId++) {
+                    final PostingsBuilder builder = sortedBuilders.get(termId);
+                    final byte[] term = dictionaryBuilder.getTerm(termId).getBytes(StandardCharsets.UTF_8);
+                    terms.writeInt(term.length);
+                    terms.write(term);
+                    terms.writeInt(builder.getDocumentFrequency());
+                    terms.writeLong(builder.getTotalFrequency());
+                    writePostings(postings, builder);
+                }
+            } finally {
+                postings.close();
+            }
+        } finally {
+            terms.close();
+        }
+        LOGGER.info("Flushed run " + runs.size() + " with " + sortedBuilders.size() + " terms and about "
+                + (estimatedBytes >> 20) + " MB of postings");
+
+        dictionaryBuilder = new TermDictionaryBuilder();
+        builders = new ArrayList<>();
+        estimatedBytes = 0;
+    }
+
+    /**
+     * Sorts the in-memory dictionary and returns the in-memory postings list builders in sorted term order.
+     * <p>
+     * @return the postings list builders indexed by sorted term id
+     */
+    private List<PostingsBuilder> sort() {
+        final int[] newTermIds = dictionaryBuilder.sort();
+        final List<PostingsBuilder> sortedBuilders = new ArrayList<>(builders);
+        for (int termId = 0; termId < builders.size(); termId++) {
+            sortedBuilders.set(newTermIds[termId], builders.get(termId));
+        }
+        return sortedBuilders;
+    }
+
+    /**
+     * Writes every posting of the {@code builder} as document id, frequency and positions.
+     * <p>
+     * @param out the postings file stream
+     * @param builder the postings list builder
+     * @throws IOException if an I/O error occurs
+     */
+    private void writePostings(DataOutputStream out, PostingsBuilder builder) throws IOException {
+        final IntArrayList docIds = builder.getDocIds();
+        final IntArrayList frequencies = builder.getFrequencies();
+        int position = 0;
+        for (int i = 0; i < docIds.size(); i++) {
+            out.writeInt(docIds.get(i));
+            out.writeInt(frequencies.get(i));
+            if (recordPositions) {
+                for (int j = 0; j < frequencies.get(i); j++) {
+                    out.writeInt(builder.getPositions().get(position++));
+                }
+            }
+        }
+    }
+
+    /**
+     * Completes the accumulation and returns the dictionary section content of all terms. The term statistics
+     * are available afterwards. If any run has been written, the remaining in-memory postings are flushed as
+     * the last run and the dictionaries of all runs are merged.
+     * <p>
+     * @return the dictionary section content
+     * @throws IOException if an I/O error occurs
+     */
+    public ByteBuffer finish() throws IOException {
+        if (runs.isEmpty()) {
+            builders = sort();
+            termFrequency = new int[builders.size()];
+            documentFrequency = new int[builders.size()];
+            for (int termId = 0; termId < builders.size(); termId++) {
+                termFrequency[termId] = (int) builders.get(termId).getTotalFrequency();
+                documentFrequency[termId] = builders.get(termId).getDocumentFrequency();
+            }
+            return dictionaryBuilder.encode();
+        }
+        if (!builders.isEmpty()) {
+            flush();
+        }
+        LOGGER.info("Merge dictionaries of " + runs.size() + " runs");
+
+        final TermDictionaryWriter dictionaryWriter = new TermDictionaryWriter();
+        final IntArrayList termFrequencies = new IntArrayList();
+        final IntArrayList documentFrequencies = new IntArrayList();
+        final RunMerger merger = new RunMerger(false);
+        try {
+            List<RunReader> readers = null;
+            while ((readers = merger.next()) != null) {
+                long totalFrequency = 0;
+                int frequency = 0;
+                for (RunReader reader : readers) {
+                    totalFrequency += reader.totalFrequency;
+                    frequency += reader.documentFrequency;
+                }
+                dictionaryWriter.add(readers.get(0).getTerm());
+                termFrequencies.add((int) totalFrequency);
+                documentFrequencies.add(frequency);
+            }
+        } finally {
+            merger.close();
+        }
+        termFrequency = termFrequencies.toArray();
+        documentFrequency = documentFrequencies.toArray();
+        return dictionaryWriter.encode();
+    }
+
+    /**
+     * Returns the total frequency of every term indexed by term id. Available after {@link #finish()}.
+     * <p>
+     * @return the total frequency of every term
+     */
+    public int[] getTermFrequency() {
+        return termFrequency;
+    }
+
+    /**
+     * Returns the document frequency of every term indexed by term id. Available after {@link #finish()}.
+     * <p>
+     * @return the document frequency of every term
+     */
+    public int[] getDocumentFrequency() {
+        return documentFrequency;
+    }
+
+    /**
+     * Streams the postings lists of all terms in term id order to the {@code writer}, merging the runs if any.
+     * Must be called after {@link #finish()}. The caller is responsible for finishing the writer.
+     * <p>
+     * @param writer the postings writer
+     * @throws IOException if an I/O error occurs
+     */
+    public void writePostings(PostingsWriter writer) throws IOException {
+        if (runs.isEmpty()) {
+            for (PostingsBuilder builder : builders) {
+                writer.add(builder);
+            }
+            return;
+        }
+        LOGGER.info("Merge postings of " + runs.size() + " runs");
+
+        final RunMerger merger = new RunMerger(true);
+        try {
+            List<RunReader> readers = null;
+            while ((readers = merger.next()) != null) {
+                final PostingsBuilder builder = new PostingsBuilder(recordPositions);
+                for (RunReader reader : readers) {
+                    reader.readPostings(builder);
+                }
+                writer.add(builder);
+            }
+        } finally {
+            merger.close();
+        }
+    }
+
+    /**
+     * Deletes all runs written to disk.
+     */
+    @Override
+    public void close() {
+        for (File[] run : runs) {
+            for (File file : run) {
+                if (!file.delete()) {
+                    LOGGER.info("Could not delete run file " + file);
+                }
+            }
+        }
+        runs.clear();
+    }
+
+    /**
+     * The {@code RunMerger} class merges the runs by term with a priority queue of run readers, ordered by
+     * term and then by run number.
+     */
+    private final class RunMerger implements Closeable {
+        private final List<RunReader> readers = new ArrayList<>();
+        private final PriorityQueue<RunReader> queue;
+        private final List<RunReader> current = new ArrayList<>();
+
+        /**
+         * Initializes a newly created {@code RunMerger} object over all runs.
+         * <p>
+         * @param readPostings true if the postings files are read along with the terms files
+         * @throws IOException if an I/O error occurs
+         */
+        RunMerger(boolean readPostings) throws IOException {
+            this.queue = new PriorityQueue<>(runs.size(), new Comparator<RunReader>() {
+                @Override
+                public int compare(RunReader a, RunReader b) {
+                    final int cmp = TermDictionary.compare(a.term, a.termLength, b.term, b.termLength);
+                    return cmp != 0 ? cmp : a.run - b.run;
+                }
+            });
+            try {
+                for (int run = 0; run < runs.size(); run++) {
+                    final RunReader reader = new RunReader(run, runs.get(run), readPostings);
+                    readers.add(reader);
+                    if (reader.nextTerm()) {
+                        queue.add(reader);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /**
+         * Returns the readers positioned at the next smallest term in run order, or {@code null} if all terms
+         * have been merged. The returned readers are advanced on the following call.
+         * <p>
+         * @return the readers positioned at the next term
+         * @throws IOException if an I/O error occurs
+         */
+        List<RunReader> next() throws IOException {
+            for (RunReader reader : current) {
+                if (reader.nextTerm()) {
+                    queue.add(reader);
+                }
+            }
+            current.clear();
+            if (queue.isEmpty()) {
+                return null;
+            }
+            current.add(queue.poll());
+            final RunReader first = current.get(0);
+            while (!queue.isEmpty() && TermDictionary.compare(
+                    queue.peek().term, queue.peek().termLength, first.term, first.termLength) == 0) {
+                current.add(queue.poll());
+            }
+            return current;
+        }
+
+        /**
+         * Closes the readers of all runs.
+         */
+        @Override
+        public void close() throws IOException {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * The {@code RunReader} class reads the terms file of a run, and optionally its postings file in lockstep.
+     */
+    private final class RunReader implements Closeable {
+        private final int run;
+        private final DataInputStream terms;
+        private final DataInputStream postings;
+        private int remainingTerms;
+        private byte[] term = new byte[64];
+        private int termLength = 0;
+        private int documentFrequency = 0;
+        private long totalFrequency = 0;
+
+        /**
+         * Initializes a newly created {@code RunReader} object.
+         * <p>
+         * @param run the run number
+         * @param files the terms file and the postings file of the run
+         * @param readPostings true if the postings file is read
+         * @throws IOException if an I/O error occurs
+         */
+        RunReader(int run, File[] files, boolean readPostings) throws IOException {
+            this.run = run;
+            this.terms = new DataInputStream(new BufferedInputStream(new FileInputStream(files[0])));
+            this.postings = readPostings
+                    ? new DataInputStream(new BufferedInputStream(new FileInputStream(files[1]))) : null;
+            this.remainingTerms = terms.readInt();
+        }
+
+        /**
+         * Moves to the next term of the run.
+         * <p>
+         * @return false if the run has no more term
+         * @throws IOException if an I/O error occurs
+         */
+        boolean nextTerm() throws IOException {
+            if (remainingTerms == 0) {
+                return false;
+            }
+            --remainingTerms;
+            termLength = terms.readInt();
+            if (termLength > term.length) {
+                term = new byte[termLength];
+            }
+            terms.readFully(term, 0, termLength);
+            documentFrequency = terms.readInt();
+            totalFrequency = terms.readLong();
+            return true;
+        }
+
+        /**
+         * Returns the current term.
+         * <p>
+         * @return the current term
+         */
+        String getTerm() {
+            return new String(term, 0, termLength, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads the postings of the current term and appends them to the {@code builder}.
+         * <p>
+         * @param builder the postings list builder of the current term
+         * @throws IOException if an I/O error occurs
+         */
+        void readPostings(PostingsBuilder builder) throws IOException {
+            int[] positions = new int[0];
+            for (int i = 0; i < documentFrequency; i++) {
+                final int docId = postings.readInt();
+                final int frequency = postings.readInt();
+                if (recordPositions) {
+                    if (frequency > positions.length) {
+                        positions = new int[frequency];
+                    }
+                    for (int j = 0; j < frequency; j++) {
+                        positions[j] = postings.readInt();
+                    }
+                }
+                builder.add(docId, frequency, positions, 0);
+            }
+        }
+
+        /**
+         * Closes the run files.
+         */
+        @Override
+        public void close() throws IOException {
+            terms.close();
+            if (postings != null) {
+                postings.close();
+            }
+        }
+    }
+
+}
@@ -1,26 +1,31 @@
 package edu.nyu.cs.engine.index.impl;
 
-import java.io.BufferedReader;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.FileReader;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Scanner;
-import java.util.Set;
 import java.util.logging.Logger;
 
 import edu.nyu.cs.engine.document.SearchDocument;
 import edu.nyu.cs.engine.document.FullscanDocument;
+import edu.nyu.cs.engine.exception.CorruptIndexException;
 import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.build.BatchProcessor;
+import edu.nyu.cs.engine.index.build.DocumentBatch;
+import edu.nyu.cs.engine.index.build.IndexingPipeline;
+import edu.nyu.cs.engine.index.io.DocumentTable;
+import edu.nyu.cs.engine.index.io.DocumentValues;
+import edu.nyu.cs.engine.index.io.IndexFileReader;
+import edu.nyu.cs.engine.index.io.IndexFileWriter;
+import edu.nyu.cs.engine.index.io.IndexSection;
+import edu.nyu.cs.engine.index.io.TermDictionary;
+import edu.nyu.cs.engine.index.io.TermDictionaryBuilder;
+import edu.nyu.cs.engine.index.utils.IndexLoadMode;
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.index.utils.Tokenizer;
 import edu.nyu.cs.engine.query.SearchQuery;
 import edu.nyu.cs.engine.server.ServerOption;
 
@@ -31,29 +36,34 @@ import edu.nyu.cs.engine.server.ServerOption;
  * interface. This implementation represents the simple fullscan indexer which provides availability of keeping 
  * search documents as well as terms information in order to access during search engine serving time.
  * <p>
+ * Besides the token lists of the documents, a forward index of the distinct term ids of every document in 
+ * ascending order along with their frequencies is built from the token lists on the first call of 
+ * {@link #getTermFrequencyByDocument(String, int)}, which is then a binary search rather than a scan of the 
+ * tokens. No ranker calls it today, so neither constructing nor loading the index pays for it. The 
+ * numeric features of the documents are also written to the document values section, and read back as 
+ * {@link edu.nyu.cs.engine.index.io.DocumentValues} columns. Only the token arrays are held on the heap after 
+ * the index is loaded: titles and urls stay block-compressed in the 
+ * {@link edu.nyu.cs.engine.index.io.DocumentTable}, and {@link #getDocument(int)} assembles a 
+ * {@link edu.nyu.cs.engine.document.FullscanDocument} on demand.
+ * <p>
  * Note: {@code FullscanIndexer} objects are mutable; their value could be changed after they are created. 
  * Thus, {@code FullscanIndexer} objects are not thread-safe. If multiple threads access a {@code FullscanIndexer} 
  * instance concurrently, and at least one of the threads modifies it structurally, it must be synchronized 
  * externally.
  */
-public class FullscanIndexer extends SearchIndexer implements Serializable {
+public class FullscanIndexer extends SearchIndexer {
     private static final Logger LOGGER =  Logger.getLogger("edu.nyu.cs.engine.index.impl.FullscanIndexer");
-    private static final long serialVersionUID = 8694287032090282208L;
+    private static final int INITIAL_CAPACITY = 1024;
     
-    private Map<String, Integer> dictionary = new HashMap<>();
-    private List<String> terms = new ArrayList<>();
-    private Map<Integer, Integer> termFrequency = new HashMap<>();
-    private Map<Integer, Integer> termFrequencyByDoc = new HashMap<>();
-    private List<FullscanDocument> documents = new ArrayList<>();
+    private TermDictionary dictionary = TermDictionary.EMPTY;
+    private int[] termFrequency = new int[INITIAL_CAPACITY];
+    private int[] termFrequencyByDoc = new int[INITIAL_CAPACITY];
+    private int[][] titleTokens = new int[0][];
+    private int[][] bodyTokens = new int[0][];
+    private DocumentTable documentTable = null;
+    private DocumentValues documentValues = DocumentValues.EMPTY;
+    private volatile ForwardIndex forwardIndex = null;
 
-    /**
-     * Initializes a newly created {@code FullscanIndexer} object with no server option object. This 
-     * constructor is provided for serialization usage.
-     */
-    public FullscanIndexer() {
-        super();
-    }
-    
     /**
      * Initializes a newly created {@code FullscanIndexer} object so that it records specific server option 
      * arguments using in fullscan search indexing process.
@@ -73,20 +83,64 @@ public class FullscanIndexer extends SearchIndexer implements Serializable {
      * @return an unmodifiable view of the specified list. If no tokens in document matched, returns an empty 
      * list
      */
-    public List<String> getTermsByIndexes(List<Integer> indexes) {
-        List<String> result = new ArrayList<>();
+    public List<String> getTermsByIndexes(int[] indexes) {
+        List<String> result = new ArrayList<>(indexes.length);
         for (int index : indexes) {
-            result.add(terms.get(index));
+            result.add(dictionary.getTerm(index));
         }
         return Collections.unmodifiableList(result);
     }
 
     /**
-     * {@inheritDoc}
+     * Returns the title tokens index array of the document with specific {@code docId}, without building the 
+     * document. The internal array is returned without copying, thus callers must not modify it.
+     * <p>
+     * @param docId the document id
+     * @return the title tokens index array
+     */
+    public int[] getTitleTokens(int docId) {
+        return titleTokens[docId];
+    }
+    
+    /**
+     * Returns the body tokens index array of the document with specific {@code docId}, without building the 
+     * document. The internal array is returned without copying, thus callers must not modify it.
+     * <p>
+     * @param docId the document id
+     * @return the body tokens index array
+     */
+    public int[] getBodyTokens(int docId) {
+        return bodyTokens[docId];
+    }
+
+    /**
+     * Returns a new {@link edu.nyu.cs.engine.document.FullscanDocument} object of the specific {@code docId}, 
+     * built from the document table record and the token arrays, or {@code null} if no such document exists or 
+     * the index has been neither constructed nor loaded.
      */
     @Override
     public SearchDocument getDocument(int docId) {
-        return (docId >= documents.size() || docId < 0) ? null : documents.get(docId);
+        final SearchDocument document = documentTable == null ? null : documentTable.get(docId);
+        if (document == null) {
+            return null;
+        }
+        return new FullscanDocument(
+                docId, 
+                document.getTitle(), 
+                document.getUrl(), 
+                document.getPageRank(), 
+                document.getNumberOfViews(), 
+                this, 
+                titleTokens[docId], 
+                bodyTokens[docId]);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public DocumentValues getDocumentValues() {
+        return documentValues;
     }
     
     /**
@@ -107,94 +161,227 @@ public class FullscanIndexer extends SearchIndexer implements Serializable {
         final String corpusPath = serverOption.getCorpusPath();
         LOGGER.info("Construct search index from " + corpusPath);
         
-        BufferedReader reader = new BufferedReader(
-                new FileReader(corpusPath));
+        final TermDictionaryBuilder dictionaryBuilder = new TermDictionaryBuilder();
+        final List<FullscanDocument> documents = new ArrayList<>();
+        IndexingPipeline<PartialIndex> pipeline = new IndexingPipeline<>(corpusPath, getIndexerThreads(), 
+                IndexingPipeline.DEFAULT_BATCH_SIZE, new BatchProcessor<PartialIndex>() {
+                    @Override
+                    public PartialIndex process(DocumentBatch batch) {
+                        return scan(batch);
+                    }
+                });
         try {
-            String line = null;
-            while ((line = reader.readLine()) != null) {
-                @SuppressWarnings("resource")
-                Scanner scanner = new Scanner(line).useDelimiter("\t");
-                final String title = scanner.next();
-                final List<Integer> titleTokens = new ArrayList<>();
-                readTerms(title, titleTokens);
-                final List<Integer> bodyTokens = new ArrayList<>();
-                readTerms(scanner.next(), bodyTokens);
-                final int numberOfViews = Integer.parseInt(scanner.next());
-                scanner.close();
-                
-                final FullscanDocument document = new FullscanDocument(
-                        documents.size(), 
-                        title, 
-                        "", 
-                        0.0f, 
-                        numberOfViews,
-                        this,
-                        titleTokens,
-                        bodyTokens);
-                documents.add(document);
-                ++numberOfDocs;
-                
-                final Set<Integer> uniqueTerms = new HashSet<>();
-                updateIndexerStatistics(document.getTitleTokens(), uniqueTerms);
-                updateIndexerStatistics(document.getBodyTokens(), uniqueTerms);
-                for (Integer index : uniqueTerms) {
-                    termFrequencyByDoc.put(index, termFrequencyByDoc.get(index) + 1);
+            PartialIndex partialIndex = null;
+            while ((partialIndex = pipeline.next()) != null) {
+                final int[] termIds = new int[partialIndex.dictionaryBuilder.size()];
+                for (int localIndex = 0; localIndex < termIds.length; localIndex++) {
+                    final int index = dictionaryBuilder.add(partialIndex.dictionaryBuilder.getTerm(localIndex));
+                    if (index == termFrequency.length) {
+                        termFrequency = Arrays.copyOf(termFrequency, index * 2);
+                        termFrequencyByDoc = Arrays.copyOf(termFrequencyByDoc, index * 2);
+                    }
+                    termFrequency[index] += partialIndex.termFrequency[localIndex];
+                    termFrequencyByDoc[index] += partialIndex.termFrequencyByDoc[localIndex];
+                    termIds[localIndex] = index;
+                }
+                for (FullscanDocument document : partialIndex.documents) {
+                    remapTokens(document.getTitleTokens(), termIds);
+                    remapTokens(document.getBodyTokens(), termIds);
+                    documents.add(document);
                 }
+                numberOfDocs += partialIndex.documents.size();
+                totalTermFrequency += partialIndex.totalTermFrequency;
             }
         } finally {
-            reader.close();
+            pipeline.close();
         }
         LOGGER.info(
                 "Indexed " + Integer.toString(numberOfDocs) + " documents with " + Long.toString(totalTermFrequency) + " terms");
         
+        // term ids are the ranks of the terms in the sorted dictionary, so remap all recorded term ids
+        final int numberOfTerms = dictionaryBuilder.size();
+        final int[] newTermIds = dictionaryBuilder.sort();
+        final int[] sortedTermFrequency = new int[numberOfTerms];
+        final int[] sortedTermFrequencyByDoc = new int[numberOfTerms];
+        for (int index = 0; index < numberOfTerms; index++) {
+            sortedTermFrequency[newTermIds[index]] = termFrequency[index];
+            sortedTermFrequencyByDoc[newTermIds[index]] = termFrequencyByDoc[index];
+        }
+        termFrequency = sortedTermFrequency;
+        termFrequencyByDoc = sortedTermFrequencyByDoc;
+        titleTokens = new int[numberOfDocs][];
+        bodyTokens = new int[numberOfDocs][];
+        final int[] numberOfViews = new int[numberOfDocs];
+        final float[] pageRanks = new float[numberOfDocs];
+        final int[] lengths = new int[numberOfDocs];
+        for (int docId = 0; docId < numberOfDocs; docId++) {
+            final FullscanDocument document = documents.get(docId);
+            remapTokens(document.getTitleTokens(), newTermIds);
+            remapTokens(document.getBodyTokens(), newTermIds);
+            titleTokens[docId] = document.getTitleTokens();
+            bodyTokens[docId] = document.getBodyTokens();
+            numberOfViews[docId] = document.getNumberOfViews();
+            pageRanks[docId] = document.getPageRank();
+            lengths[docId] = titleTokens[docId].length + bodyTokens[docId].length;
+        }
+        final ByteBuffer dictionarySection = dictionaryBuilder.encode();
+        dictionary = new TermDictionary(dictionarySection);
+        forwardIndex = null;
+        documentValues = new DocumentValues(numberOfViews, pageRanks, lengths);
+        
         final String indexPath = serverOption.getIndexPath();
         LOGGER.info("Save search index to " + indexPath);
         
-        ObjectOutputStream writer = new ObjectOutputStream(
-                new FileOutputStream(indexPath));
-        writer.writeObject(this);
-        writer.close();
+        IndexFileWriter writer = new IndexFileWriter(indexPath, IndexerType.FULLSCAN);
+        try {
+            writer.beginSection(IndexSection.DICTIONARY);
+            writer.writeBytes(dictionarySection.array(), 0, dictionarySection.limit());
+            writer.endSection();
+            
+            writer.beginSection(IndexSection.STATISTICS);
+            writer.writeInt(numberOfDocs);
+            writer.writeLong(totalTermFrequency);
+            writer.writeInt(numberOfTerms);
+            writer.writeInts(termFrequency, 0, numberOfTerms);
+            writer.writeInts(termFrequencyByDoc, 0, numberOfTerms);
+            writer.endSection();
+            
+            writer.beginSection(IndexSection.DOCUMENTS);
+            DocumentTable.write(writer, documents);
+            writer.endSection();
+            
+            writer.beginSection(IndexSection.POSTINGS);
+            for (int docId = 0; docId < numberOfDocs; docId++) {
+                writeTokens(writer, titleTokens[docId]);
+                writeTokens(writer, bodyTokens[docId]);
+            }
+            writer.endSection();
+            
+            writer.beginSection(IndexSection.DOCUMENT_VALUES);
+            DocumentValues.write(writer, numberOfViews, pageRanks, lengths);
+            writer.endSection();
+            writer.finish();
+        } finally {
+            writer.close();
+        }
+        
+        // the document records are only kept in the index file, so open its document table as load does
+        IndexFileReader reader = new IndexFileReader(indexPath, IndexerType.FULLSCAN, getIndexLoadMode());
+        try {
+            documentTable = new DocumentTable(reader.getSection(IndexSection.DOCUMENTS));
+        } finally {
+            reader.close();
+        }
+        advanceGeneration();
+    }
+    
+    /**
+     * Write the number of tokens followed by each token index.
+     * <p>
+     * @param writer the index file writer
+     * @param tokens the token list to be written
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeTokens(IndexFileWriter writer, int[] tokens) throws IOException {
+        writer.writeInt(tokens.length);
+        writer.writeInts(tokens, 0, tokens.length);
+    }
+    
+    /**
+     * Replaces each token index in {@code tokens} with its new index.
+     * <p>
+     * @param tokens the token array to be remapped in place
+     * @param newTermIds the new term indexes indexed by the previous term indexes
+     */
+    private static void remapTokens(int[] tokens, int[] newTermIds) {
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = newTermIds[tokens[i]];
+        }
+    }
+    
+    /**
+     * Builds the partial index of all documents in the {@code batch}, whose token indexes are local to the 
+     * batch. Called on the indexing pipeline worker threads, thus it only touches the returned partial index.
+     * <p>
+     * @param batch the document batch
+     * @return the partial index of the batch
+     */
+    private PartialIndex scan(DocumentBatch batch) {
+        final PartialIndex partialIndex = new PartialIndex();
+        final IntArrayList tokens = new IntArrayList();
+        final Tokenizer tokenizer = new Tokenizer();
+        int docId = batch.getFirstDocId();
+        for (String line : batch.getLines()) {
+            final int titleEnd = line.indexOf('\t');
+            final int bodyEnd = line.indexOf('\t', titleEnd + 1);
+            final int viewsEnd = line.indexOf('\t', bodyEnd + 1);
+            final String title = line.substring(0, titleEnd);
+            tokens.clear();
+            readTerms(tokenizer.reset(line, 0, titleEnd), partialIndex, tokens);
+            final int[] titleTokens = tokens.toArray();
+            tokens.clear();
+            readTerms(tokenizer.reset(line, titleEnd + 1, bodyEnd), partialIndex, tokens);
+            final int[] bodyTokens = tokens.toArray();
+            final int numberOfViews = Integer.parseInt(
+                    line.substring(bodyEnd + 1, viewsEnd < 0 ? line.length() : viewsEnd));
+            
+            final FullscanDocument document = new FullscanDocument(
+                    docId++, 
+                    title, 
+                    "", 
+                    0.0f, 
+                    numberOfViews,
+                    this,
+                    titleTokens,
+                    bodyTokens);
+            partialIndex.documents.add(document);
+            
+            final int docNumber = partialIndex.documents.size();
+            updateIndexerStatistics(titleTokens, docNumber, partialIndex);
+            updateIndexerStatistics(bodyTokens, docNumber, partialIndex);
+        }
+        return partialIndex;
     }
     
     /**
-     * Read the content and collect each token into the specific {@code tokens} list. Besides, each token is 
-     * updated for all arguments in the fullscan indexer.
+     * Read the tokens of the content and collect each token into the specific {@code tokens} list. New terms are 
+     * added to the dictionary builder of the partial index and its term statistics arrays grow as needed.
      * <p>
-     * @param content the string content
+     * @param tokenizer the tokenizer reset to the content
+     * @param partialIndex the partial index
      * @param tokens the token list to be updated
      */
-    private void readTerms(String content, List<Integer> tokens) {
-        Scanner scanner = new Scanner(content);
-        while (scanner.hasNext()) {
-            final String token = scanner.next();
-            int index = -1;
-            if (dictionary.containsKey(token)) {
-                index = dictionary.get(token);
-            } else {
-                index = terms.size();
-                terms.add(token);
-                dictionary.put(token, index);
-                termFrequency.put(index, 0);
-                termFrequencyByDoc.put(index, 0);
+    private static void readTerms(Tokenizer tokenizer, PartialIndex partialIndex, IntArrayList tokens) {
+        while (tokenizer.next()) {
+            final int index = partialIndex.dictionaryBuilder.add(
+                    tokenizer.text(), tokenizer.start(), tokenizer.end());
+            if (index == partialIndex.termFrequency.length) {
+                partialIndex.termFrequency = Arrays.copyOf(partialIndex.termFrequency, index * 2);
+                partialIndex.termFrequencyByDoc = Arrays.copyOf(partialIndex.termFrequencyByDoc, index * 2);
+                partialIndex.lastDocNumbers = Arrays.copyOf(partialIndex.lastDocNumbers, index * 2);
             }
             tokens.add(index);
         }
-        scanner.close();
-        return;
     }
     
     /**
-     * Update the term frequencies in fullscan indexer based on the tokens list.
+     * Update the term frequencies of the partial index based on the tokens array. The document frequency of a 
+     * term is counted only the first time the term is seen in the document, which is detected by the last 
+     * document number recorded for the term.
      * <p>
-     * @param tokens the token list
-     * @param uniqueTerms the word term set to be updated
+     * @param tokens the token array
+     * @param docNumber the 1-based number of the document within the partial index
+     * @param partialIndex the partial index
      */
-    private void updateIndexerStatistics(List<Integer> tokens, Set<Integer> uniqueTerms) {
+    private static void updateIndexerStatistics(int[] tokens, int docNumber, PartialIndex partialIndex) {
         for (int index : tokens) {
-            uniqueTerms.add(index);
-            termFrequency.put(index, termFrequency.get(index) + 1);
-            ++totalTermFrequency;
+            ++partialIndex.termFrequency[index];
+            if (partialIndex.lastDocNumbers[index] != docNumber) {
+                partialIndex.lastDocNumbers[index] = docNumber;
+                ++partialIndex.termFrequencyByDoc[index];
+            }
         }
+        partialIndex.totalTermFrequency += tokens.length;
     }
 
     /**
@@ -203,32 +390,106 @@ public class FullscanIndexer extends SearchIndexer implements Serializable {
     @Override
     public void load() throws IOException, ClassNotFoundException {
         final String indexPath = serverOption.getIndexPath();
-        LOGGER.info("Load index file from " + indexPath);
+        final IndexLoadMode loadMode = getIndexLoadMode();
+        LOGGER.info("Load index file from " + indexPath + " in " + loadMode.name().toLowerCase() + " mode");
         
-        ObjectInputStream reader = new ObjectInputStream(
-                new FileInputStream(indexPath));
-        FullscanIndexer indexer = (FullscanIndexer) reader.readObject();
-        this.documents = indexer.documents;
-        this.numberOfDocs = documents.size();
-        for (Integer frequency : indexer.termFrequency.values()) {
-            this.totalTermFrequency += frequency;
+        IndexFileReader reader = new IndexFileReader(indexPath, IndexerType.FULLSCAN, loadMode);
+        try {
+            this.dictionary = new TermDictionary(reader.getSection(IndexSection.DICTIONARY));
+            final int numberOfTerms = dictionary.size();
+            
+            final ByteBuffer statisticsSection = reader.getSection(IndexSection.STATISTICS);
+            this.numberOfDocs = statisticsSection.getInt();
+            this.totalTermFrequency = statisticsSection.getLong();
+            final int storedNumberOfTerms = statisticsSection.getInt();
+            if (storedNumberOfTerms != numberOfTerms) {
+                throw new CorruptIndexException(indexPath, "the statistics of " + storedNumberOfTerms 
+                        + " terms do not match the dictionary of " + numberOfTerms + " terms");
+            }
+            this.termFrequency = IndexFileReader.readInts(statisticsSection, numberOfTerms);
+            this.termFrequencyByDoc = IndexFileReader.readInts(statisticsSection, numberOfTerms);
+            
+            this.documentTable = new DocumentTable(reader.getSection(IndexSection.DOCUMENTS));
+            final ByteBuffer postingsSection = reader.getSection(IndexSection.POSTINGS);
+            final int size = documentTable.size();
+            this.titleTokens = new int[size][];
+            this.bodyTokens = new int[size][];
+            for (int docId = 0; docId < size; docId++) {
+                titleTokens[docId] = readTokens(postingsSection);
+                bodyTokens[docId] = readTokens(postingsSection);
+            }
+            this.documentValues = new DocumentValues(reader.getSection(IndexSection.DOCUMENT_VALUES));
+        } finally {
+            reader.close();
         }
-        this.dictionary = indexer.dictionary;
-        this.terms = indexer.terms;
-        this.termFrequency = indexer.termFrequency;
-        this.termFrequencyByDoc = indexer.termFrequencyByDoc;
-        reader.close();
+        forwardIndex = null;
+        advanceGeneration();
         
         LOGGER.info(
                 Integer.toString(numberOfDocs) + " documents loaded with " + Long.toString(totalTermFrequency) + " terms");
     }
+    
+    /**
+     * Returns the forward index, which is built from the token lists of the documents on first use. The tokens 
+     * of each document are sorted in a scratch array, and each run of equal term ids becomes one (term id, 
+     * frequency) entry.
+     * <p>
+     * @return the forward index of the documents
+     */
+    private ForwardIndex getForwardIndex() {
+        ForwardIndex index = forwardIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = forwardIndex;
+            if (index != null) {
+                return index;
+            }
+            final int[] offsets = new int[titleTokens.length + 1];
+            final IntArrayList termIds = new IntArrayList();
+            final IntArrayList frequencies = new IntArrayList();
+            int[] tokens = new int[INITIAL_CAPACITY];
+            for (int docId = 0; docId < titleTokens.length; docId++) {
+                final int[] title = titleTokens[docId];
+                final int[] body = bodyTokens[docId];
+                final int length = title.length + body.length;
+                if (tokens.length < length) {
+                    tokens = new int[Math.max(length, tokens.length * 2)];
+                }
+                System.arraycopy(title, 0, tokens, 0, title.length);
+                System.arraycopy(body, 0, tokens, title.length, body.length);
+                Arrays.sort(tokens, 0, length);
+                for (int i = 0, j = 0; i < length; i = j) {
+                    while (j < length && tokens[j] == tokens[i]) {
+                        ++j;
+                    }
+                    termIds.add(tokens[i]);
+                    frequencies.add(j - i);
+                }
+                offsets[docId + 1] = termIds.size();
+            }
+            forwardIndex = index = new ForwardIndex(offsets, termIds.toArray(), frequencies.toArray());
+            return index;
+        }
+    }
+    
+    /**
+     * Read the token array written by {@link #writeTokens(IndexFileWriter, int[])}.
+     * <p>
+     * @param buffer the section buffer
+     * @return the token array read
+     */
+    private static int[] readTokens(ByteBuffer buffer) {
+        return IndexFileReader.readInts(buffer, buffer.getInt());
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public String getTermByIndex(int index) {
-        return (index >= terms.size() || index < 0) ? null : terms.get(index);
+        return dictionary.getTerm(index);
     }
 
     /**
@@ -236,7 +497,7 @@ public class FullscanIndexer extends SearchIndexer implements Serializable {
      */
     @Override
     public int getIndexByTerm(String term) {
-        return dictionary.containsKey(term) ? dictionary.get(term) : -1;
+        return dictionary.getTermId(term);
     }
 
     /**
@@ -244,7 +505,8 @@ public class FullscanIndexer extends SearchIndexer implements Serializable {
      */
     @Override
     public int getTermFrequency(String term) {
-        return dictionary.containsKey(term) ? termFrequency.get(dictionary.get(term)) : 0;
+        final int index = dictionary.getTermId(term);
+        return index < 0 ? 0 : termFrequency[index];
     }
 
     /**
@@ -252,7 +514,8 @@ public class FullscanIndexer extends SearchIndexer implements Serializable {
      */
     @Override
     public int getDocumentFrequencyByTerm(String term) {
-        return dictionary.containsKey(term) ? termFrequencyByDoc.get(dictionary.get(term)) : 0;
+        final int index = dictionary.getTermId(term);
+        return index < 0 ? 0 : termFrequencyByDoc[index];
     }
 
     /**
@@ -265,4 +528,51 @@ public class FullscanIndexer extends SearchIndexer implements Serializable {
         return 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTermFrequencyByDocument(String term, int docId) {
+        final int index = dictionary.getTermId(term);
+        if (index < 0 || docId < 0 || docId >= titleTokens.length) {
+            return 0;
+        }
+        final ForwardIndex forward = getForwardIndex();
+        final int entry = Arrays.binarySearch(
+                forward.termIds, forward.offsets[docId], forward.offsets[docId + 1], index);
+        return entry < 0 ? 0 : forward.frequencies[entry];
+    }
+    
+    /**
+     * The {@code ForwardIndex} class holds the distinct term ids of every document in ascending order along with 
+     * their frequencies: the entries of document {@code docId} are in range 
+     * [{@code offsets[docId]}, {@code offsets[docId + 1]}) of both arrays.
+     */
+    private static final class ForwardIndex {
+        private final int[] offsets;
+        private final int[] termIds;
+        private final int[] frequencies;
+        
+        private ForwardIndex(int[] offsets, int[] termIds, int[] frequencies) {
+            this.offsets = offsets;
+            this.termIds = termIds;
+            this.frequencies = frequencies;
+        }
+    }
+
+    /**
+     * The {@code PartialIndex} class holds the documents and term statistics of one document batch, with token 
+     * indexes local to the batch.
+     */
+    private static final class PartialIndex {
+        private static final int INITIAL_CAPACITY = 256;
+        
+        private final TermDictionaryBuilder dictionaryBuilder = new TermDictionaryBuilder();
+        private final List<FullscanDocument> documents = new ArrayList<>();
+        private int[] termFrequency = new int[INITIAL_CAPACITY];
+        private int[] termFrequencyByDoc = new int[INITIAL_CAPACITY];
+        private int[] lastDocNumbers = new int[INITIAL_CAPACITY];
+        private long totalTermFrequency = 0;
+    }
+    
 }
@@ -1,73 +1,147 @@
 package edu.nyu.cs.engine.index.impl;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.logging.Logger;
 
-import edu.nyu.cs.engine.document.SearchDocument;
-import edu.nyu.cs.engine.index.SearchIndexer;
-import edu.nyu.cs.engine.query.SearchQuery;
+import edu.nyu.cs.engine.exception.IllegalSearchEngineConfigurationException;
+import edu.nyu.cs.engine.index.InvertedIndexer;
+import edu.nyu.cs.engine.index.io.IndexFileReader;
+import edu.nyu.cs.engine.index.io.IndexFileWriter;
+import edu.nyu.cs.engine.index.io.PostingsWriter;
+import edu.nyu.cs.engine.index.postings.PositionalPostingsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsBuilder;
+import edu.nyu.cs.engine.index.postings.PostingsCodec;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+import edu.nyu.cs.engine.index.utils.PostingsCodecFactory;
+import edu.nyu.cs.engine.index.utils.PostingsCodecType;
 import edu.nyu.cs.engine.server.ServerOption;
 
 /**
  * @author shenli
- *
+ * <p>
+ * The {@code InvertedCompressedIndexer} based implementation of the 
+ * {@link edu.nyu.cs.engine.index.InvertedIndexer} abstract class. This implementation represents the 
+ * positional inverted indexer whose postings lists are compressed. Document ids and positions are delta 
+ * encoded and packed by a {@link edu.nyu.cs.engine.index.postings.PostingsCodec} into one contiguous byte 
+ * region, followed by the postings offsets of all terms. The postings list of term {@code t} occupies range 
+ * [{@code postingsOffsets[t]}, {@code postingsOffsets[t + 1]}) and is decoded on the fly by the postings 
+ * cursor.
+ * <p>
+ * The codec is selected by the {@code postings_codec} option in server configuration file, either 
+ * {@code vbyte} (default) or {@code pfor_delta}, and is recorded in the index so that loading always decodes 
+ * with the codec the index was built with.
+ * <p>
+ * Note: {@code InvertedCompressedIndexer} objects are mutable during indexing and effectively immutable once 
+ * loaded. Thus, multiple threads could search a loaded {@code InvertedCompressedIndexer} instance concurrently.
  */
-public class InvertedCompressedIndexer extends SearchIndexer {
-
+public class InvertedCompressedIndexer extends InvertedIndexer {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.index.impl.InvertedCompressedIndexer");
+    
+    private PostingsCodecType codecType = PostingsCodecType.VBYTE;
+    private PostingsCodec codec = PostingsCodecFactory.getPostingsCodec(codecType);
+    private ByteBuffer postings = ByteBuffer.allocate(0);
+    private int[] postingsOffsets = new int[] { 0 };
+    
+    /**
+     * Initializes a newly created {@code InvertedCompressedIndexer} object so that it records specific server 
+     * option arguments using in inverted search indexing process.
+     * <p>
+     * @param serverOption the search engine server option
+     */
     public InvertedCompressedIndexer(ServerOption serverOption) {
         super(serverOption);
     }
-    
-    @Override
-    public SearchDocument getDocument(int docId) {
-        // TODO Auto-generated method stub
-        return null;
-    }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public SearchDocument nextDocument(SearchQuery query, int docId) {
-        // TODO Auto-generated method stub
-        return null;
+    protected IndexerType getIndexerType() {
+        return IndexerType.INVERTED_COMPRESSED;
     }
 
+    /**
+     * Always return true since the term positions are recorded.
+     */
     @Override
-    public void construct() throws IOException {
-        // TODO Auto-generated method stub
-        
+    public boolean isPositional() {
+        return true;
     }
 
+    /**
+     * Returns a postings writer which writes the codec type ordinal, the encoded postings lists of all terms and 
+     * then the postings offsets of all terms.
+     */
     @Override
-    public void load() throws IOException, ClassNotFoundException {
-        // TODO Auto-generated method stub
+    protected PostingsWriter newPostingsWriter(final IndexFileWriter writer) throws IOException {
+        final String codecName = serverOption.getOption("postings_codec", PostingsCodecType.VBYTE.name());
+        try {
+            codecType = PostingsCodecType.valueOf(codecName.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalSearchEngineConfigurationException("No such postings codec type: " + codecName);
+        }
+        codec = PostingsCodecFactory.getPostingsCodec(codecType);
+        writer.writeInt(codecType.ordinal());
         
+        return new PostingsWriter() {
+            private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            private final IntArrayList offsets = new IntArrayList();
+            private int offset = 0;
+            private long numberOfValues = 0;
+            
+            @Override
+            public void add(PostingsBuilder builder) throws IOException {
+                out.reset();
+                codec.encode(builder, out);
+                writer.writeBytes(out.toByteArray(), 0, out.size());
+                numberOfValues += 2 * builder.getDocumentFrequency() + builder.getPositions().size();
+                offsets.add(offset);
+                offset += out.size();
+            }
+            
+            @Override
+            public void finish() throws IOException {
+                offsets.add(offset);
+                writer.writeInts(offsets.toArray(), 0, offsets.size());
+                LOGGER.info("Compressed " + Long.toString(numberOfValues * 4) + " bytes of postings into " 
+                        + Integer.toString(offset) + " bytes with " + codecType.name().toLowerCase() + " codec");
+            }
+        };
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public String getTermByIndex(int index) {
-        // TODO Auto-generated method stub
-        return null;
-    }
-
-    @Override
-    public int getIndexByTerm(String term) {
-        // TODO Auto-generated method stub
-        return 0;
-    }
-
-    @Override
-    public int getTermFrequency(String term) {
-        // TODO Auto-generated method stub
-        return 0;
+    protected void readPostings(ByteBuffer buffer) throws IOException {
+        final int ordinal = buffer.getInt();
+        if (ordinal < 0 || ordinal >= PostingsCodecType.values().length) {
+            throw new IOException("No such postings codec type ordinal: " + ordinal);
+        }
+        codecType = PostingsCodecType.values()[ordinal];
+        codec = PostingsCodecFactory.getPostingsCodec(codecType);
+        final int numberOfTerms = dictionary.size();
+        postings = IndexFileReader.sliceBytes(buffer, buffer.remaining() - (numberOfTerms + 1) * 4);
+        postingsOffsets = IndexFileReader.readInts(buffer, numberOfTerms + 1);
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public int getDocumentFrequencyByTerm(String term) {
-        // TODO Auto-generated method stub
-        return 0;
+    public PositionalPostingsCursor getPostingsCursor(int termId) {
+        return codec.newCursor(postings, postingsOffsets[termId], documentFrequency[termId]);
     }
 
+    /**
+     * Always return 0 since looking up documents by url is not supported.
+     */
     @Override
     public int getTermFrequencyByDocument(String term, String url) {
-        // TODO Auto-generated method stub
+        LOGGER.info("Not implement getTermFrequencyByDocument logic");
         return 0;
     }
 
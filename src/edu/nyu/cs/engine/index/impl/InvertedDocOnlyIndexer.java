@@ -1,73 +1,117 @@
 package edu.nyu.cs.engine.index.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.logging.Logger;
 
-import edu.nyu.cs.engine.document.SearchDocument;
-import edu.nyu.cs.engine.index.SearchIndexer;
-import edu.nyu.cs.engine.query.SearchQuery;
+import edu.nyu.cs.engine.index.InvertedIndexer;
+import edu.nyu.cs.engine.index.io.IndexFileReader;
+import edu.nyu.cs.engine.index.io.IndexFileWriter;
+import edu.nyu.cs.engine.index.io.PostingsWriter;
+import edu.nyu.cs.engine.index.postings.ArrayPostingsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsBuilder;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.index.utils.IntArrayList;
 import edu.nyu.cs.engine.server.ServerOption;
 
 /**
  * @author shenli
- *
+ * <p>
+ * The {@code InvertedDocOnlyIndexer} based implementation of the {@link edu.nyu.cs.engine.index.InvertedIndexer} 
+ * abstract class. This implementation represents the inverted indexer which maps each term to the sorted 
+ * list of document ids it appears in, without term frequencies or positions. The postings lists of all terms 
+ * are concatenated in term id order, followed by the postings offsets of all terms, and the postings list of 
+ * term {@code t} occupies range [{@code postingsOffsets[t]}, {@code postingsOffsets[t + 1]}) of the document 
+ * ids.
+ * <p>
+ * Note: {@code InvertedDocOnlyIndexer} objects are mutable during indexing and effectively immutable once 
+ * loaded. Thus, multiple threads could search a loaded {@code InvertedDocOnlyIndexer} instance concurrently.
  */
-public class InvertedDocOnlyIndexer extends SearchIndexer {
-
+public class InvertedDocOnlyIndexer extends InvertedIndexer {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.index.impl.InvertedDocOnlyIndexer");
+    
+    private int[] postingsOffsets = new int[] { 0 };
+    private IntBuffer docIds = IntBuffer.allocate(0);
+    
+    /**
+     * Initializes a newly created {@code InvertedDocOnlyIndexer} object so that it records specific server 
+     * option arguments using in inverted search indexing process.
+     * <p>
+     * @param serverOption the search engine server option
+     */
     public InvertedDocOnlyIndexer(ServerOption serverOption) {
         super(serverOption);
     }
     
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public SearchDocument getDocument(int docId) {
-        // TODO Auto-generated method stub
-        return null;
-    }
-
-    @Override
-    public SearchDocument nextDocument(SearchQuery query, int docId) {
-        // TODO Auto-generated method stub
-        return null;
-    }
-
-    @Override
-    public void construct() throws IOException {
-        // TODO Auto-generated method stub
-        
+    protected IndexerType getIndexerType() {
+        return IndexerType.INVERTED_DOCONLY;
     }
-
-    @Override
-    public void load() throws IOException, ClassNotFoundException {
-        // TODO Auto-generated method stub
-        
-    }
-
+    
+    /**
+     * Always return false since only document ids are recorded.
+     */
     @Override
-    public String getTermByIndex(int index) {
-        // TODO Auto-generated method stub
-        return null;
+    public boolean isPositional() {
+        return false;
     }
 
+    /**
+     * Returns a postings writer which writes the concatenated document ids and then the postings offsets of all 
+     * terms.
+     */
     @Override
-    public int getIndexByTerm(String term) {
-        // TODO Auto-generated method stub
-        return 0;
+    protected PostingsWriter newPostingsWriter(final IndexFileWriter writer) {
+        return new PostingsWriter() {
+            private final IntArrayList offsets = new IntArrayList();
+            private int offset = 0;
+            
+            @Override
+            public void add(PostingsBuilder builder) throws IOException {
+                offsets.add(offset);
+                writer.writeInts(builder.getDocIds().toArray(), 0, builder.getDocumentFrequency());
+                offset += builder.getDocumentFrequency();
+            }
+            
+            @Override
+            public void finish() throws IOException {
+                offsets.add(offset);
+                writer.writeInts(offsets.toArray(), 0, offsets.size());
+            }
+        };
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public int getTermFrequency(String term) {
-        // TODO Auto-generated method stub
-        return 0;
+    protected void readPostings(ByteBuffer buffer) throws IOException {
+        final int numberOfTerms = dictionary.size();
+        docIds = IndexFileReader.sliceInts(buffer, buffer.remaining() / 4 - (numberOfTerms + 1));
+        postingsOffsets = IndexFileReader.readInts(buffer, numberOfTerms + 1);
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public int getDocumentFrequencyByTerm(String term) {
-        // TODO Auto-generated method stub
-        return 0;
+    public PostingsCursor getPostingsCursor(int termId) {
+        return new ArrayPostingsCursor(
+                docIds, postingsOffsets[termId], postingsOffsets[termId + 1] - postingsOffsets[termId]);
     }
 
+    /**
+     * Always return 0 since the document ids only search indexer does not record the term numbers of each 
+     * document.
+     */
     @Override
     public int getTermFrequencyByDocument(String term, String url) {
-        // TODO Auto-generated method stub
+        LOGGER.info("Not implement getTermFrequencyByDocument logic");
         return 0;
     }
 
@@ -1,73 +1,134 @@
 package edu.nyu.cs.engine.index.impl;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.logging.Logger;
 
-import edu.nyu.cs.engine.document.SearchDocument;
-import edu.nyu.cs.engine.index.SearchIndexer;
-import edu.nyu.cs.engine.query.SearchQuery;
+import edu.nyu.cs.engine.index.InvertedIndexer;
+import edu.nyu.cs.engine.index.io.IndexFileReader;
+import edu.nyu.cs.engine.index.io.IndexFileWriter;
+import edu.nyu.cs.engine.index.io.PostingsWriter;
+import edu.nyu.cs.engine.index.postings.PositionalArrayPostingsCursor;
+import edu.nyu.cs.engine.index.postings.PositionalPostingsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsBuilder;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.index.utils.IntArrayList;
 import edu.nyu.cs.engine.server.ServerOption;
 
 /**
  * @author shenli
- *
+ * <p>
+ * The {@code InvertedOccurrenceIndexer} based implementation of the 
+ * {@link edu.nyu.cs.engine.index.InvertedIndexer} abstract class. This implementation represents the 
+ * positional inverted indexer which maps each term to the sorted list of documents it appears in, along with 
+ * the term frequency and the sorted token positions of the term within each document. The title and body 
+ * tokens of a document share one position space, title first, with 
+ * {@link edu.nyu.cs.engine.index.InvertedIndexer#FIELD_POSITION_GAP} positions left between them so that no 
+ * phrase spans the two fields.
+ * <p>
+ * The postings section is one int array. The record of each term, in term id order, holds its {@code df} 
+ * document ids, then {@code df + 1} position offsets, then its positions; the positions of the i-th posting 
+ * occupy range [{@code positionOffsets[i]}, {@code positionOffsets[i + 1]}) of the section. The records are 
+ * followed by the start of each record, so the record of term {@code t} begins at {@code termStarts[t]}. Each 
+ * record is written as soon as the postings list of its term is complete.
+ * <p>
+ * Note: {@code InvertedOccurrenceIndexer} objects are mutable during indexing and effectively immutable once 
+ * loaded. Thus, multiple threads could search a loaded {@code InvertedOccurrenceIndexer} instance concurrently.
  */
-public class InvertedOccurrenceIndexer extends SearchIndexer {
+public class InvertedOccurrenceIndexer extends InvertedIndexer {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.index.impl.InvertedOccurrenceIndexer");
     
+    private int[] termStarts = new int[] { 0 };
+    private IntBuffer postings = IntBuffer.allocate(0);
+    
+    /**
+     * Initializes a newly created {@code InvertedOccurrenceIndexer} object so that it records specific server 
+     * option arguments using in inverted search indexing process.
+     * <p>
+     * @param serverOption the search engine server option
+     */
     public InvertedOccurrenceIndexer(ServerOption serverOption) {
         super(serverOption);
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public SearchDocument getDocument(int docId) {
-        // TODO Auto-generated method stub
-        return null;
-    }
-
-    @Override
-    public SearchDocument nextDocument(SearchQuery query, int docId) {
-        // TODO Auto-generated method stub
-        return null;
+    protected IndexerType getIndexerType() {
+        return IndexerType.INVERTED_OCCURRENCE;
     }
 
+    /**
+     * Always return true since the term positions are recorded.
+     */
     @Override
-    public void construct() throws IOException {
-        // TODO Auto-generated method stub
-        
+    public boolean isPositional() {
+        return true;
     }
 
+    /**
+     * Returns a postings writer which writes the record of each term and then the record starts of all terms.
+     */
     @Override
-    public void load() throws IOException, ClassNotFoundException {
-        // TODO Auto-generated method stub
-        
+    protected PostingsWriter newPostingsWriter(final IndexFileWriter writer) throws IOException {
+        final long start = writer.getPosition();
+        return new PostingsWriter() {
+            private final IntArrayList starts = new IntArrayList();
+            
+            @Override
+            public void add(PostingsBuilder builder) throws IOException {
+                final int recordStart = (int) ((writer.getPosition() - start) / 4);
+                final int documentFrequency = builder.getDocumentFrequency();
+                starts.add(recordStart);
+                writer.writeInts(builder.getDocIds().toArray(), 0, documentFrequency);
+                int positionOffset = recordStart + 2 * documentFrequency + 1;
+                writer.writeInt(positionOffset);
+                for (int i = 0; i < documentFrequency; i++) {
+                    positionOffset += builder.getFrequencies().get(i);
+                    writer.writeInt(positionOffset);
+                }
+                writer.writeInts(builder.getPositions().toArray(), 0, builder.getPositions().size());
+            }
+            
+            @Override
+            public void finish() throws IOException {
+                starts.add((int) ((writer.getPosition() - start) / 4));
+                writer.writeInts(starts.toArray(), 0, starts.size());
+            }
+        };
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
-    public String getTermByIndex(int index) {
-        // TODO Auto-generated method stub
-        return null;
+    protected void readPostings(ByteBuffer buffer) throws IOException {
+        final int numberOfTerms = dictionary.size();
+        postings = IndexFileReader.sliceInts(buffer, buffer.remaining() / 4 - (numberOfTerms + 1));
+        termStarts = IndexFileReader.readInts(buffer, numberOfTerms + 1);
     }
 
+    /**
+     * Returns a cursor whose position offsets are a view of the section shifted by the document frequency, so 
+     * that the position offsets of a posting share the index of its document id.
+     */
     @Override
-    public int getIndexByTerm(String term) {
-        // TODO Auto-generated method stub
-        return 0;
-    }
-
-    @Override
-    public int getTermFrequency(String term) {
-        // TODO Auto-generated method stub
-        return 0;
-    }
-
-    @Override
-    public int getDocumentFrequencyByTerm(String term) {
-        // TODO Auto-generated method stub
-        return 0;
+    public PositionalPostingsCursor getPostingsCursor(int termId) {
+        final int df = documentFrequency[termId];
+        final IntBuffer positionOffsets = postings.duplicate();
+        positionOffsets.position(df);
+        return new PositionalArrayPostingsCursor(
+                postings, positionOffsets.slice(), postings, termStarts[termId], df);
     }
 
+    /**
+     * Always return 0 since looking up documents by url is not supported.
+     */
     @Override
     public int getTermFrequencyByDocument(String term, String url) {
-        // TODO Auto-generated method stub
+        LOGGER.info("Not implement getTermFrequencyByDocument logic");
         return 0;
     }
 
@@ -0,0 +1,179 @@
+package edu.nyu.cs.engine.index.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import edu.nyu.cs.engine.document.SearchDocument;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code DocumentTable} class provides random access to the document metadata stored in the documents 
+ * section of the index file, without materializing a {@link edu.nyu.cs.engine.document.SearchDocument} object 
+ * per document at load time. The records are grouped in blocks of {@link #BLOCK_SIZE} consecutive documents, 
+ * each deflated on its own. The section layout is:
+ * <pre>
+ *   repeated block: uncompressed byte length (int) and the deflated records of the block, each record being 
+ *            title (string), url (string), page rank (float) and number of views (int)
+ *   int[b+1] byte offset of each block relative to the section start, then the end of the last block
+ *   int      number of documents n
+ * </pre>
+ * The offsets and the number of documents follow the blocks so that the section could be written by 
+ * {@link edu.nyu.cs.engine.index.io.DocumentTableWriter} while the corpus is being processed. Looking up a 
+ * document inflates only its block, and the most recently used blocks are kept inflated in a small LRU cache, 
+ * since the documents of a result page are looked up together and popular documents recur across queries. 
+ * Titles and urls thus stay compressed, and memory-mapped when the {@code index_load_mode} option is 
+ * {@code mmap}, rather than resident on the heap.
+ * <p>
+ * Note: {@code DocumentTable} objects are thread-safe; the block cache is synchronized.
+ */
+public class DocumentTable {
+    /**
+     * The number of documents per compressed block.
+     */
+    public static final int BLOCK_SIZE = 16;
+    
+    /**
+     * The maximum number of inflated blocks kept in the cache.
+     */
+    public static final int CACHE_SIZE = 64;
+    
+    private static final ThreadLocal<Inflater> INFLATERS = new ThreadLocal<Inflater>() {
+        @Override
+        protected Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+    
+    private final ByteBuffer section;
+    private final int numberOfDocuments;
+    private final int offsetsStart;
+    private final BlockCache cache = new BlockCache();
+    
+    /**
+     * Initializes a newly created {@code DocumentTable} object over the documents section content.
+     * <p>
+     * @param section the documents section content, positioned at its first byte
+     */
+    public DocumentTable(ByteBuffer section) {
+        this.section = section.slice();
+        this.numberOfDocuments = this.section.getInt(this.section.limit() - 4);
+        final int numberOfBlocks = (numberOfDocuments + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        this.offsetsStart = this.section.limit() - 4 - (numberOfBlocks + 1) * 4;
+    }
+    
+    /**
+     * Returns the number of documents in the table.
+     * <p>
+     * @return the number of documents in the table
+     */
+    public int size() {
+        return numberOfDocuments;
+    }
+    
+    /**
+     * Returns a new {@link edu.nyu.cs.engine.document.SearchDocument} object of the specific {@code docId}, or 
+     * {@code null} if no such document exists. The block of the document is inflated unless it is cached.
+     * <p>
+     * @param docId the document id
+     * @return the document of the specific {@code docId}
+     * @throws IllegalStateException if the block of the document could not be inflated
+     */
+    public SearchDocument get(int docId) {
+        if (docId < 0 || docId >= numberOfDocuments) {
+            return null;
+        }
+        final int blockId = docId / BLOCK_SIZE;
+        byte[] block;
+        synchronized (cache) {
+            block = cache.get(blockId);
+        }
+        if (block == null) {
+            block = inflateBlock(blockId);
+            synchronized (cache) {
+                cache.put(blockId, block);
+            }
+        }
+        
+        final ByteBuffer record = ByteBuffer.wrap(block);
+        for (int i = docId % BLOCK_SIZE; i > 0; i--) {
+            // skip the title, the url, the page rank and the number of views of the preceding records
+            record.position(record.position() + 4 + record.getInt());
+            record.position(record.position() + 4 + record.getInt() + 8);
+        }
+        final String title = IndexFileReader.readString(record);
+        final String url = IndexFileReader.readString(record);
+        final float pageRank = record.getFloat();
+        final int numberOfViews = record.getInt();
+        return new SearchDocument(docId, title, url, pageRank, numberOfViews);
+    }
+    
+    /**
+     * Inflates the records of the block with specific {@code blockId}.
+     * <p>
+     * @param blockId the block id
+     * @return the uncompressed records of the block
+     * @throws IllegalStateException if the block could not be inflated
+     */
+    private byte[] inflateBlock(int blockId) {
+        final int offset = section.getInt(offsetsStart + blockId * 4);
+        final int end = section.getInt(offsetsStart + (blockId + 1) * 4);
+        final byte[] compressed = new byte[end - offset - 4];
+        final ByteBuffer input = section.duplicate();
+        input.position(offset + 4);
+        input.get(compressed);
+        
+        final byte[] records = new byte[section.getInt(offset)];
+        final Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        try {
+            inflater.setInput(compressed);
+            if (inflater.inflate(records) != records.length || !inflater.finished()) {
+                throw new IllegalStateException("Truncated documents block " + blockId);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt documents block " + blockId, e);
+        }
+        return records;
+    }
+    
+    /**
+     * Writes the documents section content for {@code documents}, whose document ids must be their indexes in 
+     * the list. The section must have been begun by the caller.
+     * <p>
+     * @param writer the index file writer
+     * @param documents the documents indexed by document id
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(IndexFileWriter writer, List<? extends SearchDocument> documents) 
+            throws IOException {
+        final DocumentTableWriter documentTableWriter = new DocumentTableWriter(writer);
+        for (SearchDocument document : documents) {
+            documentTableWriter.add(document);
+        }
+        documentTableWriter.finish();
+    }
+    
+    /**
+     * The {@code BlockCache} class keeps the records of the most recently used inflated blocks, evicting the 
+     * least recently used one beyond {@link DocumentTable#CACHE_SIZE} blocks. It must be synchronized externally.
+     */
+    private static final class BlockCache extends LinkedHashMap<Integer, byte[]> {
+        private static final long serialVersionUID = -5470529337915096453L;
+        
+        private BlockCache() {
+            super(CACHE_SIZE * 2, 0.75f, true);
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, byte[]> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    }
+    
+}
@@ -0,0 +1,117 @@
+package edu.nyu.cs.engine.index.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+
+import edu.nyu.cs.engine.document.SearchDocument;
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code DocumentTableWriter} class streams documents into the documents section in the layout read by 
+ * {@link edu.nyu.cs.engine.index.io.DocumentTable}. Records are buffered until a block of 
+ * {@link DocumentTable#BLOCK_SIZE} documents is complete, which is then deflated and written, so only the 
+ * current block and the block offsets are kept in memory.
+ * <p>
+ * Note: {@code DocumentTableWriter} objects are mutable and not thread-safe.
+ */
+public class DocumentTableWriter {
+    private final IndexFileWriter writer;
+    private final long start;
+    private final IntArrayList offsets = new IntArrayList();
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private final Deflater deflater = new Deflater();
+    private final byte[] compressed = new byte[4096];
+    private int size = 0;
+    
+    /**
+     * Initializes a newly created {@code DocumentTableWriter} object which writes to the documents section 
+     * begun by the caller.
+     * <p>
+     * @param writer the index file writer
+     * @throws IOException if an I/O error occurs
+     */
+    public DocumentTableWriter(IndexFileWriter writer) throws IOException {
+        this.writer = writer;
+        this.start = writer.getPosition();
+    }
+    
+    /**
+     * Writes the next document, whose document id must be the number of documents written before.
+     * <p>
+     * @param document the next document
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalArgumentException if the document id is out of order
+     */
+    public void add(SearchDocument document) throws IOException {
+        if (document.getId() != size) {
+            throw new IllegalArgumentException(
+                    "Expect document " + size + " but was " + document.getId());
+        }
+        writeString(document.getTitle());
+        writeString(document.getUrl());
+        blockOut.writeFloat(document.getPageRank());
+        blockOut.writeInt(document.getNumberOfViews());
+        if (++size % DocumentTable.BLOCK_SIZE == 0) {
+            flushBlock();
+        }
+    }
+    
+    /**
+     * Returns the number of documents written.
+     * <p>
+     * @return the number of documents written
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Writes the last partial block, the block offsets and the number of documents after the last block.
+     * <p>
+     * @throws IOException if an I/O error occurs
+     */
+    public void finish() throws IOException {
+        if (block.size() > 0) {
+            flushBlock();
+        }
+        deflater.end();
+        offsets.add((int) (writer.getPosition() - start));
+        writer.writeInts(offsets.toArray(), 0, offsets.size());
+        writer.writeInt(size);
+    }
+    
+    /**
+     * Writes {@code value} to the current block as its UTF-8 byte length followed by the bytes, as 
+     * {@link edu.nyu.cs.engine.index.io.IndexFileWriter#writeString(String)} does.
+     */
+    private void writeString(String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        blockOut.writeInt(bytes.length);
+        blockOut.write(bytes);
+    }
+    
+    /**
+     * Writes the uncompressed length and the deflated records of the current block, and starts a new block.
+     * <p>
+     * @throws IOException if an I/O error occurs
+     */
+    private void flushBlock() throws IOException {
+        offsets.add((int) (writer.getPosition() - start));
+        writer.writeInt(block.size());
+        deflater.reset();
+        deflater.setInput(block.toByteArray());
+        deflater.finish();
+        while (!deflater.finished()) {
+            final int length = deflater.deflate(compressed);
+            writer.writeBytes(compressed, 0, length);
+        }
+        block.reset();
+    }
+    
+}
@@ -0,0 +1,127 @@
+package edu.nyu.cs.engine.index.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code DocumentValues} class provides random access to the numeric features of every document, stored
+ * column by column in the document values section of the index file. The section layout is:
+ * <pre>
+ *   int      number of documents n
+ *   int[n]   number of views of every document
+ *   float[n] page rank of every document
+ *   int[n]   number of tokens of every document
+ * </pre>
+ * Each feature is a fixed-width column indexed by document id, viewed directly over the section buffer, so
+ * rankers scoring documents by a feature read consecutive values of a primitive column instead of decoding a
+ * {@link edu.nyu.cs.engine.document.SearchDocument} per candidate.
+ * <p>
+ * Note: {@code DocumentValues} objects are immutable and thread-safe.
+ */
+public class DocumentValues {
+    /**
+     * The document values of an empty corpus.
+     */
+    public static final DocumentValues EMPTY = new DocumentValues(new int[0], new float[0], new int[0]);
+
+    private final int numberOfDocuments;
+    private final IntBuffer numberOfViews;
+    private final FloatBuffer pageRanks;
+    private final IntBuffer lengths;
+
+    /**
+     * Initializes a newly created {@code DocumentValues} object over the document values section content.
+     * <p>
+     * @param section the document values section content, positioned at its first byte
+     */
+    public DocumentValues(ByteBuffer section) {
+        final ByteBuffer buffer = section.duplicate();
+        this.numberOfDocuments = buffer.getInt();
+        this.numberOfViews = IndexFileReader.sliceInts(buffer, numberOfDocuments);
+        this.pageRanks = IndexFileReader.sliceFloats(buffer, numberOfDocuments);
+        this.lengths = IndexFileReader.sliceInts(buffer, numberOfDocuments);
+    }
+
+    /**
+     * Initializes a newly created {@code DocumentValues} object over the columns in memory, which are not
+     * copied.
+     * <p>
+     * @param numberOfViews the number of views of every document
+     * @param pageRanks the page rank of every document
+     * @param lengths the number of tokens of every document
+     * @throws IllegalArgumentException if the columns have different lengths
+     */
+    public DocumentValues(int[] numberOfViews, float[] pageRanks, int[] lengths) {
+        if (pageRanks.length != numberOfViews.length || lengths.length != numberOfViews.length) {
+            throw new IllegalArgumentException("Document values columns must have the same length");
+        }
+        this.numberOfDocuments = numberOfViews.length;
+        this.numberOfViews = IntBuffer.wrap(numberOfViews);
+        this.pageRanks = FloatBuffer.wrap(pageRanks);
+        this.lengths = IntBuffer.wrap(lengths);
+    }
+
+    /**
+     * Returns the number of documents in the columns.
+     * <p>
+     * @return the number of documents
+     */
+    public int size() {
+        return numberOfDocuments;
+    }
+
+    /**
+     * Returns the number of views of the document with specific {@code docId}.
+     * <p>
+     * @param docId the document id
+     * @return the number of views of the document
+     */
+    public int numberOfViews(int docId) {
+        return numberOfViews.get(docId);
+    }
+
+    /**
+     * Returns the page rank of the document with specific {@code docId}.
+     * <p>
+     * @param docId the document id
+     * @return the page rank of the document
+     */
+    public float pageRank(int docId) {
+        return pageRanks.get(docId);
+    }
+
+    /**
+     * Returns the number of tokens in the title and body of the document with specific {@code docId}.
+     * <p>
+     * @param docId the document id
+     * @return the length of the document
+     */
+    public int length(int docId) {
+        return lengths.get(docId);
+    }
+
+    /**
+     * Writes the document values section content for the columns, which must have the same length. The section
+     * must have been begun by the caller.
+     * <p>
+     * @param writer the index file writer
+     * @param numberOfViews the number of views of every document
+     * @param pageRanks the page rank of every document
+     * @param lengths the number of tokens of every document
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(IndexFileWriter writer, int[] numberOfViews, float[] pageRanks, int[] lengths)
+            throws IOException {
+        writer.writeInt(numberOfViews.length);
+        writer.writeInts(numberOfViews, 0, numberOfViews.length);
+        for (float pageRank : pageRanks) {
+            writer.writeFloat(pageRank);
+        }
+        writer.writeInts(lengths, 0, lengths.length);
+    }
+
+}
@@ -0,0 +1,62 @@
+package edu.nyu.cs.engine.index.io;
+
+/**
+ * @author shenli
+ * <p>
+ * Constants of the search index file format shared by {@link edu.nyu.cs.engine.index.io.IndexFileWriter} and 
+ * {@link edu.nyu.cs.engine.index.io.IndexFileReader}. All values are big-endian. The file layout is:
+ * <pre>
+ *   header, {@link #HEADER_SIZE} bytes:
+ *     int      magic number {@link #MAGIC}
+ *     int      format version {@link #VERSION}
+ *     int      ordinal of the {@link edu.nyu.cs.engine.index.utils.IndexerType} which wrote the file
+ *     int      number of sections
+ *     repeated section id (int), section byte offset (long) and section byte length (long)
+ *     long     CRC32 checksum of the header bytes before it
+ *     long     CRC32 checksum of all bytes after the header, followed by the header bytes before the checksum
+ *   sections, each starting at an offset aligned to {@link #ALIGNMENT} bytes, in increasing offset order
+ * </pre>
+ * The file ends with the last section. Each section is shorter than {@link #MAX_SECTION_LENGTH} bytes, so that 
+ * it fits in a single {@link java.nio.ByteBuffer} and the int offsets within the section cannot overflow.
+ * Strings are written as the byte length (int) followed by the UTF-8 bytes, and arrays as consecutive values 
+ * whose count is stored before them by the section writer.
+ */
+public final class IndexFile {
+    /**
+     * The magic number identifying a search index file, "WSEI" in ASCII.
+     */
+    public static final int MAGIC = 0x57534549;
+    
+    /**
+     * The current format version.
+     */
+    public static final int VERSION = 16;
+    
+    /**
+     * The fixed size of the header in bytes, which bounds the number of sections.
+     */
+    public static final int HEADER_SIZE = 512;
+    
+    /**
+     * The alignment of each section offset in bytes.
+     */
+    public static final int ALIGNMENT = 8;
+    
+    /**
+     * The maximum number of sections, bounded by the size of the header.
+     */
+    public static final int MAX_SECTIONS = (HEADER_SIZE - 4 * 4 - 2 * 8) / (4 + 2 * 8);
+    
+    /**
+     * The exclusive upper bound of a section length in bytes, which is 2GB.
+     */
+    public static final long MAX_SECTION_LENGTH = 1L << 31;
+    
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private IndexFile() {
+        
+    }
+    
+}
@@ -0,0 +1,319 @@
+package edu.nyu.cs.engine.index.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import edu.nyu.cs.engine.exception.CorruptIndexException;
+import edu.nyu.cs.engine.index.utils.IndexLoadMode;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code IndexFileReader} class reads a search index file written by 
+ * {@link edu.nyu.cs.engine.index.io.IndexFileWriter}. See {@link edu.nyu.cs.engine.index.io.IndexFile} for the 
+ * file layout. Sections are returned as {@link java.nio.ByteBuffer} objects according to the 
+ * {@link edu.nyu.cs.engine.index.utils.IndexLoadMode}:
+ * <ul>
+ * <li>{@link edu.nyu.cs.engine.index.utils.IndexLoadMode#HEAP}: opening the file validates the header and the 
+ * checksum of the whole file, so that a damaged index is reported at server startup rather than while serving. 
+ * Each section is read onto the heap with a single bulk read.</li>
+ * <li>{@link edu.nyu.cs.engine.index.utils.IndexLoadMode#MMAP}: opening the file validates the header against 
+ * its own checksum, and the section table against the file size, so that a truncated file is rejected rather 
+ * than mapped. The checksum of the sections is not computed, since it would touch every page of the file. Each 
+ * section is memory-mapped read-only.</li>
+ * </ul>
+ * Sections are limited to 2GB each, which is the capacity of a {@link java.nio.ByteBuffer}.
+ * <p>
+ * Note: {@code IndexFileReader} objects are not thread-safe.
+ */
+public class IndexFileReader implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    
+    private final String path;
+    private final FileChannel channel;
+    private final IndexLoadMode loadMode;
+    private final Map<IndexSection, long[]> sections = new EnumMap<>(IndexSection.class);
+    private byte[] headerBytes;
+    private int headerChecksumOffset;
+    private long expectedChecksum;
+    
+    /**
+     * Initializes a newly created {@code IndexFileReader} object which reads sections onto the heap, and 
+     * validates the index file at {@code path}, which must have been written by the {@code indexerType} indexer.
+     * <p>
+     * @param path the index file path
+     * @param indexerType the expected indexer type
+     * @throws IOException if an I/O error occurs
+     * @throws CorruptIndexException if the index file is damaged or was written by another indexer type
+     */
+    public IndexFileReader(String path, IndexerType indexerType) throws IOException {
+        this(path, indexerType, IndexLoadMode.HEAP);
+    }
+    
+    /**
+     * Initializes a newly created {@code IndexFileReader} object which returns sections according to 
+     * {@code loadMode}, and validates the index file at {@code path}, which must have been written by the 
+     * {@code indexerType} indexer.
+     * <p>
+     * @param path the index file path
+     * @param indexerType the expected indexer type
+     * @param loadMode the index load mode
+     * @throws IOException if an I/O error occurs
+     * @throws CorruptIndexException if the index file is damaged or was written by another indexer type
+     */
+    public IndexFileReader(String path, IndexerType indexerType, IndexLoadMode loadMode) throws IOException {
+        this.path = path;
+        this.loadMode = loadMode;
+        this.channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        try {
+            readHeader(indexerType);
+            if (loadMode == IndexLoadMode.HEAP) {
+                verifyChecksum();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+    
+    /**
+     * Reads and validates the header.
+     * <p>
+     * @param indexerType the expected indexer type
+     * @throws IOException if an I/O error occurs
+     * @throws CorruptIndexException if the index file is damaged or was written by another indexer type
+     */
+    private void readHeader(IndexerType indexerType) throws IOException {
+        if (channel.size() < IndexFile.HEADER_SIZE) {
+            throw new CorruptIndexException(path, "file is too short");
+        }
+        final ByteBuffer header = ByteBuffer.allocate(IndexFile.HEADER_SIZE);
+        readFully(header, 0);
+        header.flip();
+        if (header.getInt() != IndexFile.MAGIC) {
+            throw new CorruptIndexException(path, "not a search index file");
+        }
+        final int version = header.getInt();
+        if (version != IndexFile.VERSION) {
+            throw new CorruptIndexException(path, "unsupported format version " + version);
+        }
+        final int ordinal = header.getInt();
+        if (ordinal != indexerType.ordinal()) {
+            throw new CorruptIndexException(path, "index was not built by " 
+                    + indexerType.name().toLowerCase() + " indexer");
+        }
+        final int numberOfSections = header.getInt();
+        if (numberOfSections < 0 || numberOfSections > IndexFile.MAX_SECTIONS) {
+            throw new CorruptIndexException(path, "invalid number of sections " + numberOfSections);
+        }
+        // sections are written one after another in increasing offset order, and the file ends with the last one
+        long end = IndexFile.HEADER_SIZE;
+        for (int i = 0; i < numberOfSections; i++) {
+            final int id = header.getInt();
+            final long offset = header.getLong();
+            final long length = header.getLong();
+            if (offset < end || offset % IndexFile.ALIGNMENT != 0 || length < 0 
+                    || length >= IndexFile.MAX_SECTION_LENGTH || offset + length > channel.size()) {
+                throw new CorruptIndexException(path, "section " + id + " is out of file bounds");
+            }
+            end = offset + length;
+            for (IndexSection section : IndexSection.values()) {
+                if (section.getId() == id && sections.put(section, new long[] { offset, length }) != null) {
+                    throw new CorruptIndexException(path, "duplicate section " + id);
+                }
+            }
+        }
+        if (end != channel.size()) {
+            throw new CorruptIndexException(path, "file size does not match the sections");
+        }
+        final CRC32 headerChecksum = new CRC32();
+        headerChecksum.update(header.array(), 0, header.position());
+        if (header.getLong() != headerChecksum.getValue()) {
+            throw new CorruptIndexException(path, "header checksum mismatch");
+        }
+        headerChecksumOffset = header.position();
+        expectedChecksum = header.getLong();
+        headerBytes = header.array();
+    }
+    
+    /**
+     * Computes the checksum of all bytes after the header followed by the header bytes preceding the checksum, 
+     * and compares it with the one recorded in the header.
+     * <p>
+     * @throws IOException if an I/O error occurs
+     * @throws CorruptIndexException if the checksum does not match
+     */
+    private void verifyChecksum() throws IOException {
+        final CRC32 checksum = new CRC32();
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long position = IndexFile.HEADER_SIZE;
+        while (position < channel.size()) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            checksum.update(buffer);
+            position += read;
+        }
+        checksum.update(headerBytes, 0, headerChecksumOffset);
+        if (checksum.getValue() != expectedChecksum) {
+            throw new CorruptIndexException(path, "checksum mismatch");
+        }
+    }
+    
+    /**
+     * Returns true if the index file contains the specific {@code section}.
+     * <p>
+     * @param section the index section
+     * @return true if the index file contains the section
+     */
+    public boolean hasSection(IndexSection section) {
+        return sections.containsKey(section);
+    }
+    
+    /**
+     * Returns the content of the specific {@code section}, positioned at its first byte. A memory-mapped section 
+     * remains valid after this reader is closed.
+     * <p>
+     * @param section the index section
+     * @return the content of the section
+     * @throws IOException if an I/O error occurs
+     * @throws CorruptIndexException if the index file does not contain the section
+     */
+    public ByteBuffer getSection(IndexSection section) throws IOException {
+        final long[] location = sections.get(section);
+        if (location == null) {
+            throw new CorruptIndexException(path, "missing section " + section);
+        }
+        if (loadMode == IndexLoadMode.MMAP) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, location[0], location[1]);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate((int) location[1]);
+        readFully(buffer, location[0]);
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * Fills the {@code buffer} with the file content starting at {@code position}.
+     * <p>
+     * @param buffer the buffer to fill
+     * @param position the file position to start reading
+     * @throws IOException if an I/O error occurs
+     * @throws CorruptIndexException if the file ends before the buffer is filled
+     */
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new CorruptIndexException(path, "unexpected end of file");
+            }
+            position += read;
+        }
+    }
+    
+    /**
+     * Reads a string written by {@link edu.nyu.cs.engine.index.io.IndexFileWriter#writeString(String)} from 
+     * the current position of the {@code buffer}.
+     * <p>
+     * @param buffer the section buffer
+     * @return the string read
+     */
+    public static String readString(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        final String value;
+        if (buffer.hasArray()) {
+            value = new String(
+                    buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+    
+    /**
+     * Reads {@code length} integers from the current position of the {@code buffer} into a new array.
+     * <p>
+     * @param buffer the section buffer
+     * @param length the number of integers to read
+     * @return the integers read
+     */
+    public static int[] readInts(ByteBuffer buffer, int length) {
+        final int[] values = new int[length];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + length * 4);
+        return values;
+    }
+    
+    /**
+     * Returns a view of the next {@code length} integers of the {@code buffer} without copying them, and 
+     * moves the buffer position after them.
+     * <p>
+     * @param buffer the section buffer
+     * @param length the number of integers to view
+     * @return the view of the integers
+     */
+    public static IntBuffer sliceInts(ByteBuffer buffer, int length) {
+        final ByteBuffer slice = buffer.slice();
+        slice.limit(length * 4);
+        buffer.position(buffer.position() + length * 4);
+        return slice.asIntBuffer();
+    }
+    
+    /**
+     * Returns a view of the next {@code length} floats of the {@code buffer} without copying them, and moves 
+     * the buffer position after them.
+     * <p>
+     * @param buffer the section buffer
+     * @param length the number of floats to view
+     * @return the view of the floats
+     */
+    public static FloatBuffer sliceFloats(ByteBuffer buffer, int length) {
+        final ByteBuffer slice = buffer.slice();
+        slice.limit(length * 4);
+        buffer.position(buffer.position() + length * 4);
+        return slice.asFloatBuffer();
+    }
+    
+    /**
+     * Returns a view of the next {@code length} bytes of the {@code buffer} without copying them, and moves 
+     * the buffer position after them.
+     * <p>
+     * @param buffer the section buffer
+     * @param length the number of bytes to view
+     * @return the view of the bytes
+     */
+    public static ByteBuffer sliceBytes(ByteBuffer buffer, int length) {
+        final ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    /**
+     * Closes the index file. Section buffers already returned remain valid.
+     * <p>
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+    
+}
@@ -0,0 +1,331 @@
+package edu.nyu.cs.engine.index.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import edu.nyu.cs.engine.index.utils.IndexerType;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code IndexFileWriter} class writes a search index file section by section through a buffered 
+ * {@link java.nio.channels.FileChannel}. The header is written last by {@link #finish()}, once the offset, 
+ * length and checksum of every section are known. See {@link edu.nyu.cs.engine.index.io.IndexFile} for the file 
+ * layout.
+ * <p>
+ * The sections are written to a temporary file in the directory of the index file, which {@link #finish()} 
+ * atomically renames to the index file once it is complete. An existing index file is therefore never modified 
+ * in place, and a search indexer which has memory-mapped it keeps reading the previous index safely.
+ * <p>
+ * A writer closed without being finished, e.g. because the index build failed between two sections, is aborted: 
+ * the temporary file is deleted and the existing index file, if any, is left untouched. The usual pattern is:
+ * <pre>
+ *   IndexFileWriter writer = new IndexFileWriter(path, indexerType);
+ *   try {
+ *       // write the sections
+ *       writer.finish();
+ *   } finally {
+ *       writer.close();
+ *   }
+ * </pre>
+ * <p>
+ * Note: {@code IndexFileWriter} objects are mutable and not thread-safe.
+ */
+public class IndexFileWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    
+    private final Path path;
+    private final Path temporaryPath;
+    private final FileChannel channel;
+    private final IndexerType indexerType;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CRC32 checksum = new CRC32();
+    private final Map<IndexSection, long[]> sections = new LinkedHashMap<>();
+    private IndexSection currentSection = null;
+    private long position = IndexFile.HEADER_SIZE;
+    private boolean finished = false;
+    
+    /**
+     * Initializes a newly created {@code IndexFileWriter} object so that it writes a new index file at 
+     * {@code path} on behalf of the {@code indexerType} indexer. An existing file is replaced when the writer 
+     * is finished.
+     * <p>
+     * @param path the index file path
+     * @param indexerType the indexer type writing the file
+     * @throws IOException if an I/O error occurs
+     */
+    public IndexFileWriter(String path, IndexerType indexerType) throws IOException {
+        this.path = Paths.get(path).toAbsolutePath();
+        this.temporaryPath = Files.createTempFile(
+                this.path.getParent(), this.path.getFileName().toString() + ".", ".tmp");
+        this.indexerType = indexerType;
+        try {
+            this.channel = FileChannel.open(temporaryPath, StandardOpenOption.WRITE);
+            channel.position(IndexFile.HEADER_SIZE);
+        } catch (IOException e) {
+            Files.deleteIfExists(temporaryPath);
+            throw e;
+        }
+    }
+    
+    /**
+     * Starts writing the specific {@code section}. All following values belong to this section until 
+     * {@link #endSection()} is called.
+     * <p>
+     * @param section the section to write
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if another section is being written, the section was already written or 
+     *         there are too many sections
+     */
+    public void beginSection(IndexSection section) throws IOException {
+        if (currentSection != null || sections.containsKey(section) || sections.size() == IndexFile.MAX_SECTIONS) {
+            throw new IllegalStateException("Could not begin section " + section);
+        }
+        while (position % IndexFile.ALIGNMENT != 0) {
+            writeByte(0);
+        }
+        currentSection = section;
+        sections.put(section, new long[] { position, 0 });
+    }
+    
+    /**
+     * Finishes writing current section.
+     * <p>
+     * @throws IOException if the section reached {@link edu.nyu.cs.engine.index.io.IndexFile#MAX_SECTION_LENGTH}
+     * @throws IllegalStateException if no section is being written
+     */
+    public void endSection() throws IOException {
+        if (currentSection == null) {
+            throw new IllegalStateException("No section is being written");
+        }
+        checkSectionLength();
+        final long[] section = sections.get(currentSection);
+        section[1] = position - section[0];
+        currentSection = null;
+    }
+    
+    /**
+     * Checks that current section, if any, is still shorter than 
+     * {@link edu.nyu.cs.engine.index.io.IndexFile#MAX_SECTION_LENGTH}.
+     * <p>
+     * @throws IOException if current section is too long
+     */
+    private void checkSectionLength() throws IOException {
+        if (currentSection != null && position - sections.get(currentSection)[0] >= IndexFile.MAX_SECTION_LENGTH) {
+            throw new IOException("Section " + currentSection + " of index file " + path 
+                    + " exceeds the limit of 2GB per section");
+        }
+    }
+    
+    /**
+     * Writes a single byte.
+     * <p>
+     * @param value the byte to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeByte(int value) throws IOException {
+        ensureRemaining(1);
+        buffer.put((byte) value);
+        position += 1;
+    }
+    
+    /**
+     * Writes an integer.
+     * <p>
+     * @param value the integer to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeInt(int value) throws IOException {
+        ensureRemaining(4);
+        buffer.putInt(value);
+        position += 4;
+    }
+    
+    /**
+     * Writes a long integer.
+     * <p>
+     * @param value the long integer to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeLong(long value) throws IOException {
+        ensureRemaining(8);
+        buffer.putLong(value);
+        position += 8;
+    }
+    
+    /**
+     * Writes a float.
+     * <p>
+     * @param value the float to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeFloat(float value) throws IOException {
+        ensureRemaining(4);
+        buffer.putFloat(value);
+        position += 4;
+    }
+    
+    /**
+     * Writes a string as its UTF-8 byte length followed by the UTF-8 bytes.
+     * <p>
+     * @param value the string to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeString(String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+    
+    /**
+     * Writes {@code length} integers of {@code values} starting at {@code offset}, without their count.
+     * <p>
+     * @param values the integers to write
+     * @param offset the index of the first integer to write
+     * @param length the number of integers to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeInts(int[] values, int offset, int length) throws IOException {
+        for (int i = offset; i < offset + length; i++) {
+            writeInt(values[i]);
+        }
+    }
+    
+    /**
+     * Writes {@code length} bytes of {@code values} starting at {@code offset}, without their count.
+     * <p>
+     * @param values the bytes to write
+     * @param offset the index of the first byte to write
+     * @param length the number of bytes to write
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeBytes(byte[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensureRemaining(1);
+            final int chunk = Math.min(length, buffer.remaining());
+            buffer.put(values, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+            position += chunk;
+        }
+    }
+    
+    /**
+     * Returns the current file position, relative to the start of the file.
+     * <p>
+     * @return the current file position
+     */
+    public long getPosition() {
+        return position;
+    }
+    
+    /**
+     * Flushes the buffer if it has less than {@code size} bytes remaining.
+     * <p>
+     * @param size the number of bytes to be written
+     * @throws IOException if an I/O error occurs
+     */
+    private void ensureRemaining(int size) throws IOException {
+        if (buffer.remaining() < size) {
+            flush();
+        }
+    }
+    
+    /**
+     * Writes the buffered bytes to the file channel and updates the checksum.
+     * <p>
+     * @throws IOException if an I/O error occurs or current section is too long
+     */
+    private void flush() throws IOException {
+        checkSectionLength();
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes all sections and writes the header, which makes the file a complete index file, then closes it 
+     * and atomically renames it to the index file path. The header has its own checksum, and the file checksum 
+     * covers the bytes of all sections followed by the header bytes preceding it.
+     * <p>
+     * @throws IOException if an I/O error occurs
+     * @throws IllegalStateException if a section is still being written or the writer is already finished
+     */
+    public void finish() throws IOException {
+        if (currentSection != null) {
+            throw new IllegalStateException("Section " + currentSection + " is not finished");
+        }
+        if (!channel.isOpen()) {
+            throw new IllegalStateException("Index file writer is already closed");
+        }
+        flush();
+        final ByteBuffer header = ByteBuffer.allocate(IndexFile.HEADER_SIZE);
+        header.putInt(IndexFile.MAGIC);
+        header.putInt(IndexFile.VERSION);
+        header.putInt(indexerType.ordinal());
+        header.putInt(sections.size());
+        for (Map.Entry<IndexSection, long[]> entry : sections.entrySet()) {
+            header.putInt(entry.getKey().getId());
+            header.putLong(entry.getValue()[0]);
+            header.putLong(entry.getValue()[1]);
+        }
+        final CRC32 headerChecksum = new CRC32();
+        headerChecksum.update(header.array(), 0, header.position());
+        header.putLong(headerChecksum.getValue());
+        checksum.update(header.array(), 0, header.position());
+        header.putLong(checksum.getValue());
+        header.rewind();
+        channel.position(0);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        channel.force(false);
+        channel.close();
+        Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+    
+    /**
+     * Discards the partial file: the temporary file is closed and deleted, and the existing index file, if any, 
+     * is left untouched. Calling this method on a finished writer has no effect.
+     * <p>
+     * @throws IOException if an I/O error occurs
+     */
+    public void abort() throws IOException {
+        if (finished) {
+            return;
+        }
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(temporaryPath);
+        }
+    }
+
+    /**
+     * Closes the file. A writer which is not {@linkplain #finish() finished} is {@linkplain #abort() aborted}, 
+     * so that this method never hides the failure of the index build by a failure of its own, other than an 
+     * I/O error while discarding the partial file.
+     * <p>
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        abort();
+    }
+    
+}
@@ -0,0 +1,67 @@
+package edu.nyu.cs.engine.index.io;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code IndexSection} enum represents the sections of a search index file. Each section has a stable 
+ * numeric id which is recorded in the index file header, so that sections could be added without changing 
+ * the meaning of existing ones.
+ */
+public enum IndexSection {
+    /**
+     * The term dictionary, mapping term ids to their string representation.
+     */
+    DICTIONARY(1),
+    
+    /**
+     * The corpus and per-term statistics.
+     */
+    STATISTICS(2),
+    
+    /**
+     * The document metadata such as title, url, page rank and number of views, in deflated blocks.
+     */
+    DOCUMENTS(3),
+    
+    /**
+     * The postings lists, or the document token lists for the fullscan indexer.
+     */
+    POSTINGS(4),
+    
+    /**
+     * The tf-idf vector norm of every document, for the inverted indexers.
+     */
+    NORMS(5),
+    
+    /**
+     * The maximum frequencies of every term used to bound query term scores, as well as the document length and 
+     * number of views bounds, for the inverted indexers.
+     */
+    BOUNDS(7),
+    
+    /**
+     * The maximum frequencies of every block of postings, for the inverted indexers.
+     */
+    BLOCK_BOUNDS(8),
+    
+    /**
+     * The number of views, page rank and number of tokens of every document in fixed-width columns.
+     */
+    DOCUMENT_VALUES(9);
+    
+    private final int id;
+    
+    private IndexSection(int id) {
+        this.id = id;
+    }
+    
+    /**
+     * Returns the numeric id of this section recorded in the index file header.
+     * <p>
+     * @return the numeric id of this section
+     */
+    public int getId() {
+        return id;
+    }
+    
+}
@@ -0,0 +1,30 @@
+package edu.nyu.cs.engine.index.io;
+
+import java.io.IOException;
+
+import edu.nyu.cs.engine.index.postings.PostingsBuilder;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PostingsWriter} interface streams the postings lists of all terms into the postings section of 
+ * the index file, one term at a time in term id order, so that the postings of all terms never need to be held 
+ * in memory at once. Each inverted indexer provides its own implementation which owns the section layout.
+ */
+public interface PostingsWriter {
+    /**
+     * Writes the postings list of the next term.
+     * <p>
+     * @param builder the postings list of the next term
+     * @throws IOException if an I/O error occurs
+     */
+    void add(PostingsBuilder builder) throws IOException;
+    
+    /**
+     * Writes the trailing content of the postings section after the postings list of the last term.
+     * <p>
+     * @throws IOException if an I/O error occurs
+     */
+    void finish() throws IOException;
+    
+}
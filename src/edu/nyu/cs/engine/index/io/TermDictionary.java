@@ -0,0 +1,220 @@
+package edu.nyu.cs.engine.index.io;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+import edu.nyu.cs.engine.index.postings.VByteReader;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code TermDictionary} class maps terms to term ids and back over a sorted, front-coded string table, so 
+ * that the dictionary costs about one byte per distinct term suffix rather than two {@link java.lang.String} 
+ * objects and a hash entry per term. Term ids are the ranks of the terms in UTF-8 byte order. The table could 
+ * be read directly from a heap or memory-mapped section buffer. The section layout is:
+ * <pre>
+ *   int      number of terms n
+ *   int      byte length of the longest term
+ *   int[b]   byte offset of each block relative to the block data, where b = ceil(n / {@link #BLOCK_SIZE})
+ *   blocks   of {@link #BLOCK_SIZE} terms each
+ * </pre>
+ * The first term of a block is stored as its byte length (vbyte) followed by its UTF-8 bytes, and each 
+ * following term as the length of the prefix shared with the previous term (vbyte), the suffix byte length 
+ * (vbyte) and the suffix bytes.
+ * <p>
+ * {@link #getTerm(int)} decodes at most one block from its start, and {@link #getTermId(String)} binary searches 
+ * the first terms of the blocks before scanning one block.
+ * <p>
+ * Note: {@code TermDictionary} objects are immutable and thread-safe.
+ */
+public class TermDictionary {
+    /**
+     * The number of terms in each front-coded block.
+     */
+    public static final int BLOCK_SIZE = 16;
+    
+    /**
+     * The dictionary without any term.
+     */
+    public static final TermDictionary EMPTY = new TermDictionary(ByteBuffer.allocate(8));
+    
+    private final int numberOfTerms;
+    private final int maxTermLength;
+    private final IntBuffer blockOffsets;
+    private final ByteBuffer blocks;
+    
+    /**
+     * Initializes a newly created {@code TermDictionary} object over the dictionary section content written by 
+     * {@link edu.nyu.cs.engine.index.io.TermDictionaryBuilder#encode()}.
+     * <p>
+     * @param section the dictionary section content, positioned at its first byte
+     */
+    public TermDictionary(ByteBuffer section) {
+        final ByteBuffer buffer = section.slice();
+        this.numberOfTerms = buffer.getInt();
+        this.maxTermLength = buffer.getInt();
+        this.blockOffsets = IndexFileReader.sliceInts(buffer, (numberOfTerms + BLOCK_SIZE - 1) / BLOCK_SIZE);
+        this.blocks = buffer.slice();
+    }
+    
+    /**
+     * Returns the number of terms in the dictionary.
+     * <p>
+     * @return the number of terms in the dictionary
+     */
+    public int size() {
+        return numberOfTerms;
+    }
+    
+    /**
+     * Returns the term of the specific {@code termId}, or {@code null} if no such term exists.
+     * <p>
+     * @param termId the term id
+     * @return the term of the specific {@code termId}
+     */
+    public String getTerm(int termId) {
+        if (termId < 0 || termId >= numberOfTerms) {
+            return null;
+        }
+        final byte[] term = new byte[maxTermLength];
+        final VByteReader reader = new VByteReader(blocks, blockOffsets.get(termId / BLOCK_SIZE));
+        int length = readFirstTerm(reader, term);
+        for (int i = termId % BLOCK_SIZE; i > 0; i--) {
+            length = readNextTerm(reader, term);
+        }
+        return new String(term, 0, length, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * Returns the term id of the specific {@code term}, or -1 if the term does not exist.
+     * <p>
+     * @param term the string representation term
+     * @return the term id of the specific {@code term}
+     */
+    public int getTermId(String term) {
+        final byte[] target = term.getBytes(StandardCharsets.UTF_8);
+        return getTermId(target, target.length);
+    }
+    
+    /**
+     * Returns the term id of the term whose UTF-8 bytes are the first {@code length} bytes of {@code target}, or 
+     * -1 if the term does not exist. Used with {@link edu.nyu.cs.engine.index.utils.Tokenizer#encode()} to look 
+     * up tokens without creating strings.
+     * <p>
+     * @param target the array holding the UTF-8 bytes of the term
+     * @param length the number of bytes of the term
+     * @return the term id of the term
+     */
+    public int getTermId(byte[] target, int length) {
+        if (numberOfTerms == 0 || length > maxTermLength) {
+            return -1;
+        }
+        // find the last block whose first term is not greater than the target
+        int low = 0;
+        int high = blockOffsets.limit() - 1;
+        while (low < high) {
+            final int middle = (low + high + 1) >>> 1;
+            final int cmp = compareFirstTerm(middle, target, length);
+            if (cmp == 0) {
+                return middle * BLOCK_SIZE;
+            } else if (cmp < 0) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        
+        final byte[] current = new byte[maxTermLength];
+        final VByteReader reader = new VByteReader(blocks, blockOffsets.get(low));
+        int currentLength = readFirstTerm(reader, current);
+        final int end = Math.min(numberOfTerms, (low + 1) * BLOCK_SIZE);
+        for (int termId = low * BLOCK_SIZE; ; ) {
+            final int cmp = compare(current, currentLength, target, length);
+            if (cmp == 0) {
+                return termId;
+            }
+            if (cmp > 0 || ++termId == end) {
+                return -1;
+            }
+            currentLength = readNextTerm(reader, current);
+        }
+    }
+    
+    /**
+     * Compares the first term of the specific {@code block} with the {@code target} term bytes without 
+     * copying the former.
+     * <p>
+     * @param block the block number
+     * @param target the array holding the UTF-8 bytes of the target term
+     * @param targetLength the number of bytes of the target term
+     * @return a negative integer, zero, or a positive integer as the first term of the block is less than, 
+     * equal to, or greater than the target term
+     */
+    private int compareFirstTerm(int block, byte[] target, int targetLength) {
+        final VByteReader reader = new VByteReader(blocks, blockOffsets.get(block));
+        final int length = reader.readVInt();
+        final int limit = Math.min(length, targetLength);
+        for (int i = 0; i < limit; i++) {
+            final int diff = reader.readByte() - (target[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return length - targetLength;
+    }
+    
+    /**
+     * Reads the first term of a block into {@code term}.
+     * <p>
+     * @param reader the reader positioned at the start of a block
+     * @param term the term bytes to be filled
+     * @return the byte length of the term
+     */
+    private static int readFirstTerm(VByteReader reader, byte[] term) {
+        final int length = reader.readVInt();
+        for (int i = 0; i < length; i++) {
+            term[i] = (byte) reader.readByte();
+        }
+        return length;
+    }
+    
+    /**
+     * Reads the next front-coded term of a block into {@code term}, which holds the previous term.
+     * <p>
+     * @param reader the reader positioned after the previous term
+     * @param term the previous term bytes to be overwritten by the next term
+     * @return the byte length of the next term
+     */
+    private static int readNextTerm(VByteReader reader, byte[] term) {
+        final int prefix = reader.readVInt();
+        final int length = prefix + reader.readVInt();
+        for (int i = prefix; i < length; i++) {
+            term[i] = (byte) reader.readByte();
+        }
+        return length;
+    }
+    
+    /**
+     * Compares two byte sequences lexicographically as unsigned values, which is the code point order of the 
+     * UTF-8 encoded strings.
+     * <p>
+     * @param a the first byte array
+     * @param aLength the number of bytes of {@code a} to compare
+     * @param b the second byte array
+     * @param bLength the number of bytes of {@code b} to compare
+     * @return a negative integer, zero, or a positive integer as the first sequence is less than, equal to, or 
+     * greater than the second sequence
+     */
+    public static int compare(byte[] a, int aLength, byte[] b, int bLength) {
+        final int limit = Math.min(aLength, bLength);
+        for (int i = 0; i < limit; i++) {
+            final int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return aLength - bLength;
+    }
+    
+}
@@ -0,0 +1,193 @@
+package edu.nyu.cs.engine.index.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code TermDictionaryBuilder} class assigns term ids in order of first appearance during the corpus 
+ * processing, and then encodes the terms into the sorted front-coded layout of 
+ * {@link edu.nyu.cs.engine.index.io.TermDictionary}. Since the final term ids are the sorted ranks of the terms, 
+ * the indexer must remap every term id it recorded with {@link #sort()} before the dictionary is encoded.
+ * <p>
+ * Terms are looked up in an open-addressing hash table of term ids, so that a term could be added straight 
+ * from a range of the content being tokenized, and a string is only created the first time a term is seen.
+ * <p>
+ * Note: {@code TermDictionaryBuilder} objects are mutable; their value could be changed after they are created. 
+ * Thus, {@code TermDictionaryBuilder} objects are not thread-safe.
+ */
+public class TermDictionaryBuilder {
+    private static final int INITIAL_CAPACITY = 64;
+    
+    private int[] table = newTable(INITIAL_CAPACITY);
+    private List<String> terms = new ArrayList<>();
+    private boolean sorted = false;
+    
+    /**
+     * Returns the term id of the specific {@code term}, and assigns the next term id to it if the term has 
+     * not been added before.
+     * <p>
+     * @param term the string representation term
+     * @return the term id of the term
+     * @throws IllegalStateException if the terms have already been sorted
+     */
+    public int add(String term) {
+        return add(term, 0, term.length());
+    }
+    
+    /**
+     * Returns the term id of the term in range [{@code start}, {@code end}) of the {@code text}, and assigns the 
+     * next term id to it if the term has not been added before.
+     * <p>
+     * @param text the text holding the term
+     * @param start the index of the first character of the term
+     * @param end the index after the last character of the term
+     * @return the term id of the term
+     * @throws IllegalStateException if the terms have already been sorted
+     */
+    public int add(CharSequence text, int start, int end) {
+        if (sorted) {
+            throw new IllegalStateException("Could not add term after the terms are sorted");
+        }
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + text.charAt(i);
+        }
+        final int mask = table.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (table[slot] >= 0) {
+            if (matches(terms.get(table[slot]), text, start, end)) {
+                return table[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        final int termId = terms.size();
+        terms.add(text.subSequence(start, end).toString());
+        table[slot] = termId;
+        if (terms.size() * 2 > table.length) {
+            rehash();
+        }
+        return termId;
+    }
+    
+    /**
+     * Returns true if the {@code term} equals range [{@code start}, {@code end}) of the {@code text}.
+     */
+    private static boolean matches(String term, CharSequence text, int start, int end) {
+        if (term.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            if (term.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Doubles the hash table and reinserts all term ids.
+     */
+    private void rehash() {
+        table = newTable(table.length * 2);
+        final int mask = table.length - 1;
+        for (int termId = 0; termId < terms.size(); termId++) {
+            final int hash = terms.get(termId).hashCode();
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (table[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = termId;
+        }
+    }
+    
+    /**
+     * Returns a new empty hash table of the specific {@code capacity}, a power of two.
+     */
+    private static int[] newTable(int capacity) {
+        final int[] table = new int[capacity];
+        Arrays.fill(table, -1);
+        return table;
+    }
+    
+    /**
+     * Returns the term of the specific {@code termId}, which is the id returned by {@link #add(String)} before 
+     * the terms are sorted and the sorted rank afterwards.
+     * <p>
+     * @param termId the term id
+     * @return the term of the specific {@code termId}
+     * @throws IndexOutOfBoundsException if the term id is out of range
+     */
+    public String getTerm(int termId) {
+        return terms.get(termId);
+    }
+    
+    /**
+     * Returns the number of distinct terms added.
+     * <p>
+     * @return the number of distinct terms added
+     */
+    public int size() {
+        return terms.size();
+    }
+    
+    /**
+     * Sorts the terms in UTF-8 byte order, and returns the new term id of every term indexed by the term id 
+     * previously returned by {@link #add(String)}. No more terms could be added afterwards.
+     * <p>
+     * @return the new term ids indexed by the previous term ids
+     * @throws IllegalStateException if the terms have already been sorted
+     */
+    public int[] sort() {
+        if (sorted) {
+            throw new IllegalStateException("Terms are already sorted");
+        }
+        final byte[][] bytes = new byte[terms.size()][];
+        final Integer[] order = new Integer[terms.size()];
+        for (int termId = 0; termId < terms.size(); termId++) {
+            bytes[termId] = terms.get(termId).getBytes(StandardCharsets.UTF_8);
+            order[termId] = termId;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return TermDictionary.compare(bytes[a], bytes[a].length, bytes[b], bytes[b].length);
+            }
+        });
+        
+        final int[] newTermIds = new int[terms.size()];
+        final List<String> sortedTerms = new ArrayList<>(terms.size());
+        for (int newTermId = 0; newTermId < order.length; newTermId++) {
+            newTermIds[order[newTermId]] = newTermId;
+            sortedTerms.add(terms.get(order[newTermId]));
+        }
+        terms = sortedTerms;
+        table = null;
+        sorted = true;
+        return newTermIds;
+    }
+    
+    /**
+     * Returns the dictionary section content of the sorted terms, which could be written to the index file or 
+     * wrapped by a {@link edu.nyu.cs.engine.index.io.TermDictionary} directly.
+     * <p>
+     * @return the dictionary section content
+     * @throws IllegalStateException if the terms have not been sorted
+     */
+    public ByteBuffer encode() {
+        if (!sorted) {
+            throw new IllegalStateException("Terms must be sorted before encoding");
+        }
+        final TermDictionaryWriter writer = new TermDictionaryWriter();
+        for (String term : terms) {
+            writer.add(term);
+        }
+        return writer.encode();
+    }
+    
+}
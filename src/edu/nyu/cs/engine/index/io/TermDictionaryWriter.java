@@ -0,0 +1,83 @@
+package edu.nyu.cs.engine.index.io;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import edu.nyu.cs.engine.index.postings.VByte;
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code TermDictionaryWriter} class front-codes terms given in sorted order into the layout of 
+ * {@link edu.nyu.cs.engine.index.io.TermDictionary}. Only the encoded bytes are kept in memory, so that a 
+ * dictionary merged from sorted runs never holds a {@link java.lang.String} per term.
+ * <p>
+ * Note: {@code TermDictionaryWriter} objects are mutable and not thread-safe.
+ */
+public class TermDictionaryWriter {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final IntArrayList blockOffsets = new IntArrayList();
+    private byte[] previous = new byte[0];
+    private int numberOfTerms = 0;
+    private int maxTermLength = 0;
+    
+    /**
+     * Appends the next term, whose term id is the number of terms added before.
+     * <p>
+     * @param term the next term
+     * @throws IllegalArgumentException if the term is not greater than the previous term in UTF-8 byte order
+     */
+    public void add(String term) {
+        final byte[] bytes = term.getBytes(StandardCharsets.UTF_8);
+        if (numberOfTerms > 0 && TermDictionary.compare(previous, previous.length, bytes, bytes.length) >= 0) {
+            throw new IllegalArgumentException("Terms must be added in increasing order: " + term);
+        }
+        maxTermLength = Math.max(maxTermLength, bytes.length);
+        if (numberOfTerms % TermDictionary.BLOCK_SIZE == 0) {
+            blockOffsets.add(out.size());
+            VByte.write(out, bytes.length);
+            out.write(bytes, 0, bytes.length);
+        } else {
+            int prefix = 0;
+            final int limit = Math.min(previous.length, bytes.length);
+            while (prefix < limit && previous[prefix] == bytes[prefix]) {
+                ++prefix;
+            }
+            VByte.write(out, prefix);
+            VByte.write(out, bytes.length - prefix);
+            out.write(bytes, prefix, bytes.length - prefix);
+        }
+        previous = bytes;
+        ++numberOfTerms;
+    }
+    
+    /**
+     * Returns the number of terms added.
+     * <p>
+     * @return the number of terms added
+     */
+    public int size() {
+        return numberOfTerms;
+    }
+    
+    /**
+     * Returns the dictionary section content of all terms added, which could be written to the index file or 
+     * wrapped by a {@link edu.nyu.cs.engine.index.io.TermDictionary} directly.
+     * <p>
+     * @return the dictionary section content
+     */
+    public ByteBuffer encode() {
+        final ByteBuffer section = ByteBuffer.allocate(8 + blockOffsets.size() * 4 + out.size());
+        section.putInt(numberOfTerms);
+        section.putInt(maxTermLength);
+        for (int i = 0; i < blockOffsets.size(); i++) {
+            section.putInt(blockOffsets.get(i));
+        }
+        section.put(out.toByteArray());
+        section.flip();
+        return section;
+    }
+    
+}
@@ -0,0 +1,94 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.nio.IntBuffer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code ArrayPostingsCursor} based implementation of the 
+ * {@link edu.nyu.cs.engine.index.postings.PostingsCursor} interface. This implementation iterates an 
+ * uncompressed, sorted document ids region in an {@link java.nio.IntBuffer} and advances by galloping search.
+ * <p>
+ * Note: {@code ArrayPostingsCursor} objects are mutable and not thread-safe.
+ */
+public class ArrayPostingsCursor implements PostingsCursor {
+    private final IntBuffer docIds;
+    private final int start;
+    private final int end;
+    private int index;
+    private int docId = -1;
+    
+    /**
+     * Initializes a newly created {@code ArrayPostingsCursor} object so that it iterates the {@code length} 
+     * sorted document ids starting at {@code offset} in the {@code docIds} buffer.
+     * <p>
+     * @param docIds the buffer holding sorted document ids
+     * @param offset the index of the first document id of the postings list
+     * @param length the number of postings in the postings list
+     */
+    public ArrayPostingsCursor(IntBuffer docIds, int offset, int length) {
+        this.docIds = docIds;
+        this.start = offset;
+        this.end = offset + length;
+        this.index = offset - 1;
+    }
+    
+    /**
+     * Returns the absolute index in the underlying buffer of current posting, so that subclasses could look up 
+     * additional per-posting data stored in parallel buffers.
+     * <p>
+     * @return the absolute index of current posting
+     */
+    protected final int index() {
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int docId() {
+        return docId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextDoc() {
+        if (++index >= end) {
+            index = end;
+            return docId = NO_MORE_DOCS;
+        }
+        return docId = docIds.get(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int advance(int target) {
+        if (docId >= target) {
+            return docId;
+        }
+        index = Postings.gallop(docIds, Math.max(index, start), end, target);
+        return docId = (index >= end) ? NO_MORE_DOCS : docIds.get(index);
+    }
+
+    /**
+     * Always return 1 since the document ids only postings list does not record term frequencies.
+     */
+    @Override
+    public int frequency() {
+        return 1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int cost() {
+        return end - start;
+    }
+
+}
@@ -0,0 +1,90 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code BlockBoundsCursor} class is a forward-only iterator over the bounds of the blocks of a postings
+ * list. Every {@link #BLOCK_SIZE} consecutive postings form a block, which matches the blocks of
+ * {@link edu.nyu.cs.engine.index.postings.PForDelta}, and each block records its last document id along with
+ * the maximum frequency and the maximum frequency divided by the document norm of its postings. The bounds are
+ * stored apart from the postings, so moving this cursor never decodes a posting; dynamic pruning rankers use it
+ * to skip whole blocks whose maximum score could not reach the results.
+ * <p>
+ * Note: {@code BlockBoundsCursor} objects are mutable and not thread-safe.
+ */
+public class BlockBoundsCursor {
+    /**
+     * The number of postings per block.
+     */
+    public static final int BLOCK_SIZE = PForDelta.BLOCK_SIZE;
+
+    /**
+     * The number of bytes of a block record: the last document id, the maximum frequency and the maximum
+     * normalized frequency.
+     */
+    public static final int RECORD_SIZE = 12;
+
+    private final ByteBuffer buffer;
+    private final int end;
+    private int block;
+
+    /**
+     * Initializes a newly created {@code BlockBoundsCursor} object over the block records [{@code start},
+     * {@code end}) of the {@code buffer}, positioned on the first block.
+     * <p>
+     * @param buffer the buffer holding the block records
+     * @param start the index of the first block record of the postings list
+     * @param end the index after the last block record of the postings list
+     */
+    public BlockBoundsCursor(ByteBuffer buffer, int start, int end) {
+        this.buffer = buffer;
+        this.end = end;
+        this.block = start;
+    }
+
+    /**
+     * Moves to the block which holds the first posting whose document id is equal or greater than
+     * {@code target}, and returns the last document id of the block. The cursor never moves backwards.
+     * <p>
+     * @param target the target document id
+     * @return the last document id of the block, or {@link PostingsCursor#NO_MORE_DOCS} if no posting
+     * satisfies the target
+     */
+    public int advanceShallow(int target) {
+        while (block < end && buffer.getInt(block * RECORD_SIZE) < target) {
+            ++block;
+        }
+        return lastDocId();
+    }
+
+    /**
+     * Returns the last document id of current block.
+     * <p>
+     * @return the last document id of current block, or {@link PostingsCursor#NO_MORE_DOCS} if the cursor is
+     * exhausted
+     */
+    public int lastDocId() {
+        return block < end ? buffer.getInt(block * RECORD_SIZE) : PostingsCursor.NO_MORE_DOCS;
+    }
+
+    /**
+     * Returns the maximum frequency of the postings of current block.
+     * <p>
+     * @return the maximum frequency of current block, or 0 if the cursor is exhausted
+     */
+    public int maxFrequency() {
+        return block < end ? buffer.getInt(block * RECORD_SIZE + 4) : 0;
+    }
+
+    /**
+     * Returns an upper bound of the frequency divided by the document norm of the postings of current block.
+     * <p>
+     * @return the maximum normalized frequency of current block, or 0 if the cursor is exhausted
+     */
+    public float maxNormalizedFrequency() {
+        return block < end ? buffer.getFloat(block * RECORD_SIZE + 8) : 0.0f;
+    }
+
+}
@@ -0,0 +1,119 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code ConjunctionCursor} based implementation of the 
+ * {@link edu.nyu.cs.engine.index.postings.PostingsCursor} interface. This implementation represents the 
+ * intersection of several postings lists, yielding only the documents which appear in every one of them.
+ * <p>
+ * The intersection is computed document-at-a-time by leapfrogging: the sub-cursors are ordered by their cost 
+ * so that the rarest postings list proposes candidates and the others are advanced to each candidate. Thus 
+ * the work grows with the number of postings actually skipped to, rather than with the size of the corpus.
+ * <p>
+ * Note: {@code ConjunctionCursor} objects are mutable and not thread-safe.
+ */
+public class ConjunctionCursor implements PostingsCursor {
+    private final PostingsCursor[] cursors;
+    private int docId = -1;
+    
+    /**
+     * Initializes a newly created {@code ConjunctionCursor} object so that it intersects all given cursors. 
+     * The given cursors must not have been started.
+     * <p>
+     * @param cursors the cursors to intersect, must not be empty
+     * @throws IllegalArgumentException if {@code cursors} is empty
+     */
+    public ConjunctionCursor(List<? extends PostingsCursor> cursors) {
+        if (cursors.isEmpty()) {
+            throw new IllegalArgumentException("Could not intersect empty postings cursors");
+        }
+        this.cursors = cursors.toArray(new PostingsCursor[cursors.size()]);
+        Arrays.sort(this.cursors, new Comparator<PostingsCursor>() {
+            @Override
+            public int compare(PostingsCursor c1, PostingsCursor c2) {
+                return Integer.compare(c1.cost(), c2.cost());
+            }
+        });
+    }
+    
+    /**
+     * Returns the cursor of the i-th intersected postings list, ordered by increasing cost. All sub-cursors are 
+     * positioned on {@link #docId()} whenever this cursor is positioned on a document.
+     * <p>
+     * @param i the index of the sub-cursor
+     * @return the cursor of the i-th intersected postings list
+     */
+    public PostingsCursor getCursor(int i) {
+        return cursors[i];
+    }
+    
+    /**
+     * Returns the number of intersected postings lists.
+     * <p>
+     * @return the number of intersected postings lists
+     */
+    public int getNumberOfCursors() {
+        return cursors.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int docId() {
+        return docId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextDoc() {
+        return advance(docId + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int advance(int target) {
+        if (docId >= target) {
+            return docId;
+        }
+        int candidate = cursors[0].advance(target);
+        int i = 1;
+        while (candidate != NO_MORE_DOCS && i < cursors.length) {
+            final int doc = cursors[i].advance(candidate);
+            if (doc == candidate) {
+                ++i;
+            } else {
+                // the candidate is missing from the i-th list, restart from the lead cursor
+                candidate = cursors[0].advance(doc);
+                i = 1;
+            }
+        }
+        return docId = candidate;
+    }
+
+    /**
+     * Returns the frequency of the lead (rarest) cursor.
+     */
+    @Override
+    public int frequency() {
+        return cursors[0].frequency();
+    }
+
+    /**
+     * Returns the cost of the lead (rarest) cursor, which bounds the number of intersected postings.
+     */
+    @Override
+    public int cost() {
+        return cursors[0].cost();
+    }
+
+}
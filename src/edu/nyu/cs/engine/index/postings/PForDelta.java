@@ -0,0 +1,133 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * @author shenli
+ * <p>
+ * Static utility methods of the patched frame-of-reference (PForDelta) coding of up to {@link #BLOCK_SIZE} 
+ * non-negative integers. The block picks the bit width {@code b} which minimizes its encoded size. All values 
+ * are bit-packed into {@code b}-bit slots, and values which do not fit (exceptions) keep their low bits in 
+ * the slot and have their high bits patched in afterwards from a short exception list.
+ * <p>
+ * The encoded block is:
+ * <pre>
+ *   byte     b, the bit width in range [0, 32]
+ *   byte     the number of exceptions
+ *   int[]    ceil(n * b / 32) big-endian words of packed slots
+ *   repeated the exception index (byte) and the variable-byte coded high bits
+ * </pre>
+ * Unpacking is a tight loop without data dependent branches, which the JIT could unroll and vectorize.
+ */
+public final class PForDelta {
+    /**
+     * The maximum number of integers in one block.
+     */
+    public static final int BLOCK_SIZE = 128;
+    
+    /**
+     * The size of the scratch array required by {@link #unpack(ByteBuffer, int, int[], int, int[])}.
+     */
+    public static final int WORDS_SIZE = BLOCK_SIZE + 1;
+    
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private PForDelta() {
+        
+    }
+    
+    /**
+     * Writes the first {@code n} {@code values} to the output stream as a PForDelta block.
+     * <p>
+     * @param values the non-negative values to write
+     * @param n the number of values to write, at most {@link #BLOCK_SIZE}
+     * @param out the output stream
+     */
+    public static void pack(int[] values, int n, ByteArrayOutputStream out) {
+        final int[] bitsCount = new int[33];
+        for (int i = 0; i < n; i++) {
+            ++bitsCount[32 - Integer.numberOfLeadingZeros(values[i])];
+        }
+        // pick the bit width which minimizes the packed size plus about 3 bytes for each exception
+        int bitWidth = 32;
+        int bestSize = Integer.MAX_VALUE;
+        int exceptions = 0;
+        for (int b = 32; b >= 0; b--) {
+            final int size = ((n * b + 31) >>> 5) * 4 + exceptions * 3;
+            if (size <= bestSize) {
+                bestSize = size;
+                bitWidth = b;
+            }
+            exceptions += bitsCount[b];
+        }
+        
+        final int[] words = new int[WORDS_SIZE];
+        final long mask = (1L << bitWidth) - 1;
+        int numberOfExceptions = 0;
+        for (int i = 0; i < n; i++) {
+            final long slot = values[i] & mask;
+            if ((values[i] & 0xFFFFFFFFL) > mask) {
+                ++numberOfExceptions;
+            }
+            final int bitPosition = i * bitWidth;
+            final int word = bitPosition >>> 5;
+            final int shift = bitPosition & 31;
+            words[word] |= (int) (slot << shift);
+            words[word + 1] |= (int) ((slot << shift) >>> 32);
+        }
+        out.write(bitWidth);
+        out.write(numberOfExceptions);
+        final int numberOfWords = (n * bitWidth + 31) >>> 5;
+        for (int i = 0; i < numberOfWords; i++) {
+            out.write(words[i] >>> 24);
+            out.write(words[i] >>> 16);
+            out.write(words[i] >>> 8);
+            out.write(words[i]);
+        }
+        for (int i = 0; i < n; i++) {
+            if ((values[i] & 0xFFFFFFFFL) > mask) {
+                out.write(i);
+                VByte.write(out, values[i] >>> bitWidth);
+            }
+        }
+    }
+    
+    /**
+     * Reads a PForDelta block of {@code n} integers at byte {@code offset} of the {@code buffer} into 
+     * {@code values}.
+     * <p>
+     * @param buffer the buffer holding the block
+     * @param offset the byte offset of the block
+     * @param values the array to hold the decoded values
+     * @param n the number of values in the block
+     * @param words the scratch array of at least {@link #WORDS_SIZE} integers
+     * @return the byte offset just after the block
+     */
+    public static int unpack(ByteBuffer buffer, int offset, int[] values, int n, int[] words) {
+        final int bitWidth = buffer.get(offset++) & 0xFF;
+        final int numberOfExceptions = buffer.get(offset++) & 0xFF;
+        final int numberOfWords = (n * bitWidth + 31) >>> 5;
+        for (int i = 0; i < numberOfWords; i++, offset += 4) {
+            words[i] = buffer.getInt(offset);
+        }
+        words[numberOfWords] = 0;
+        final int mask = (int) ((1L << bitWidth) - 1);
+        for (int i = 0, bitPosition = 0; i < n; i++, bitPosition += bitWidth) {
+            final int word = bitPosition >>> 5;
+            final long pair = (words[word] & 0xFFFFFFFFL) | ((long) words[word + 1] << 32);
+            values[i] = (int) (pair >>> (bitPosition & 31)) & mask;
+        }
+        if (numberOfExceptions > 0) {
+            final VByteReader reader = new VByteReader(buffer, offset);
+            for (int i = 0; i < numberOfExceptions; i++) {
+                final int index = reader.readByte();
+                values[index] |= reader.readVInt() << bitWidth;
+            }
+            offset = reader.getOffset();
+        }
+        return offset;
+    }
+    
+}
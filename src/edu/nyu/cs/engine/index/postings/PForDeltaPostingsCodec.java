@@ -0,0 +1,91 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PForDeltaPostingsCodec} based implementation of the 
+ * {@link edu.nyu.cs.engine.index.postings.PostingsCodec} interface. Postings are grouped in blocks of 
+ * {@link edu.nyu.cs.engine.index.postings.PForDelta#BLOCK_SIZE} documents, the last block possibly shorter. 
+ * Each block is written as:
+ * <pre>
+ *   vint     the gap between the last document id of this block and of the previous block
+ *   vint     the byte length of the packed document ids and frequencies
+ *   vint     the byte length of the positions
+ *   PFor     the document id gaps
+ *   PFor     the term frequencies minus one
+ *   vint[]   for each document, the gaps between consecutive positions
+ * </pre>
+ * The blocks are preceded by the {@link edu.nyu.cs.engine.index.postings.SkipList} data of the postings list, 
+ * whose entries point at the block boundaries, so that a cursor could jump over many blocks at once, and the 
+ * block header allows it to skip a whole block without unpacking it. See 
+ * {@link edu.nyu.cs.engine.index.postings.PForDeltaPostingsCursor} for decoding.
+ * <p>
+ * {@code PForDeltaPostingsCodec} objects are stateless and thread-safe.
+ */
+public class PForDeltaPostingsCodec implements PostingsCodec {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void encode(PostingsBuilder builder, ByteArrayOutputStream out) {
+        final IntArrayList docIds = builder.getDocIds();
+        final IntArrayList frequencies = builder.getFrequencies();
+        final IntArrayList positions = builder.getPositions();
+        final int[] values = new int[PForDelta.BLOCK_SIZE];
+        final ByteArrayOutputStream packed = new ByteArrayOutputStream();
+        final ByteArrayOutputStream packedPositions = new ByteArrayOutputStream();
+        final ByteArrayOutputStream blocks = new ByteArrayOutputStream();
+        final IntArrayList skipOffsets = new IntArrayList();
+        int previousDocId = 0;
+        int p = 0;
+        for (int start = 0; start < docIds.size(); start += PForDelta.BLOCK_SIZE) {
+            final int n = Math.min(PForDelta.BLOCK_SIZE, docIds.size() - start);
+            if (start > 0) {
+                skipOffsets.add(blocks.size());
+            }
+            packed.reset();
+            packedPositions.reset();
+            
+            final int previousBlockDocId = previousDocId;
+            for (int i = 0; i < n; i++) {
+                values[i] = docIds.get(start + i) - previousDocId;
+                previousDocId = docIds.get(start + i);
+            }
+            PForDelta.pack(values, n, packed);
+            for (int i = 0; i < n; i++) {
+                values[i] = frequencies.get(start + i) - 1;
+            }
+            PForDelta.pack(values, n, packed);
+            for (int i = 0; i < n; i++) {
+                int previousPosition = 0;
+                for (int j = 0; j < frequencies.get(start + i); j++, p++) {
+                    VByte.write(packedPositions, positions.get(p) - previousPosition);
+                    previousPosition = positions.get(p);
+                }
+            }
+            
+            VByte.write(blocks, previousDocId - previousBlockDocId);
+            VByte.write(blocks, packed.size());
+            VByte.write(blocks, packedPositions.size());
+            blocks.write(packed.toByteArray(), 0, packed.size());
+            blocks.write(packedPositions.toByteArray(), 0, packedPositions.size());
+        }
+        SkipList.write(docIds, skipOffsets, out);
+        out.write(blocks.toByteArray(), 0, blocks.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PositionalPostingsCursor newCursor(ByteBuffer buffer, int offset, int length) {
+        return new PForDeltaPostingsCursor(buffer, offset, length);
+    }
+
+}
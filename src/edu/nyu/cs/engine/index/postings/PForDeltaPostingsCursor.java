@@ -0,0 +1,206 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PForDeltaPostingsCursor} based implementation of the 
+ * {@link edu.nyu.cs.engine.index.postings.PositionalPostingsCursor} interface. This implementation decodes a 
+ * postings list written by {@link edu.nyu.cs.engine.index.postings.PForDeltaPostingsCodec} one block at a 
+ * time: document ids and frequencies of a block are unpacked together, while positions are decoded only when 
+ * they are accessed. {@link #advance(int)} jumps over the blocks whose last document id is below the target by 
+ * the {@link edu.nyu.cs.engine.index.postings.SkipList} data of the postings list, and skips the remaining 
+ * ones by their headers, without unpacking them.
+ * <p>
+ * Note: {@code PForDeltaPostingsCursor} objects are mutable and not thread-safe.
+ */
+public class PForDeltaPostingsCursor implements PositionalPostingsCursor {
+    private final ByteBuffer buffer;
+    private final SkipListReader skipList;
+    private final VByteReader reader;
+    private final int length;
+    private final int[] docIds = new int[PForDelta.BLOCK_SIZE];
+    private final int[] frequencies = new int[PForDelta.BLOCK_SIZE];
+    private final int[] words = new int[PForDelta.WORDS_SIZE];
+    private int consumed = 0;
+    private int blockSize = 0;
+    private int blockLastDocId = 0;
+    private int index = -1;
+    private int docId = -1;
+    
+    private final VByteReader positionsReader;
+    private int positionsIndex = 0;
+    private int[] positions = new int[8];
+    private int positionsDocIndex = -1;
+    
+    /**
+     * Initializes a newly created {@code PForDeltaPostingsCursor} object so that it decodes the 
+     * {@code length} postings starting at byte {@code offset} of the {@code buffer}.
+     * <p>
+     * @param buffer the buffer holding the encoded postings
+     * @param offset the byte offset of the encoded postings list
+     * @param length the number of postings in the postings list
+     */
+    public PForDeltaPostingsCursor(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.skipList = length > SkipList.SKIP_INTERVAL ? new SkipListReader(buffer, offset, length) : null;
+        final int postingsOffset = skipList == null ? offset : skipList.getPostingsOffset();
+        this.reader = new VByteReader(buffer, postingsOffset);
+        this.positionsReader = new VByteReader(buffer, postingsOffset);
+        this.length = length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int docId() {
+        return docId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextDoc() {
+        if (++index < blockSize) {
+            return docId = docIds[index];
+        }
+        return nextBlock(docId + 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int advance(int target) {
+        if (docId >= target) {
+            return docId;
+        }
+        if (blockSize == 0 || target > blockLastDocId) {
+            return nextBlock(target);
+        }
+        // the target is within current block
+        while (docIds[++index] < target) {
+            // linear scan over the decoded block
+        }
+        return docId = docIds[index];
+    }
+    
+    /**
+     * Skips the blocks whose last document id is below {@code target}, by the skip data and then by the block 
+     * headers, unpacks the first remaining block and positions the cursor on its first document equal or greater than {@code target}.
+     * <p>
+     * @param target the target document id
+     * @return the document id of the first posting satisfying the target, or {@link #NO_MORE_DOCS} if there 
+     * is no such posting
+     */
+    private int nextBlock(int target) {
+        consumed += blockSize;
+        blockSize = 0;
+        if (skipList != null) {
+            final int skipped = skipList.skipTo(target);
+            if (skipped > consumed) {
+                consumed = skipped;
+                blockLastDocId = skipList.docId();
+                reader.setOffset(skipList.offset());
+            }
+        }
+        while (consumed < length) {
+            final int previousBlockLastDocId = blockLastDocId;
+            final int n = Math.min(PForDelta.BLOCK_SIZE, length - consumed);
+            blockLastDocId += reader.readVInt();
+            final int packedLength = reader.readVInt();
+            final int positionsLength = reader.readVInt();
+            final int packedOffset = reader.getOffset();
+            if (blockLastDocId < target) {
+                reader.setOffset(packedOffset + packedLength + positionsLength);
+                consumed += n;
+                continue;
+            }
+            int offset = PForDelta.unpack(buffer, packedOffset, docIds, n, words);
+            PForDelta.unpack(buffer, offset, frequencies, n, words);
+            int doc = previousBlockLastDocId;
+            for (int i = 0; i < n; i++) {
+                doc += docIds[i];
+                docIds[i] = doc;
+                ++frequencies[i];
+            }
+            blockSize = n;
+            positionsReader.setOffset(packedOffset + packedLength);
+            positionsIndex = 0;
+            positionsDocIndex = -1;
+            reader.setOffset(packedOffset + packedLength + positionsLength);
+            
+            index = 0;
+            while (docIds[index] < target) {
+                ++index;
+            }
+            return docId = docIds[index];
+        }
+        index = -1;
+        return docId = NO_MORE_DOCS;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int frequency() {
+        return frequencies[index];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int cost() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int position(int i) {
+        readPositions();
+        return positions[i];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int seekPosition(int from, int target) {
+        readPositions();
+        final int i = Arrays.binarySearch(positions, from, frequencies[index], target);
+        return i < 0 ? -i - 1 : i;
+    }
+    
+    /**
+     * Decodes the positions of current posting if they have not been decoded yet, skipping the positions of 
+     * the postings passed over in current block.
+     */
+    private void readPositions() {
+        if (positionsDocIndex == index) {
+            return;
+        }
+        while (positionsIndex < index) {
+            positionsReader.skipVInts(frequencies[positionsIndex++]);
+        }
+        final int frequency = frequencies[index];
+        if (positions.length < frequency) {
+            positions = new int[Math.max(frequency, positions.length << 1)];
+        }
+        int position = 0;
+        for (int i = 0; i < frequency; i++) {
+            position += positionsReader.readVInt();
+            positions[i] = position;
+        }
+        ++positionsIndex;
+        positionsDocIndex = index;
+    }
+
+}
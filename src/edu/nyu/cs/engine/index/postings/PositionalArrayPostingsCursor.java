@@ -0,0 +1,63 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.nio.IntBuffer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PositionalArrayPostingsCursor} based implementation of the 
+ * {@link edu.nyu.cs.engine.index.postings.PositionalPostingsCursor} interface. This implementation iterates 
+ * uncompressed postings where the positions of the i-th posting are stored in range 
+ * [{@code positionOffsets[i]}, {@code positionOffsets[i + 1]}) of the positions buffer.
+ * <p>
+ * Note: {@code PositionalArrayPostingsCursor} objects are mutable and not thread-safe.
+ */
+public class PositionalArrayPostingsCursor extends ArrayPostingsCursor implements PositionalPostingsCursor {
+    private final IntBuffer positionOffsets;
+    private final IntBuffer positions;
+    
+    /**
+     * Initializes a newly created {@code PositionalArrayPostingsCursor} object so that it iterates the 
+     * {@code length} postings starting at {@code offset}.
+     * <p>
+     * @param docIds the buffer holding sorted document ids
+     * @param positionOffsets the buffer holding the first position index of each posting, parallel to 
+     * {@code docIds} with one extra trailing entry
+     * @param positions the buffer holding the positions of all postings
+     * @param offset the index of the first posting of the postings list
+     * @param length the number of postings in the postings list
+     */
+    public PositionalArrayPostingsCursor(
+            IntBuffer docIds, IntBuffer positionOffsets, IntBuffer positions, int offset, int length) {
+        super(docIds, offset, length);
+        this.positionOffsets = positionOffsets;
+        this.positions = positions;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int frequency() {
+        return positionOffsets.get(index() + 1) - positionOffsets.get(index());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int position(int i) {
+        return positions.get(positionOffsets.get(index()) + i);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int seekPosition(int from, int target) {
+        final int base = positionOffsets.get(index());
+        final int end = positionOffsets.get(index() + 1);
+        return Postings.gallop(positions, base + from, end, target) - base;
+    }
+
+}
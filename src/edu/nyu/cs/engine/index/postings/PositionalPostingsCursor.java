@@ -0,0 +1,33 @@
+package edu.nyu.cs.engine.index.postings;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PositionalPostingsCursor} interface represents a postings cursor which also exposes the sorted 
+ * positions of the term within the document of current posting. Position lists could be accessed randomly, 
+ * which allows phrase matching to gallop through them instead of scanning.
+ * <p>
+ * Note: {@code PositionalPostingsCursor} objects are stateful and not thread-safe.
+ */
+public interface PositionalPostingsCursor extends PostingsCursor {
+    
+    /**
+     * Returns the i-th position of the term within the document of current posting, where {@code i} is in 
+     * range [0, {@link #frequency()}).
+     * <p>
+     * @param i the index of the position
+     * @return the i-th position of the term within the document of current posting
+     */
+    public int position(int i);
+    
+    /**
+     * Returns the smallest index {@code i} equal or greater than {@code from} such that {@code position(i)} 
+     * is equal or greater than {@code target}, or {@link #frequency()} if no such position exists.
+     * <p>
+     * @param from the index to start searching from
+     * @param target the target position
+     * @return the smallest index whose position is equal or greater than {@code target}
+     */
+    public int seekPosition(int from, int target);
+    
+}
@@ -0,0 +1,59 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.nio.IntBuffer;
+
+/**
+ * @author shenli
+ * <p>
+ * Static utility methods shared by the postings cursors.
+ */
+public final class Postings {
+    
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private Postings() {
+        
+    }
+    
+    /**
+     * Returns the first index in range [{@code from}, {@code to}) of the sorted {@code buffer} whose value is 
+     * equal or greater than {@code target}, or {@code to} if no such value exists. The range is probed with 
+     * exponentially growing steps (galloping) from {@code from} and then binary searched, so that the cost 
+     * is logarithmic in the distance to the result rather than in the size of the range.
+     * <p>
+     * @param buffer the sorted buffer to search
+     * @param from the first index (inclusive) to search
+     * @param to the last index (exclusive) to search
+     * @param target the target value
+     * @return the first index whose value is equal or greater than {@code target}
+     */
+    public static int gallop(IntBuffer buffer, int from, int to, int target) {
+        if (from >= to || buffer.get(from) >= target) {
+            return from;
+        }
+        // buffer.get(low) < target always holds
+        int low = from;
+        int step = 1;
+        int high = from + step;
+        while (high < to && buffer.get(high) < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        if (high > to) {
+            high = to;
+        }
+        // binary search in (low, high]
+        while (low + 1 < high) {
+            final int mid = (low + high) >>> 1;
+            if (buffer.get(mid) < target) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return high;
+    }
+    
+}
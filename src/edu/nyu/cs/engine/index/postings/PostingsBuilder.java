@@ -0,0 +1,144 @@
+package edu.nyu.cs.engine.index.postings;
+
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PostingsBuilder} class accumulates the postings list of a single term during search indexing 
+ * process. Documents must be added in increasing document id order, and the positions of a term within the 
+ * same document must be added in increasing order as well.
+ * <p>
+ * Note: {@code PostingsBuilder} objects are mutable; their value could be changed after they are created. 
+ * Thus, {@code PostingsBuilder} objects are not thread-safe. If multiple threads access a 
+ * {@code PostingsBuilder} instance concurrently, and at least one of the threads modifies it structurally, it 
+ * must be synchronized externally.
+ */
+public class PostingsBuilder {
+    private final boolean recordPositions;
+    private final IntArrayList docIds = new IntArrayList();
+    private final IntArrayList frequencies = new IntArrayList();
+    private final IntArrayList positions;
+    private long totalFrequency = 0;
+    
+    /**
+     * Initializes a newly created {@code PostingsBuilder} object.
+     * <p>
+     * @param recordPositions true if the term positions within each document should be recorded
+     */
+    public PostingsBuilder(boolean recordPositions) {
+        this.recordPositions = recordPositions;
+        this.positions = recordPositions ? new IntArrayList() : null;
+    }
+    
+    /**
+     * Records one occurrence of the term at {@code position} in document {@code docId}.
+     * <p>
+     * @param docId the document id
+     * @param position the token position within the document
+     */
+    public void add(int docId, int position) {
+        if (docIds.isEmpty() || docIds.last() != docId) {
+            docIds.add(docId);
+            frequencies.add(1);
+        } else {
+            final int last = frequencies.size() - 1;
+            frequencies.set(last, frequencies.get(last) + 1);
+        }
+        if (recordPositions) {
+            positions.add(position);
+        }
+        ++totalFrequency;
+    }
+    
+    /**
+     * Records all {@code frequency} occurrences of the term in document {@code docId} at once, which must be 
+     * after the last document recorded.
+     * <p>
+     * @param docId the document id
+     * @param frequency the number of occurrences of the term in the document
+     * @param positions the array holding the token positions, ignored if positions are not recorded
+     * @param offset the index of the first position of the document in {@code positions}
+     */
+    public void add(int docId, int frequency, int[] positions, int offset) {
+        docIds.add(docId);
+        frequencies.add(frequency);
+        if (recordPositions) {
+            for (int i = 0; i < frequency; i++) {
+                this.positions.add(positions[offset + i]);
+            }
+        }
+        totalFrequency += frequency;
+    }
+    
+    /**
+     * Appends the postings list of the same term accumulated by {@code builder} over later documents, which is 
+     * used to merge partial indexes built in parallel.
+     * <p>
+     * @param builder the postings list builder of later documents
+     * @throws IllegalArgumentException if the first document of {@code builder} is not after the last document 
+     * of this builder, or only one of the builders records positions
+     */
+    public void append(PostingsBuilder builder) {
+        if (builder.docIds.isEmpty()) {
+            return;
+        }
+        if (builder.recordPositions != recordPositions 
+                || (!docIds.isEmpty() && builder.docIds.get(0) <= docIds.last())) {
+            throw new IllegalArgumentException("Could not append postings list of overlapping documents");
+        }
+        docIds.addAll(builder.docIds);
+        frequencies.addAll(builder.frequencies);
+        if (recordPositions) {
+            positions.addAll(builder.positions);
+        }
+        totalFrequency += builder.totalFrequency;
+    }
+    
+    /**
+     * Returns the document ids list in increasing order.
+     * <p>
+     * @return the document ids list
+     */
+    public IntArrayList getDocIds() {
+        return docIds;
+    }
+    
+    /**
+     * Returns the term frequencies list, parallel to the document ids list.
+     * <p>
+     * @return the term frequencies list
+     */
+    public IntArrayList getFrequencies() {
+        return frequencies;
+    }
+    
+    /**
+     * Returns the positions of all documents concatenated in document order, or {@code null} if positions are 
+     * not recorded.
+     * <p>
+     * @return the positions list
+     */
+    public IntArrayList getPositions() {
+        return positions;
+    }
+    
+    /**
+     * Returns the number of documents in which the term appears.
+     * <p>
+     * @return the number of documents in which the term appears
+     */
+    public int getDocumentFrequency() {
+        return docIds.size();
+    }
+    
+    /**
+     * Returns the number of times the term appears over all documents.
+     * <p>
+     * @return the number of times the term appears over all documents
+     */
+    public long getTotalFrequency() {
+        return totalFrequency;
+    }
+    
+}
@@ -0,0 +1,37 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PostingsCodec} interface represents a binary encoding of positional postings lists. A codec 
+ * writes the postings list of one term as a contiguous run of bytes, and creates cursors which decode such a 
+ * run on the fly.
+ * <p>
+ * Implementations must be stateless so that one codec instance could be shared by all threads.
+ */
+public interface PostingsCodec {
+    
+    /**
+     * Appends the encoded postings list accumulated by {@code builder} to the output stream. The builder must 
+     * have recorded positions.
+     * <p>
+     * @param builder the postings list builder
+     * @param out the output stream
+     */
+    public void encode(PostingsBuilder builder, ByteArrayOutputStream out);
+    
+    /**
+     * Returns a new cursor decoding the {@code length} postings encoded at byte {@code offset} of the 
+     * {@code buffer}.
+     * <p>
+     * @param buffer the buffer holding the encoded postings
+     * @param offset the byte offset of the encoded postings list
+     * @param length the number of postings in the postings list
+     * @return a new cursor over the encoded postings list
+     */
+    public PositionalPostingsCursor newCursor(ByteBuffer buffer, int offset, int length);
+    
+}
@@ -0,0 +1,64 @@
+package edu.nyu.cs.engine.index.postings;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PostingsCursor} interface represents a forward-only iterator over the postings list of a single 
+ * term (or a combination of terms), yielding document ids in increasing order. A newly created cursor is 
+ * positioned before the first posting, that is {@link #docId()} returns {@code -1}.
+ * <p>
+ * The cursor supports two ways of moving forward: {@link #nextDoc()} moves to the next posting, while 
+ * {@link #advance(int)} skips to the first posting whose document id is equal or greater than the target. 
+ * Implementations are free to make {@code advance} sub-linear in the number of skipped postings.
+ * <p>
+ * Note: {@code PostingsCursor} objects are stateful and not thread-safe. Each search query should obtain its 
+ * own cursors from the search indexer.
+ */
+public interface PostingsCursor {
+    /**
+     * The sentinel document id returned when the cursor is exhausted.
+     */
+    public static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+    
+    /**
+     * Returns the document id of current posting, {@code -1} if the cursor has not been started, or 
+     * {@link #NO_MORE_DOCS} if the cursor is exhausted.
+     * <p>
+     * @return the document id of current posting
+     */
+    public int docId();
+    
+    /**
+     * Moves the cursor to the next posting and returns its document id.
+     * <p>
+     * @return the document id of the next posting, or {@link #NO_MORE_DOCS} if there is no more posting
+     */
+    public int nextDoc();
+    
+    /**
+     * Moves the cursor to the first posting whose document id is equal or greater than {@code target} and 
+     * returns its document id. If the current posting already satisfies the target, the cursor stays.
+     * <p>
+     * @param target the target document id
+     * @return the document id of the first posting satisfying the target, or {@link #NO_MORE_DOCS} if there 
+     * is no such posting
+     */
+    public int advance(int target);
+    
+    /**
+     * Returns the number of times the term appears in the document of current posting. Postings lists which 
+     * do not record term frequencies always return 1.
+     * <p>
+     * @return the number of times the term appears in the document of current posting
+     */
+    public int frequency();
+    
+    /**
+     * Returns the number of postings in the postings list, which is an estimation of the cost to iterate the 
+     * whole cursor.
+     * <p>
+     * @return the number of postings in the postings list
+     */
+    public int cost();
+    
+}
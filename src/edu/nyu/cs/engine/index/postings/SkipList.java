@@ -0,0 +1,112 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.io.ByteArrayOutputStream;
+
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+
+/**
+ * @author shenli
+ * <p>
+ * Static utility methods of the multi-level skip data of compressed postings lists. A postings list of more
+ * than {@link #SKIP_INTERVAL} postings is preceded by skip entries, one at every {@link #SKIP_INTERVAL}
+ * postings, which matches the blocks of {@link edu.nyu.cs.engine.index.postings.PForDelta}. The entry of a
+ * boundary records the document id of the last posting before it, from which the next document id gap is
+ * decoded, and the byte offset of the first posting after it relative to the first posting of the list. Level
+ * {@code l} holds the document ids of every {@code SKIP_MULTIPLIER^l}-th entry:
+ * <pre>
+ *   int[2]   level 0: for each boundary, the last document id before it and the byte offset after it
+ *   int[]    level 1 and above: for each boundary of the level, the last document id before it
+ * </pre>
+ * All values are big-endian. The number of entries of each level is derived from the number of postings, so
+ * shorter postings lists have neither skip data nor overhead. See
+ * {@link edu.nyu.cs.engine.index.postings.SkipListReader} for skipping.
+ */
+public final class SkipList {
+    /**
+     * The number of postings between consecutive level 0 skip entries.
+     */
+    public static final int SKIP_INTERVAL = PForDelta.BLOCK_SIZE;
+
+    /**
+     * The number of entries of a level between consecutive entries of the level above.
+     */
+    public static final int SKIP_MULTIPLIER = 8;
+
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private SkipList() {
+
+    }
+
+    /**
+     * Returns the number of entries at specific {@code level} of the skip data of a postings list.
+     * <p>
+     * @param length the number of postings in the postings list
+     * @param level the skip level
+     * @return the number of entries of the level
+     */
+    public static int getNumberOfEntries(int length, int level) {
+        if (length <= 0) {
+            return 0;
+        }
+        long interval = SKIP_INTERVAL;
+        for (int i = 0; i < level; i++) {
+            interval *= SKIP_MULTIPLIER;
+        }
+        return (int) ((length - 1) / interval);
+    }
+
+    /**
+     * Returns the byte size of the skip data of a postings list.
+     * <p>
+     * @param length the number of postings in the postings list
+     * @return the byte size of the skip data, 0 if the postings list has no skip data
+     */
+    public static int getSize(int length) {
+        int size = getNumberOfEntries(length, 0) * 8;
+        for (int level = 1, n; (n = getNumberOfEntries(length, level)) > 0; level++) {
+            size += n * 4;
+        }
+        return size;
+    }
+
+    /**
+     * Writes the skip data of a postings list to the output stream. Nothing is written if the postings list has
+     * no more than {@link #SKIP_INTERVAL} postings.
+     * <p>
+     * @param docIds the document ids of the postings list
+     * @param offsets the byte offset of the posting at each boundary relative to the first posting, where
+     * {@code offsets.get(i)} is the offset of the {@code (i + 1) * SKIP_INTERVAL}-th posting
+     * @param out the output stream
+     */
+    public static void write(IntArrayList docIds, IntArrayList offsets, ByteArrayOutputStream out) {
+        final int length = docIds.size();
+        final int numberOfEntries = getNumberOfEntries(length, 0);
+        for (int i = 0; i < numberOfEntries; i++) {
+            writeInt(out, docIds.get((i + 1) * SKIP_INTERVAL - 1));
+            writeInt(out, offsets.get(i));
+        }
+        long interval = SKIP_INTERVAL;
+        for (int level = 1, n; (n = getNumberOfEntries(length, level)) > 0; level++) {
+            interval *= SKIP_MULTIPLIER;
+            for (int i = 0; i < n; i++) {
+                writeInt(out, docIds.get((int) ((i + 1) * interval - 1)));
+            }
+        }
+    }
+
+    /**
+     * Writes the {@code value} to the output stream in big-endian order.
+     * <p>
+     * @param out the output stream
+     * @param value the value to write
+     */
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+}
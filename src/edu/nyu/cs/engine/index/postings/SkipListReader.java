@@ -0,0 +1,124 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code SkipListReader} class is a forward-only iterator over the skip data written by
+ * {@link edu.nyu.cs.engine.index.postings.SkipList}. {@link #skipTo(int)} descends from the top level, moving
+ * forward along each level while the skipped postings are all below the target, so a postings cursor could
+ * jump to the boundary just before the target by looking at a logarithmic number of entries instead of
+ * decoding every posting in between. A target which does not pass the next boundary costs a single comparison.
+ * <p>
+ * Note: {@code SkipListReader} objects are mutable and not thread-safe.
+ */
+public class SkipListReader {
+    private final ByteBuffer buffer;
+    private final int postingsOffset;
+    private final int[] levelOffsets;
+    private final int[] numberOfEntries;
+    private final int[] strides;
+    private int skipped = 0;
+    private int boundaryDocId;
+
+    /**
+     * Initializes a newly created {@code SkipListReader} object over the skip data of the postings list of
+     * {@code length} postings starting at byte {@code offset} of the {@code buffer}.
+     * <p>
+     * @param buffer the buffer holding the encoded postings
+     * @param offset the byte offset of the skip data
+     * @param length the number of postings in the postings list
+     */
+    public SkipListReader(ByteBuffer buffer, int offset, int length) {
+        int numberOfLevels = 0;
+        while (SkipList.getNumberOfEntries(length, numberOfLevels) > 0) {
+            ++numberOfLevels;
+        }
+        this.buffer = buffer;
+        this.levelOffsets = new int[numberOfLevels];
+        this.numberOfEntries = new int[numberOfLevels];
+        this.strides = new int[numberOfLevels];
+        for (int level = 0; level < numberOfLevels; level++) {
+            levelOffsets[level] = offset;
+            numberOfEntries[level] = SkipList.getNumberOfEntries(length, level);
+            strides[level] = level == 0 ? 1 : strides[level - 1] * SkipList.SKIP_MULTIPLIER;
+            offset += numberOfEntries[level] * (level == 0 ? 8 : 4);
+        }
+        this.postingsOffset = offset;
+        this.boundaryDocId = nextBoundaryDocId();
+    }
+
+    /**
+     * Moves past every boundary whose last document id before it is below {@code target}, and returns the
+     * number of postings before the last boundary passed. The reader never moves backwards.
+     * <p>
+     * @param target the target document id
+     * @return the number of postings skipped, a multiple of {@link SkipList#SKIP_INTERVAL}
+     */
+    public int skipTo(int target) {
+        if (target <= boundaryDocId) {
+            return skipped * SkipList.SKIP_INTERVAL;
+        }
+        for (int level = levelOffsets.length - 1; level >= 0; level--) {
+            final int stride = strides[level];
+            final int recordSize = level == 0 ? 8 : 4;
+            int entry = skipped / stride;
+            while (entry < numberOfEntries[level] && buffer.getInt(levelOffsets[level] + entry * recordSize) < target) {
+                skipped = ++entry * stride;
+            }
+        }
+        boundaryDocId = nextBoundaryDocId();
+        return skipped * SkipList.SKIP_INTERVAL;
+    }
+
+    /**
+     * Returns the document id of the last posting before the last boundary passed.
+     * <p>
+     * @return the last document id before the boundary, or -1 if no boundary has been passed
+     */
+    public int docId() {
+        return skipped == 0 ? -1 : buffer.getInt(levelOffsets[0] + (skipped - 1) * 8);
+    }
+
+    /**
+     * Returns the absolute byte offset of the first posting after the last boundary passed.
+     * <p>
+     * @return the byte offset of the first posting after the boundary
+     */
+    public int offset() {
+        return skipped == 0 ? postingsOffset : postingsOffset + buffer.getInt(levelOffsets[0] + (skipped - 1) * 8 + 4);
+    }
+
+    /**
+     * Returns the document id of the last posting before the next boundary, so that {@link #skipTo(int)} could
+     * only skip for a greater target.
+     * <p>
+     * @return the last document id before the next boundary, or {@link PostingsCursor#NO_MORE_DOCS} if there is
+     * no more boundary
+     */
+    public int getBoundaryDocId() {
+        return boundaryDocId;
+    }
+
+    /**
+     * Returns the document id of the last posting before the next boundary, read from the skip data.
+     * <p>
+     * @return the last document id before the next boundary, or {@link PostingsCursor#NO_MORE_DOCS} if there is
+     * no more boundary
+     */
+    private int nextBoundaryDocId() {
+        return skipped < numberOfEntries[0] 
+                ? buffer.getInt(levelOffsets[0] + skipped * 8) : PostingsCursor.NO_MORE_DOCS;
+    }
+
+    /**
+     * Returns the absolute byte offset of the first posting of the postings list, right after the skip data.
+     * <p>
+     * @return the byte offset of the first posting
+     */
+    public int getPostingsOffset() {
+        return postingsOffset;
+    }
+
+}
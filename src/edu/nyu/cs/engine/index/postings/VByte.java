@@ -0,0 +1,41 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * @author shenli
+ * <p>
+ * Static utility methods of the variable-byte integer coding. A non-negative integer is written as groups of 
+ * 7 bits, least significant group first, where the high bit of each byte is set if more bytes follow. Small 
+ * values such as document id gaps, term frequencies and position gaps thus take a single byte.
+ * <p>
+ * Values are decoded by {@link edu.nyu.cs.engine.index.postings.VByteReader}.
+ */
+public final class VByte {
+    
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private VByte() {
+        
+    }
+    
+    /**
+     * Writes the non-negative {@code value} to the output stream with variable-byte coding.
+     * <p>
+     * @param out the output stream
+     * @param value the non-negative value to write
+     * @throws IllegalArgumentException if {@code value} is negative
+     */
+    public static void write(ByteArrayOutputStream out, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Could not encode negative value " + value);
+        }
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+    
+}
@@ -0,0 +1,59 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import edu.nyu.cs.engine.index.utils.IntArrayList;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code VBytePostingsCodec} based implementation of the 
+ * {@link edu.nyu.cs.engine.index.postings.PostingsCodec} interface. Each posting is written as the variable-byte 
+ * coded gap to the previous document id, the term frequency and the gaps between consecutive positions. Postings 
+ * lists longer than {@link edu.nyu.cs.engine.index.postings.SkipList#SKIP_INTERVAL} are preceded by their 
+ * {@link edu.nyu.cs.engine.index.postings.SkipList} data. See 
+ * {@link edu.nyu.cs.engine.index.postings.VBytePostingsCursor} for decoding.
+ * <p>
+ * {@code VBytePostingsCodec} objects are stateless and thread-safe.
+ */
+public class VBytePostingsCodec implements PostingsCodec {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void encode(PostingsBuilder builder, ByteArrayOutputStream out) {
+        final IntArrayList docIds = builder.getDocIds();
+        final IntArrayList frequencies = builder.getFrequencies();
+        final IntArrayList positions = builder.getPositions();
+        final ByteArrayOutputStream postings = new ByteArrayOutputStream();
+        final IntArrayList skipOffsets = new IntArrayList();
+        int previousDocId = 0;
+        int p = 0;
+        for (int i = 0; i < docIds.size(); i++) {
+            if (i > 0 && i % SkipList.SKIP_INTERVAL == 0) {
+                skipOffsets.add(postings.size());
+            }
+            VByte.write(postings, docIds.get(i) - previousDocId);
+            previousDocId = docIds.get(i);
+            VByte.write(postings, frequencies.get(i));
+            int previousPosition = 0;
+            for (int j = 0; j < frequencies.get(i); j++, p++) {
+                VByte.write(postings, positions.get(p) - previousPosition);
+                previousPosition = positions.get(p);
+            }
+        }
+        SkipList.write(docIds, skipOffsets, out);
+        out.write(postings.toByteArray(), 0, postings.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PositionalPostingsCursor newCursor(ByteBuffer buffer, int offset, int length) {
+        return new VBytePostingsCursor(buffer, offset, length);
+    }
+
+}
@@ -0,0 +1,148 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code VBytePostingsCursor} based implementation of the 
+ * {@link edu.nyu.cs.engine.index.postings.PositionalPostingsCursor} interface. This implementation decodes 
+ * on the fly a postings list stored as a sequence of variable-byte coded integers: for each posting, the gap 
+ * to the previous document id, the term frequency and then the gaps between consecutive positions.
+ * <p>
+ * Positions are only decoded when they are accessed; otherwise they are skipped without decoding when the 
+ * cursor moves on. {@link #advance(int)} first jumps by the {@link edu.nyu.cs.engine.index.postings.SkipList} 
+ * data of long postings lists to the last boundary below the target, and only decodes the postings from there.
+ * <p>
+ * Note: {@code VBytePostingsCursor} objects are mutable and not thread-safe.
+ */
+public class VBytePostingsCursor implements PositionalPostingsCursor {
+    private final SkipListReader skipList;
+    private int skipDocId;
+    private final VByteReader reader;
+    private final int length;
+    private int count = 0;
+    private int docId = -1;
+    private int frequency = 0;
+    private boolean positionsRead = true;
+    private int[] positions = new int[8];
+    
+    /**
+     * Initializes a newly created {@code VBytePostingsCursor} object so that it decodes the {@code length} 
+     * postings starting at byte {@code offset} of the {@code buffer}.
+     * <p>
+     * @param buffer the buffer holding the encoded postings
+     * @param offset the byte offset of the encoded postings list
+     * @param length the number of postings in the postings list
+     */
+    public VBytePostingsCursor(ByteBuffer buffer, int offset, int length) {
+        this.skipList = length > SkipList.SKIP_INTERVAL ? new SkipListReader(buffer, offset, length) : null;
+        this.reader = new VByteReader(buffer, skipList == null ? offset : skipList.getPostingsOffset());
+        this.length = length;
+        this.skipDocId = skipList == null ? NO_MORE_DOCS : skipList.getBoundaryDocId();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int docId() {
+        return docId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextDoc() {
+        if (!positionsRead) {
+            reader.skipVInts(frequency);
+        }
+        if (count >= length) {
+            positionsRead = true;
+            return docId = NO_MORE_DOCS;
+        }
+        ++count;
+        docId = (docId < 0 ? 0 : docId) + reader.readVInt();
+        frequency = reader.readVInt();
+        positionsRead = false;
+        return docId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int advance(int target) {
+        if (target > skipDocId) {
+            final int skipped = skipList.skipTo(target);
+            skipDocId = skipList.getBoundaryDocId();
+            if (skipped > count) {
+                // jump to the boundary, positioned before the first posting after it
+                count = skipped;
+                docId = skipList.docId();
+                reader.setOffset(skipList.offset());
+                positionsRead = true;
+            }
+        }
+        while (docId < target) {
+            nextDoc();
+        }
+        return docId;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int frequency() {
+        return frequency;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int cost() {
+        return length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int position(int i) {
+        readPositions();
+        return positions[i];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int seekPosition(int from, int target) {
+        readPositions();
+        final int index = Arrays.binarySearch(positions, from, frequency, target);
+        return index < 0 ? -index - 1 : index;
+    }
+    
+    /**
+     * Decodes the positions of current posting if they have not been decoded yet.
+     */
+    private void readPositions() {
+        if (positionsRead) {
+            return;
+        }
+        if (positions.length < frequency) {
+            positions = new int[Math.max(frequency, positions.length << 1)];
+        }
+        int position = 0;
+        for (int i = 0; i < frequency; i++) {
+            position += reader.readVInt();
+            positions[i] = position;
+        }
+        positionsRead = true;
+    }
+
+}
@@ -0,0 +1,85 @@
+package edu.nyu.cs.engine.index.postings;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code VByteReader} class decodes variable-byte coded integers written by 
+ * {@link edu.nyu.cs.engine.index.postings.VByte} from a {@link java.nio.ByteBuffer}. The reader keeps its own 
+ * read offset and only uses absolute gets, so that many readers could share one buffer.
+ * <p>
+ * Note: {@code VByteReader} objects are mutable and not thread-safe.
+ */
+public class VByteReader {
+    private final ByteBuffer buffer;
+    private int offset;
+    
+    /**
+     * Initializes a newly created {@code VByteReader} object so that it reads from {@code offset} of the 
+     * {@code buffer}.
+     * <p>
+     * @param buffer the buffer to read
+     * @param offset the byte offset to start reading
+     */
+    public VByteReader(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        this.offset = offset;
+    }
+    
+    /**
+     * Returns the current byte offset.
+     * <p>
+     * @return the current byte offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+    
+    /**
+     * Moves the reader to the specific byte {@code offset}.
+     * <p>
+     * @param offset the byte offset to move to
+     */
+    public void setOffset(int offset) {
+        this.offset = offset;
+    }
+    
+    /**
+     * Reads the next single byte as an unsigned value.
+     * <p>
+     * @return the next byte in range [0, 255]
+     */
+    public int readByte() {
+        return buffer.get(offset++) & 0xFF;
+    }
+    
+    /**
+     * Reads the next variable-byte coded integer.
+     * <p>
+     * @return the next integer
+     */
+    public int readVInt() {
+        byte b = buffer.get(offset++);
+        int value = b & 0x7F;
+        for (int shift = 7; b < 0; shift += 7) {
+            b = buffer.get(offset++);
+            value |= (b & 0x7F) << shift;
+        }
+        return value;
+    }
+    
+    /**
+     * Skips the next {@code count} variable-byte coded integers without decoding them.
+     * <p>
+     * @param count the number of integers to skip
+     */
+    public void skipVInts(int count) {
+        while (count > 0) {
+            if (buffer.get(offset++) >= 0) {
+                --count;
+            }
+        }
+    }
+    
+}
@@ -0,0 +1,21 @@
+package edu.nyu.cs.engine.index.utils;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code DocumentOrder} enum represents how document ids are assigned to the documents of the corpus when 
+ * an inverted index is constructed.
+ */
+public enum DocumentOrder {
+    /**
+     * Documents are numbered in corpus order.
+     */
+    CORPUS,
+    
+    /**
+     * Documents are numbered in descending order of static quality, the number of views, and in corpus order 
+     * among documents of equal quality, so that postings lists are traversed best documents first.
+     */
+    QUALITY;
+    
+}
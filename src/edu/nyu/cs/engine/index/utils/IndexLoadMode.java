@@ -0,0 +1,21 @@
+package edu.nyu.cs.engine.index.utils;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code IndexLoadMode} enum represents how the index file sections are brought into memory when the 
+ * search indexer is loaded for serving.
+ */
+public enum IndexLoadMode {
+    /**
+     * Each section is read onto the Java heap and the whole file is verified against its checksum.
+     */
+    HEAP,
+    
+    /**
+     * Each section is memory-mapped read-only, so that pages are loaded by the operating system on first access 
+     * and shared through the page cache. Only the header is verified at load time.
+     */
+    MMAP;
+    
+}
@@ -0,0 +1,148 @@
+package edu.nyu.cs.engine.index.utils;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code IntArrayList} class represents a resizable list of primitive {@code int} values. It is used in 
+ * search indexing process to accumulate document ids, term frequencies as well as positions without boxing 
+ * each value into an {@link java.lang.Integer} object.
+ * <p>
+ * Note: {@code IntArrayList} objects are mutable; their value could be changed after they are created. Thus, 
+ * {@code IntArrayList} objects are not thread-safe. If multiple threads access a {@code IntArrayList} instance 
+ * concurrently, and at least one of the threads modifies it structurally, it must be synchronized externally.
+ */
+public class IntArrayList implements Serializable {
+    private static final long serialVersionUID = -2904937457165018837L;
+    private static final int DEFAULT_CAPACITY = 4;
+    
+    private int[] values;
+    private int size = 0;
+    
+    /**
+     * Initializes a newly created {@code IntArrayList} object with default initial capacity.
+     */
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Initializes a newly created {@code IntArrayList} object with the specific initial capacity.
+     * <p>
+     * @param capacity the initial capacity of the list
+     */
+    public IntArrayList(int capacity) {
+        this.values = new int[Math.max(capacity, 1)];
+    }
+    
+    /**
+     * Appends the specific value to the end of this list.
+     * <p>
+     * @param value the value to be appended
+     */
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length + (values.length >> 1) + 1);
+        }
+        values[size++] = value;
+    }
+    
+    /**
+     * Appends all values of the specific {@code list} to the end of this list.
+     * <p>
+     * @param list the list whose values to be appended
+     */
+    public void addAll(IntArrayList list) {
+        if (size + list.size > values.length) {
+            values = Arrays.copyOf(values, Math.max(size + list.size, values.length + (values.length >> 1) + 1));
+        }
+        System.arraycopy(list.values, 0, values, size, list.size);
+        size += list.size;
+    }
+    
+    /**
+     * Returns the value at the specific position in this list.
+     * <p>
+     * @param index the index of the value to be returned
+     * @return the value at the specific position in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int get(int index) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return values[index];
+    }
+    
+    /**
+     * Replaces the value at the specific position in this list with the specific value.
+     * <p>
+     * @param index the index of the value to be replaced
+     * @param value the value to be stored at the specific position
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public void set(int index, int value) {
+        if (index >= size || index < 0) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        values[index] = value;
+    }
+    
+    /**
+     * Returns the last value in this list.
+     * <p>
+     * @return the last value in this list
+     * @throws IndexOutOfBoundsException if the list is empty
+     */
+    public int last() {
+        return get(size - 1);
+    }
+    
+    /**
+     * Returns the number of values in this list.
+     * <p>
+     * @return the number of values in this list
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Returns true if this list contains no values.
+     * <p>
+     * @return true if this list contains no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * Removes all of the values from this list.
+     */
+    public void clear() {
+        size = 0;
+    }
+    
+    /**
+     * Returns an array containing all of the values in this list in proper sequence. The returned array is 
+     * a copy so that the caller is free to modify it.
+     * <p>
+     * @return an array containing all of the values in this list in proper sequence
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+    
+    /**
+     * Returns the string representation of this {@code IntArrayList} object.
+     * <p>
+     * @return string comprising all values in this list
+     */
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+    
+}
@@ -0,0 +1,40 @@
+package edu.nyu.cs.engine.index.utils;
+
+import edu.nyu.cs.engine.index.postings.PForDeltaPostingsCodec;
+import edu.nyu.cs.engine.index.postings.PostingsCodec;
+import edu.nyu.cs.engine.index.postings.VBytePostingsCodec;
+
+/**
+ * @author shenli
+ * <p>
+ * Factory object that can vend postings codec based on the type of codec.
+ * <p>
+ * NOTE: The factory object is thread-safe.
+ */
+public class PostingsCodecFactory {
+    private static final PostingsCodec VBYTE_CODEC = new VBytePostingsCodec();
+    private static final PostingsCodec PFOR_DELTA_CODEC = new PForDeltaPostingsCodec();
+    
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private PostingsCodecFactory() {
+        
+    }
+    
+    /**
+     * Returns a postings codec object based on the codec type described in the {@code codecType}.
+     * <p>
+     * @param codecType the postings codec type
+     * @return a suitable postings codec object
+     * @throws IllegalArgumentException if codec type does not exist
+     */
+    public static PostingsCodec getPostingsCodec(PostingsCodecType codecType) {
+        switch (codecType) {
+            case VBYTE:         return VBYTE_CODEC;
+            case PFOR_DELTA:    return PFOR_DELTA_CODEC;
+        }
+        throw new IllegalArgumentException("No such postings codec type: " + codecType);
+    }
+
+}
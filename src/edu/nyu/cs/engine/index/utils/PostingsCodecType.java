@@ -0,0 +1,20 @@
+package edu.nyu.cs.engine.index.utils;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PostingsCodecType} enum represents the binary encoding of compressed postings lists.
+ */
+public enum PostingsCodecType {
+    /**
+     * Delta encoded document ids and positions packed with variable-byte coding.
+     */
+    VBYTE,
+    
+    /**
+     * Delta encoded document ids and frequencies bit-packed in blocks of 128 values with patched exceptions, 
+     * positions packed with variable-byte coding.
+     */
+    PFOR_DELTA;
+    
+}
@@ -0,0 +1,158 @@
+package edu.nyu.cs.engine.index.utils;
+
+import java.util.Arrays;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code Tokenizer} class splits a character sequence into word tokens separated by whitespace, the same
+ * tokens {@link java.util.Scanner} yields with its default delimiter, without regular expressions and without
+ * creating a substring per token. After each call of {@link #next()} the current token is the range
+ * [{@link #start()}, {@link #end()}) of the text; {@link #token()} materializes it only when a string is
+ * really needed, and {@link #encode()} writes its UTF-8 bytes into a reused buffer for dictionary lookups.
+ * <p>
+ * A tokenizer is meant to be reset and reused for every content it walks, e.g. one per indexing worker or per
+ * query being parsed.
+ * <p>
+ * Note: {@code Tokenizer} objects are mutable and not thread-safe.
+ */
+public class Tokenizer {
+    private CharSequence text = "";
+    private int limit = 0;
+    private int start = 0;
+    private int end = 0;
+    private byte[] bytes = new byte[64];
+
+    /**
+     * Starts walking the whole {@code text}.
+     * <p>
+     * @param text the text to be tokenized
+     * @return this tokenizer
+     */
+    public Tokenizer reset(CharSequence text) {
+        return reset(text, 0, text.length());
+    }
+
+    /**
+     * Starts walking the range [{@code from}, {@code to}) of the {@code text}.
+     * <p>
+     * @param text the text to be tokenized
+     * @param from the index of the first character to be tokenized
+     * @param to the index after the last character to be tokenized
+     * @return this tokenizer
+     * @throws IndexOutOfBoundsException if the range is out of the text
+     */
+    public Tokenizer reset(CharSequence text, int from, int to) {
+        if (from < 0 || to > text.length() || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") of length " + text.length());
+        }
+        this.text = text;
+        this.limit = to;
+        this.start = from;
+        this.end = from;
+        return this;
+    }
+
+    /**
+     * Moves to the next token.
+     * <p>
+     * @return false if there is no more token
+     */
+    public boolean next() {
+        int i = end;
+        while (i < limit && Character.isWhitespace(text.charAt(i))) {
+            ++i;
+        }
+        if (i == limit) {
+            start = end = limit;
+            return false;
+        }
+        start = i;
+        while (i < limit && !Character.isWhitespace(text.charAt(i))) {
+            ++i;
+        }
+        end = i;
+        return true;
+    }
+
+    /**
+     * Returns the text being tokenized.
+     * <p>
+     * @return the text being tokenized
+     */
+    public CharSequence text() {
+        return text;
+    }
+
+    /**
+     * Returns the index of the first character of the current token.
+     * <p>
+     * @return the index of the first character of the current token
+     */
+    public int start() {
+        return start;
+    }
+
+    /**
+     * Returns the index after the last character of the current token.
+     * <p>
+     * @return the index after the last character of the current token
+     */
+    public int end() {
+        return end;
+    }
+
+    /**
+     * Returns the current token as a new string.
+     * <p>
+     * @return the current token
+     */
+    public String token() {
+        return text.subSequence(start, end).toString();
+    }
+
+    /**
+     * Encodes the current token in UTF-8 into the buffer returned by {@link #bytes()}, which is valid until the
+     * next call. Unpaired surrogates are encoded as '?', the same as {@link java.lang.String#getBytes}.
+     * <p>
+     * @return the number of bytes of the encoded token
+     */
+    public int encode() {
+        if (bytes.length < (end - start) * 3) {
+            bytes = Arrays.copyOf(bytes, (end - start) * 3);
+        }
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            final char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes[length++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[length++] = (byte) (0xc0 | (c >> 6));
+                bytes[length++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(text.charAt(i + 1))) {
+                final int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                bytes[length++] = (byte) (0xf0 | (codePoint >> 18));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                bytes[length++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                bytes[length++] = (byte) '?';
+            } else {
+                bytes[length++] = (byte) (0xe0 | (c >> 12));
+                bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[length++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns the buffer holding the bytes written by the last {@link #encode()}.
+     * <p>
+     * @return the encoded token buffer
+     */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+}
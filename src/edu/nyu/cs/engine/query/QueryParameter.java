@@ -97,6 +97,33 @@ final class QueryParameter {
         return numberOfResults;
     }
 
+    /**
+     * Returns a {@code QueryParameter} object equal to this one except that each run of white spaces in the raw 
+     * search query is replaced by a single space. Search queries are tokenized at white spaces, so both objects 
+     * have the same search results, and the returned one identifies them in a
+     * {@link edu.nyu.cs.engine.query.QueryResultCache}.
+     * <p>
+     * @return the normalized query parameter, which is this object if its raw search query is already normalized
+     */
+    QueryParameter normalize() {
+        final StringBuilder sb = new StringBuilder(query.length());
+        boolean whitespace = false;
+        for (int i = 0; i < query.length(); i++) {
+            final char c = query.charAt(i);
+            if (Character.isWhitespace(c)) {
+                whitespace = true;
+                continue;
+            }
+            if (whitespace && sb.length() > 0) {
+                sb.append(' ');
+            }
+            whitespace = false;
+            sb.append(c);
+        }
+        final String normalized = sb.toString();
+        return normalized.equals(query) ? this : new QueryParameter(normalized, rankerType, format, numberOfResults);
+    }
+
     /**
      * Creates a new instance of the {@code QueryParameter} object so that it records CGI arguments of a 
      * single HTTP search query request via URL. If any required parameters not in HTTP requests, 
@@ -195,7 +222,8 @@ final class QueryParameter {
     }
     
     /**
-     * Returns the hash code value for this {@code QueryParameter} object.
+     * Returns the hash code value for this {@code QueryParameter} object. The enum fields contribute their 
+     * ordinals rather than their identity hash codes, so the hash code is the same in every run.
      * <p>
      * @return the hash code value for this {@code QueryParameter} object
      */
@@ -206,8 +234,8 @@ final class QueryParameter {
             final int prime = 31;
             result = 17;
             result = result * prime + query.hashCode();
-            result = result * prime + rankerType.hashCode();
-            result = result * prime + format.hashCode();
+            result = result * prime + rankerType.ordinal();
+            result = result * prime + format.ordinal();
             result = result * prime + numberOfResults;
             hashCode = result;
         }
@@ -0,0 +1,303 @@
+package edu.nyu.cs.engine.query;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code QueryResultCache} class keeps the responses of popular search queries, so that a repeated search
+ * query is neither ranked nor rendered again. Responses are keyed by the
+ * {@linkplain edu.nyu.cs.engine.query.QueryParameter#normalize() normalized} query parameters, that is the raw
+ * search query, the ranker type, the results format and the number of results.
+ * <p>
+ * The cache is split into segments by the hash code of the keys, each segment holding its share of the
+ * {@code capacity} responses in least recently used order behind its own lock, so that concurrent search
+ * queries only contend when their keys fall in the same segment. A segment holds at least
+ * {@link #MIN_SEGMENT_CAPACITY} responses, thus a small cache has a single segment. Once a segment is full, a new
+ * response is only admitted if its search query has been requested more often lately than the search query of
+ * the least recently used response of the segment, which is then evicted; otherwise the new response is
+ * dropped. The request frequencies, including those of the search queries which are not cached, are estimated by
+ * a small count-min sketch per segment whose counters are halved periodically, so the frequencies reflect the
+ * recent requests. With a skewed query log this admission policy keeps the head of the popular search queries in
+ * the cache, where plain LRU would let a stream of one-off search queries flush it.
+ * <p>
+ * Every response is stored with the generation of the search indexes it was computed from, see
+ * {@link edu.nyu.cs.engine.index.SearchIndexer#getGeneration()}. When a lookup sees a newer generation, i.e. the
+ * search indexes have been reloaded, all responses are discarded.
+ * <p>
+ * Note: {@code QueryResultCache} objects are thread-safe; lookups and insertions only lock the segment of their
+ * key, while the search queries missing from the cache are evaluated outside of any lock.
+ */
+final class QueryResultCache {
+    /**
+     * The maximum number of segments.
+     */
+    static final int MAX_SEGMENTS = 16;
+
+    /**
+     * The minimum number of responses held by a segment, unless the whole cache holds fewer.
+     */
+    static final int MIN_SEGMENT_CAPACITY = 64;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+    private volatile int generation = 0;
+
+    /**
+     * Initializes a newly created {@code QueryResultCache} object which holds at most {@code capacity} responses.
+     * <p>
+     * @param capacity the maximum number of responses, or 0 to disable caching
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    QueryResultCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                    "Query result cache capacity must not be negative but was " + capacity);
+        }
+        final int numberOfSegments = 
+                Math.max(1, Math.min(MAX_SEGMENTS, Integer.highestOneBit(capacity / MIN_SEGMENT_CAPACITY)));
+        this.segments = new Segment[numberOfSegments];
+        for (int i = 0; i < numberOfSegments; i++) {
+            // the first segments take the remainder, so the capacities add up to the capacity of the cache
+            segments[i] = new Segment(capacity / numberOfSegments + (i < capacity % numberOfSegments ? 1 : 0));
+        }
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(numberOfSegments);
+    }
+
+    /**
+     * Returns the segment of the key with specific {@code hash}, selected by the high bits of the mixed hash,
+     * which are independent of the bits indexing the frequency sketch of the segment.
+     */
+    private Segment segmentFor(int hash) {
+        return segmentShift == 32 ? segments[0] : segments[(hash * 0x85ebca6b) >>> segmentShift];
+    }
+
+    /**
+     * Returns the response of the search query with specific {@code key} computed from the search indexes of
+     * specific {@code generation}, or {@code null} if it is not cached. The request is counted as a hit or a
+     * miss, and recorded in the request frequencies.
+     * <p>
+     * @param key the normalized query parameters
+     * @param generation the current generation of the search indexes
+     * @return the cached response, or {@code null} if it is not cached
+     */
+    String get(QueryParameter key, int generation) {
+        if (generation > this.generation) {
+            reload(generation);
+        }
+        final int hash = key.hashCode();
+        final Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            segment.reload(generation);
+            if (segment.capacity > 0) {
+                segment.sketch.increment(hash);
+            }
+            // a lookup racing with a reload may still carry the previous generation, whose responses are gone
+            final String response = generation == segment.generation ? segment.responses.get(key) : null;
+            if (response == null) {
+                ++segment.misses;
+            } else {
+                ++segment.hits;
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Discards all responses once the search indexes of a newer {@code generation} have been loaded.
+     * <p>
+     * @param generation the current generation of the search indexes
+     */
+    private synchronized void reload(int generation) {
+        if (generation <= this.generation) {
+            return;
+        }
+        this.generation = generation;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.reload(generation);
+            }
+        }
+    }
+
+    /**
+     * Offers the response of the search query with specific {@code key}, which was computed from the search
+     * indexes of specific {@code generation}. The response is dropped if the search indexes have been reloaded
+     * since, or if the segment of the key is full and the search query is not requested more often than the
+     * least recently used one of the segment.
+     * <p>
+     * @param key the normalized query parameters
+     * @param response the response of the search query
+     * @param generation the generation of the search indexes the response was computed from
+     * @return true if the response was admitted to the cache
+     */
+    boolean put(QueryParameter key, String response, int generation) {
+        final int hash = key.hashCode();
+        final Segment segment = segmentFor(hash);
+        synchronized (segment) {
+            if (segment.capacity == 0 || generation != segment.generation) {
+                return false;
+            }
+            final LinkedHashMap<QueryParameter, String> responses = segment.responses;
+            if (responses.size() >= segment.capacity && !responses.containsKey(key)) {
+                final Iterator<Map.Entry<QueryParameter, String>> eldest = responses.entrySet().iterator();
+                final QueryParameter victim = eldest.next().getKey();
+                if (segment.sketch.frequency(hash) <= segment.sketch.frequency(victim.hashCode())) {
+                    return false;
+                }
+                eldest.remove();
+            }
+            responses.put(key, response);
+            return true;
+        }
+    }
+
+    /**
+     * Returns the number of responses in the cache.
+     * <p>
+     * @return the number of cached responses
+     */
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.responses.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the number of lookups which found the response in the cache.
+     * <p>
+     * @return the number of cache hits
+     */
+    long getHits() {
+        long hits = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                hits += segment.hits;
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups which did not find the response in the cache.
+     * <p>
+     * @return the number of cache misses
+     */
+    long getMisses() {
+        long misses = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                misses += segment.misses;
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * The {@code Segment} class holds the responses of the keys hashed to it in least recently used order,
+     * together with the generation of the search indexes they were computed from, the request frequencies and
+     * the lookup counts of these keys. All fields are guarded by the monitor of the segment.
+     */
+    private static final class Segment {
+        private final int capacity;
+        private final LinkedHashMap<QueryParameter, String> responses = new LinkedHashMap<>(16, 0.75f, true);
+        private final FrequencySketch sketch;
+        private int generation = 0;
+        private long hits = 0;
+        private long misses = 0;
+
+        /**
+         * Initializes a newly created {@code Segment} object which holds at most {@code capacity} responses.
+         */
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        /**
+         * Discards the responses of the segment if the search indexes of a newer {@code generation} have been
+         * loaded.
+         */
+        private void reload(int generation) {
+            if (generation > this.generation) {
+                responses.clear();
+                this.generation = generation;
+            }
+        }
+    }
+
+    /**
+     * The {@code FrequencySketch} class estimates how often each search query has been requested lately, by
+     * a count-min sketch of {@link #DEPTH} rows of saturating counters indexed by independent hashes of the
+     * key hash code. Once the number of increments reaches ten times the segment capacity, all counters are
+     * halved, so earlier requests weigh less than recent ones.
+     */
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = { 0x97cb3127, 0xb492b66f, 0x9ae16a3b, 0xc3a5c85c };
+
+        private final int[] counters;
+        private final int width;
+        private final int sampleSize;
+        private int increments = 0;
+
+        /**
+         * Initializes a newly created {@code FrequencySketch} object sized for a segment of {@code capacity}
+         * responses.
+         */
+        private FrequencySketch(int capacity) {
+            this.width = Integer.highestOneBit(Math.max(16, capacity * 4) - 1) << 1;
+            this.counters = new int[DEPTH * width];
+            this.sampleSize = Math.max(1, capacity * 10);
+        }
+
+        /**
+         * Returns the estimated number of recent requests of the key with specific {@code hash}.
+         */
+        private int frequency(int hash) {
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                frequency = Math.min(frequency, counters[index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        /**
+         * Records a request of the key with specific {@code hash}.
+         */
+        private void increment(int hash) {
+            boolean incremented = false;
+            for (int row = 0; row < DEPTH; row++) {
+                final int index = index(hash, row);
+                if (counters[index] < MAX_COUNT) {
+                    ++counters[index];
+                    incremented = true;
+                }
+            }
+            if (incremented && ++increments == sampleSize) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>>= 1;
+                }
+                increments /= 2;
+            }
+        }
+
+        /**
+         * Returns the counter index of the key with specific {@code hash} in specific {@code row}. Each row has
+         * its own {@code width} counters, so the rows of a key never share a counter.
+         */
+        private int index(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+            h ^= h >>> 16;
+            return row * width + (h & (width - 1));
+        }
+    }
+
+}
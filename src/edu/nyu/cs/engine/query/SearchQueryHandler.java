@@ -14,8 +14,11 @@ import com.sun.net.httpserver.HttpHandler;
 import edu.nyu.cs.engine.document.ScoredDocument;
 import edu.nyu.cs.engine.exception.IllegalQueryParameterException;
 import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.query.impl.PhraseQuery;
 import edu.nyu.cs.engine.query.impl.WordQuery;
 import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.rank.utils.RankerType;
 import edu.nyu.cs.engine.rank.utils.SearchRankerFactory;
 
 /**
@@ -26,22 +29,82 @@ import edu.nyu.cs.engine.rank.utils.SearchRankerFactory;
  * exchanges. Each exchange takes a HTTP query at path {@code localhost:<port_number>/search} through CGI 
  * arguments and give the searching result which based on the indexes back to users.
  * <p>
- * Note: {@code SearchQueryHandler} objects are immutable; their value could not be changed after they are
- * created. Thus, {@code SearchQueryHandler} objects are thread-safe.
+ * The responses of popular search queries are kept in a {@link edu.nyu.cs.engine.query.QueryResultCache}, so 
+ * that a repeated search query is answered without ranking and rendering it again. The cache is discarded 
+ * whenever the search indexes are reloaded.
+ * <p>
+ * Note: {@code SearchQueryHandler} objects are thread-safe; the query result cache is their only mutable state 
+ * and it is thread-safe.
  */
 public final class SearchQueryHandler implements HttpHandler {
     private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.query.SearchQueryHandler");
     
+    /**
+     * The default maximum number of responses in the query result cache.
+     */
+    public static final int DEFAULT_CACHE_CAPACITY = 1024;
+    
     private final SearchIndexer indexer;
+    private final RankerOptions rankerOptions;
+    private final QueryResultCache cache;
     
     /**
      * Initializes a newly created {@code SearchQueryHandler} object so that it records HTTP search query 
-     * handler which is processed based on the given search indexes.
+     * handler which is processed based on the given search indexes, caching up to 
+     * {@link #DEFAULT_CACHE_CAPACITY} responses.
      * <p>
      * @param indexer the search indexer
      */
     public SearchQueryHandler(SearchIndexer indexer) {
+        this(indexer, DEFAULT_CACHE_CAPACITY);
+    }
+    
+    /**
+     * Initializes a newly created {@code SearchQueryHandler} object so that it records HTTP search query 
+     * handler which is processed based on the given search indexes, caching up to {@code cacheCapacity} 
+     * responses.
+     * <p>
+     * @param indexer the search indexer
+     * @param cacheCapacity the maximum number of responses in the query result cache, or 0 to disable it
+     * @throws IllegalArgumentException if the cache capacity is negative
+     */
+    public SearchQueryHandler(SearchIndexer indexer, int cacheCapacity) {
+        this(indexer, cacheCapacity, RankerOptions.DEFAULT);
+    }
+    
+    /**
+     * Initializes a newly created {@code SearchQueryHandler} object so that it records HTTP search query 
+     * handler which is processed based on the given search indexes and ranking options, caching up to 
+     * {@code cacheCapacity} responses. The ranking options are owned by the caller, which closes them once the 
+     * handler no longer serves search queries.
+     * <p>
+     * @param indexer the search indexer
+     * @param cacheCapacity the maximum number of responses in the query result cache, or 0 to disable it
+     * @param rankerOptions the ranking options shared by all search queries
+     * @throws IllegalArgumentException if the cache capacity is negative
+     */
+    public SearchQueryHandler(SearchIndexer indexer, int cacheCapacity, RankerOptions rankerOptions) {
         this.indexer = indexer;
+        this.rankerOptions = rankerOptions;
+        this.cache = new QueryResultCache(cacheCapacity);
+    }
+    
+    /**
+     * Returns the number of search queries answered from the query result cache.
+     * <p>
+     * @return the number of cache hits
+     */
+    public long getCacheHits() {
+        return cache.getHits();
+    }
+    
+    /**
+     * Returns the number of search queries which were not found in the query result cache.
+     * <p>
+     * @return the number of cache misses
+     */
+    public long getCacheMisses() {
+        return cache.getMisses();
     }
 
     /**
@@ -97,16 +160,30 @@ public final class SearchQueryHandler implements HttpHandler {
             return;
         }
         
+        final QueryParameter cacheKey = queryParameter.normalize();
+        final int generation = indexer.getGeneration();
+        String results = cache.get(cacheKey, generation);
+        if (results != null) {
+            response(exchange, results);
+            LOGGER.info("Complete search query from cache: " + queryParameter.getQuery() + " (" 
+                    + cache.getHits() + " hits, " + cache.getMisses() + " misses)");
+            return;
+        }
+        
         SearchRanker searchRanker = 
-                SearchRankerFactory.getSearchRanker(queryParameter.getRankerType(), indexer);
-        SearchQuery query = new WordQuery(queryParameter.getQuery());
+                SearchRankerFactory.getSearchRanker(queryParameter.getRankerType(), indexer, rankerOptions);
+        SearchQuery query = (queryParameter.getRankerType() == RankerType.PHRASE) 
+                ? new PhraseQuery(cacheKey.getQuery()) 
+                : new WordQuery(cacheKey.getQuery());
         
         List<ScoredDocument> scoredDocuments = 
                 searchRanker.runQuery(query, queryParameter.getNumberOfResults());
         switch (queryParameter.getFormat()) {
-            case HTML: response(exchange, getSearchResultsInHTMLFormat(scoredDocuments)); break;
-            case TEXT: response(exchange, getSearchResultsInTextFormat(scoredDocuments)); break;
+            case HTML: results = getSearchResultsInHTMLFormat(scoredDocuments); break;
+            case TEXT: results = getSearchResultsInTextFormat(scoredDocuments); break;
         }
+        cache.put(cacheKey, results, generation);
+        response(exchange, results);
         LOGGER.info("Complete search query: " + queryParameter.getQuery());
     }
     
@@ -4,10 +4,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import edu.nyu.cs.engine.index.utils.Tokenizer;
 import edu.nyu.cs.engine.query.SearchQuery;
 
 /**
@@ -26,6 +26,8 @@ import edu.nyu.cs.engine.query.SearchQuery;
  * concurrently, and at least one of the threads modifies it structurally, it must be synchronized externally.
  */
 public class PhraseQuery implements SearchQuery {
+    private static final Pattern PHRASE_PATTERN = Pattern.compile("\"(.*?)\"");
+    
     private final String query;
     private final List<List<String>> phrases = new ArrayList<>();
     
@@ -70,54 +72,57 @@ public class PhraseQuery implements SearchQuery {
         if (query == null) {
             return;
         }
-        Pattern pattern = Pattern.compile("\"(.*?)\"");
-        Matcher matcher = pattern.matcher(query);
+        final Tokenizer tokenizer = new Tokenizer();
+        Matcher matcher = PHRASE_PATTERN.matcher(query);
         int pos = 0;
         while (matcher.find()) {
             int start = matcher.start();
             int end = matcher.end();
             if (pos != start) {
-                addToken(query.substring(pos, start));
+                addToken(tokenizer, pos, start);
             }
-            String phrase = matcher.group();
-            addPhrase(phrase.substring(1, phrase.length() - 1));
+            addPhrase(tokenizer, start + 1, end - 1);
             pos = end;
         }
         if (pos < query.length()) {
-            addToken(query.substring(pos, query.length()));
+            addToken(tokenizer, pos, query.length());
         }
     }
     
     /**
-     * Wrap the word token as a list includes single element and add it to the phrases list.
+     * Wrap each word token in range [{@code from}, {@code to}) of the raw query as a list includes single 
+     * element and add it to the phrases list.
      * <p>
-     * @param token the word token to be added 
+     * @param tokenizer the tokenizer to be reused
+     * @param from the index of the first character of the word tokens
+     * @param to the index after the last character of the word tokens
      */
-    private void addToken(String token) {
-        Scanner scanner = new Scanner(token);
-        while (scanner.hasNext()) {
-            phrases.add(Arrays.asList(scanner.next()));
+    private void addToken(Tokenizer tokenizer, int from, int to) {
+        tokenizer.reset(query, from, to);
+        while (tokenizer.next()) {
+            phrases.add(Arrays.asList(tokenizer.token()));
         }
-        scanner.close();
     }
     
     /**
-     * Separate the phrase to word tokens by whitespace and add them to the phrases list as a single list. If 
-     * the {@code phrase} is empty (""), then ignore it.
+     * Separate the phrase in range [{@code from}, {@code to}) of the raw query to word tokens by whitespace and 
+     * add them to the phrases list as a single list. If the phrase has no word token, such as "" or "  ", then 
+     * ignore it.
      * <p>
-     * @param phrase the phrase to be added
+     * @param tokenizer the tokenizer to be reused
+     * @param from the index of the first character of the phrase
+     * @param to the index after the last character of the phrase
      */
-    private void addPhrase(String phrase) {
-        if (phrase.length() < 2) {
-            // empty phrase "", ignore it
-            return;
-        }
+    private void addPhrase(Tokenizer tokenizer, int from, int to) {
         List<String> tokens = new ArrayList<>();
-        Scanner scanner = new Scanner(phrase);
-        while (scanner.hasNext()) {
-            tokens.add(scanner.next());
+        tokenizer.reset(query, from, to);
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.token());
+        }
+        if (tokens.isEmpty()) {
+            // empty phrase, ignore it
+            return;
         }
-        scanner.close();
         phrases.add(Collections.unmodifiableList(tokens));
     }
     
@@ -3,8 +3,8 @@ package edu.nyu.cs.engine.query.impl;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
 
+import edu.nyu.cs.engine.index.utils.Tokenizer;
 import edu.nyu.cs.engine.query.SearchQuery;
 
 /**
@@ -65,11 +65,10 @@ public class WordQuery implements SearchQuery {
         if (query == null) {
             return;
         }
-        Scanner scanner = new Scanner(query);
-        while (scanner.hasNext()) {
-            tokens.add(scanner.next());
+        final Tokenizer tokenizer = new Tokenizer().reset(query);
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.token());
         }
-        scanner.close();
     }
     
     /**
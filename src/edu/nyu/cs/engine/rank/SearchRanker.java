@@ -1,10 +1,14 @@
 package edu.nyu.cs.engine.rank;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import edu.nyu.cs.engine.document.ScoredDocument;
 import edu.nyu.cs.engine.index.SearchIndexer;
 import edu.nyu.cs.engine.query.SearchQuery;
+import edu.nyu.cs.engine.query.impl.PhraseQuery;
+import edu.nyu.cs.engine.query.impl.WordQuery;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
 
 /**
  * @author shenli
@@ -18,15 +22,29 @@ import edu.nyu.cs.engine.query.SearchQuery;
  */
 public abstract class SearchRanker {
     protected final SearchIndexer searchIndexer;
+    protected final RankerOptions rankerOptions;
     
     /**
      * Initializes a newly created {@code SearchRanker} object so that it records basic arguments using in 
-     * search ranking process.
+     * search ranking process, with the {@linkplain edu.nyu.cs.engine.rank.utils.RankerOptions#DEFAULT default} 
+     * ranking options.
      * <p>
      * @param searchIndexer the search indexer
      */
     public SearchRanker(SearchIndexer searchIndexer) {
+        this(searchIndexer, RankerOptions.DEFAULT);
+    }
+    
+    /**
+     * Initializes a newly created {@code SearchRanker} object so that it records basic arguments using in 
+     * search ranking process, with the ranking options of the server.
+     * <p>
+     * @param searchIndexer the search indexer
+     * @param rankerOptions the ranking options
+     */
+    public SearchRanker(SearchIndexer searchIndexer, RankerOptions rankerOptions) {
         this.searchIndexer = searchIndexer;
+        this.rankerOptions = rankerOptions;
     }
 
     /**
@@ -42,4 +60,25 @@ public abstract class SearchRanker {
      */
     public abstract List<ScoredDocument> runQuery(SearchQuery query, int numberOfResults);
     
+    /**
+     * Returns the word tokens of the processed search query in their order of appearance, including repeated 
+     * tokens. The tokens of each phrase in a {@link edu.nyu.cs.engine.query.impl.PhraseQuery} are treated as 
+     * individual words.
+     * <p>
+     * @param query the processed search query
+     * @return the word tokens of the search query
+     */
+    protected static List<String> getQueryTokens(SearchQuery query) {
+        if (query instanceof WordQuery) {
+            return ((WordQuery) query).getTokens();
+        }
+        final List<String> tokens = new ArrayList<>();
+        if (query instanceof PhraseQuery) {
+            for (List<String> phrase : ((PhraseQuery) query).getPhrases()) {
+                tokens.addAll(phrase);
+            }
+        }
+        return tokens;
+    }
+    
 }
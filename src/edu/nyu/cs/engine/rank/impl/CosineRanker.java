@@ -1,27 +1,192 @@
 package edu.nyu.cs.engine.rank.impl;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
 
 import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.InvertedIndexer;
 import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.postings.BlockBoundsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
 import edu.nyu.cs.engine.query.SearchQuery;
 import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.QueryProcessor;
+import edu.nyu.cs.engine.rank.utils.QueryProcessorFactory;
+import edu.nyu.cs.engine.rank.utils.QueryScorer;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.rank.utils.RankerType;
+import edu.nyu.cs.engine.rank.utils.TopKCollector;
 
 /**
  * @author shenli
  * <p>
+ * The {@code CosineRanker} based implementation of the {@link edu.nyu.cs.engine.rank.SearchRanker} interface.
+ * This implementation represents the cosine similarity vector space model. Both the query and the documents
+ * are weighted by {@code tf * log(N / df)}, and each document containing any query term is scored by the cosine
+ * of the angle between its vector and the query vector, which is 0 if it only contains terms appearing in every
+ * document.
+ * <p>
+ * Documents are evaluated document-at-a-time by a {@link edu.nyu.cs.engine.rank.utils.QueryProcessor}, which
+ * skips the documents whose score could not reach the current top results. The strategy is selected by the
+ * {@code cosine_query_processor} or {@code query_processor} option, block-max WAND by default. The document
+ * vector norms and the maximum normalized frequency of every term, which bounds its score contribution, are
+ * read from the index, where they were computed at construction time, so no document is tokenized at query
+ * time. The search indexer must be an {@link edu.nyu.cs.engine.index.InvertedIndexer}.
+ * <p>
+ * {@code CosineRanker} are constant; their value could not be changed after they are created. Because
+ * {@code CosineRanker} objects are immutable they could be shared.
  */
 public class CosineRanker extends SearchRanker {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.rank.impl.CosineRanker");
 
+    /**
+     * Initializes a newly created {@code CosineRanker} object with given
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object so that it records cosine similarity rank model.
+     * <p>
+     * @param searchIndexer the search indexer
+     */
     public CosineRanker(SearchIndexer searchIndexer) {
         super(searchIndexer);
-        // TODO Auto-generated constructor stub
     }
 
+    /**
+     * Initializes a newly created {@code CosineRanker} object with given
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object and ranking options so that it records
+     * cosine similarity rank model, evaluated by the query processor type of the options.
+     * <p>
+     * @param searchIndexer the search indexer
+     * @param rankerOptions the ranking options
+     */
+    public CosineRanker(SearchIndexer searchIndexer, RankerOptions rankerOptions) {
+        super(searchIndexer, rankerOptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public List<ScoredDocument> runQuery(SearchQuery query, int numberOfResults) {
-        // TODO Auto-generated method stub
-        return null;
+        if (!(searchIndexer instanceof InvertedIndexer)) {
+            LOGGER.info("Cosine ranking requires an inverted indexer");
+            return Collections.emptyList();
+        }
+        final InvertedIndexer indexer = (InvertedIndexer) searchIndexer;
+        query.processQuery();
+
+        final QueryProcessor processor = QueryProcessorFactory.getQueryProcessor(
+                rankerOptions.getQueryProcessorType(RankerType.COSINE));
+        final TopKCollector collector = new TopKCollector(numberOfResults);
+        processor.process(newScorer(indexer, getQueryTokens(query)), collector);
+        return collector.getResults(searchIndexer);
+    }
+
+    /**
+     * Returns a new scorer of the cosine similarity between the query tokens and the documents, which is shared
+     * with the rankers combining it with other models.
+     * <p>
+     * @param indexer the inverted indexer
+     * @param queryTokens the word tokens of the processed search query, including repeated tokens
+     * @return a new cosine similarity scorer
+     */
+    static QueryScorer newScorer(InvertedIndexer indexer, List<String> queryTokens) {
+        final Map<Integer, Integer> queryTermFrequencies = new LinkedHashMap<>();
+        for (String token : queryTokens) {
+            final int termId = indexer.getIndexByTerm(token);
+            if (termId >= 0) {
+                final Integer frequency = queryTermFrequencies.get(termId);
+                queryTermFrequencies.put(termId, frequency == null ? 1 : frequency + 1);
+            }
+        }
+
+        // a term appearing in every document has no weight, but still matches its documents with a 0 score
+        final int[] termIds = new int[queryTermFrequencies.size()];
+        final double[] termWeights = new double[termIds.length];
+        int term = 0;
+        double squaredQueryNorm = 0.0;
+        for (Map.Entry<Integer, Integer> entry : queryTermFrequencies.entrySet()) {
+            final double idf = indexer.getInverseDocumentFrequency(entry.getKey());
+            final double queryWeight = entry.getValue() * idf;
+            squaredQueryNorm += queryWeight * queryWeight;
+            termIds[term] = entry.getKey();
+            termWeights[term++] = queryWeight * idf;
+        }
+        if (squaredQueryNorm > 0.0) {
+            final double queryNorm = Math.sqrt(squaredQueryNorm);
+            for (term = 0; term < termWeights.length; term++) {
+                termWeights[term] /= queryNorm;
+            }
+        }
+
+        return new CosineScorer(indexer, termIds, termWeights);
+    }
+
+    /**
+     * The {@code CosineScorer} class scores the query terms with known weights. The contribution of a term to a
+     * document is the term weight times the frequency of the term divided by the norm of the document, whose
+     * maximum over the postings list is recorded in the index.
+     */
+    private static final class CosineScorer implements QueryScorer {
+        private final InvertedIndexer indexer;
+        private final int[] termIds;
+        private final double[] termWeights;
+
+        /**
+         * Initializes a newly created {@code CosineScorer} object with the query term ids and their weights,
+         * which are the query term weights times the inverse document frequencies divided by the query norm.
+         * <p>
+         * @param indexer the inverted indexer
+         * @param termIds the query term ids
+         * @param termWeights the query term weights
+         */
+        private CosineScorer(InvertedIndexer indexer, int[] termIds, double[] termWeights) {
+            this.indexer = indexer;
+            this.termIds = termIds;
+            this.termWeights = termWeights;
+        }
+
+        @Override
+        public int getNumberOfTerms() {
+            return termIds.length;
+        }
+
+        @Override
+        public PostingsCursor newCursor(int term) {
+            return indexer.getPostingsCursor(termIds[term]);
+        }
+
+        @Override
+        public double score(int term, int docId, int frequency) {
+            final float norm = indexer.getDocumentNorm(docId);
+            return norm > 0.0f ? termWeights[term] * (frequency / (double) norm) : 0.0;
+        }
+
+        @Override
+        public double getUpperBound(int term) {
+            return termWeights[term] * indexer.getMaxNormalizedTermFrequency(termIds[term]);
+        }
+
+        @Override
+        public BlockBoundsCursor newBlockBoundsCursor(int term) {
+            return indexer.getBlockBoundsCursor(termIds[term]);
+        }
+
+        @Override
+        public double getBlockUpperBound(int term, BlockBoundsCursor blocks) {
+            return termWeights[term] * blocks.maxNormalizedFrequency();
+        }
+
+        @Override
+        public double getDocumentScore(int docId) {
+            return 0.0;
+        }
+
+        @Override
+        public double getDocumentUpperBound(int docId) {
+            return 0.0;
+        }
     }
 
 }
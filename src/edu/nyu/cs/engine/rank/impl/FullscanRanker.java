@@ -1,15 +1,18 @@
 package edu.nyu.cs.engine.rank.impl;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
-import edu.nyu.cs.engine.document.FullscanDocument;
 import edu.nyu.cs.engine.document.ScoredDocument;
 import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.impl.FullscanIndexer;
 import edu.nyu.cs.engine.query.SearchQuery;
 import edu.nyu.cs.engine.query.impl.WordQuery;
 import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.rank.utils.TopKCollector;
 
 /**
  * @author shenli
@@ -19,10 +22,18 @@ import edu.nyu.cs.engine.rank.SearchRanker;
  * against each token in the search query and score the document as 1.0 if any search token exist in the document 
  * title.
  * <p>
+ * The query tokens are resolved to term ids once per query, and the title token ids of each document are 
+ * matched against a bit set of the query term ids, so that no term string is built or compared per document.
+ * <p>
+ * When the {@code ranker_parallelism} option is greater than 1, the document id space is split into chunks 
+ * which are scored by the shared ranking pool of the {@link edu.nyu.cs.engine.rank.utils.RankerOptions}, each
+ * chunk keeping its own top-k collector, and the collectors are merged when the chunks join.
+ * <p>
  * {@code FullscanRanker} are constant; their value could not be changed after they are created. Because 
  * {@code FullscanRanker} objects are immutable they could be shared.
  */
 public class FullscanRanker extends SearchRanker {
+    private static final int MIN_CHUNK_SIZE = 4096;
 
     /**
      * Initializes a newly created {@code FullscanRanker} object with given {@link edu.nyu.cs.engine.index.SearchIndexer} 
@@ -34,48 +45,115 @@ public class FullscanRanker extends SearchRanker {
         super(searchIndexer);
     }
 
+    /**
+     * Initializes a newly created {@code FullscanRanker} object with given 
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object and ranking options so that it records simple 
+     * fullscan search rank model, scoring on the ranking pool of the options.
+     * <p>
+     * @param searchIndexer the search indexer
+     * @param rankerOptions the ranking options
+     */
+    public FullscanRanker(SearchIndexer searchIndexer, RankerOptions rankerOptions) {
+        super(searchIndexer, rankerOptions);
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<ScoredDocument> runQuery(SearchQuery query, int numberOfResults) {
         query.processQuery();
-        List<ScoredDocument> scoredDocuments = new ArrayList<>();
-        for (int i = 0; i < searchIndexer.getNumberOfDocs(); i++) {
-            scoredDocuments.add(score(query, i));
+        final BitSet queryTermIds = new BitSet();
+        for (String token : ((WordQuery) query).getTokens()) {
+            final int termId = searchIndexer.getIndexByTerm(token);
+            if (termId >= 0) {
+                queryTermIds.set(termId);
+            }
         }
-        Collections.sort(scoredDocuments, Collections.reverseOrder());
-        List<ScoredDocument> results = new ArrayList<>();
-        for (int i = 0; i < scoredDocuments.size() && i < numberOfResults; i++) {
-            results.add(scoredDocuments.get(i));
+        final int numberOfDocs = searchIndexer.getNumberOfDocs();
+        final ForkJoinPool pool = rankerOptions.getRankerPool();
+        final TopKCollector collector;
+        if (pool == null || numberOfDocs <= MIN_CHUNK_SIZE) {
+            collector = scoreRange(queryTermIds, numberOfResults, 0, numberOfDocs);
+        } else {
+            final int chunkSize = Math.max(MIN_CHUNK_SIZE, numberOfDocs / (pool.getParallelism() * 4));
+            collector = pool.invoke(new ScoreTask(queryTermIds, numberOfResults, 0, numberOfDocs, chunkSize));
         }
-        return Collections.unmodifiableList(results);
+        return collector.getResults(searchIndexer);
     }
     
     /**
-     * Return the scored document of given {@code docId} and score it based on the simple fullscan rank model. 
-     * It only counts document's title against tokens in the give {@code query} and score it as 1.0 if any 
-     * token exist in the document title and 0.0 otherwise.
+     * Scores the documents in range [{@code from}, {@code to}) and returns the collector of the best ones.
      * <p>
-     * @param query the search query
+     * @param queryTermIds the term ids of the query tokens
+     * @param numberOfResults the number of results to be kept
+     * @param from the first document id
+     * @param to the document id after the last one
+     * @return the collector of the best documents in the range
+     */
+    private TopKCollector scoreRange(BitSet queryTermIds, int numberOfResults, int from, int to) {
+        final TopKCollector collector = new TopKCollector(numberOfResults);
+        for (int i = from; i < to; i++) {
+            collector.collect(i, score(queryTermIds, i));
+        }
+        return collector;
+    }
+    
+    /**
+     * Return the score of given {@code docId} based on the simple fullscan rank model. It only counts 
+     * document's title against the query term ids and score it as 1.0 if any query term exist in the document 
+     * title and 0.0 otherwise.
+     * <p>
+     * @param queryTermIds the term ids of the query tokens
      * @param docId the document id
-     * @return the scored document of give {@code docId} and score it based on the simple fullscan rank model
+     * @return the score of give {@code docId} based on the simple fullscan rank model
      */
-    private ScoredDocument score(SearchQuery query, int docId) {
-        FullscanDocument document = (FullscanDocument) searchIndexer.getDocument(docId);
-        double score = 0.0;
-        for (String docToken : document.getInvertedTitleTokens()) {
-            for (String queryToken : ((WordQuery) query).getTokens()) {
-                if (docToken.equals(queryToken)) {
-                    score = 1.0;
-                    break;
-                }
+    private double score(BitSet queryTermIds, int docId) {
+        if (queryTermIds.isEmpty()) {
+            return 0.0;
+        }
+        for (int termId : ((FullscanIndexer) searchIndexer).getTitleTokens(docId)) {
+            if (queryTermIds.get(termId)) {
+                return 1.0;
             }
-            if (Double.compare(score, 0.0) > 0) {
-                break;
+        }
+        return 0.0;
+    }
+
+    /**
+     * The {@code ScoreTask} class scores a document id range, splitting it in halves until it is not larger 
+     * than the chunk size, and merges the collectors of both halves.
+     */
+    private final class ScoreTask extends RecursiveTask<TopKCollector> {
+        private static final long serialVersionUID = 4133016873212484097L;
+        
+        private final BitSet queryTermIds;
+        private final int numberOfResults;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+        
+        ScoreTask(BitSet queryTermIds, int numberOfResults, int from, int to, int chunkSize) {
+            this.queryTermIds = queryTermIds;
+            this.numberOfResults = numberOfResults;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected TopKCollector compute() {
+            if (to - from <= chunkSize) {
+                return scoreRange(queryTermIds, numberOfResults, from, to);
             }
+            final int middle = (from + to) >>> 1;
+            final ScoreTask right = new ScoreTask(queryTermIds, numberOfResults, middle, to, chunkSize);
+            right.fork();
+            final TopKCollector collector = 
+                    new ScoreTask(queryTermIds, numberOfResults, from, middle, chunkSize).compute();
+            collector.collectAll(right.join());
+            return collector;
         }
-        return new ScoredDocument(document, score);
     }
 
 }
@@ -1,27 +1,173 @@
 package edu.nyu.cs.engine.rank.impl;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.logging.Logger;
 
 import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.InvertedIndexer;
 import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.io.DocumentValues;
+import edu.nyu.cs.engine.index.postings.BlockBoundsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
 import edu.nyu.cs.engine.query.SearchQuery;
 import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.QueryProcessor;
+import edu.nyu.cs.engine.rank.utils.QueryProcessorFactory;
+import edu.nyu.cs.engine.rank.utils.QueryScorer;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.rank.utils.RankerType;
+import edu.nyu.cs.engine.rank.utils.TopKCollector;
 
 /**
  * @author shenli
  * <p>
+ * The {@code LinearRanker} based implementation of the {@link edu.nyu.cs.engine.rank.SearchRanker} interface.
+ * This implementation represents a linear combination of the cosine similarity model and the number of views
+ * model. Each document containing any query term is scored by
+ * <pre>
+ *   COSINE_WEIGHT * cosine(q, d) + NUMBER_OF_VIEWS_WEIGHT * log(1 + views(d)) / log(1 + max views)
+ * </pre>
+ * so that both parts range from 0 to 1, and the logarithm keeps the most viewed documents from dominating the
+ * results regardless of their content.
+ * <p>
+ * Documents are evaluated document-at-a-time by a {@link edu.nyu.cs.engine.rank.utils.QueryProcessor} selected
+ * by the {@code linear_query_processor} or {@code query_processor} option, block-max WAND by default. The
+ * cosine part is bounded per term as in {@link edu.nyu.cs.engine.rank.impl.CosineRanker}, and the number of
+ * views part by {@link edu.nyu.cs.engine.index.InvertedIndexer#getMaxNumberOfViews(int)}, which shrinks along
+ * the postings lists when the index was constructed in
+ * {@linkplain edu.nyu.cs.engine.index.utils.DocumentOrder#QUALITY quality order}, so the query stops once no
+ * remaining document could enter the results. The search indexer must be an
+ * {@link edu.nyu.cs.engine.index.InvertedIndexer}.
+ * <p>
+ * {@code LinearRanker} are constant; their value could not be changed after they are created. Because
+ * {@code LinearRanker} objects are immutable they could be shared.
  */
 public class LinearRanker extends SearchRanker {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.rank.impl.LinearRanker");
+
+    /**
+     * The weight of the cosine similarity of the query and the document.
+     */
+    public static final double COSINE_WEIGHT = 0.5;
 
+    /**
+     * The weight of the normalized logarithm of the number of views of the document.
+     */
+    public static final double NUMBER_OF_VIEWS_WEIGHT = 0.5;
+
+    /**
+     * Initializes a newly created {@code LinearRanker} object with given
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object so that it records linear rank model.
+     * <p>
+     * @param searchIndexer the search indexer
+     */
     public LinearRanker(SearchIndexer searchIndexer) {
         super(searchIndexer);
-        // TODO Auto-generated constructor stub
     }
 
+    /**
+     * Initializes a newly created {@code LinearRanker} object with given
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object and ranking options so that it records
+     * linear rank model, evaluated by the query processor type of the options.
+     * <p>
+     * @param searchIndexer the search indexer
+     * @param rankerOptions the ranking options
+     */
+    public LinearRanker(SearchIndexer searchIndexer, RankerOptions rankerOptions) {
+        super(searchIndexer, rankerOptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public List<ScoredDocument> runQuery(SearchQuery query, int numberOfResults) {
-        // TODO Auto-generated method stub
-        return null;
+        if (!(searchIndexer instanceof InvertedIndexer)) {
+            LOGGER.info("Linear ranking requires an inverted indexer");
+            return Collections.emptyList();
+        }
+        final InvertedIndexer indexer = (InvertedIndexer) searchIndexer;
+        query.processQuery();
+
+        final QueryProcessor processor = QueryProcessorFactory.getQueryProcessor(
+                rankerOptions.getQueryProcessorType(RankerType.LINEAR));
+        final TopKCollector collector = new TopKCollector(numberOfResults);
+        final QueryScorer cosineScorer = CosineRanker.newScorer(indexer, getQueryTokens(query));
+        processor.process(new LinearScorer(indexer, cosineScorer), collector);
+        return collector.getResults(searchIndexer);
+    }
+
+    /**
+     * The {@code LinearScorer} class weights the term contributions of a cosine similarity scorer, and adds the
+     * weighted number of views part as the document-level score.
+     */
+    private static final class LinearScorer implements QueryScorer {
+        private final InvertedIndexer indexer;
+        private final DocumentValues documentValues;
+        private final QueryScorer cosineScorer;
+        private final double numberOfViewsNormalization;
+
+        /**
+         * Initializes a newly created {@code LinearScorer} object.
+         * <p>
+         * @param indexer the inverted indexer
+         * @param cosineScorer the cosine similarity scorer of the query
+         */
+        private LinearScorer(InvertedIndexer indexer, QueryScorer cosineScorer) {
+            this.indexer = indexer;
+            this.documentValues = indexer.getDocumentValues();
+            this.cosineScorer = cosineScorer;
+            final int maxNumberOfViews = indexer.getMaxNumberOfViews(0);
+            this.numberOfViewsNormalization = maxNumberOfViews > 0 ? Math.log1p(maxNumberOfViews) : 1.0;
+        }
+
+        /**
+         * Returns the weighted number of views part of the score of a document with {@code numberOfViews} views.
+         */
+        private double numberOfViewsScore(int numberOfViews) {
+            return NUMBER_OF_VIEWS_WEIGHT * Math.log1p(numberOfViews) / numberOfViewsNormalization;
+        }
+
+        @Override
+        public int getNumberOfTerms() {
+            return cosineScorer.getNumberOfTerms();
+        }
+
+        @Override
+        public PostingsCursor newCursor(int term) {
+            return cosineScorer.newCursor(term);
+        }
+
+        @Override
+        public double score(int term, int docId, int frequency) {
+            return COSINE_WEIGHT * cosineScorer.score(term, docId, frequency);
+        }
+
+        @Override
+        public double getUpperBound(int term) {
+            return COSINE_WEIGHT * cosineScorer.getUpperBound(term);
+        }
+
+        @Override
+        public BlockBoundsCursor newBlockBoundsCursor(int term) {
+            return cosineScorer.newBlockBoundsCursor(term);
+        }
+
+        @Override
+        public double getBlockUpperBound(int term, BlockBoundsCursor blocks) {
+            return COSINE_WEIGHT * cosineScorer.getBlockUpperBound(term, blocks);
+        }
+
+        @Override
+        public double getDocumentScore(int docId) {
+            return numberOfViewsScore(documentValues.numberOfViews(docId));
+        }
+
+        @Override
+        public double getDocumentUpperBound(int docId) {
+            return numberOfViewsScore(indexer.getMaxNumberOfViews(docId));
+        }
     }
 
 }
@@ -1,27 +1,162 @@
 package edu.nyu.cs.engine.rank.impl;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
 
 import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.InvertedIndexer;
 import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.io.DocumentValues;
+import edu.nyu.cs.engine.index.postings.BlockBoundsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
 import edu.nyu.cs.engine.query.SearchQuery;
 import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.QueryProcessor;
+import edu.nyu.cs.engine.rank.utils.QueryProcessorFactory;
+import edu.nyu.cs.engine.rank.utils.QueryScorer;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.rank.utils.RankerType;
+import edu.nyu.cs.engine.rank.utils.TopKCollector;
 
 /**
  * @author shenli
  * <p>
+ * The {@code NumberViewsRanker} based implementation of the {@link edu.nyu.cs.engine.rank.SearchRanker}
+ * interface. This implementation represents the number of views model: each document containing any query term
+ * is scored by its number of views, regardless of how often it contains them.
+ * <p>
+ * Documents are evaluated document-at-a-time by a {@link edu.nyu.cs.engine.rank.utils.QueryProcessor} selected
+ * by the {@code numberviews_query_processor} or {@code query_processor} option, block-max WAND by default. The
+ * number of views is a document-level score bounded by
+ * {@link edu.nyu.cs.engine.index.InvertedIndexer#getMaxNumberOfViews(int)}. When the index was constructed in
+ * {@linkplain edu.nyu.cs.engine.index.utils.DocumentOrder#QUALITY quality order}, the bound is the number of
+ * views of the current document, so the query stops right after the first {@code numberOfResults} matching
+ * documents of the postings lists. The search indexer must be an
+ * {@link edu.nyu.cs.engine.index.InvertedIndexer}.
+ * <p>
+ * {@code NumberViewsRanker} are constant; their value could not be changed after they are created. Because
+ * {@code NumberViewsRanker} objects are immutable they could be shared.
  */
 public class NumberViewsRanker extends SearchRanker {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.rank.impl.NumberViewsRanker");
 
+    /**
+     * Initializes a newly created {@code NumberViewsRanker} object with given
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object so that it records number of views rank model.
+     * <p>
+     * @param searchIndexer the search indexer
+     */
     public NumberViewsRanker(SearchIndexer searchIndexer) {
         super(searchIndexer);
-        // TODO Auto-generated constructor stub
     }
 
+    /**
+     * Initializes a newly created {@code NumberViewsRanker} object with given
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object and ranking options so that it records
+     * number of views rank model, evaluated by the query processor type of the options.
+     * <p>
+     * @param searchIndexer the search indexer
+     * @param rankerOptions the ranking options
+     */
+    public NumberViewsRanker(SearchIndexer searchIndexer, RankerOptions rankerOptions) {
+        super(searchIndexer, rankerOptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public List<ScoredDocument> runQuery(SearchQuery query, int numberOfResults) {
-        // TODO Auto-generated method stub
-        return null;
+        if (!(searchIndexer instanceof InvertedIndexer)) {
+            LOGGER.info("Number of views ranking requires an inverted indexer");
+            return Collections.emptyList();
+        }
+        final InvertedIndexer indexer = (InvertedIndexer) searchIndexer;
+        query.processQuery();
+
+        final Set<Integer> termIds = new LinkedHashSet<>();
+        for (String token : getQueryTokens(query)) {
+            final int termId = indexer.getIndexByTerm(token);
+            if (termId >= 0) {
+                termIds.add(termId);
+            }
+        }
+        final int[] queryTermIds = new int[termIds.size()];
+        int numberOfTerms = 0;
+        for (int termId : termIds) {
+            queryTermIds[numberOfTerms++] = termId;
+        }
+
+        final QueryProcessor processor = QueryProcessorFactory.getQueryProcessor(
+                rankerOptions.getQueryProcessorType(RankerType.NUMBERVIEWS));
+        final TopKCollector collector = new TopKCollector(numberOfResults);
+        processor.process(new NumberViewsScorer(indexer, queryTermIds), collector);
+        return collector.getResults(searchIndexer);
+    }
+
+    /**
+     * The {@code NumberViewsScorer} class matches the query terms without scoring them, and scores each matching
+     * document by its number of views, read from the number of views column of the document values.
+     */
+    private static final class NumberViewsScorer implements QueryScorer {
+        private final InvertedIndexer indexer;
+        private final DocumentValues documentValues;
+        private final int[] termIds;
+
+        /**
+         * Initializes a newly created {@code NumberViewsScorer} object with the query term ids.
+         * <p>
+         * @param indexer the inverted indexer
+         * @param termIds the distinct query term ids
+         */
+        private NumberViewsScorer(InvertedIndexer indexer, int[] termIds) {
+            this.indexer = indexer;
+            this.documentValues = indexer.getDocumentValues();
+            this.termIds = termIds;
+        }
+
+        @Override
+        public int getNumberOfTerms() {
+            return termIds.length;
+        }
+
+        @Override
+        public PostingsCursor newCursor(int term) {
+            return indexer.getPostingsCursor(termIds[term]);
+        }
+
+        @Override
+        public double score(int term, int docId, int frequency) {
+            return 0.0;
+        }
+
+        @Override
+        public double getUpperBound(int term) {
+            return 0.0;
+        }
+
+        @Override
+        public BlockBoundsCursor newBlockBoundsCursor(int term) {
+            return indexer.getBlockBoundsCursor(termIds[term]);
+        }
+
+        @Override
+        public double getBlockUpperBound(int term, BlockBoundsCursor blocks) {
+            return 0.0;
+        }
+
+        @Override
+        public double getDocumentScore(int docId) {
+            return documentValues.numberOfViews(docId);
+        }
+
+        @Override
+        public double getDocumentUpperBound(int docId) {
+            return indexer.getMaxNumberOfViews(docId);
+        }
     }
 
 }
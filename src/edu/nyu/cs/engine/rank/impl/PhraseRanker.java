@@ -1,27 +1,159 @@
 package edu.nyu.cs.engine.rank.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.logging.Logger;
 
 import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.InvertedIndexer;
 import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.postings.ConjunctionCursor;
+import edu.nyu.cs.engine.index.postings.PositionalPostingsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
 import edu.nyu.cs.engine.query.SearchQuery;
+import edu.nyu.cs.engine.query.impl.PhraseQuery;
+import edu.nyu.cs.engine.query.impl.WordQuery;
 import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.TopKCollector;
 
 /**
  * @author shenli
  * <p>
+ * The {@code PhraseRanker} based implementation of the {@link edu.nyu.cs.engine.rank.SearchRanker} interface. 
+ * This implementation represents a phrase search rank model. A document matches the search query only if it 
+ * contains every phrase of the query, and it is scored by the total number of phrase occurrences.
+ * <p>
+ * Candidate documents are enumerated by intersecting the postings lists of all query terms, and each phrase 
+ * is then matched by intersecting the position lists of its terms with galloping search, so that no document 
+ * token list is scanned. The search indexer must be a positional 
+ * {@link edu.nyu.cs.engine.index.InvertedIndexer}.
+ * <p>
+ * {@code PhraseRanker} are constant; their value could not be changed after they are created. Because 
+ * {@code PhraseRanker} objects are immutable they could be shared.
  */
 public class PhraseRanker extends SearchRanker {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.rank.impl.PhraseRanker");
 
+    /**
+     * Initializes a newly created {@code PhraseRanker} object with given 
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object so that it records phrase search rank model.
+     * <p>
+     * @param searchIndexer the search indexer
+     */
     public PhraseRanker(SearchIndexer searchIndexer) {
         super(searchIndexer);
-        // TODO Auto-generated constructor stub
     }
 
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public List<ScoredDocument> runQuery(SearchQuery query, int numberOfResults) {
-        // TODO Auto-generated method stub
-        return null;
+        if (!(searchIndexer instanceof InvertedIndexer) || !((InvertedIndexer) searchIndexer).isPositional()) {
+            LOGGER.info("Phrase search requires a positional inverted indexer");
+            return Collections.emptyList();
+        }
+        final InvertedIndexer indexer = (InvertedIndexer) searchIndexer;
+        query.processQuery();
+        
+        final List<PositionalPostingsCursor[]> phrases = new ArrayList<>();
+        final List<PostingsCursor> cursors = new ArrayList<>();
+        for (List<String> phrase : getPhrases(query)) {
+            if (phrase.isEmpty()) {
+                // an empty phrase constrains nothing, and no position could be counted for it
+                continue;
+            }
+            final PositionalPostingsCursor[] phraseCursors = new PositionalPostingsCursor[phrase.size()];
+            for (int i = 0; i < phrase.size(); i++) {
+                phraseCursors[i] = indexer.getPositionalPostingsCursor(phrase.get(i));
+                if (phraseCursors[i] == null) {
+                    // a phrase term never appears, so no document could contain the phrase
+                    return Collections.emptyList();
+                }
+                cursors.add(phraseCursors[i]);
+            }
+            phrases.add(phraseCursors);
+        }
+        if (cursors.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        final TopKCollector collector = new TopKCollector(numberOfResults);
+        final ConjunctionCursor conjunction = new ConjunctionCursor(cursors);
+        while (conjunction.nextDoc() != PostingsCursor.NO_MORE_DOCS) {
+            int score = 0;
+            for (PositionalPostingsCursor[] phraseCursors : phrases) {
+                final int count = countPhrase(phraseCursors);
+                if (count == 0) {
+                    score = 0;
+                    break;
+                }
+                score += count;
+            }
+            if (score > 0) {
+                collector.collect(conjunction.docId(), score);
+            }
+        }
+        return collector.getResults(searchIndexer);
+    }
+    
+    /**
+     * Returns the phrases of the processed search query. Each token of a 
+     * {@link edu.nyu.cs.engine.query.impl.WordQuery} is treated as a single word phrase.
+     * <p>
+     * @param query the processed search query
+     * @return the phrases of the search query
+     */
+    private static List<List<String>> getPhrases(SearchQuery query) {
+        if (query instanceof PhraseQuery) {
+            return ((PhraseQuery) query).getPhrases();
+        }
+        final List<List<String>> phrases = new ArrayList<>();
+        if (query instanceof WordQuery) {
+            for (String token : ((WordQuery) query).getTokens()) {
+                phrases.add(Arrays.asList(token));
+            }
+        }
+        return phrases;
+    }
+    
+    /**
+     * Returns the number of occurrences of the phrase in the document all {@code cursors} are positioned on. 
+     * The i-th cursor belongs to the i-th phrase term, so that a phrase starting at position {@code p} needs 
+     * position {@code p + i} in the i-th position list. Each list is advanced by galloping to the position 
+     * required by the current candidate, and a miss moves the candidate forward to the position just found.
+     * <p>
+     * @param cursors the positional cursors of the phrase terms
+     * @return the number of occurrences of the phrase in the document
+     */
+    private static int countPhrase(PositionalPostingsCursor[] cursors) {
+        if (cursors.length == 1) {
+            return cursors[0].frequency();
+        }
+        final int[] indexes = new int[cursors.length];
+        int count = 0;
+        int start = 0;
+        while (true) {
+            boolean matched = true;
+            for (int i = 0; i < cursors.length; i++) {
+                indexes[i] = cursors[i].seekPosition(indexes[i], start + i);
+                if (indexes[i] >= cursors[i].frequency()) {
+                    return count;
+                }
+                final int position = cursors[i].position(indexes[i]);
+                if (position != start + i) {
+                    start = position - i;
+                    matched = false;
+                    break;
+                }
+            }
+            if (matched) {
+                ++count;
+                ++start;
+            }
+        }
     }
 
 }
@@ -1,27 +1,201 @@
 package edu.nyu.cs.engine.rank.impl;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
 
 import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.InvertedIndexer;
 import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.postings.BlockBoundsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
 import edu.nyu.cs.engine.query.SearchQuery;
 import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.QueryProcessor;
+import edu.nyu.cs.engine.rank.utils.QueryProcessorFactory;
+import edu.nyu.cs.engine.rank.utils.QueryScorer;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.rank.utils.RankerType;
+import edu.nyu.cs.engine.rank.utils.TopKCollector;
 
 /**
  * @author shenli
  * <p>
+ * The {@code QueryLikelihoodRanker} based implementation of the {@link edu.nyu.cs.engine.rank.SearchRanker}
+ * interface. This implementation represents the query likelihood language model with Dirichlet smoothing. Each
+ * document is scored by the log probability of generating the query from its language model,
+ * <pre>
+ *   sum over query terms t of log((tf(t, d) + mu * P(t | C)) / (|d| + mu))
+ * </pre>
+ * where the collection probability {@code P(t | C)} is the term frequency of {@code t} divided by the total
+ * term frequency of the corpus, and {@code |d|} is the document length recorded in the index.
+ * <p>
+ * The score is rewritten as the sum of {@code log(1 + tf(t, d) / (mu * P(t | C)))} over the query terms the
+ * document contains, plus the constant {@code sum of log(mu * P(t | C))} of the query, minus
+ * {@code |Q| * log(|d| + mu)}. Thus the background score of a query term missing from a document is accounted
+ * for analytically: only the postings lists of the query terms are iterated, document-at-a-time by a
+ * {@link edu.nyu.cs.engine.rank.utils.QueryProcessor} which skips the documents whose score could not
+ * reach the current top results, and the length of each scored document is applied once. The strategy is
+ * selected by the {@code querylikelihood_query_processor} or {@code query_processor} option, block-max WAND by
+ * default. Documents containing no query term are not ranked, and query terms which do not appear in the corpus
+ * are ignored. The search indexer must be an {@link edu.nyu.cs.engine.index.InvertedIndexer}.
+ * <p>
+ * {@code QueryLikelihoodRanker} are constant; their value could not be changed after they are created. Because
+ * {@code QueryLikelihoodRanker} objects are immutable they could be shared.
  */
 public class QueryLikelihoodRanker extends SearchRanker {
+    private static final Logger LOGGER = Logger.getLogger("edu.nyu.cs.engine.rank.impl.QueryLikelihoodRanker");
+
+    /**
+     * The Dirichlet prior {@code mu}, the pseudo count of collection model tokens added to every document.
+     */
+    public static final double DIRICHLET_PRIOR = 2000.0;
 
+    /**
+     * Initializes a newly created {@code QueryLikelihoodRanker} object with given
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object so that it records query likelihood rank model.
+     * <p>
+     * @param searchIndexer the search indexer
+     */
     public QueryLikelihoodRanker(SearchIndexer searchIndexer) {
         super(searchIndexer);
-        // TODO Auto-generated constructor stub
     }
 
+    /**
+     * Initializes a newly created {@code QueryLikelihoodRanker} object with given
+     * {@link edu.nyu.cs.engine.index.SearchIndexer} object and ranking options so that it records
+     * query likelihood rank model, evaluated by the query processor type of the options.
+     * <p>
+     * @param searchIndexer the search indexer
+     * @param rankerOptions the ranking options
+     */
+    public QueryLikelihoodRanker(SearchIndexer searchIndexer, RankerOptions rankerOptions) {
+        super(searchIndexer, rankerOptions);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
     @Override
     public List<ScoredDocument> runQuery(SearchQuery query, int numberOfResults) {
-        // TODO Auto-generated method stub
-        return null;
+        if (!(searchIndexer instanceof InvertedIndexer)) {
+            LOGGER.info("Query likelihood ranking requires an inverted indexer");
+            return Collections.emptyList();
+        }
+        final InvertedIndexer indexer = (InvertedIndexer) searchIndexer;
+        query.processQuery();
+
+        final Map<String, Integer> queryTermFrequencies = new LinkedHashMap<>();
+        for (String token : getQueryTokens(query)) {
+            final Integer frequency = queryTermFrequencies.get(token);
+            queryTermFrequencies.put(token, frequency == null ? 1 : frequency + 1);
+        }
+
+        final double totalTermFrequency = indexer.getTotalTermFrequency();
+        final int[] termIds = new int[queryTermFrequencies.size()];
+        final int[] frequencies = new int[termIds.length];
+        final double[] smoothings = new double[termIds.length];
+        int numberOfTerms = 0;
+        double queryConstant = 0.0;
+        int queryLength = 0;
+        for (Map.Entry<String, Integer> entry : queryTermFrequencies.entrySet()) {
+            final int termFrequency = indexer.getTermFrequency(entry.getKey());
+            if (termFrequency == 0) {
+                continue;
+            }
+            final double smoothing = DIRICHLET_PRIOR * termFrequency / totalTermFrequency;
+            queryConstant += entry.getValue() * Math.log(smoothing);
+            queryLength += entry.getValue();
+            termIds[numberOfTerms] = indexer.getIndexByTerm(entry.getKey());
+            frequencies[numberOfTerms] = entry.getValue();
+            smoothings[numberOfTerms++] = smoothing;
+        }
+
+        final QueryProcessor processor = QueryProcessorFactory.getQueryProcessor(
+                rankerOptions.getQueryProcessorType(RankerType.QUERYLIKELIHOOD));
+        final TopKCollector collector = new TopKCollector(numberOfResults);
+        processor.process(new QueryLikelihoodScorer(indexer, Arrays.copyOf(termIds, numberOfTerms), 
+                Arrays.copyOf(frequencies, numberOfTerms), Arrays.copyOf(smoothings, numberOfTerms), 
+                queryConstant, queryLength), collector);
+        return collector.getResults(searchIndexer);
+    }
+
+    /**
+     * The {@code QueryLikelihoodScorer} class scores the query terms which appear in the corpus. The contribution
+     * of a term grows with its frequency in the document, so it is bounded by the maximum term frequency recorded
+     * in the index, and the document-level score, which decreases with the document length, is bounded by the
+     * score of the shortest document.
+     */
+    private static final class QueryLikelihoodScorer implements QueryScorer {
+        private final InvertedIndexer indexer;
+        private final int[] termIds;
+        private final int[] queryTermFrequencies;
+        private final double[] smoothings;
+        private final double queryConstant;
+        private final int queryLength;
+
+        /**
+         * Initializes a newly created {@code QueryLikelihoodScorer} object with the query terms.
+         * <p>
+         * @param indexer the inverted indexer
+         * @param termIds the query term ids
+         * @param queryTermFrequencies the frequencies of the terms in the query
+         * @param smoothings the Dirichlet prior times the collection probability of each term
+         * @param queryConstant the sum of the logarithms of the smoothings over the query tokens
+         * @param queryLength the number of query tokens
+         */
+        private QueryLikelihoodScorer(InvertedIndexer indexer, int[] termIds, int[] queryTermFrequencies, 
+                double[] smoothings, double queryConstant, int queryLength) {
+            this.indexer = indexer;
+            this.termIds = termIds;
+            this.queryTermFrequencies = queryTermFrequencies;
+            this.smoothings = smoothings;
+            this.queryConstant = queryConstant;
+            this.queryLength = queryLength;
+        }
+
+        @Override
+        public int getNumberOfTerms() {
+            return termIds.length;
+        }
+
+        @Override
+        public PostingsCursor newCursor(int term) {
+            return indexer.getPostingsCursor(termIds[term]);
+        }
+
+        @Override
+        public double score(int term, int docId, int frequency) {
+            return queryTermFrequencies[term] * Math.log1p(frequency / smoothings[term]);
+        }
+
+        @Override
+        public double getUpperBound(int term) {
+            return score(term, 0, indexer.getMaxTermFrequency(termIds[term]));
+        }
+
+        @Override
+        public BlockBoundsCursor newBlockBoundsCursor(int term) {
+            return indexer.getBlockBoundsCursor(termIds[term]);
+        }
+
+        @Override
+        public double getBlockUpperBound(int term, BlockBoundsCursor blocks) {
+            return score(term, 0, blocks.maxFrequency());
+        }
+
+        @Override
+        public double getDocumentScore(int docId) {
+            return queryConstant - queryLength * Math.log(indexer.getDocumentLength(docId) + DIRICHLET_PRIOR);
+        }
+
+        @Override
+        public double getDocumentUpperBound(int docId) {
+            return queryConstant - queryLength * Math.log(indexer.getMinDocumentLength() + DIRICHLET_PRIOR);
+        }
     }
 
 }
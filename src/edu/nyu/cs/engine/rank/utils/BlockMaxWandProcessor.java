@@ -0,0 +1,80 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code BlockMaxWandProcessor} class evaluates the disjunction of the query terms of a
+ * {@link edu.nyu.cs.engine.rank.utils.QueryScorer} document-at-a-time with the block-max weak-AND dynamic
+ * pruning algorithm, collecting the best scored documents into a
+ * {@link edu.nyu.cs.engine.rank.utils.TopKCollector}.
+ * <p>
+ * The pivot is selected by the global upper bounds of the query terms as in
+ * {@link edu.nyu.cs.engine.rank.utils.WandProcessor}. The block bounds cursors of the terms up to the pivot are
+ * then moved to the blocks holding the pivot document, without decoding any posting, and the sum of their block
+ * upper bounds is checked against the threshold again. When even the block bounds could not reach the
+ * threshold, no document up to the end of the shortest of these blocks could enter the results, and the cursor
+ * with the largest upper bound jumps past it. Long postings lists of common terms, whose global upper bound is
+ * loose, thus skip whole blocks. The results are the same as scoring every document which contains any query
+ * term.
+ * <p>
+ * Note: {@code BlockMaxWandProcessor} objects are stateless and could be shared.
+ */
+public class BlockMaxWandProcessor implements QueryProcessor {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int process(QueryScorer scorer, TopKCollector collector) {
+        final TermCursors cursors = new TermCursors(scorer, true);
+        int evaluated = 0;
+        while (cursors.size > 0) {
+            final double threshold = collector.threshold();
+            final int pivot = cursors.findPivot(scorer.getDocumentUpperBound(cursors.cursors[0].docId()), threshold);
+            if (pivot < 0) {
+                // even a document containing every remaining term could not enter the results
+                break;
+            }
+
+            final int pivotDoc = cursors.cursors[pivot].docId();
+            final int last = cursors.lastOnSameDoc(pivot);
+            double blockBound = scorer.getDocumentUpperBound(pivotDoc);
+            int nextDoc = last + 1 < cursors.size 
+                    ? cursors.cursors[last + 1].docId() : PostingsCursor.NO_MORE_DOCS;
+            for (int i = 0; i <= last; i++) {
+                final int lastDocId = cursors.moveBlock(scorer, i, pivotDoc);
+                blockBound += cursors.blockUpperBounds[i];
+                if (lastDocId != PostingsCursor.NO_MORE_DOCS) {
+                    nextDoc = Math.min(nextDoc, lastDocId + 1);
+                }
+            }
+
+            if (blockBound > threshold) {
+                if (cursors.cursors[0].docId() == pivotDoc) {
+                    cursors.scoreAndNext(scorer, collector, last);
+                    ++evaluated;
+                } else {
+                    int i = pivot - 1;
+                    while (cursors.cursors[i].docId() == pivotDoc) {
+                        --i;
+                    }
+                    cursors.advance(i, pivotDoc);
+                }
+            } else {
+                // no document before the next block boundary or the next cursor could enter the results
+                int skipped = 0;
+                for (int i = 1; i <= last; i++) {
+                    if (cursors.upperBounds[i] > cursors.upperBounds[skipped]) {
+                        skipped = i;
+                    }
+                }
+                cursors.advance(skipped, nextDoc);
+            }
+            cursors.trim();
+        }
+        return evaluated;
+    }
+
+}
@@ -0,0 +1,96 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code MaxScoreProcessor} class evaluates the disjunction of the query terms of a
+ * {@link edu.nyu.cs.engine.rank.utils.QueryScorer} document-at-a-time with the MaxScore dynamic pruning
+ * algorithm, collecting the best scored documents into a {@link edu.nyu.cs.engine.rank.utils.TopKCollector}.
+ * <p>
+ * The query terms are sorted by ascending upper bound. The longest prefix of them whose upper bounds, plus the
+ * document-level upper bound of the remaining documents, do not exceed the threshold of the collector are
+ * non-essential: a document containing only those terms could not enter the results. Candidates are thus only
+ * drawn from the postings lists of the essential terms, and the non-essential cursors are advanced to each
+ * candidate, from the largest upper bound down, until the upper bounds of the remaining ones could no longer lift
+ * the candidate above the threshold. As the threshold rises, more terms become non-essential and their long
+ * postings lists are only probed by skipping. The results are the same as scoring every document which contains
+ * any query term.
+ * <p>
+ * Note: {@code MaxScoreProcessor} objects are stateless and could be shared.
+ */
+public class MaxScoreProcessor implements QueryProcessor {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int process(QueryScorer scorer, TopKCollector collector) {
+        final int numberOfTerms = scorer.getNumberOfTerms();
+        final int[] terms = new int[numberOfTerms];
+        final double[] upperBounds = new double[numberOfTerms];
+        for (int term = 0; term < numberOfTerms; term++) {
+            final double upperBound = scorer.getUpperBound(term);
+            int i = term;
+            for (; i > 0 && upperBounds[i - 1] > upperBound; i--) {
+                terms[i] = terms[i - 1];
+                upperBounds[i] = upperBounds[i - 1];
+            }
+            terms[i] = term;
+            upperBounds[i] = upperBound;
+        }
+
+        // prefixBounds[i] is the maximum contribution of the query terms up to the i-th
+        final PostingsCursor[] cursors = new PostingsCursor[numberOfTerms];
+        final double[] prefixBounds = new double[numberOfTerms];
+        double bound = 0.0;
+        for (int i = 0; i < numberOfTerms; i++) {
+            cursors[i] = scorer.newCursor(terms[i]);
+            cursors[i].nextDoc();
+            bound += upperBounds[i];
+            prefixBounds[i] = bound;
+        }
+
+        int firstEssential = 0;
+        int evaluated = 0;
+        int next = 0;
+        while (true) {
+            final double threshold = collector.threshold();
+            final double remainingBound = scorer.getDocumentUpperBound(next);
+            while (firstEssential < numberOfTerms && prefixBounds[firstEssential] + remainingBound <= threshold) {
+                ++firstEssential;
+            }
+            int docId = PostingsCursor.NO_MORE_DOCS;
+            for (int i = firstEssential; i < numberOfTerms; i++) {
+                docId = Math.min(docId, cursors[i].docId());
+            }
+            if (docId == PostingsCursor.NO_MORE_DOCS) {
+                // the essential terms are exhausted, or even all terms together could not enter the results
+                break;
+            }
+
+            final double documentUpperBound = scorer.getDocumentUpperBound(docId);
+            double score = 0.0;
+            for (int i = firstEssential; i < numberOfTerms; i++) {
+                if (cursors[i].docId() == docId) {
+                    score += scorer.score(terms[i], docId, cursors[i].frequency());
+                    cursors[i].nextDoc();
+                }
+            }
+            int i = firstEssential - 1;
+            for (; i >= 0 && score + prefixBounds[i] + documentUpperBound > threshold; i--) {
+                if (cursors[i].advance(docId) == docId) {
+                    score += scorer.score(terms[i], docId, cursors[i].frequency());
+                }
+            }
+            if (i < 0) {
+                collector.collect(docId, score + scorer.getDocumentScore(docId));
+                ++evaluated;
+            }
+            next = docId + 1;
+        }
+        return evaluated;
+    }
+
+}
@@ -0,0 +1,24 @@
+package edu.nyu.cs.engine.rank.utils;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code QueryProcessor} interface represents a document-at-a-time evaluation strategy of the disjunction
+ * of the query terms of a {@link edu.nyu.cs.engine.rank.utils.QueryScorer}. Every strategy collects the same
+ * results as scoring every document which contains any query term; they only differ in the documents they
+ * manage to skip, so the strategy of a ranker is a configuration choice. See
+ * {@link edu.nyu.cs.engine.rank.utils.QueryProcessorType}.
+ * <p>
+ * Implementations must be stateless so that one query processor instance could be shared by all threads.
+ */
+public interface QueryProcessor {
+    /**
+     * Collects the best scored documents which contain any query term of the {@code scorer}.
+     * <p>
+     * @param scorer the query scorer
+     * @param collector the collector of the results
+     * @return the number of documents scored
+     */
+    public int process(QueryScorer scorer, TopKCollector collector);
+
+}
@@ -0,0 +1,39 @@
+package edu.nyu.cs.engine.rank.utils;
+
+/**
+ * @author shenli
+ * <p>
+ * Factory object that can vend query processor based on the type of query processor.
+ * <p>
+ * NOTE: The factory object is thread-safe.
+ */
+public class QueryProcessorFactory {
+    private static final QueryProcessor WAND_PROCESSOR = new WandProcessor();
+    private static final QueryProcessor BLOCK_MAX_WAND_PROCESSOR = new BlockMaxWandProcessor();
+    private static final QueryProcessor MAXSCORE_PROCESSOR = new MaxScoreProcessor();
+    
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private QueryProcessorFactory() {
+        
+    }
+    
+    /**
+     * Returns a query processor object based on the query processor type described in the
+     * {@code processorType}.
+     * <p>
+     * @param processorType the query processor type
+     * @return a suitable query processor object
+     * @throws IllegalArgumentException if query processor type does not exist
+     */
+    public static QueryProcessor getQueryProcessor(QueryProcessorType processorType) {
+        switch (processorType) {
+            case WAND:              return WAND_PROCESSOR;
+            case BLOCK_MAX_WAND:    return BLOCK_MAX_WAND_PROCESSOR;
+            case MAXSCORE:          return MAXSCORE_PROCESSOR;
+        }
+        throw new IllegalArgumentException("No such query processor type: " + processorType);
+    }
+
+}
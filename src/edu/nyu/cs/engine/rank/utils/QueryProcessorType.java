@@ -0,0 +1,25 @@
+package edu.nyu.cs.engine.rank.utils;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code QueryProcessorType} enum represents the query evaluation strategy of the rankers which score
+ * through a {@link edu.nyu.cs.engine.rank.utils.QueryScorer}.
+ */
+public enum QueryProcessorType {
+    /**
+     * Weak-AND dynamic pruning by the global upper bounds of the query terms
+     */
+    WAND,
+    
+    /**
+     * Weak-AND dynamic pruning refined by the upper bounds of the blocks of postings
+     */
+    BLOCK_MAX_WAND,
+    
+    /**
+     * MaxScore dynamic pruning, driven by the essential query terms only
+     */
+    MAXSCORE;
+    
+}
@@ -0,0 +1,91 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import edu.nyu.cs.engine.index.postings.BlockBoundsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code QueryScorer} interface represents the scoring function of a search query whose document score is
+ * the sum of one contribution per query term the document contains plus a document-level score, such as the
+ * vector space and language model rank models. The query terms are numbered from 0.
+ * <p>
+ * Besides the scores themselves, a query scorer provides an upper bound of each contribution, so that a
+ * dynamic pruning query processor such as {@link edu.nyu.cs.engine.rank.utils.WandProcessor} could skip the
+ * documents which could not enter the results without scoring them, and of each contribution within each block
+ * of postings for {@link edu.nyu.cs.engine.rank.utils.BlockMaxWandProcessor}.
+ */
+public interface QueryScorer {
+    /**
+     * Returns the number of query terms.
+     * <p>
+     * @return the number of query terms
+     */
+    public int getNumberOfTerms();
+
+    /**
+     * Returns a new cursor over the postings list of the query term.
+     * <p>
+     * @param term the query term number
+     * @return a new cursor over the postings list of the query term
+     */
+    public PostingsCursor newCursor(int term);
+
+    /**
+     * Returns the score contribution of the query term to the document with specific {@code docId}, which
+     * contains the term {@code frequency} times.
+     * <p>
+     * @param term the query term number
+     * @param docId the document id
+     * @param frequency the frequency of the query term in the document
+     * @return the score contribution of the query term
+     */
+    public double score(int term, int docId, int frequency);
+
+    /**
+     * Returns an upper bound of {@link #score(int, int, int)} of the query term over all documents.
+     * <p>
+     * @param term the query term number
+     * @return the maximum score contribution of the query term
+     */
+    public double getUpperBound(int term);
+
+    /**
+     * Returns a new cursor over the block bounds of the postings list of the query term.
+     * <p>
+     * @param term the query term number
+     * @return a new cursor over the block bounds of the query term
+     */
+    public BlockBoundsCursor newBlockBoundsCursor(int term);
+
+    /**
+     * Returns an upper bound of {@link #score(int, int, int)} of the query term over the documents of the current
+     * block of {@code blocks}, which is not greater than {@link #getUpperBound(int)}.
+     * <p>
+     * @param term the query term number
+     * @param blocks the block bounds cursor of the query term
+     * @return the maximum score contribution of the query term within the block
+     */
+    public double getBlockUpperBound(int term, BlockBoundsCursor blocks);
+
+    /**
+     * Returns the score of the document with specific {@code docId} which does not depend on the query terms it
+     * contains, which is added to the contributions of the query terms.
+     * <p>
+     * @param docId the document id
+     * @return the document-level score
+     */
+    public double getDocumentScore(int docId);
+
+    /**
+     * Returns an upper bound of {@link #getDocumentScore(int)} over the documents whose id is equal or greater
+     * than {@code docId}. The bound must not increase with {@code docId}. When document ids are assigned in
+     * descending order of a document-level score, such as the number of views, the bound shrinks as the query
+     * is evaluated, and the query processors stop as soon as no remaining document could enter the results.
+     * <p>
+     * @param docId the document id from which on the bound holds
+     * @return the maximum document-level score of the documents from {@code docId} on
+     */
+    public double getDocumentUpperBound(int docId);
+
+}
@@ -0,0 +1,148 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import java.io.Closeable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import edu.nyu.cs.engine.exception.IllegalSearchEngineConfigurationException;
+import edu.nyu.cs.engine.server.ServerOption;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code RankerOptions} class holds the ranking settings of the server configuration file shared by all
+ * search rankers of a search engine server, i.e. the query evaluation strategy of each ranker, together with the
+ * fork-join pool which scores a single search query on several threads. The pool is created on first use, and
+ * shut down when the options are closed, which the owner of the options, usually the server, must do once it
+ * stops serving search queries.
+ * <p>
+ * The {@link #DEFAULT} options evaluate every search query by
+ * {@link edu.nyu.cs.engine.rank.utils.QueryProcessorType#BLOCK_MAX_WAND} in the calling thread, and need not be
+ * closed.
+ * <p>
+ * Note: {@code RankerOptions} objects are thread-safe.
+ */
+public final class RankerOptions implements Closeable {
+    /**
+     * The default ranking options, which evaluate every search query by block-max WAND in the calling thread.
+     */
+    public static final RankerOptions DEFAULT = new RankerOptions(
+            new EnumMap<RankerType, QueryProcessorType>(RankerType.class), 1);
+
+    private final Map<RankerType, QueryProcessorType> queryProcessorTypes;
+    private final int rankerParallelism;
+    private volatile ForkJoinPool rankerPool = null;
+    private boolean closed = false;
+
+    /**
+     * Initializes a newly created {@code RankerOptions} object which evaluates the search queries of each ranker
+     * by specific query processor type and scores a single search query on {@code rankerParallelism} threads.
+     * <p>
+     * @param queryProcessorTypes the query processor type of each ranker type, block-max WAND if absent
+     * @param rankerParallelism the number of threads used to score a single search query
+     */
+    private RankerOptions(Map<RankerType, QueryProcessorType> queryProcessorTypes, int rankerParallelism) {
+        this.queryProcessorTypes = queryProcessorTypes;
+        this.rankerParallelism = rankerParallelism;
+    }
+
+    /**
+     * Returns the ranking options defined in the server configuration file:
+     * <ul>
+     * <li>the query evaluation strategy of each ranker is defined by the {@code <ranker>_query_processor}
+     * option, such as {@code cosine_query_processor}, or else by the {@code query_processor} option shared by all
+     * rankers, {@link edu.nyu.cs.engine.rank.utils.QueryProcessorType#BLOCK_MAX_WAND} by default;</li>
+     * <li>the number of threads a single search query could use to score documents is defined by the
+     * {@code ranker_parallelism} option, 1 by default which scores in the calling thread.</li>
+     * </ul>
+     * <p>
+     * @param serverOption the search engine server option
+     * @return the ranking options of the server
+     * @throws IllegalSearchEngineConfigurationException if an option value is invalid
+     */
+    public static RankerOptions newInstance(ServerOption serverOption) {
+        final String defaultProcessorName = 
+                serverOption.getOption("query_processor", QueryProcessorType.BLOCK_MAX_WAND.name());
+        final Map<RankerType, QueryProcessorType> queryProcessorTypes = new EnumMap<>(RankerType.class);
+        for (RankerType rankerType : RankerType.values()) {
+            final String processorName = serverOption.getOption(
+                    rankerType.name().toLowerCase() + "_query_processor", defaultProcessorName);
+            try {
+                queryProcessorTypes.put(rankerType, QueryProcessorType.valueOf(processorName.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalSearchEngineConfigurationException(
+                        "No such query processor type: " + processorName);
+            }
+        }
+        final int parallelism = serverOption.getIntOption("ranker_parallelism", 1);
+        if (parallelism <= 0) {
+            throw new IllegalSearchEngineConfigurationException(
+                    "ranker_parallelism option must be positive but was " + parallelism);
+        }
+        return new RankerOptions(queryProcessorTypes, parallelism);
+    }
+
+    /**
+     * Returns the query evaluation strategy of the ranker of specific {@code rankerType}.
+     * <p>
+     * @param rankerType the ranker type
+     * @return the query processor type of the ranker
+     */
+    public QueryProcessorType getQueryProcessorType(RankerType rankerType) {
+        final QueryProcessorType processorType = queryProcessorTypes.get(rankerType);
+        return processorType == null ? QueryProcessorType.BLOCK_MAX_WAND : processorType;
+    }
+
+    /**
+     * Returns the number of threads a single search query could use to score documents.
+     * <p>
+     * @return the number of threads used to score a single search query
+     */
+    public int getRankerParallelism() {
+        return rankerParallelism;
+    }
+
+    /**
+     * Returns the fork-join pool shared by all search queries to score documents in parallel, which is created
+     * on first use with {@link #getRankerParallelism()} threads. Returns {@code null} if the parallelism is 1.
+     * <p>
+     * @return the shared ranking pool, or {@code null} if search queries are scored in the calling thread
+     * @throws IllegalStateException if the options are closed
+     */
+    public ForkJoinPool getRankerPool() {
+        ForkJoinPool pool = rankerPool;
+        if (pool == null) {
+            if (rankerParallelism == 1) {
+                return null;
+            }
+            synchronized (this) {
+                if (closed) {
+                    throw new IllegalStateException("Ranker options are closed");
+                }
+                pool = rankerPool;
+                if (pool == null) {
+                    rankerPool = pool = new ForkJoinPool(rankerParallelism);
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Shuts the ranking pool down, if it was created. The search queries being scored complete, but no new
+     * search query could be scored with these options. Closing the {@link #DEFAULT} options has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (this == DEFAULT) {
+            return;
+        }
+        closed = true;
+        if (rankerPool != null) {
+            rankerPool.shutdown();
+            rankerPool = null;
+        }
+    }
+
+}
@@ -32,7 +32,7 @@ public enum RankerType {
     NUMBERVIEWS,
     
     /**
-     * Linear ranking model which coefficient Cosine, Query likelihood, Phrase as well as Number of views models
+     * Linear ranking model which combines the Cosine similarity and Number of views models
      */
     LINEAR;
     
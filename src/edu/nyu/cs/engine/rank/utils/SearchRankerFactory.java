@@ -26,7 +26,8 @@ public class SearchRankerFactory {
     }
 
     /**
-     * Returns a search ranker object based on the ranker type described in the {@code rankerType}.
+     * Returns a search ranker object based on the ranker type described in the {@code rankerType}, with the 
+     * {@linkplain edu.nyu.cs.engine.rank.utils.RankerOptions#DEFAULT default} ranking options.
      * <p>
      * @param rankerType the ranker type
      * @param searchIndexer the search indexer object
@@ -35,13 +36,28 @@ public class SearchRankerFactory {
      */
     public static SearchRanker getSearchRanker(
             RankerType rankerType, SearchIndexer searchIndexer) {
+        return getSearchRanker(rankerType, searchIndexer, RankerOptions.DEFAULT);
+    }
+
+    /**
+     * Returns a search ranker object based on the ranker type described in the {@code rankerType}, with the 
+     * ranking options of the server.
+     * <p>
+     * @param rankerType the ranker type
+     * @param searchIndexer the search indexer object
+     * @param rankerOptions the ranking options
+     * @return a suitable search ranker object
+     * @throws IllegalArgumentException if ranker type does not exist
+     */
+    public static SearchRanker getSearchRanker(
+            RankerType rankerType, SearchIndexer searchIndexer, RankerOptions rankerOptions) {
         switch (rankerType) {
-            case FULLSCAN:          return new FullscanRanker(searchIndexer);
-            case COSINE:            return new CosineRanker(searchIndexer);
-            case QUERYLIKELIHOOD:   return new QueryLikelihoodRanker(searchIndexer);
+            case FULLSCAN:          return new FullscanRanker(searchIndexer, rankerOptions);
+            case COSINE:            return new CosineRanker(searchIndexer, rankerOptions);
+            case QUERYLIKELIHOOD:   return new QueryLikelihoodRanker(searchIndexer, rankerOptions);
             case PHRASE:            return new PhraseRanker(searchIndexer);
-            case NUMBERVIEWS:       return new NumberViewsRanker(searchIndexer);
-            case LINEAR:            return new LinearRanker(searchIndexer);
+            case NUMBERVIEWS:       return new NumberViewsRanker(searchIndexer, rankerOptions);
+            case LINEAR:            return new LinearRanker(searchIndexer, rankerOptions);
         }
         throw new IllegalArgumentException("No such search ranker type: " + rankerType);
     }
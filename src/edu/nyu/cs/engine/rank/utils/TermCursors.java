@@ -0,0 +1,188 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import edu.nyu.cs.engine.index.postings.BlockBoundsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code TermCursors} class holds the postings cursors of the query terms of a {@link 
+ * edu.nyu.cs.engine.rank.utils.QueryScorer} which are not exhausted, along with their term numbers, upper 
+ * bounds and optionally block bounds cursors with the bounds of their current blocks, sorted by current 
+ * document id. It is shared by the document-at-a-time dynamic pruning query processors.
+ * <p>
+ * Note: {@code TermCursors} objects are mutable and not thread-safe.
+ */
+final class TermCursors {
+    final PostingsCursor[] cursors;
+    final BlockBoundsCursor[] blocks;
+    final int[] terms;
+    final double[] upperBounds;
+    final int[] blockLastDocIds;
+    final double[] blockUpperBounds;
+    int size = 0;
+
+    /**
+     * Positions a new cursor of every query term on its first document and sorts them.
+     * <p>
+     * @param scorer the query scorer
+     * @param withBlocks true if a block bounds cursor of every query term is needed
+     */
+    TermCursors(QueryScorer scorer, boolean withBlocks) {
+        final int numberOfTerms = scorer.getNumberOfTerms();
+        this.cursors = new PostingsCursor[numberOfTerms];
+        this.blocks = withBlocks ? new BlockBoundsCursor[numberOfTerms] : null;
+        this.terms = new int[numberOfTerms];
+        this.upperBounds = new double[numberOfTerms];
+        this.blockLastDocIds = withBlocks ? new int[numberOfTerms] : null;
+        this.blockUpperBounds = withBlocks ? new double[numberOfTerms] : null;
+        for (int term = 0; term < numberOfTerms; term++) {
+            final PostingsCursor cursor = scorer.newCursor(term);
+            cursor.nextDoc();
+            cursors[size] = cursor;
+            if (withBlocks) {
+                blocks[size] = scorer.newBlockBoundsCursor(term);
+                blockLastDocIds[size] = -1;
+            }
+            terms[size] = term;
+            upperBounds[size] = scorer.getUpperBound(term);
+            for (int i = size++; i > 0 && cursors[i - 1].docId() > cursors[i].docId(); i--) {
+                swap(i - 1, i);
+            }
+        }
+        trim();
+    }
+
+    /**
+     * Returns the index of the pivot cursor, the first cursor at which the upper bounds of the cursors up to it
+     * plus {@code documentUpperBound} exceed the {@code threshold}. No document before the document of the pivot
+     * cursor could score above the threshold.
+     * <p>
+     * @param documentUpperBound the upper bound of the document-level score
+     * @param threshold the score threshold of the results
+     * @return the index of the pivot cursor, or -1 if no remaining document could score above the threshold
+     */
+    int findPivot(double documentUpperBound, double threshold) {
+        double bound = documentUpperBound;
+        for (int i = 0; i < size; i++) {
+            bound += upperBounds[i];
+            if (bound > threshold) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last cursor on the same document as the cursor at {@code index}.
+     * <p>
+     * @param index the index of a cursor
+     * @return the index of the last cursor on the same document
+     */
+    int lastOnSameDoc(int index) {
+        final int docId = cursors[index].docId();
+        while (index + 1 < size && cursors[index + 1].docId() == docId) {
+            ++index;
+        }
+        return index;
+    }
+
+    /**
+     * Scores the document of the first cursor, which all cursors up to {@code last} are on, collects it and
+     * moves these cursors to their next documents.
+     * <p>
+     * @param scorer the query scorer
+     * @param collector the collector of the results
+     * @param last the index of the last cursor on the document
+     */
+    void scoreAndNext(QueryScorer scorer, TopKCollector collector, int last) {
+        final int docId = cursors[0].docId();
+        double score = scorer.getDocumentScore(docId);
+        for (int i = 0; i <= last; i++) {
+            score += scorer.score(terms[i], docId, cursors[i].frequency());
+        }
+        collector.collect(docId, score);
+        for (int i = last; i >= 0; i--) {
+            cursors[i].nextDoc();
+            sink(i);
+        }
+    }
+
+    /**
+     * Moves the block bounds cursor at {@code index} to the block holding {@code target}, and caches the upper 
+     * bound of the block so that it is only computed when the block changes.
+     * <p>
+     * @param scorer the query scorer
+     * @param index the index of the cursor
+     * @param target the target document id
+     * @return the last document id of the block, or {@link PostingsCursor#NO_MORE_DOCS} if no posting 
+     * satisfies the target
+     */
+    int moveBlock(QueryScorer scorer, int index, int target) {
+        if (blockLastDocIds[index] < target) {
+            blockLastDocIds[index] = blocks[index].advanceShallow(target);
+            blockUpperBounds[index] = scorer.getBlockUpperBound(terms[index], blocks[index]);
+        }
+        return blockLastDocIds[index];
+    }
+
+    /**
+     * Advances the cursor at {@code index} to {@code target} and moves it to keep the cursors sorted.
+     * <p>
+     * @param index the index of the cursor
+     * @param target the target document id
+     */
+    void advance(int index, int target) {
+        cursors[index].advance(target);
+        sink(index);
+    }
+
+    /**
+     * Moves the cursor at {@code index}, whose document id has grown, towards the end until the cursors are
+     * sorted again. Exhausted cursors sink to the end.
+     */
+    private void sink(int index) {
+        for (int i = index; i + 1 < size && cursors[i].docId() > cursors[i + 1].docId(); i++) {
+            swap(i, i + 1);
+        }
+    }
+
+    /**
+     * Drops the exhausted cursors at the end.
+     */
+    void trim() {
+        while (size > 0 && cursors[size - 1].docId() == PostingsCursor.NO_MORE_DOCS) {
+            cursors[--size] = null;
+            if (blocks != null) {
+                blocks[size] = null;
+            }
+        }
+    }
+
+    /**
+     * Swaps the cursors at {@code i} and {@code j}.
+     */
+    private void swap(int i, int j) {
+        final PostingsCursor cursor = cursors[i];
+        cursors[i] = cursors[j];
+        cursors[j] = cursor;
+        if (blocks != null) {
+            final BlockBoundsCursor block = blocks[i];
+            blocks[i] = blocks[j];
+            blocks[j] = block;
+            final int blockLastDocId = blockLastDocIds[i];
+            blockLastDocIds[i] = blockLastDocIds[j];
+            blockLastDocIds[j] = blockLastDocId;
+            final double blockUpperBound = blockUpperBounds[i];
+            blockUpperBounds[i] = blockUpperBounds[j];
+            blockUpperBounds[j] = blockUpperBound;
+        }
+        final int term = terms[i];
+        terms[i] = terms[j];
+        terms[j] = term;
+        final double upperBound = upperBounds[i];
+        upperBounds[i] = upperBounds[j];
+        upperBounds[j] = upperBound;
+    }
+
+}
@@ -0,0 +1,192 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.SearchIndexer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code TopKCollector} class selects the {@code k} best scored documents of a search query with a bounded
+ * min-heap over primitive score and document id arrays, so that a ranker only pays O(N log k) and creates a
+ * {@link edu.nyu.cs.engine.document.ScoredDocument} for the survivors rather than for every candidate.
+ * Documents are ordered by descending score, and documents with equal scores by ascending document id, which
+ * is the order a stable descending sort of the candidates in document id order yields.
+ * <p>
+ * The root of the heap is the worst collected document, whose score is exposed by {@link #threshold()} once
+ * the heap is full, so that rankers could skip candidates which could not enter the results.
+ * <p>
+ * Note: {@code TopKCollector} objects are mutable and not thread-safe. A collector could be reused for several
+ * search queries by calling {@link #reset()}.
+ */
+public class TopKCollector {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private double[] scores;
+    private int[] docIds;
+    private int size = 0;
+
+    /**
+     * Initializes a newly created {@code TopKCollector} object which keeps the {@code k} best documents.
+     * <p>
+     * @param k the maximum number of documents to be kept
+     * @throws IllegalArgumentException if {@code k} is negative
+     */
+    public TopKCollector(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Number of results must not be negative but was " + k);
+        }
+        this.k = k;
+        this.scores = new double[Math.min(k, INITIAL_CAPACITY)];
+        this.docIds = new int[scores.length];
+    }
+
+    /**
+     * Offers the document with specific {@code docId} and {@code score}.
+     * <p>
+     * @param docId the document id
+     * @param score the document score
+     * @return true if the document is kept, which may evict the worst document collected before
+     */
+    public boolean collect(int docId, double score) {
+        if (size < k) {
+            if (size == scores.length) {
+                final int capacity = (int) Math.min(k, scores.length * 2L);
+                scores = Arrays.copyOf(scores, capacity);
+                docIds = Arrays.copyOf(docIds, capacity);
+            }
+            scores[size] = score;
+            docIds[size] = docId;
+            siftUp(size++);
+            return true;
+        }
+        if (k == 0 || !isBetter(score, docId, scores[0], docIds[0])) {
+            return false;
+        }
+        scores[0] = score;
+        docIds[0] = docId;
+        siftDown(0, size);
+        return true;
+    }
+
+    /**
+     * Offers every document collected by the {@code other} collector, which is used to merge the collectors of 
+     * disjoint document ranges scored in parallel. The {@code other} collector is left unchanged.
+     * <p>
+     * @param other the collector whose documents to be offered
+     */
+    public void collectAll(TopKCollector other) {
+        for (int i = 0; i < other.size; i++) {
+            collect(other.docIds[i], other.scores[i]);
+        }
+    }
+
+    /**
+     * Returns the score of the worst collected document once {@code k} documents are collected, and negative
+     * infinity before. A document scoring below the threshold could not enter the results.
+     * <p>
+     * @return the score threshold of the results
+     */
+    public double threshold() {
+        if (k == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return size < k ? Double.NEGATIVE_INFINITY : scores[0];
+    }
+
+    /**
+     * Returns the number of documents collected, at most {@code k}.
+     * <p>
+     * @return the number of documents collected
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Discards all collected documents.
+     */
+    public void reset() {
+        size = 0;
+    }
+
+    /**
+     * Returns an unmodifiable list of the collected documents from the best to the worst. Only these documents
+     * are fetched from the search indexer. The collector is empty afterwards.
+     * <p>
+     * @param searchIndexer the search indexer to fetch the documents from
+     * @return an unmodifiable list of the collected documents in rank order
+     */
+    public List<ScoredDocument> getResults(SearchIndexer searchIndexer) {
+        final ScoredDocument[] results = new ScoredDocument[size];
+        while (size > 0) {
+            // the root is the worst remaining document
+            results[size - 1] = new ScoredDocument(searchIndexer.getDocument(docIds[0]), scores[0]);
+            --size;
+            scores[0] = scores[size];
+            docIds[0] = docIds[size];
+            siftDown(0, size);
+        }
+        return Collections.unmodifiableList(new ArrayList<>(Arrays.asList(results)));
+    }
+
+    /**
+     * Returns true if document {@code docId} with {@code score} ranks before document {@code otherDocId} with
+     * {@code otherScore}.
+     */
+    private static boolean isBetter(double score, int docId, double otherScore, int otherDocId) {
+        final int cmp = Double.compare(score, otherScore);
+        return cmp > 0 || (cmp == 0 && docId < otherDocId);
+    }
+
+    /**
+     * Moves the entry at {@code index} up until its parent ranks before it.
+     */
+    private void siftUp(int index) {
+        final double score = scores[index];
+        final int docId = docIds[index];
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (!isBetter(scores[parent], docIds[parent], score, docId)) {
+                break;
+            }
+            scores[index] = scores[parent];
+            docIds[index] = docIds[parent];
+            index = parent;
+        }
+        scores[index] = score;
+        docIds[index] = docId;
+    }
+
+    /**
+     * Moves the entry at {@code index} down until both children of the first {@code length} entries rank
+     * before it.
+     */
+    private void siftDown(int index, int length) {
+        final double score = scores[index];
+        final int docId = docIds[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= length) {
+                break;
+            }
+            if (child + 1 < length && isBetter(scores[child], docIds[child], scores[child + 1], docIds[child + 1])) {
+                ++child;
+            }
+            if (!isBetter(score, docId, scores[child], docIds[child])) {
+                break;
+            }
+            scores[index] = scores[child];
+            docIds[index] = docIds[child];
+            index = child;
+        }
+        scores[index] = score;
+        docIds[index] = docId;
+    }
+
+}
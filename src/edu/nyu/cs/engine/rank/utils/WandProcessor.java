@@ -0,0 +1,53 @@
+package edu.nyu.cs.engine.rank.utils;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code WandProcessor} class evaluates the disjunction of the query terms of a
+ * {@link edu.nyu.cs.engine.rank.utils.QueryScorer} document-at-a-time with the weak-AND dynamic pruning
+ * algorithm, collecting the best scored documents into a {@link edu.nyu.cs.engine.rank.utils.TopKCollector}.
+ * <p>
+ * The postings cursors are kept sorted by their current document id. The pivot is the first cursor at which
+ * the upper bounds of the cursors before it, plus the document-level upper bound of the remaining documents,
+ * exceed the threshold of the collector. No document before the pivot document could enter the results, so when
+ * the first cursor is not on the pivot document a cursor before the pivot is advanced to it, skipping the
+ * documents in between without scoring them. Only when all cursors up to the pivot are on the same document is
+ * the document fully scored. The results are the same as scoring every document which contains any query term.
+ * <p>
+ * Note: {@code WandProcessor} objects are stateless and could be shared.
+ */
+public class WandProcessor implements QueryProcessor {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int process(QueryScorer scorer, TopKCollector collector) {
+        final TermCursors cursors = new TermCursors(scorer, false);
+        int evaluated = 0;
+        while (cursors.size > 0) {
+            final double documentUpperBound = scorer.getDocumentUpperBound(cursors.cursors[0].docId());
+            final int pivot = cursors.findPivot(documentUpperBound, collector.threshold());
+            if (pivot < 0) {
+                // even a document containing every remaining term could not enter the results
+                break;
+            }
+
+            final int pivotDoc = cursors.cursors[pivot].docId();
+            if (cursors.cursors[0].docId() == pivotDoc) {
+                cursors.scoreAndNext(scorer, collector, cursors.lastOnSameDoc(pivot));
+                ++evaluated;
+            } else {
+                // the cursors before the pivot are sorted, so the last one not on the pivot document is skipped
+                int i = pivot - 1;
+                while (cursors.cursors[i].docId() == pivotDoc) {
+                    --i;
+                }
+                cursors.advance(i, pivotDoc);
+            }
+            cursors.trim();
+        }
+        return evaluated;
+    }
+
+}
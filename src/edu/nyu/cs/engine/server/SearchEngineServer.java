@@ -8,9 +8,11 @@ import java.util.logging.Logger;
 
 import com.sun.net.httpserver.HttpServer;
 
+import edu.nyu.cs.engine.exception.IllegalSearchEngineConfigurationException;
 import edu.nyu.cs.engine.index.SearchIndexer;
 import edu.nyu.cs.engine.index.utils.SearchIndexerFactory;
 import edu.nyu.cs.engine.query.SearchQueryHandler;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
 
 /**
  * @author shenli
@@ -91,15 +93,33 @@ public class SearchEngineServer {
                 indexer.construct();
                 return;
             case SERVER: 
+                final long start = System.currentTimeMillis();
                 indexer.load();
+                LOGGER.info("Search indexer loaded in " + (System.currentTimeMillis() - start) + " ms");
                 
                 // Establish the serving environment
                 InetSocketAddress address = new InetSocketAddress(port);
-                HttpServer httpServer = HttpServer.create(address, -1);
-                httpServer.createContext("/", new SearchQueryHandler(indexer));
+                final HttpServer httpServer = HttpServer.create(address, -1);
+                final int cacheCapacity = option.getIntOption(
+                        "query_cache_size", SearchQueryHandler.DEFAULT_CACHE_CAPACITY);
+                if (cacheCapacity < 0) {
+                    throw new IllegalSearchEngineConfigurationException(
+                            "query_cache_size option must not be negative but was " + cacheCapacity);
+                }
+                final RankerOptions rankerOptions = RankerOptions.newInstance(option);
+                httpServer.createContext("/", new SearchQueryHandler(indexer, cacheCapacity, rankerOptions));
                 httpServer.setExecutor(Executors.newCachedThreadPool());
                 httpServer.start();
                 
+                // the ranking pool threads are released once no more search queries are served
+                Runtime.getRuntime().addShutdownHook(new Thread() {
+                    @Override
+                    public void run() {
+                        httpServer.stop(0);
+                        rankerOptions.close();
+                    }
+                });
+                
                 LOGGER.info("Listening on port: " + port);
                 return;
         }
@@ -3,6 +3,7 @@ package edu.nyu.cs.engine.server;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Logger;
@@ -27,6 +28,7 @@ public class ServerOption {
     private final String corpusPath;
     private final String indexPath;
     private final IndexerType indexerType;
+    private final Map<String, String> options;
     private volatile int hashCode;
     
     /**
@@ -36,11 +38,14 @@ public class ServerOption {
      * @param corpusPath the corpus path
      * @param indexPath the index path
      * @param indexerType the indexer type
+     * @param options all key-value options defined in server configuration file
      */
-    private ServerOption(String corpusPath, String indexPath, IndexerType indexerType) {
+    private ServerOption(
+            String corpusPath, String indexPath, IndexerType indexerType, Map<String, String> options) {
         this.corpusPath = corpusPath;
         this.indexPath = indexPath;
         this.indexerType = indexerType;
+        this.options = Collections.unmodifiableMap(options);
     }
 
     /**
@@ -70,6 +75,41 @@ public class ServerOption {
         return indexerType;
     }
     
+    /**
+     * Returns the value of the additional option {@code key}, or {@code defaultValue} if the option is not 
+     * defined in server configuration file.
+     * <p>
+     * @param key the option key
+     * @param defaultValue the value to return if the option is not defined
+     * @return the option value
+     */
+    public String getOption(String key, String defaultValue) {
+        final String value = options.get(key);
+        return value == null ? defaultValue : value;
+    }
+    
+    /**
+     * Returns the integer value of the additional option {@code key}, or {@code defaultValue} if the option is 
+     * not defined in server configuration file.
+     * <p>
+     * @param key the option key
+     * @param defaultValue the value to return if the option is not defined
+     * @return the option integer value
+     * @throws IllegalSearchEngineConfigurationException if the option value is not a valid integer
+     */
+    public int getIntOption(String key, int defaultValue) {
+        final String value = options.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalSearchEngineConfigurationException(
+                    key + " option must be an integer but was " + value);
+        }
+    }
+    
     /**
      * Creates a new instance of the {@code ServerOption} object so that it records search engine server
      * configuration options which are defined in search engine server configuration file.
@@ -114,13 +154,13 @@ public class ServerOption {
                     "indexer_type option miss in server configuration file " + optionsFilePath);
         }
         return new ServerOption(
-                corpusPath, indexPath, IndexerType.valueOf(indexerType.toUpperCase()));
+                corpusPath, indexPath, IndexerType.valueOf(indexerType.toUpperCase()), options);
     }
     
     /**
      * Compares the specified object with this {@code ServerOption} for equality. Returns true if and only if 
      * the specified object is also a {@code ServerOption} object, both objects have the same corpus prefix,
-     * index prefix as well as indexer type.
+     * index prefix, indexer type as well as additional options.
      * <p>
      * This implementation first checks if the specified object is this {@code ServerOption}. If so, it returns 
      * true; if not, it checks if the specified object is a {@code ServerOption} object. If not, it returns 
@@ -142,7 +182,8 @@ public class ServerOption {
         ServerOption so = (ServerOption) o;
         return corpusPath.equals(so.corpusPath)
                 && indexPath.equals(so.indexPath)
-                && indexerType == so.indexerType;
+                && indexerType == so.indexerType
+                && options.equals(so.options);
     }
     
     /**
@@ -159,6 +200,7 @@ public class ServerOption {
             result = result * prime + corpusPath.hashCode();
             result = result * prime + indexPath.hashCode();
             result = result * prime + indexerType.hashCode();
+            result = result * prime + options.hashCode();
             hashCode = result;
         }
         return result;
@@ -0,0 +1,78 @@
+package edu.nyu.cs.engine.index;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.server.TestCorpus;
+
+public class SearchIndexerTest {
+    private static final int NUMBER_OF_TERMS = 100;
+    
+    private String[] documents;
+    private TestCorpus corpus;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        documents = TestCorpus.newRandomDocuments(new Random(19), 500, NUMBER_OF_TERMS);
+        corpus = new TestCorpus(documents);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        corpus.delete();
+    }
+    
+    /**
+     * Returns the number of occurrences of {@code term} in the title and body of the document with specific 
+     * {@code docId}, counted on the corpus text.
+     */
+    private int countTokens(int docId, String term) {
+        final String[] fields = documents[docId].split("\t");
+        int count = 0;
+        for (String field : new String[] { fields[0], fields[1] }) {
+            for (String token : field.split(" ")) {
+                if (token.equals(term)) {
+                    ++count;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.SearchIndexer#getTermFrequencyByDocument(java.lang.String, int)}.
+     */
+    @Test
+    public void testGetTermFrequencyByDocument() throws Exception {
+        for (IndexerType indexerType : IndexerType.values()) {
+            final SearchIndexer indexer = corpus.load(indexerType);
+            for (int docId = 0; docId < documents.length; docId++) {
+                for (int i = 0; i < NUMBER_OF_TERMS; i++) {
+                    final String term = "t" + i;
+                    int expected = countTokens(docId, term);
+                    if (indexerType == IndexerType.INVERTED_DOCONLY) {
+                        expected = Math.min(expected, 1);
+                    }
+                    assertEquals(indexerType + " " + term + " in " + docId, 
+                            expected, indexer.getTermFrequencyByDocument(term, docId));
+                }
+            }
+            assertEquals(0, indexer.getTermFrequencyByDocument("nonexist", 0));
+            assertEquals(0, indexer.getTermFrequencyByDocument("t0", -1));
+            assertEquals(0, indexer.getTermFrequencyByDocument("t0", documents.length));
+        }
+    }
+
+}
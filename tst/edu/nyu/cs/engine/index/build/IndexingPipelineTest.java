@@ -0,0 +1,113 @@
+package edu.nyu.cs.engine.index.build;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IndexingPipelineTest {
+    private static final int NUMBER_OF_LINES = 1000;
+    
+    private File corpus;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        corpus = File.createTempFile("indexing-pipeline-test", ".tsv");
+        FileWriter writer = new FileWriter(corpus);
+        try {
+            for (int i = 0; i < NUMBER_OF_LINES; i++) {
+                writer.write("line" + i + "\n");
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        corpus.delete();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.build.IndexingPipeline#next()}.
+     */
+    @Test
+    public void testNext() throws IOException {
+        IndexingPipeline<DocumentBatch> pipeline = new IndexingPipeline<>(
+                corpus.getPath(), 3, 7, new BatchProcessor<DocumentBatch>() {
+                    @Override
+                    public DocumentBatch process(DocumentBatch batch) {
+                        return batch;
+                    }
+                });
+        try {
+            int docId = 0;
+            DocumentBatch batch = null;
+            while ((batch = pipeline.next()) != null) {
+                assertEquals(docId, batch.getFirstDocId());
+                for (String line : batch.getLines()) {
+                    assertEquals("line" + docId++, line);
+                }
+            }
+            assertEquals(NUMBER_OF_LINES, docId);
+            assertNull(pipeline.next());
+        } finally {
+            pipeline.close();
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.build.IndexingPipeline#next()}.
+     */
+    @Test(expected=IllegalStateException.class)
+    public void testNextWithFailedBatch() throws IOException {
+        IndexingPipeline<DocumentBatch> pipeline = new IndexingPipeline<>(
+                corpus.getPath(), 2, 100, new BatchProcessor<DocumentBatch>() {
+                    @Override
+                    public DocumentBatch process(DocumentBatch batch) {
+                        if (batch.getFirstDocId() == 300) {
+                            throw new IllegalStateException();
+                        }
+                        return batch;
+                    }
+                });
+        try {
+            while (pipeline.next() != null) {
+                
+            }
+        } finally {
+            pipeline.close();
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.build.IndexingPipeline#next()}.
+     */
+    @Test(expected=IOException.class)
+    public void testNextWithNonexistCorpus() throws IOException {
+        IndexingPipeline<DocumentBatch> pipeline = new IndexingPipeline<>(
+                corpus.getPath() + ".nonexist", 2, 100, new BatchProcessor<DocumentBatch>() {
+                    @Override
+                    public DocumentBatch process(DocumentBatch batch) {
+                        return batch;
+                    }
+                });
+        try {
+            pipeline.next();
+        } finally {
+            pipeline.close();
+        }
+    }
+
+}
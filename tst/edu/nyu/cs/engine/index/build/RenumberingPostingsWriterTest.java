@@ -0,0 +1,78 @@
+package edu.nyu.cs.engine.index.build;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.index.io.PostingsWriter;
+import edu.nyu.cs.engine.index.postings.PostingsBuilder;
+
+public class RenumberingPostingsWriterTest {
+    private final List<PostingsBuilder> written = new ArrayList<>();
+    private PostingsWriter collector;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        written.clear();
+        collector = new PostingsWriter() {
+            @Override
+            public void add(PostingsBuilder builder) throws IOException {
+                written.add(builder);
+            }
+
+            @Override
+            public void finish() throws IOException {
+
+            }
+        };
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.build.RenumberingPostingsWriter#add(edu.nyu.cs.engine.index.postings.PostingsBuilder)}.
+     */
+    @Test
+    public void testAddPositional() throws IOException {
+        // doc 0 at [1, 4], doc 2 at [0], doc 3 at [2, 5, 7]
+        final PostingsBuilder builder = new PostingsBuilder(true);
+        builder.add(0, 1);
+        builder.add(0, 4);
+        builder.add(2, 0);
+        builder.add(3, 2);
+        builder.add(3, 5);
+        builder.add(3, 7);
+        new RenumberingPostingsWriter(collector, new int[] { 2, 3, 1, 0 }).add(builder);
+
+        assertEquals(1, written.size());
+        final PostingsBuilder renumbered = written.get(0);
+        assertArrayEquals(new int[] { 0, 1, 2 }, renumbered.getDocIds().toArray());
+        assertArrayEquals(new int[] { 3, 1, 2 }, renumbered.getFrequencies().toArray());
+        assertArrayEquals(new int[] { 2, 5, 7, 0, 1, 4 }, renumbered.getPositions().toArray());
+        assertEquals(6, renumbered.getTotalFrequency());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.build.RenumberingPostingsWriter#add(edu.nyu.cs.engine.index.postings.PostingsBuilder)}.
+     */
+    @Test
+    public void testAddDocumentsOnly() throws IOException {
+        final PostingsBuilder builder = new PostingsBuilder(false);
+        builder.add(1, 0);
+        builder.add(1, 3);
+        builder.add(4, 0);
+        new RenumberingPostingsWriter(collector, new int[] { 0, 4, 1, 2, 3 }).add(builder);
+
+        final PostingsBuilder renumbered = written.get(0);
+        assertArrayEquals(new int[] { 3, 4 }, renumbered.getDocIds().toArray());
+        assertArrayEquals(new int[] { 1, 2 }, renumbered.getFrequencies().toArray());
+        assertNull(renumbered.getPositions());
+    }
+
+}
@@ -0,0 +1,123 @@
+package edu.nyu.cs.engine.index.build;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.index.io.PostingsWriter;
+import edu.nyu.cs.engine.index.io.TermDictionary;
+import edu.nyu.cs.engine.index.io.TermDictionaryBuilder;
+import edu.nyu.cs.engine.index.postings.PostingsBuilder;
+
+public class SpimiInverterTest {
+    private static final String[][] DOCUMENTS = {
+        { "b", "a", "b" }, { "c", "a" }, { "b" }, { "d", "c", "c" }, { "a", "d" }
+    };
+
+    private File runDirectory;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        runDirectory = File.createTempFile("spimi-inverter-test", "");
+        runDirectory.delete();
+        runDirectory.mkdir();
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        runDirectory.delete();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.build.SpimiInverter#finish()}.
+     */
+    @Test
+    public void testFinishInMemory() throws IOException {
+        SpimiInverter inverter = invert(0);
+        try {
+            assertEquals(0, inverter.getNumberOfRuns());
+            assertInverted(inverter);
+        } finally {
+            inverter.close();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.build.SpimiInverter#finish()}.
+     */
+    @Test
+    public void testFinishWithRuns() throws IOException {
+        SpimiInverter inverter = invert(1);
+        try {
+            assertEquals(DOCUMENTS.length, inverter.getNumberOfRuns());
+            assertInverted(inverter);
+        } finally {
+            inverter.close();
+        }
+        assertEquals(0, runDirectory.list().length);
+    }
+
+    /**
+     * Adds each document as one partial index to a new inverter with the memory budget.
+     */
+    private SpimiInverter invert(long memoryBudget) throws IOException {
+        SpimiInverter inverter = new SpimiInverter(true, memoryBudget, runDirectory);
+        for (int docId = 0; docId < DOCUMENTS.length; docId++) {
+            final TermDictionaryBuilder dictionaryBuilder = new TermDictionaryBuilder();
+            final List<PostingsBuilder> builders = new ArrayList<>();
+            for (int position = 0; position < DOCUMENTS[docId].length; position++) {
+                final int termId = dictionaryBuilder.add(DOCUMENTS[docId][position]);
+                if (termId == builders.size()) {
+                    builders.add(new PostingsBuilder(true));
+                }
+                builders.get(termId).add(docId, position);
+            }
+            inverter.add(dictionaryBuilder, builders);
+        }
+        return inverter;
+    }
+
+    /**
+     * Asserts the dictionary, term statistics and postings lists of the inverted documents.
+     */
+    private void assertInverted(SpimiInverter inverter) throws IOException {
+        final TermDictionary dictionary = new TermDictionary(inverter.finish());
+        assertEquals(4, dictionary.size());
+        assertEquals("a", dictionary.getTerm(0));
+        assertEquals("d", dictionary.getTerm(3));
+        assertArrayEquals(new int[] { 3, 3, 3, 2 }, inverter.getTermFrequency());
+        assertArrayEquals(new int[] { 3, 2, 2, 2 }, inverter.getDocumentFrequency());
+
+        final List<PostingsBuilder> postings = new ArrayList<>();
+        inverter.writePostings(new PostingsWriter() {
+            @Override
+            public void add(PostingsBuilder builder) {
+                postings.add(builder);
+            }
+
+            @Override
+            public void finish() {
+            }
+        });
+        assertEquals(4, postings.size());
+        assertArrayEquals(new int[] { 0, 2 }, postings.get(1).getDocIds().toArray());
+        assertArrayEquals(new int[] { 2, 1 }, postings.get(1).getFrequencies().toArray());
+        assertArrayEquals(new int[] { 0, 2, 0 }, postings.get(1).getPositions().toArray());
+        assertArrayEquals(new int[] { 1, 3 }, postings.get(2).getDocIds().toArray());
+        assertArrayEquals(new int[] { 0, 1, 2 }, postings.get(2).getPositions().toArray());
+    }
+
+}
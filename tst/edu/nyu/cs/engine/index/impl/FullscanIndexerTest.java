@@ -0,0 +1,68 @@
+package edu.nyu.cs.engine.index.impl;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.document.FullscanDocument;
+import edu.nyu.cs.engine.document.SearchDocument;
+import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.index.utils.SearchIndexerFactory;
+import edu.nyu.cs.engine.server.TestCorpus;
+
+public class FullscanIndexerTest {
+    private TestCorpus corpus;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        corpus = new TestCorpus(
+                "new york\tnew york city\t10", 
+                "a a\ta b a\t5");
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        corpus.delete();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.impl.FullscanIndexer#getDocument(int)}.
+     */
+    @Test
+    public void testGetDocumentAfterConstruct() throws Exception {
+        final SearchIndexer indexer = SearchIndexerFactory.getSearchIndexer(
+                corpus.newServerOption(IndexerType.FULLSCAN));
+        assertNull(indexer.getDocument(0));
+        indexer.construct();
+        checkDocuments(indexer);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.impl.FullscanIndexer#getDocument(int)}.
+     */
+    @Test
+    public void testGetDocumentAfterLoad() throws Exception {
+        checkDocuments(corpus.load(IndexerType.FULLSCAN));
+    }
+    
+    private void checkDocuments(SearchIndexer indexer) {
+        final SearchDocument document = indexer.getDocument(0);
+        assertTrue(document instanceof FullscanDocument);
+        assertEquals(0, document.getId());
+        assertEquals("new york", document.getTitle());
+        assertEquals(10, document.getNumberOfViews());
+        assertEquals(5, indexer.getDocument(1).getNumberOfViews());
+        assertEquals("a a", indexer.getDocument(1).getTitle());
+        assertNull(indexer.getDocument(2));
+    }
+
+}
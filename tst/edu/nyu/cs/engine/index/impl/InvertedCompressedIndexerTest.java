@@ -0,0 +1,162 @@
+package edu.nyu.cs.engine.index.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.InvertedIndexer;
+import edu.nyu.cs.engine.index.postings.PForDeltaPostingsCursor;
+import edu.nyu.cs.engine.index.postings.PositionalPostingsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
+import edu.nyu.cs.engine.index.postings.VBytePostingsCursor;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.query.SearchQuery;
+import edu.nyu.cs.engine.query.impl.PhraseQuery;
+import edu.nyu.cs.engine.query.impl.WordQuery;
+import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.impl.CosineRanker;
+import edu.nyu.cs.engine.rank.impl.PhraseRanker;
+import edu.nyu.cs.engine.rank.impl.QueryLikelihoodRanker;
+import edu.nyu.cs.engine.rank.utils.QueryProcessorType;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.server.TestCorpus;
+
+public class InvertedCompressedIndexerTest {
+    private static final int NUMBER_OF_TERMS = 300;
+    private static final String[] QUERIES = { 
+        "t0", "t1 t2", "t3 t3 t40", "t7 t150 t151 t9", "t42 nonexist", "t0 t1 t2 t3 t4 t5" 
+    };
+    private static final String[] PHRASE_QUERIES = { "\"t0 t1\"", "\"t0 t0\" t2", "\"t1 t0 t3\"" };
+    
+    private TestCorpus corpus;
+    private InvertedIndexer vbyteIndexer;
+    private InvertedIndexer pforDeltaIndexer;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        // enough documents for the most frequent terms to span many blocks and several skip levels
+        corpus = new TestCorpus(TestCorpus.newRandomDocuments(new Random(29), 20000, NUMBER_OF_TERMS));
+        vbyteIndexer = (InvertedIndexer) corpus.load(IndexerType.INVERTED_COMPRESSED);
+        pforDeltaIndexer = (InvertedIndexer) corpus.load(
+                IndexerType.INVERTED_COMPRESSED, "postings_codec: pfor_delta");
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        corpus.delete();
+    }
+    
+    /**
+     * Checks that both cursors are on the same document with the same positions.
+     */
+    private static void assertSamePosting(String term, PositionalPostingsCursor expected, 
+            PositionalPostingsCursor actual) {
+        assertEquals(term, expected.docId(), actual.docId());
+        if (expected.docId() == PostingsCursor.NO_MORE_DOCS) {
+            return;
+        }
+        assertEquals(term, expected.frequency(), actual.frequency());
+        for (int i = 0; i < expected.frequency(); i++) {
+            assertEquals(term, expected.position(i), actual.position(i));
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.InvertedIndexer#getPositionalPostingsCursor(String)}.
+     */
+    @Test
+    public void testGetPositionalPostingsCursor() {
+        assertTrue(vbyteIndexer.getPositionalPostingsCursor("t0") instanceof VBytePostingsCursor);
+        assertTrue(pforDeltaIndexer.getPositionalPostingsCursor("t0") instanceof PForDeltaPostingsCursor);
+        assertNull(pforDeltaIndexer.getPositionalPostingsCursor("nonexist"));
+        for (int term = 0; term < NUMBER_OF_TERMS; term++) {
+            final PositionalPostingsCursor expected = vbyteIndexer.getPositionalPostingsCursor("t" + term);
+            final PositionalPostingsCursor actual = pforDeltaIndexer.getPositionalPostingsCursor("t" + term);
+            if (expected == null) {
+                assertNull(actual);
+                continue;
+            }
+            assertEquals("t" + term, expected.cost(), actual.cost());
+            do {
+                expected.nextDoc();
+                actual.nextDoc();
+                assertSamePosting("t" + term, expected, actual);
+            } while (expected.docId() != PostingsCursor.NO_MORE_DOCS);
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.PostingsCursor#advance(int)}.
+     */
+    @Test
+    public void testAdvance() {
+        final Random random = new Random(31);
+        for (int term = 0; term < NUMBER_OF_TERMS; term++) {
+            for (int maxGap : new int[] { 4, 300, 5000 }) {
+                final PositionalPostingsCursor expected = vbyteIndexer.getPositionalPostingsCursor("t" + term);
+                final PositionalPostingsCursor actual = pforDeltaIndexer.getPositionalPostingsCursor("t" + term);
+                if (expected == null) {
+                    continue;
+                }
+                int target = 0;
+                do {
+                    // short gaps stay within a block, long ones skip blocks through the skip data
+                    target = Math.max(target, expected.docId() + 1) + random.nextInt(maxGap);
+                    assertEquals("t" + term, expected.advance(target), actual.advance(target));
+                    assertSamePosting("t" + term, expected, actual);
+                } while (expected.docId() != PostingsCursor.NO_MORE_DOCS);
+            }
+        }
+    }
+    
+    /**
+     * Checks that the ranker of each indexer returns the same documents with the same scores.
+     */
+    private static void assertSameResults(SearchQuery query, SearchQuery pforDeltaQuery, SearchRanker expected, 
+            SearchRanker actual) {
+        final List<ScoredDocument> expectedResults = expected.runQuery(query, 100);
+        final List<ScoredDocument> actualResults = actual.runQuery(pforDeltaQuery, 100);
+        assertEquals(query.toString(), expectedResults.size(), actualResults.size());
+        for (int i = 0; i < expectedResults.size(); i++) {
+            assertEquals(query.toString(), expectedResults.get(i).getDocument().getId(), 
+                    actualResults.get(i).getDocument().getId());
+            assertEquals(query.toString(), expectedResults.get(i).getScore(), actualResults.get(i).getScore(), 0.0);
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.SearchRanker#runQuery(SearchQuery, int)}.
+     */
+    @Test
+    public void testRunQuery() throws Exception {
+        for (QueryProcessorType processorType : QueryProcessorType.values()) {
+            final RankerOptions rankerOptions = RankerOptions.newInstance(corpus.newServerOption(
+                    IndexerType.INVERTED_COMPRESSED, "query_processor: " + processorType.name().toLowerCase()));
+            for (String query : QUERIES) {
+                assertSameResults(new WordQuery(query), new WordQuery(query), 
+                        new CosineRanker(vbyteIndexer, rankerOptions), 
+                        new CosineRanker(pforDeltaIndexer, rankerOptions));
+                assertSameResults(new WordQuery(query), new WordQuery(query), 
+                        new QueryLikelihoodRanker(vbyteIndexer, rankerOptions), 
+                        new QueryLikelihoodRanker(pforDeltaIndexer, rankerOptions));
+            }
+        }
+        for (String query : PHRASE_QUERIES) {
+            assertSameResults(new PhraseQuery(query), new PhraseQuery(query), 
+                    new PhraseRanker(vbyteIndexer), new PhraseRanker(pforDeltaIndexer));
+        }
+    }
+
+}
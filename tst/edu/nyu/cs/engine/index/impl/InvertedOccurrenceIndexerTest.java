@@ -0,0 +1,169 @@
+package edu.nyu.cs.engine.index.impl;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.exception.CorruptIndexException;
+import edu.nyu.cs.engine.index.InvertedIndexer;
+import edu.nyu.cs.engine.index.io.IndexSection;
+import edu.nyu.cs.engine.index.postings.PositionalPostingsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.index.utils.SearchIndexerFactory;
+import edu.nyu.cs.engine.server.ServerOption;
+import edu.nyu.cs.engine.server.TestCorpus;
+
+public class InvertedOccurrenceIndexerTest {
+    private TestCorpus corpus;
+    private InvertedIndexer indexer;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        corpus = new TestCorpus(
+                "new york\tnew york city\t10", 
+                "a a\ta b a\t5");
+        indexer = (InvertedIndexer) corpus.load(IndexerType.INVERTED_OCCURRENCE);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        corpus.delete();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.InvertedIndexer#getPositionalPostingsCursor(String)}.
+     */
+    @Test
+    public void testGetPositionalPostingsCursor() {
+        PositionalPostingsCursor cursor = indexer.getPositionalPostingsCursor("york");
+        assertEquals(0, cursor.nextDoc());
+        assertEquals(2, cursor.frequency());
+        assertEquals(1, cursor.position(0));
+        assertEquals(2 + InvertedIndexer.FIELD_POSITION_GAP + 1, cursor.position(1));
+        assertEquals(PostingsCursor.NO_MORE_DOCS, cursor.nextDoc());
+        
+        cursor = indexer.getPositionalPostingsCursor("a");
+        assertEquals(1, cursor.nextDoc());
+        assertEquals(4, cursor.frequency());
+        final int bodyStart = 2 + InvertedIndexer.FIELD_POSITION_GAP;
+        assertArrayEquals(new int[] { 0, 1, bodyStart, bodyStart + 2 }, 
+                new int[] { cursor.position(0), cursor.position(1), cursor.position(2), cursor.position(3) });
+        assertNull(indexer.getPositionalPostingsCursor("nonexist"));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.InvertedIndexer#load()}.
+     */
+    @Test
+    public void testLoad() {
+        assertEquals(2, indexer.getNumberOfDocs());
+        assertEquals(10, indexer.getTotalTermFrequency());
+        assertEquals(4, indexer.getTermFrequency("a"));
+        assertEquals(1, indexer.getDocumentFrequencyByTerm("new"));
+        assertEquals("a a", indexer.getDocument(1).getTitle());
+        assertEquals(10, indexer.getDocument(0).getNumberOfViews());
+        // the gap between the fields does not count as tokens of the document
+        assertEquals(5, indexer.getDocumentValues().length(0));
+        assertEquals(5, indexer.getDocumentValues().length(1));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.InvertedIndexer#construct()}.
+     */
+    @Test
+    public void testConstructWithMalformedCorpus() throws Exception {
+        final String[] documents = TestCorpus.newRandomDocuments(new Random(7), 1000, 50);
+        // the build fails while the documents of the later batches are streamed to the index file
+        documents[900] = "title\tbody\tmany";
+        final TestCorpus malformed = new TestCorpus(documents);
+        try {
+            final ServerOption serverOption = malformed.newServerOption(IndexerType.INVERTED_OCCURRENCE);
+            try {
+                SearchIndexerFactory.getSearchIndexer(serverOption).construct();
+                fail("The build must fail on the malformed document");
+            } catch (NumberFormatException e) {
+                // expected, rather than a failure to close the index file
+            }
+            // no partial index file is left behind to be loaded
+            final File indexFile = new File(serverOption.getIndexPath());
+            assertFalse(indexFile.exists());
+            assertEquals(0, indexFile.getParentFile().listFiles(new FilenameFilter() {
+                @Override
+                public boolean accept(File directory, String name) {
+                    return name.startsWith(indexFile.getName());
+                }
+            }).length);
+        } finally {
+            malformed.delete();
+        }
+    }
+
+    /**
+     * Constructs the index in mmap load mode, which only verifies the checksum of the header, overwrites the int 
+     * at {@code position} of the statistics section with {@code value}, and loads the index again.
+     */
+    private void loadWithStatistic(int position, int value) throws Exception {
+        final ServerOption serverOption = corpus.newServerOption(
+                IndexerType.INVERTED_OCCURRENCE, "index_load_mode: mmap");
+        SearchIndexerFactory.getSearchIndexer(serverOption).construct();
+        final RandomAccessFile raf = new RandomAccessFile(serverOption.getIndexPath(), "rw");
+        try {
+            raf.seek(getSectionOffset(raf, IndexSection.STATISTICS) + position);
+            raf.writeInt(value);
+        } finally {
+            raf.close();
+        }
+        SearchIndexerFactory.getSearchIndexer(serverOption).load();
+    }
+    
+    /**
+     * Returns the offset of the {@code section} recorded in the header of the index file.
+     */
+    private static long getSectionOffset(RandomAccessFile raf, IndexSection section) throws IOException {
+        raf.seek(12);
+        final int numberOfSections = raf.readInt();
+        for (int i = 0; i < numberOfSections; i++) {
+            final int id = raf.readInt();
+            final long offset = raf.readLong();
+            raf.readLong();
+            if (id == section.getId()) {
+                return offset;
+            }
+        }
+        throw new IOException("No such section " + section);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.InvertedIndexer#load()}.
+     */
+    @Test(expected=CorruptIndexException.class)
+    public void testLoadWithMismatchedNumberOfTerms() throws Exception {
+        // number of docs (int), total term frequency (long), number of terms (int)
+        loadWithStatistic(12, 100);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.InvertedIndexer#load()}.
+     */
+    @Test(expected=CorruptIndexException.class)
+    public void testLoadWithInvalidDocumentOrder() throws Exception {
+        // the document order follows the term and document frequencies of a, b, city, new and york
+        loadWithStatistic(16 + 2 * 5 * 4, 42);
+    }
+
+}
@@ -0,0 +1,131 @@
+package edu.nyu.cs.engine.index.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.document.SearchDocument;
+import edu.nyu.cs.engine.index.utils.IndexLoadMode;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+
+public class DocumentTableTest {
+    private File file;
+    private DocumentTable documentTable;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("document-table-test", ".idx");
+        documentTable = writeTable(Arrays.asList(
+                new SearchDocument(0, "first title", "http://a", 0.5f, 10), 
+                new SearchDocument(1, "", "", 0.0f, 0), 
+                new SearchDocument(2, "caf\u00e9", "http://c", 1.5f, 30)));
+    }
+
+    /**
+     * Writes {@code documents} to the documents section of the test file and maps it back.
+     */
+    private DocumentTable writeTable(List<SearchDocument> documents) throws Exception {
+        IndexFileWriter writer = new IndexFileWriter(file.getPath(), IndexerType.INVERTED_DOCONLY);
+        try {
+            writer.beginSection(IndexSection.DICTIONARY);
+            writer.writeByte(1);
+            writer.endSection();
+            writer.beginSection(IndexSection.DOCUMENTS);
+            DocumentTable.write(writer, documents);
+            writer.endSection();
+            writer.finish();
+        } finally {
+            writer.close();
+        }
+        IndexFileReader reader = new IndexFileReader(
+                file.getPath(), IndexerType.INVERTED_DOCONLY, IndexLoadMode.MMAP);
+        try {
+            return new DocumentTable(reader.getSection(IndexSection.DOCUMENTS));
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.DocumentTable#get(int)}.
+     */
+    @Test
+    public void testGet() {
+        assertEquals(3, documentTable.size());
+        SearchDocument document = documentTable.get(2);
+        assertEquals(2, document.getId());
+        assertEquals("caf\u00e9", document.getTitle());
+        assertEquals("http://c", document.getUrl());
+        assertEquals(1.5f, document.getPageRank(), 0.0f);
+        assertEquals(30, document.getNumberOfViews());
+        assertEquals("", documentTable.get(1).getTitle());
+        assertEquals("first title", documentTable.get(0).getTitle());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.DocumentTable#get(int)}.
+     */
+    @Test
+    public void testGetWithNonexistDocument() {
+        assertNull(documentTable.get(-1));
+        assertNull(documentTable.get(3));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.DocumentTable#get(int)}.
+     */
+    @Test
+    public void testGetAcrossBlocks() throws Exception {
+        final int size = DocumentTable.CACHE_SIZE * DocumentTable.BLOCK_SIZE + 5;
+        List<SearchDocument> documents = new ArrayList<>();
+        for (int docId = 0; docId < size; docId++) {
+            documents.add(new SearchDocument(docId, "title " + docId, "http://" + docId, docId * 0.5f, docId));
+        }
+        documentTable = writeTable(documents);
+        assertEquals(size, documentTable.size());
+        // the descending pass evicts the first blocks from the cache before they are read again
+        for (int docId = size - 1; docId >= 0; docId--) {
+            checkDocument(docId, documentTable.get(docId));
+        }
+        for (int docId = 0; docId < size; docId += 7) {
+            checkDocument(docId, documentTable.get(docId));
+        }
+        assertNull(documentTable.get(size));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.DocumentTable#get(int)}.
+     */
+    @Test
+    public void testGetReturnsCopy() {
+        documentTable.get(0).setUrl("http://changed");
+        assertEquals("http://a", documentTable.get(0).getUrl());
+    }
+    
+    private static void checkDocument(int docId, SearchDocument document) {
+        assertEquals(docId, document.getId());
+        assertEquals("title " + docId, document.getTitle());
+        assertEquals("http://" + docId, document.getUrl());
+        assertEquals(docId * 0.5f, document.getPageRank(), 0.0f);
+        assertEquals(docId, document.getNumberOfViews());
+    }
+
+}
@@ -0,0 +1,77 @@
+package edu.nyu.cs.engine.index.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.index.utils.IndexLoadMode;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+
+public class DocumentValuesTest {
+    private File file;
+    private DocumentValues documentValues;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("document-values-test", ".idx");
+        IndexFileWriter writer = new IndexFileWriter(file.getPath(), IndexerType.INVERTED_DOCONLY);
+        try {
+            writer.beginSection(IndexSection.DICTIONARY);
+            writer.writeByte(1);
+            writer.endSection();
+            writer.beginSection(IndexSection.DOCUMENT_VALUES);
+            DocumentValues.write(writer, new int[] { 10, 0, 30 }, new float[] { 0.5f, 0.0f, 1.5f }, 
+                    new int[] { 7, 0, 42 });
+            writer.endSection();
+            writer.finish();
+        } finally {
+            writer.close();
+        }
+        IndexFileReader reader = new IndexFileReader(
+                file.getPath(), IndexerType.INVERTED_DOCONLY, IndexLoadMode.MMAP);
+        try {
+            documentValues = new DocumentValues(reader.getSection(IndexSection.DOCUMENT_VALUES));
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.DocumentValues#DocumentValues(java.nio.ByteBuffer)}.
+     */
+    @Test
+    public void testDocumentValues() {
+        assertEquals(3, documentValues.size());
+        assertEquals(10, documentValues.numberOfViews(0));
+        assertEquals(0, documentValues.numberOfViews(1));
+        assertEquals(30, documentValues.numberOfViews(2));
+        assertEquals(0.5f, documentValues.pageRank(0), 0.0f);
+        assertEquals(1.5f, documentValues.pageRank(2), 0.0f);
+        assertEquals(7, documentValues.length(0));
+        assertEquals(42, documentValues.length(2));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.DocumentValues#DocumentValues(int[], float[], int[])}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testDocumentValuesWithDifferentLengths() {
+        new DocumentValues(new int[2], new float[2], new int[3]);
+    }
+
+}
@@ -0,0 +1,122 @@
+package edu.nyu.cs.engine.index.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.exception.CorruptIndexException;
+import edu.nyu.cs.engine.index.utils.IndexLoadMode;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+
+public class IndexFileReaderTest {
+    private File file;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("index-file-reader-test", ".idx");
+        IndexFileWriter writer = new IndexFileWriter(file.getPath(), IndexerType.INVERTED_DOCONLY);
+        try {
+            writer.beginSection(IndexSection.DICTIONARY);
+            writer.writeInt(2);
+            writer.writeString("hello");
+            writer.writeString("world");
+            writer.endSection();
+            writer.beginSection(IndexSection.POSTINGS);
+            writer.writeByte(7);
+            writer.writeInts(new int[] { 1, 2, 3, 4 }, 1, 3);
+            writer.writeLong(1L << 40);
+            writer.endSection();
+            writer.finish();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.IndexFileReader#getSection(edu.nyu.cs.engine.index.io.IndexSection)}.
+     */
+    @Test
+    public void testGetSection() throws IOException {
+        IndexFileReader reader = new IndexFileReader(file.getPath(), IndexerType.INVERTED_DOCONLY);
+        try {
+            assertTrue(reader.hasSection(IndexSection.DICTIONARY));
+            assertFalse(reader.hasSection(IndexSection.DOCUMENTS));
+            
+            ByteBuffer dictionary = reader.getSection(IndexSection.DICTIONARY);
+            assertEquals(2, dictionary.getInt());
+            assertEquals("hello", IndexFileReader.readString(dictionary));
+            assertEquals("world", IndexFileReader.readString(dictionary));
+            assertFalse(dictionary.hasRemaining());
+            
+            ByteBuffer postings = reader.getSection(IndexSection.POSTINGS);
+            assertEquals(7, postings.get());
+            assertArrayEquals(new int[] { 2, 3, 4 }, IndexFileReader.readInts(postings, 3));
+            assertEquals(1L << 40, postings.getLong());
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.IndexFileReader#getSection(edu.nyu.cs.engine.index.io.IndexSection)}.
+     */
+    @Test
+    public void testGetSectionWithMmapMode() throws IOException {
+        IndexFileReader reader = new IndexFileReader(
+                file.getPath(), IndexerType.INVERTED_DOCONLY, IndexLoadMode.MMAP);
+        ByteBuffer postings = null;
+        try {
+            postings = reader.getSection(IndexSection.POSTINGS);
+        } finally {
+            reader.close();
+        }
+        assertTrue(postings.isDirect());
+        assertEquals(7, postings.get());
+        assertArrayEquals(new int[] { 2, 3, 4 }, IndexFileReader.readInts(postings, 3));
+        assertEquals(1L << 40, postings.getLong());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.IndexFileReader#IndexFileReader(java.lang.String, edu.nyu.cs.engine.index.utils.IndexerType)}.
+     */
+    @Test(expected=CorruptIndexException.class)
+    public void testNewInstanceWithOtherIndexerType() throws IOException {
+        new IndexFileReader(file.getPath(), IndexerType.FULLSCAN).close();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.IndexFileReader#IndexFileReader(java.lang.String, edu.nyu.cs.engine.index.utils.IndexerType)}.
+     */
+    @Test(expected=CorruptIndexException.class)
+    public void testNewInstanceWithCorruptFile() throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(raf.length() - 1);
+            final int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 0xFF);
+        } finally {
+            raf.close();
+        }
+        new IndexFileReader(file.getPath(), IndexerType.INVERTED_DOCONLY).close();
+    }
+
+}
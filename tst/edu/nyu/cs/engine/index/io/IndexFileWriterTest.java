@@ -0,0 +1,157 @@
+package edu.nyu.cs.engine.index.io;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.exception.CorruptIndexException;
+import edu.nyu.cs.engine.index.utils.IndexLoadMode;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+
+public class IndexFileWriterTest {
+    private File file;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        file = File.createTempFile("index-file-writer-test", ".idx");
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        file.delete();
+    }
+
+    /**
+     * Writes a complete index file with a dictionary section of the single {@code term}.
+     */
+    private void writeIndexFile(String term) throws IOException {
+        IndexFileWriter writer = new IndexFileWriter(file.getPath(), IndexerType.INVERTED_DOCONLY);
+        try {
+            writer.beginSection(IndexSection.DICTIONARY);
+            writer.writeString(term);
+            writer.endSection();
+            writer.finish();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.IndexFileWriter#close()}.
+     */
+    @Test
+    public void testCloseWithoutFinish() throws IOException {
+        writeIndexFile("hello");
+        IndexFileWriter writer = new IndexFileWriter(file.getPath(), IndexerType.INVERTED_DOCONLY);
+        try {
+            writer.beginSection(IndexSection.DICTIONARY);
+            writer.writeString("world");
+            writer.endSection();
+            writer.beginSection(IndexSection.POSTINGS);
+            writer.writeBytes(new byte[3 << 20], 0, 3 << 20);
+            // the build fails here, while the postings section is being written
+        } finally {
+            writer.close();
+        }
+        // the partial file is discarded and the previous index file is left untouched
+        assertArrayEquals(new String[] { file.getName() }, file.getParentFile().list(new FilenameFilter() {
+            @Override
+            public boolean accept(File directory, String name) {
+                return name.startsWith(file.getName());
+            }
+        }));
+        IndexFileReader reader = new IndexFileReader(file.getPath(), IndexerType.INVERTED_DOCONLY);
+        try {
+            assertEquals("hello", IndexFileReader.readString(reader.getSection(IndexSection.DICTIONARY)));
+            assertFalse(reader.hasSection(IndexSection.POSTINGS));
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.IndexFileWriter#finish()}.
+     */
+    @Test
+    public void testFinishWithMappedIndexFile() throws IOException {
+        writeIndexFile("hello");
+        IndexFileReader reader = new IndexFileReader(
+                file.getPath(), IndexerType.INVERTED_DOCONLY, IndexLoadMode.MMAP);
+        ByteBuffer dictionary = null;
+        try {
+            dictionary = reader.getSection(IndexSection.DICTIONARY);
+        } finally {
+            reader.close();
+        }
+        // the rebuilt index file replaces the mapped one rather than overwriting it
+        writeIndexFile("world, hello");
+        assertEquals("hello", IndexFileReader.readString(dictionary));
+        reader = new IndexFileReader(file.getPath(), IndexerType.INVERTED_DOCONLY, IndexLoadMode.MMAP);
+        try {
+            assertEquals("world, hello", IndexFileReader.readString(reader.getSection(IndexSection.DICTIONARY)));
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.IndexFileWriter#finish()}.
+     */
+    @Test(expected=IllegalStateException.class)
+    public void testFinishWithUnfinishedSection() throws IOException {
+        IndexFileWriter writer = new IndexFileWriter(file.getPath(), IndexerType.INVERTED_DOCONLY);
+        try {
+            writer.beginSection(IndexSection.DICTIONARY);
+            writer.finish();
+        } finally {
+            writer.close();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.IndexFileWriter#finish()}.
+     */
+    @Test(expected=CorruptIndexException.class)
+    public void testFinishWithCorruptHeader() throws IOException {
+        writeIndexFile("hello");
+        // change the indexer type, which the section table checks cannot catch
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.seek(2 * 4);
+            raf.writeInt(IndexerType.FULLSCAN.ordinal());
+        } finally {
+            raf.close();
+        }
+        new IndexFileReader(file.getPath(), IndexerType.FULLSCAN, IndexLoadMode.MMAP).close();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.IndexFileWriter#finish()}.
+     */
+    @Test(expected=CorruptIndexException.class)
+    public void testFinishWithTruncatedFile() throws IOException {
+        writeIndexFile("hello");
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            raf.setLength(raf.length() - 1);
+        } finally {
+            raf.close();
+        }
+        new IndexFileReader(file.getPath(), IndexerType.INVERTED_DOCONLY, IndexLoadMode.MMAP).close();
+    }
+
+}
@@ -0,0 +1,103 @@
+package edu.nyu.cs.engine.index.io;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TermDictionaryTest {
+    private static final String[] TERMS = { 
+        "search", "engine", "index", "indexer", "indexes", "a", "ab", "abc", "z", "\u00e9t\u00e9", "zz", 
+        "searching", "engines", "b", "ba", "bab", "baba", "babar", "c", "ca", "cab", "d", "query", "queries" };
+    
+    private TermDictionaryBuilder builder;
+    private TermDictionary dictionary;
+    private int[] newTermIds;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        builder = new TermDictionaryBuilder();
+        for (String term : TERMS) {
+            builder.add(term);
+        }
+        assertEquals(0, builder.add(TERMS[0]));
+        newTermIds = builder.sort();
+        dictionary = new TermDictionary(builder.encode());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.TermDictionary#getTerm(int)}.
+     */
+    @Test
+    public void testGetTerm() {
+        assertEquals(TERMS.length, dictionary.size());
+        for (int termId = 0; termId < TERMS.length; termId++) {
+            assertEquals(TERMS[termId], dictionary.getTerm(newTermIds[termId]));
+        }
+        assertEquals("a", dictionary.getTerm(0));
+        assertEquals("\u00e9t\u00e9", dictionary.getTerm(TERMS.length - 1));
+        assertNull(dictionary.getTerm(-1));
+        assertNull(dictionary.getTerm(TERMS.length));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.TermDictionary#getTermId(java.lang.String)}.
+     */
+    @Test
+    public void testGetTermId() {
+        for (int termId = 0; termId < TERMS.length; termId++) {
+            assertEquals(newTermIds[termId], dictionary.getTermId(TERMS[termId]));
+        }
+        assertEquals(-1, dictionary.getTermId(""));
+        assertEquals(-1, dictionary.getTermId("0"));
+        assertEquals(-1, dictionary.getTermId("bb"));
+        assertEquals(-1, dictionary.getTermId("indexe"));
+        assertEquals(-1, dictionary.getTermId("zzz"));
+        assertEquals(-1, dictionary.getTermId("\u00ff"));
+        assertEquals(-1, TermDictionary.EMPTY.getTermId("a"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.TermDictionary#getTermId(byte[], int)}.
+     */
+    @Test
+    public void testGetTermIdWithBytes() {
+        final byte[] bytes = "indexers".getBytes();
+        assertEquals(dictionary.getTermId("index"), dictionary.getTermId(bytes, 5));
+        assertEquals(dictionary.getTermId("indexer"), dictionary.getTermId(bytes, 7));
+        assertEquals(-1, dictionary.getTermId(bytes, 8));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.TermDictionaryBuilder#add(java.lang.CharSequence, int, int)}.
+     */
+    @Test
+    public void testAddWithRange() {
+        final TermDictionaryBuilder rangeBuilder = new TermDictionaryBuilder();
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            text.append("term").append(i % 300).append(' ');
+        }
+        int start = 0;
+        for (int i = 0; i < 1000; i++) {
+            final int end = text.indexOf(" ", start);
+            assertEquals(i % 300, rangeBuilder.add(text, start, end));
+            start = end + 1;
+        }
+        assertEquals(300, rangeBuilder.size());
+        assertEquals("term299", rangeBuilder.getTerm(299));
+        assertEquals(42, rangeBuilder.add("term42"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.io.TermDictionaryBuilder#add(java.lang.String)}.
+     */
+    @Test(expected=IllegalStateException.class)
+    public void testAddAfterSort() {
+        builder.add("new");
+    }
+
+}
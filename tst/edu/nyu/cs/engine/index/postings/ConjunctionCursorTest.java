@@ -0,0 +1,80 @@
+package edu.nyu.cs.engine.index.postings;
+
+import static org.junit.Assert.*;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConjunctionCursorTest {
+    private ConjunctionCursor conjunctionCursor;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        conjunctionCursor = new ConjunctionCursor(Arrays.asList(
+                cursor(1, 3, 5, 7, 9, 11, 13, 15, 17, 19),
+                cursor(2, 3, 4, 9, 15, 16, 19),
+                cursor(0, 3, 9, 10, 19, 20)));
+    }
+    
+    private static PostingsCursor cursor(int... docIds) {
+        return new ArrayPostingsCursor(IntBuffer.wrap(docIds), 0, docIds.length);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.ConjunctionCursor#nextDoc()}.
+     */
+    @Test
+    public void testNextDoc() {
+        assertEquals(-1, conjunctionCursor.docId());
+        assertEquals(3, conjunctionCursor.nextDoc());
+        assertEquals(9, conjunctionCursor.nextDoc());
+        assertEquals(19, conjunctionCursor.nextDoc());
+        assertEquals(PostingsCursor.NO_MORE_DOCS, conjunctionCursor.nextDoc());
+        assertEquals(PostingsCursor.NO_MORE_DOCS, conjunctionCursor.docId());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.ConjunctionCursor#advance(int)}.
+     */
+    @Test
+    public void testAdvance() {
+        assertEquals(9, conjunctionCursor.advance(4));
+        assertEquals(9, conjunctionCursor.advance(9));
+        assertEquals(19, conjunctionCursor.advance(10));
+        assertEquals(PostingsCursor.NO_MORE_DOCS, conjunctionCursor.advance(20));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.ConjunctionCursor#advance(int)}.
+     */
+    @Test
+    public void testAdvanceWithDisjointCursors() {
+        ConjunctionCursor cursor = new ConjunctionCursor(Arrays.asList(cursor(1, 3, 5), cursor(2, 4, 6)));
+        assertEquals(PostingsCursor.NO_MORE_DOCS, cursor.advance(0));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.ConjunctionCursor#getCursor(int)}.
+     */
+    @Test
+    public void testGetCursor() {
+        assertEquals(6, conjunctionCursor.getCursor(0).cost());
+        assertEquals(10, conjunctionCursor.getCursor(2).cost());
+        assertEquals(3, conjunctionCursor.getNumberOfCursors());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.ConjunctionCursor#ConjunctionCursor(java.util.List)}.
+     */
+    @Test(expected=IllegalArgumentException.class)
+    public void testConjunctionCursorWithEmptyCursors() {
+        new ConjunctionCursor(Arrays.<PostingsCursor>asList());
+    }
+
+}
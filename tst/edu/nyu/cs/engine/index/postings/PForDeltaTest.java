@@ -0,0 +1,77 @@
+package edu.nyu.cs.engine.index.postings;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PForDeltaTest {
+    private int[] words;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        words = new int[PForDelta.WORDS_SIZE];
+    }
+    
+    private int[] roundTrip(int[] values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(7);
+        PForDelta.pack(values, values.length, out);
+        byte[] bytes = out.toByteArray();
+        int[] decoded = new int[PForDelta.BLOCK_SIZE];
+        assertEquals(bytes.length, PForDelta.unpack(ByteBuffer.wrap(bytes), 1, decoded, values.length, words));
+        return Arrays.copyOf(decoded, values.length);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.PForDelta#unpack(java.nio.ByteBuffer, int, int[], int, int[])}.
+     */
+    @Test
+    public void testUnpackWithFullBlock() {
+        int[] values = new int[PForDelta.BLOCK_SIZE];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (i * 37) % 13;
+        }
+        assertArrayEquals(values, roundTrip(values));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.PForDelta#unpack(java.nio.ByteBuffer, int, int[], int, int[])}.
+     */
+    @Test
+    public void testUnpackWithExceptions() {
+        int[] values = new int[PForDelta.BLOCK_SIZE];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i % 4;
+        }
+        values[5] = 1000000;
+        values[127] = Integer.MAX_VALUE;
+        assertArrayEquals(values, roundTrip(values));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.PForDelta#unpack(java.nio.ByteBuffer, int, int[], int, int[])}.
+     */
+    @Test
+    public void testUnpackWithPartialBlock() {
+        int[] values = { 0, 0, 0, 9, 0 };
+        assertArrayEquals(values, roundTrip(values));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.PForDelta#unpack(java.nio.ByteBuffer, int, int[], int, int[])}.
+     */
+    @Test
+    public void testUnpackWithZeros() {
+        int[] values = new int[PForDelta.BLOCK_SIZE];
+        assertArrayEquals(values, roundTrip(values));
+    }
+
+}
@@ -0,0 +1,90 @@
+package edu.nyu.cs.engine.index.postings;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SkipListReaderTest {
+    private static final int NUMBER_OF_POSTINGS = 100000;
+
+    private PostingsBuilder builder;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        // doc 3 * i at [i % 5, i % 5 + 1], long enough for three skip levels
+        builder = new PostingsBuilder(true);
+        for (int i = 0; i < NUMBER_OF_POSTINGS; i++) {
+            builder.add(3 * i, i % 5);
+            builder.add(3 * i, i % 5 + 1);
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.SkipListReader#skipTo(int)}.
+     */
+    @Test
+    public void testSkipTo() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new VBytePostingsCodec().encode(builder, out);
+        final SkipListReader skipList = new SkipListReader(ByteBuffer.wrap(out.toByteArray()), 0, NUMBER_OF_POSTINGS);
+        assertEquals(SkipList.getSize(NUMBER_OF_POSTINGS), skipList.getPostingsOffset());
+
+        assertEquals(0, skipList.skipTo(3 * 127));
+        assertEquals(-1, skipList.docId());
+        assertEquals(128, skipList.skipTo(3 * 127 + 1));
+        assertEquals(3 * 127, skipList.docId());
+        assertEquals(128 * 64 * 3, skipList.skipTo(3 * 128 * 64 * 3 + 1));
+        assertEquals(3 * (128 * 64 * 3 - 1), skipList.docId());
+        // never moves backwards
+        assertEquals(128 * 64 * 3, skipList.skipTo(0));
+        assertEquals(128 * (NUMBER_OF_POSTINGS / 128), skipList.skipTo(Integer.MAX_VALUE));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.VBytePostingsCursor#advance(int)}.
+     */
+    @Test
+    public void testAdvanceWithVByte() {
+        checkAdvance(new VBytePostingsCodec());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.PForDeltaPostingsCursor#advance(int)}.
+     */
+    @Test
+    public void testAdvanceWithPForDelta() {
+        checkAdvance(new PForDeltaPostingsCodec());
+    }
+
+    private void checkAdvance(PostingsCodec codec) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(42);
+        codec.encode(builder, out);
+        final ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+
+        final PositionalPostingsCursor cursor = codec.newCursor(buffer, 1, NUMBER_OF_POSTINGS);
+        for (int i = 0; i < NUMBER_OF_POSTINGS; i++) {
+            assertEquals(3 * i, cursor.nextDoc());
+        }
+        assertEquals(PostingsCursor.NO_MORE_DOCS, cursor.nextDoc());
+
+        for (int step : new int[] { 1, 100, 383, 385, 50000, 200000 }) {
+            final PositionalPostingsCursor skipping = codec.newCursor(buffer, 1, NUMBER_OF_POSTINGS);
+            for (int target = 1; target <= 3 * (NUMBER_OF_POSTINGS - 1); target += step) {
+                final int docId = (target + 2) / 3 * 3;
+                assertEquals(docId, skipping.advance(target));
+                assertEquals(2, skipping.frequency());
+                assertEquals(docId / 3 % 5 + 1, skipping.position(1));
+            }
+            assertEquals(PostingsCursor.NO_MORE_DOCS, skipping.advance(3 * NUMBER_OF_POSTINGS));
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package edu.nyu.cs.engine.index.postings;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class VBytePostingsCursorTest {
+    private VBytePostingsCursor cursor;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        // postings: doc 3 at [0, 7], doc 200 at [5], doc 70000 at [1, 2, 300]
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(42);
+        int[] values = { 3, 2, 0, 7, 197, 1, 5, 69800, 3, 1, 1, 298 };
+        for (int value : values) {
+            VByte.write(out, value);
+        }
+        cursor = new VBytePostingsCursor(ByteBuffer.wrap(out.toByteArray()), 1, 3);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.VBytePostingsCursor#nextDoc()}.
+     */
+    @Test
+    public void testNextDoc() {
+        assertEquals(3, cursor.nextDoc());
+        assertEquals(2, cursor.frequency());
+        assertEquals(200, cursor.nextDoc());
+        assertEquals(1, cursor.frequency());
+        assertEquals(70000, cursor.nextDoc());
+        assertEquals(3, cursor.frequency());
+        assertEquals(PostingsCursor.NO_MORE_DOCS, cursor.nextDoc());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.VBytePostingsCursor#advance(int)}.
+     */
+    @Test
+    public void testAdvance() {
+        assertEquals(200, cursor.advance(4));
+        assertEquals(200, cursor.advance(200));
+        assertEquals(5, cursor.position(0));
+        assertEquals(70000, cursor.advance(201));
+        assertEquals(PostingsCursor.NO_MORE_DOCS, cursor.advance(70001));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.VBytePostingsCursor#position(int)}.
+     */
+    @Test
+    public void testPosition() {
+        cursor.nextDoc();
+        assertEquals(0, cursor.position(0));
+        assertEquals(7, cursor.position(1));
+        cursor.nextDoc();
+        cursor.nextDoc();
+        assertEquals(1, cursor.position(0));
+        assertEquals(2, cursor.position(1));
+        assertEquals(300, cursor.position(2));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.VBytePostingsCursor#seekPosition(int, int)}.
+     */
+    @Test
+    public void testSeekPosition() {
+        cursor.advance(70000);
+        assertEquals(1, cursor.seekPosition(0, 2));
+        assertEquals(2, cursor.seekPosition(1, 3));
+        assertEquals(3, cursor.seekPosition(0, 301));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.postings.VByte#write(java.io.ByteArrayOutputStream, int)}.
+     */
+    @Test(expected=IllegalArgumentException.class)
+    public void testWriteWithNegativeValue() {
+        VByte.write(new ByteArrayOutputStream(), -1);
+    }
+
+}
@@ -0,0 +1,77 @@
+package edu.nyu.cs.engine.index.utils;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TokenizerTest {
+    private Tokenizer tokenizer;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        tokenizer = new Tokenizer();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.utils.Tokenizer#next()}.
+     */
+    @Test
+    public void testNext() {
+        final String text = "  foo\tbar \n\u3000baz\u00a0qux ";
+        final List<String> expected = new ArrayList<>();
+        Scanner scanner = new Scanner(text);
+        while (scanner.hasNext()) {
+            expected.add(scanner.next());
+        }
+        scanner.close();
+
+        final List<String> tokens = new ArrayList<>();
+        tokenizer.reset(text);
+        while (tokenizer.next()) {
+            tokens.add(tokenizer.token());
+        }
+        assertEquals(expected, tokens);
+        assertFalse(tokenizer.next());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.utils.Tokenizer#reset(java.lang.CharSequence, int, int)}.
+     */
+    @Test
+    public void testResetWithRange() {
+        final String line = "foo bar\tbaz qux\t3";
+        tokenizer.reset(line, line.indexOf('\t') + 1, line.lastIndexOf('\t'));
+        assertTrue(tokenizer.next());
+        assertEquals(8, tokenizer.start());
+        assertEquals(11, tokenizer.end());
+        assertTrue(tokenizer.next());
+        assertEquals("qux", tokenizer.token());
+        assertFalse(tokenizer.next());
+        assertFalse(tokenizer.reset("   ").next());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.index.utils.Tokenizer#encode()}.
+     */
+    @Test
+    public void testEncode() {
+        final String text = "a\u00e9\u4e2d\ud83d\ude00 \ud800x";
+        tokenizer.reset(text);
+        while (tokenizer.next()) {
+            final byte[] expected = tokenizer.token().getBytes(StandardCharsets.UTF_8);
+            final int length = tokenizer.encode();
+            assertArrayEquals(expected, Arrays.copyOf(tokenizer.bytes(), length));
+        }
+    }
+
+}
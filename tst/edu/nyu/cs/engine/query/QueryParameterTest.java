@@ -213,6 +213,18 @@ public class QueryParameterTest {
         assertFalse(queryParameter.equals(qp4));
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.engine.query.QueryParameter#normalize()}.
+     */
+    @Test
+    public void testNormalize() throws UnsupportedEncodingException {
+        assertSame(queryParameter, queryParameter.normalize());
+        QueryParameter qp = QueryParameter.newInstance(
+                "format=html&ranker=fullscan&query=test%20%20%09sample&numResults=50");
+        assertEquals("test  \tsample", qp.getQuery());
+        assertEquals(queryParameter, qp.normalize());
+    }
+
     /**
      * Test method for {@link edu.nyu.cs.engine.query.QueryParameter#toString()}.
      */
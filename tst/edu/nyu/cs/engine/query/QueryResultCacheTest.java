@@ -0,0 +1,167 @@
+package edu.nyu.cs.engine.query;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryResultCacheTest {
+    private QueryResultCache cache;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        cache = new QueryResultCache(2);
+    }
+    
+    private static QueryParameter newKey(String query) throws Exception {
+        return QueryParameter.newInstance("query=" + query + "&ranker=cosine&format=text&numResults=10");
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.query.QueryResultCache#get(QueryParameter, int)}.
+     */
+    @Test
+    public void testGet() throws Exception {
+        assertNull(cache.get(newKey("a"), 1));
+        assertTrue(cache.put(newKey("a"), "results of a", 1));
+        assertEquals("results of a", cache.get(newKey("a"), 1));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.query.QueryResultCache#get(QueryParameter, int)}.
+     */
+    @Test
+    public void testGetAfterReload() throws Exception {
+        cache.get(newKey("a"), 1);
+        cache.put(newKey("a"), "results of a", 1);
+        assertNull(cache.get(newKey("a"), 2));
+        assertEquals(0, cache.size());
+        
+        // a response computed before the reload must not be cached
+        assertFalse(cache.put(newKey("b"), "results of b", 1));
+        assertTrue(cache.put(newKey("a"), "new results of a", 2));
+        assertEquals("new results of a", cache.get(newKey("a"), 2));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.query.QueryResultCache#put(QueryParameter, String, int)}.
+     */
+    @Test
+    public void testPutAdmitsFrequentQueries() throws Exception {
+        for (String query : new String[] { "a", "b" }) {
+            cache.get(newKey(query), 1);
+            cache.put(newKey(query), "results of " + query, 1);
+        }
+        cache.get(newKey("a"), 1);
+        
+        // a one-off query does not evict the least recently used response
+        cache.get(newKey("c"), 1);
+        assertFalse(cache.put(newKey("c"), "results of c", 1));
+        assertEquals("results of b", cache.get(newKey("b"), 1));
+        
+        // a query requested more often than the least recently used one replaces it
+        for (int i = 0; i < 3; i++) {
+            cache.get(newKey("d"), 1);
+        }
+        assertTrue(cache.put(newKey("d"), "results of d", 1));
+        assertEquals(2, cache.size());
+        assertNull(cache.get(newKey("a"), 1));
+        assertEquals("results of b", cache.get(newKey("b"), 1));
+        assertEquals("results of d", cache.get(newKey("d"), 1));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.query.QueryResultCache#put(QueryParameter, String, int)}.
+     */
+    @Test
+    public void testPutWithZeroCapacity() throws Exception {
+        cache = new QueryResultCache(0);
+        assertFalse(cache.put(newKey("a"), "results of a", 0));
+        assertNull(cache.get(newKey("a"), 0));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.query.QueryResultCache#put(QueryParameter, String, int)}.
+     */
+    @Test
+    public void testPutWithSegments() throws Exception {
+        final int capacity = QueryResultCache.MAX_SEGMENTS * QueryResultCache.MIN_SEGMENT_CAPACITY + 3;
+        cache = new QueryResultCache(capacity);
+        for (int i = 0; i < capacity * 4; i++) {
+            final QueryParameter key = newKey("q" + i);
+            cache.get(key, 0);
+            cache.get(key, 0);
+            cache.put(key, "results of q" + i, 0);
+        }
+        assertTrue(cache.size() > capacity / 2);
+        assertTrue(cache.size() <= capacity);
+        for (int i = capacity * 4 - 1; i >= capacity * 3; i--) {
+            cache.get(newKey("q" + i), 0);
+        }
+        assertEquals(capacity * 9, cache.getHits() + cache.getMisses());
+        assertTrue(cache.getHits() > 0);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.query.QueryResultCache#get(QueryParameter, int)}.
+     */
+    @Test
+    public void testGetConcurrently() throws Exception {
+        final int capacity = QueryResultCache.MAX_SEGMENTS * QueryResultCache.MIN_SEGMENT_CAPACITY;
+        final int numberOfThreads = 4;
+        final int numberOfRequests = 20000;
+        cache = new QueryResultCache(capacity);
+        final QueryParameter[] keys = new QueryParameter[capacity * 2];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = newKey("q" + i);
+        }
+        final AtomicInteger generation = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread[] threads = new Thread[numberOfThreads];
+        for (int t = 0; t < numberOfThreads; t++) {
+            final Random random = new Random(t);
+            final boolean reloading = t == 0;
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < numberOfRequests; i++) {
+                            if (reloading && i == numberOfRequests / 2) {
+                                generation.incrementAndGet();
+                            }
+                            final int current = generation.get();
+                            final QueryParameter key = keys[Math.min(keys.length - 1, 
+                                    (int) (-Math.log(1.0 - random.nextDouble()) * capacity / 4))];
+                            final String response = cache.get(key, current);
+                            if (response == null) {
+                                cache.put(key, key.getQuery() + " " + current, current);
+                            } else if (!response.equals(key.getQuery() + " " + current)) {
+                                throw new AssertionError("Response " + response + " in generation " + current);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertNull(failure.get());
+        assertEquals((long) numberOfThreads * numberOfRequests, cache.getHits() + cache.getMisses());
+        assertTrue(cache.getHits() > 0);
+        assertTrue(cache.size() <= capacity);
+    }
+
+}
@@ -112,6 +112,16 @@ public class PhraseQueryTest {
         assertEquals(phrases, pq.getPhrases());
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.engine.query.impl.PhraseQuery#processQuery()}.
+     */
+    @Test
+    public void testProcessQueryWithBlankPhraseQuery() {
+        PhraseQuery pq = new PhraseQuery("new \"  \" \" \"");
+        pq.processQuery();
+        assertEquals(Arrays.asList(Arrays.asList("new")), pq.getPhrases());
+    }
+
     /**
      * Test method for {@link edu.nyu.cs.engine.query.impl.PhraseQuery#toString()}.
      */
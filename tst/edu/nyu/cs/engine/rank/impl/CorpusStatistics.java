@@ -0,0 +1,237 @@
+package edu.nyu.cs.engine.rank.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.nyu.cs.engine.document.ScoredDocument;
+
+/**
+ * The {@code CorpusStatistics} class counts the terms of the {@code title \t body \t numberOfViews} lines of a 
+ * test corpus by splitting them on spaces, independently of the indexers, so that rankers could be checked 
+ * against brute-force scores of every document. The frequency of a term in a document is either its number of 
+ * occurrences, or 1 as reported by an indexer which does not record term frequencies.
+ */
+class CorpusStatistics {
+    private final List<Map<String, Integer>> termFrequencies = new ArrayList<>();
+    private final int[] lengths;
+    private final int[] numberOfViews;
+    private final Map<String, Integer> documentFrequencies = new HashMap<>();
+    private final Map<String, Integer> collectionFrequencies = new HashMap<>();
+    private long totalTermFrequency = 0;
+
+    CorpusStatistics(String[] documents) {
+        lengths = new int[documents.length];
+        numberOfViews = new int[documents.length];
+        for (int docId = 0; docId < documents.length; docId++) {
+            final String[] fields = documents[docId].split("\t");
+            final Map<String, Integer> frequencies = new HashMap<>();
+            for (String field : new String[] { fields[0], fields[1] }) {
+                for (String token : field.split(" ")) {
+                    frequencies.put(token, frequencies.containsKey(token) ? frequencies.get(token) + 1 : 1);
+                    increment(collectionFrequencies, token);
+                    ++lengths[docId];
+                }
+            }
+            for (String term : frequencies.keySet()) {
+                increment(documentFrequencies, term);
+            }
+            termFrequencies.add(frequencies);
+            numberOfViews[docId] = Integer.parseInt(fields[2]);
+            totalTermFrequency += lengths[docId];
+        }
+    }
+
+    private static void increment(Map<String, Integer> counts, String term) {
+        counts.put(term, counts.containsKey(term) ? counts.get(term) + 1 : 1);
+    }
+
+    int getNumberOfDocs() {
+        return lengths.length;
+    }
+
+    int getLength(int docId) {
+        return lengths[docId];
+    }
+
+    int getNumberOfViews(int docId) {
+        return numberOfViews[docId];
+    }
+
+    long getTotalTermFrequency() {
+        return totalTermFrequency;
+    }
+
+    int getDocumentFrequency(String term) {
+        return documentFrequencies.containsKey(term) ? documentFrequencies.get(term) : 0;
+    }
+
+    int getCollectionFrequency(String term) {
+        return collectionFrequencies.containsKey(term) ? collectionFrequencies.get(term) : 0;
+    }
+
+    /**
+     * Returns the frequency of {@code term} in the document, or 1 if it occurs and {@code binary} is true.
+     */
+    int getTermFrequency(int docId, String term, boolean binary) {
+        final Integer frequency = termFrequencies.get(docId).get(term);
+        return frequency == null ? 0 : binary ? 1 : frequency;
+    }
+
+    /**
+     * Returns whether the document contains any token of {@code query}.
+     */
+    boolean matches(int docId, String query) {
+        for (String token : query.split(" ")) {
+            if (termFrequencies.get(docId).containsKey(token)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double getInverseDocumentFrequency(String term) {
+        final int documentFrequency = getDocumentFrequency(term);
+        return documentFrequency == 0 ? 0.0 : Math.log((double) getNumberOfDocs() / documentFrequency);
+    }
+
+    /**
+     * Returns the tf-idf cosine similarity between {@code query} and every document containing any query token, 
+     * which is 0 if either vector is zero, or {@code null} for the other documents.
+     */
+    Double[] getCosineScores(String query, boolean binary) {
+        final Map<String, Integer> queryTerms = countQueryTerms(query);
+        double squaredQueryNorm = 0.0;
+        for (Map.Entry<String, Integer> entry : queryTerms.entrySet()) {
+            final double weight = entry.getValue() * getInverseDocumentFrequency(entry.getKey());
+            squaredQueryNorm += weight * weight;
+        }
+        final Double[] scores = new Double[getNumberOfDocs()];
+        for (int docId = 0; docId < scores.length; docId++) {
+            if (!matches(docId, query)) {
+                continue;
+            }
+            double squaredNorm = 0.0;
+            for (String term : termFrequencies.get(docId).keySet()) {
+                final double weight = getTermFrequency(docId, term, binary) * getInverseDocumentFrequency(term);
+                squaredNorm += weight * weight;
+            }
+            double dotProduct = 0.0;
+            for (Map.Entry<String, Integer> entry : queryTerms.entrySet()) {
+                final double idf = getInverseDocumentFrequency(entry.getKey());
+                dotProduct += entry.getValue() * idf * getTermFrequency(docId, entry.getKey(), binary) * idf;
+            }
+            scores[docId] = squaredQueryNorm == 0.0 || squaredNorm == 0.0 
+                    ? 0.0 : dotProduct / Math.sqrt(squaredQueryNorm) / Math.sqrt(squaredNorm);
+        }
+        return scores;
+    }
+
+    /**
+     * Returns the id of every document in an index constructed in quality order, where documents are sorted by 
+     * descending number of views and the corpus order breaks ties.
+     */
+    int[] getQualityOrder() {
+        final Integer[] docIds = new Integer[getNumberOfDocs()];
+        for (int docId = 0; docId < docIds.length; docId++) {
+            docIds[docId] = docId;
+        }
+        Arrays.sort(docIds, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return numberOfViews[a] != numberOfViews[b] 
+                        ? Integer.compare(numberOfViews[b], numberOfViews[a]) : Integer.compare(a, b);
+            }
+        });
+        final int[] newDocIds = new int[docIds.length];
+        for (int i = 0; i < docIds.length; i++) {
+            newDocIds[docIds[i]] = i;
+        }
+        return newDocIds;
+    }
+
+    /**
+     * Returns the brute-force {@code scores} indexed by the {@code newDocIds} of the documents.
+     */
+    static Double[] reorder(Double[] scores, int[] newDocIds) {
+        final Double[] reordered = new Double[scores.length];
+        for (int docId = 0; docId < scores.length; docId++) {
+            reordered[newDocIds[docId]] = scores[docId];
+        }
+        return reordered;
+    }
+
+    /**
+     * Checks that the {@code reorderedResults} of an index whose document ids are the {@code newDocIds} of the 
+     * documents rank the same documents with the same scores as the {@code results} of the corpus order index. 
+     * Tied documents are ordered by document id, so only the documents scoring above the last result must match.
+     */
+    static void assertSameResults(String query, List<ScoredDocument> results, List<ScoredDocument> reorderedResults, 
+            int[] newDocIds, double delta) {
+        assertEquals(query, results.size(), reorderedResults.size());
+        if (results.isEmpty()) {
+            return;
+        }
+        final double lastScore = results.get(results.size() - 1).getScore();
+        final Set<Integer> docIds = new HashSet<>();
+        final Set<Integer> reorderedDocIds = new HashSet<>();
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(query, results.get(i).getScore(), reorderedResults.get(i).getScore(), delta);
+            if (results.get(i).getScore() > lastScore + delta) {
+                docIds.add(newDocIds[results.get(i).getDocument().getId()]);
+                reorderedDocIds.add(reorderedResults.get(i).getDocument().getId());
+            }
+        }
+        assertEquals(query, docIds, reorderedDocIds);
+    }
+
+    /**
+     * Returns the number of times each distinct token appears in {@code query}, in order of first appearance.
+     */
+    static Map<String, Integer> countQueryTerms(String query) {
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String token : query.split(" ")) {
+            increment(counts, token);
+        }
+        return counts;
+    }
+
+    /**
+     * Checks that the {@code results} of {@code query} are the best {@code numberOfResults} of the brute-force
+     * {@code scores}, where documents with a {@code null} score must not be ranked: the score of each rank 
+     * matches, which leaves the order of tied documents free, and each ranked document has the score it is 
+     * reported with.
+     */
+    static void assertTopScores(String query, final Double[] scores, int numberOfResults, 
+            List<ScoredDocument> results, double delta) {
+        final List<Integer> candidates = new ArrayList<>();
+        for (int docId = 0; docId < scores.length; docId++) {
+            if (scores[docId] != null) {
+                candidates.add(docId);
+            }
+        }
+        Collections.sort(candidates, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return Double.compare(scores[b], scores[a]);
+            }
+        });
+        assertEquals(query, Math.min(numberOfResults, candidates.size()), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            final int docId = results.get(i).getDocument().getId();
+            assertEquals(query, scores[candidates.get(i)], results.get(i).getScore(), delta);
+            assertTrue(query, scores[docId] != null);
+            assertEquals(query, scores[docId], results.get(i).getScore(), delta);
+        }
+    }
+
+}
@@ -0,0 +1,60 @@
+package edu.nyu.cs.engine.rank.impl;
+
+import org.junit.Test;
+
+import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.query.impl.WordQuery;
+import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.QueryProcessorType;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.server.TestCorpus;
+
+public class CosineRankerTest extends SearchRankerTest {
+
+    public CosineRankerTest() {
+        super(13, 1e-5);
+    }
+
+    @Override
+    protected SearchRanker newRanker(SearchIndexer indexer, RankerOptions rankerOptions) {
+        return new CosineRanker(indexer, rankerOptions);
+    }
+
+    /**
+     * Returns the tf-idf cosine similarity between {@code query} and every document containing any query term.
+     */
+    @Override
+    protected Double[] bruteForce(String query, boolean binary) {
+        return statistics.getCosineScores(query, binary);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.impl.CosineRanker#runQuery(edu.nyu.cs.engine.query.SearchQuery, int)}.
+     */
+    @Test
+    public void testRunQueryWithTermInEveryDocument() throws Exception {
+        final String[] documents = { "common a\tcommon b\t1", "common c\tb\t2", "common\tcommon\t3" };
+        final TestCorpus commonCorpus = new TestCorpus(documents);
+        final CorpusStatistics commonStatistics = new CorpusStatistics(documents);
+        try {
+            for (IndexerType indexerType : INVERTED_INDEXER_TYPES) {
+                final SearchIndexer indexer = commonCorpus.load(indexerType);
+                final boolean binary = indexerType == IndexerType.INVERTED_DOCONLY;
+                for (QueryProcessorType processorType : QueryProcessorType.values()) {
+                    final RankerOptions rankerOptions = RankerOptions.newInstance(commonCorpus.newServerOption(
+                            indexerType, "query_processor: " + processorType.name().toLowerCase()));
+                    final CosineRanker ranker = new CosineRanker(indexer, rankerOptions);
+                    for (String query : new String[] { "common", "common common", "common b", "c common" }) {
+                        final Double[] scores = commonStatistics.getCosineScores(query, binary);
+                        CorpusStatistics.assertTopScores(indexerType + " " + processorType + " " + query, scores, 
+                                10, ranker.runQuery(new WordQuery(query), 10), 1e-5);
+                    }
+                }
+            }
+        } finally {
+            commonCorpus.delete();
+        }
+    }
+
+}
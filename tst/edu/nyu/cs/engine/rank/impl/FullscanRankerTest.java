@@ -0,0 +1,104 @@
+package edu.nyu.cs.engine.rank.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.query.impl.WordQuery;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.server.TestCorpus;
+
+public class FullscanRankerTest {
+    private static final int NUMBER_OF_DOCUMENTS = 3 * 4096 + 1;
+    private static final String[] QUERIES = { "t0", "t7 t42", "t123 t321 t5", "t499", "nonexist", "t3 nonexist" };
+    
+    private String[] documents;
+    private TestCorpus corpus;
+    private SearchIndexer indexer;
+    private RankerOptions rankerOptions;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        documents = TestCorpus.newRandomDocuments(new Random(11), NUMBER_OF_DOCUMENTS, 500);
+        corpus = new TestCorpus(documents);
+        indexer = corpus.load(IndexerType.FULLSCAN);
+        rankerOptions = RankerOptions.newInstance(
+                corpus.newServerOption(IndexerType.FULLSCAN, "ranker_parallelism: 4"));
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        rankerOptions.close();
+        corpus.delete();
+    }
+    
+    /**
+     * Returns the ids of the first {@code numberOfResults} documents ordered by the fullscan score, computed by 
+     * matching the title words of each document against the query words, with ties broken by document id.
+     */
+    private List<Integer> bruteForce(String query, int numberOfResults) {
+        final List<String> queryTokens = Arrays.asList(query.split(" "));
+        final List<Integer> matched = new ArrayList<>();
+        final List<Integer> unmatched = new ArrayList<>();
+        for (int docId = 0; docId < documents.length; docId++) {
+            final String title = documents[docId].substring(0, documents[docId].indexOf('\t'));
+            boolean match = false;
+            for (String token : title.split(" ")) {
+                match |= queryTokens.contains(token);
+            }
+            (match ? matched : unmatched).add(docId);
+        }
+        matched.addAll(unmatched);
+        return matched.subList(0, Math.min(numberOfResults, matched.size()));
+    }
+    
+    /**
+     * Returns the ids of the scored documents.
+     */
+    private static List<Integer> getDocIds(List<ScoredDocument> results) {
+        final List<Integer> docIds = new ArrayList<>();
+        for (ScoredDocument result : results) {
+            docIds.add(result.getDocument().getId());
+        }
+        return docIds;
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.impl.FullscanRanker#runQuery(edu.nyu.cs.engine.query.SearchQuery, int)}.
+     */
+    @Test
+    public void testRunQuery() {
+        assertNotNull(rankerOptions.getRankerPool());
+        for (String query : QUERIES) {
+            for (int numberOfResults : new int[] { 1, 10, 3000, NUMBER_OF_DOCUMENTS + 1 }) {
+                final List<ScoredDocument> sequential = 
+                        new FullscanRanker(indexer).runQuery(new WordQuery(query), numberOfResults);
+                final List<ScoredDocument> parallel = 
+                        new FullscanRanker(indexer, rankerOptions).runQuery(new WordQuery(query), numberOfResults);
+                final List<Integer> expected = bruteForce(query, numberOfResults);
+                assertEquals(query, expected, getDocIds(sequential));
+                assertEquals(query, expected, getDocIds(parallel));
+                for (int i = 0; i < parallel.size(); i++) {
+                    assertEquals(query, sequential.get(i).getScore(), parallel.get(i).getScore(), 0.0);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package edu.nyu.cs.engine.rank.impl;
+
+import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+
+public class LinearRankerTest extends SearchRankerTest {
+
+    public LinearRankerTest() {
+        super(23, 1e-5);
+    }
+
+    @Override
+    protected SearchRanker newRanker(SearchIndexer indexer, RankerOptions rankerOptions) {
+        return new LinearRanker(indexer, rankerOptions);
+    }
+    
+    /**
+     * Returns the linear combination of the tf-idf cosine similarity and the normalized logarithm of the number of 
+     * views of every document containing any query term, or {@code null} for the other documents.
+     */
+    @Override
+    protected Double[] bruteForce(String query, boolean binary) {
+        final Double[] scores = statistics.getCosineScores(query, binary);
+        int maxNumberOfViews = 0;
+        for (int docId = 0; docId < scores.length; docId++) {
+            maxNumberOfViews = Math.max(maxNumberOfViews, statistics.getNumberOfViews(docId));
+        }
+        for (int docId = 0; docId < scores.length; docId++) {
+            if (scores[docId] != null) {
+                scores[docId] = LinearRanker.COSINE_WEIGHT * scores[docId] + LinearRanker.NUMBER_OF_VIEWS_WEIGHT 
+                        * Math.log1p(statistics.getNumberOfViews(docId)) / Math.log1p(maxNumberOfViews);
+            }
+        }
+        return scores;
+    }
+
+}
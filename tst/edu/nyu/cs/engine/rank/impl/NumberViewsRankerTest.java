@@ -0,0 +1,33 @@
+package edu.nyu.cs.engine.rank.impl;
+
+import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+
+public class NumberViewsRankerTest extends SearchRankerTest {
+
+    public NumberViewsRankerTest() {
+        super(19, 0.0);
+    }
+
+    @Override
+    protected SearchRanker newRanker(SearchIndexer indexer, RankerOptions rankerOptions) {
+        return new NumberViewsRanker(indexer, rankerOptions);
+    }
+    
+    /**
+     * Returns the number of views of every document containing any query term, or {@code null} for the other 
+     * documents.
+     */
+    @Override
+    protected Double[] bruteForce(String query, boolean binary) {
+        final Double[] scores = new Double[statistics.getNumberOfDocs()];
+        for (int docId = 0; docId < scores.length; docId++) {
+            if (statistics.matches(docId, query)) {
+                scores[docId] = (double) statistics.getNumberOfViews(docId);
+            }
+        }
+        return scores;
+    }
+
+}
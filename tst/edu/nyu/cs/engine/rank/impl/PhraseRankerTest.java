@@ -0,0 +1,123 @@
+package edu.nyu.cs.engine.rank.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.query.impl.PhraseQuery;
+import edu.nyu.cs.engine.server.TestCorpus;
+
+public class PhraseRankerTest {
+    private static final IndexerType[] POSITIONAL_INDEXER_TYPES = { 
+        IndexerType.INVERTED_OCCURRENCE, IndexerType.INVERTED_COMPRESSED 
+    };
+    
+    private TestCorpus corpus;
+    private SearchIndexer[] indexers;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        corpus = new TestCorpus(
+                "new york\tnew york city is in new york state\t10", 
+                "york\tthe new city of york\t20", 
+                "a a\ta a a\t5", 
+                "city\tlights of the big city\t1", 
+                "new\tyork times\t3");
+        indexers = new SearchIndexer[POSITIONAL_INDEXER_TYPES.length];
+        for (int i = 0; i < indexers.length; i++) {
+            indexers[i] = corpus.load(POSITIONAL_INDEXER_TYPES[i]);
+        }
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        corpus.delete();
+    }
+    
+    /**
+     * Checks that the phrase {@code query} matches the documents {@code docIds} with the phrase occurrence 
+     * counts {@code scores}, best first, over every positional indexer.
+     */
+    private void checkRunQuery(String query, int[] docIds, double[] scores) {
+        for (SearchIndexer indexer : indexers) {
+            final List<ScoredDocument> results = new PhraseRanker(indexer).runQuery(new PhraseQuery(query), 10);
+            assertEquals(query, docIds.length, results.size());
+            for (int i = 0; i < docIds.length; i++) {
+                assertEquals(query, docIds[i], results.get(i).getDocument().getId());
+                assertEquals(query, scores[i], results.get(i).getScore(), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.impl.PhraseRanker#runQuery(SearchQuery, int)}.
+     */
+    @Test
+    public void testRunQueryWithPhrase() {
+        checkRunQuery("\"new york\"", new int[] { 0 }, new double[] { 3 });
+        checkRunQuery("\"new york city\"", new int[] { 0 }, new double[] { 1 });
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.impl.PhraseRanker#runQuery(SearchQuery, int)}.
+     */
+    @Test
+    public void testRunQueryWithRepeatedTerm() {
+        // overlapping occurrences count, but not across the title and the body
+        checkRunQuery("\"a a\"", new int[] { 2 }, new double[] { 3 });
+        checkRunQuery("\"a a a\"", new int[] { 2 }, new double[] { 1 });
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.impl.PhraseRanker#runQuery(SearchQuery, int)}.
+     */
+    @Test
+    public void testRunQueryWithMultiplePhrases() {
+        checkRunQuery("\"new york\" \"york state\"", new int[] { 0 }, new double[] { 4 });
+        checkRunQuery("\"new york\" city", new int[] { 0 }, new double[] { 4 });
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.impl.PhraseRanker#runQuery(SearchQuery, int)}.
+     */
+    @Test
+    public void testRunQueryWithPhraseInSomeDocuments() {
+        checkRunQuery("\"new city\"", new int[] { 1 }, new double[] { 1 });
+        checkRunQuery("city", new int[] { 3, 0, 1 }, new double[] { 2, 1, 1 });
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.impl.PhraseRanker#runQuery(SearchQuery, int)}.
+     */
+    @Test
+    public void testRunQueryWithNoMatch() {
+        checkRunQuery("\"york new\"", new int[0], new double[0]);
+        checkRunQuery("\"new zealand\"", new int[0], new double[0]);
+        checkRunQuery("\"new york\" \"big city\"", new int[0], new double[0]);
+        // the last title token and the first body token are not adjacent
+        checkRunQuery("\"new york times\"", new int[0], new double[0]);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.impl.PhraseRanker#runQuery(SearchQuery, int)}.
+     */
+    @Test(timeout = 10000)
+    public void testRunQueryWithEmptyPhrase() {
+        checkRunQuery("new \"  \"", new int[] { 0, 1, 4 }, new double[] { 3, 1, 1 });
+        checkRunQuery("\" \"", new int[0], new double[0]);
+    }
+
+}
@@ -0,0 +1,52 @@
+package edu.nyu.cs.engine.rank.impl;
+
+import java.util.Map;
+
+import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+
+public class QueryLikelihoodRankerTest extends SearchRankerTest {
+
+    public QueryLikelihoodRankerTest() {
+        super(17, 1e-9);
+    }
+
+    @Override
+    protected SearchRanker newRanker(SearchIndexer indexer, RankerOptions rankerOptions) {
+        return new QueryLikelihoodRanker(indexer, rankerOptions);
+    }
+    
+    /**
+     * Returns the Dirichlet smoothed log likelihood of {@code query} under the language model of every 
+     * document, or {@code null} for the documents containing no query term. Query terms missing from the corpus 
+     * are ignored.
+     */
+    @Override
+    protected Double[] bruteForce(String query, boolean binary) {
+        final double mu = QueryLikelihoodRanker.DIRICHLET_PRIOR;
+        final Map<String, Integer> queryTerms = CorpusStatistics.countQueryTerms(query);
+        final Double[] scores = new Double[statistics.getNumberOfDocs()];
+        for (int docId = 0; docId < scores.length; docId++) {
+            double score = 0.0;
+            boolean matched = false;
+            for (Map.Entry<String, Integer> entry : queryTerms.entrySet()) {
+                final int collectionFrequency = statistics.getCollectionFrequency(entry.getKey());
+                if (collectionFrequency == 0) {
+                    continue;
+                }
+                final int frequency = statistics.getTermFrequency(docId, entry.getKey(), binary);
+                final double collectionProbability = 
+                        (double) collectionFrequency / statistics.getTotalTermFrequency();
+                score += entry.getValue() 
+                        * Math.log((frequency + mu * collectionProbability) / (statistics.getLength(docId) + mu));
+                matched |= frequency > 0;
+            }
+            if (matched) {
+                scores[docId] = score;
+            }
+        }
+        return scores;
+    }
+
+}
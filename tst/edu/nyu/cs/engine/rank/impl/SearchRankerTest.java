@@ -0,0 +1,110 @@
+package edu.nyu.cs.engine.rank.impl;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.query.impl.WordQuery;
+import edu.nyu.cs.engine.rank.SearchRanker;
+import edu.nyu.cs.engine.rank.utils.QueryProcessorType;
+import edu.nyu.cs.engine.rank.utils.RankerOptions;
+import edu.nyu.cs.engine.server.TestCorpus;
+
+/**
+ * The {@code SearchRankerTest} class checks a {@link edu.nyu.cs.engine.rank.SearchRanker} against the 
+ * brute-force scores of every document of a random corpus, over every inverted indexer type and query processor 
+ * type, and checks that an index constructed in quality order returns the same results as one constructed in 
+ * corpus order. Each ranker extends it with its own brute-force scores.
+ */
+public abstract class SearchRankerTest {
+    protected static final IndexerType[] INVERTED_INDEXER_TYPES = { 
+        IndexerType.INVERTED_DOCONLY, IndexerType.INVERTED_OCCURRENCE, IndexerType.INVERTED_COMPRESSED 
+    };
+    protected static final String[] QUERIES = { 
+        "t0", "t1 t2", "t3 t3 t40", "t7 t150 t151 t9", "t42 nonexist", "t0 t1 t2 t3 t4 t5", "nonexist" 
+    };
+    protected static final int NUMBER_OF_DOCS = 2000;
+    protected static final int NUMBER_OF_TERMS = 300;
+    
+    private final long seed;
+    private final double delta;
+    protected TestCorpus corpus;
+    protected CorpusStatistics statistics;
+
+    /**
+     * Initializes the test over the random corpus of specific {@code seed}, where the scores of the ranker may 
+     * differ from the brute-force scores by {@code delta}.
+     */
+    protected SearchRankerTest(long seed, double delta) {
+        this.seed = seed;
+        this.delta = delta;
+    }
+
+    /**
+     * Returns a new instance of the ranker under test.
+     */
+    protected abstract SearchRanker newRanker(SearchIndexer indexer, RankerOptions rankerOptions);
+
+    /**
+     * Returns the brute-force score of {@code query} for every document in corpus order, or {@code null} for 
+     * the documents which must not be ranked. The term frequencies are 1 if {@code binary} is true.
+     */
+    protected abstract Double[] bruteForce(String query, boolean binary);
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        final String[] documents = TestCorpus.newRandomDocuments(new Random(seed), NUMBER_OF_DOCS, NUMBER_OF_TERMS);
+        corpus = new TestCorpus(documents);
+        statistics = new CorpusStatistics(documents);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        corpus.delete();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.SearchRanker#runQuery(edu.nyu.cs.engine.query.SearchQuery, int)}.
+     */
+    @Test
+    public void testRunQuery() throws Exception {
+        final int[] newDocIds = statistics.getQualityOrder();
+        for (IndexerType indexerType : INVERTED_INDEXER_TYPES) {
+            final SearchIndexer indexer = corpus.load(indexerType);
+            final SearchIndexer qualityIndexer = corpus.load(indexerType, "document_order: quality");
+            final boolean binary = indexerType == IndexerType.INVERTED_DOCONLY;
+            for (QueryProcessorType processorType : QueryProcessorType.values()) {
+                final RankerOptions rankerOptions = RankerOptions.newInstance(corpus.newServerOption(
+                        indexerType, "query_processor: " + processorType.name().toLowerCase()));
+                final SearchRanker ranker = newRanker(indexer, rankerOptions);
+                final SearchRanker qualityRanker = newRanker(qualityIndexer, rankerOptions);
+                for (String query : QUERIES) {
+                    final String message = indexerType + " " + processorType + " " + query;
+                    final Double[] scores = bruteForce(query, binary);
+                    for (int numberOfResults : new int[] { 1, 10, 100 }) {
+                        final List<ScoredDocument> results = ranker.runQuery(new WordQuery(query), numberOfResults);
+                        final List<ScoredDocument> qualityResults = 
+                                qualityRanker.runQuery(new WordQuery(query), numberOfResults);
+                        CorpusStatistics.assertTopScores(message, scores, numberOfResults, results, delta);
+                        CorpusStatistics.assertTopScores(message, CorpusStatistics.reorder(scores, newDocIds), 
+                                numberOfResults, qualityResults, delta);
+                        CorpusStatistics.assertSameResults(message, results, qualityResults, newDocIds, 1e-12);
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class BlockMaxWandProcessorTest extends QueryProcessorTest {
+
+    @Override
+    protected QueryProcessor newQueryProcessor() {
+        return new BlockMaxWandProcessor();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.BlockMaxWandProcessor#process(edu.nyu.cs.engine.rank.utils.QueryScorer, edu.nyu.cs.engine.rank.utils.TopKCollector)}.
+     */
+    @Test
+    public void testProcessSkipsDocuments() {
+        final TopKCollector collector = new TopKCollector(10);
+        final int evaluated = new BlockMaxWandProcessor().process(scorer, collector);
+        assertEquals(10, collector.size());
+        assertTrue(evaluated <= new WandProcessor().process(scorer, new TopKCollector(10)));
+    }
+
+}
@@ -0,0 +1,36 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class QueryProcessorFactoryTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.QueryProcessorFactory#getQueryProcessor(edu.nyu.cs.engine.rank.utils.QueryProcessorType)}.
+     */
+    @Test
+    public void testGetQueryProcessorWithWandProcessor() {
+        assertEquals(WandProcessor.class, QueryProcessorFactory.getQueryProcessor(
+                QueryProcessorType.WAND).getClass());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.QueryProcessorFactory#getQueryProcessor(edu.nyu.cs.engine.rank.utils.QueryProcessorType)}.
+     */
+    @Test
+    public void testGetQueryProcessorWithBlockMaxWandProcessor() {
+        assertEquals(BlockMaxWandProcessor.class, QueryProcessorFactory.getQueryProcessor(
+                QueryProcessorType.BLOCK_MAX_WAND).getClass());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.QueryProcessorFactory#getQueryProcessor(edu.nyu.cs.engine.rank.utils.QueryProcessorType)}.
+     */
+    @Test
+    public void testGetQueryProcessorWithMaxScoreProcessor() {
+        assertEquals(MaxScoreProcessor.class, QueryProcessorFactory.getQueryProcessor(
+                QueryProcessorType.MAXSCORE).getClass());
+    }
+
+}
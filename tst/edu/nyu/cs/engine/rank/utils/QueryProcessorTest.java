@@ -0,0 +1,104 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.document.SearchDocument;
+import edu.nyu.cs.engine.index.SearchIndexer;
+
+/**
+ * The {@code QueryProcessorTest} class checks a {@link edu.nyu.cs.engine.rank.utils.QueryProcessor} against the 
+ * exhaustive evaluation of every document over random query scorers. Each query processor type extends it with 
+ * its own checks of how many documents it skips.
+ */
+public abstract class QueryProcessorTest {
+    protected static final int NUMBER_OF_DOCS = 2000;
+    protected static final int NUMBER_OF_TERMS = 4;
+
+    private SearchIndexer searchIndexer;
+    protected RandomQueryScorer scorer;
+
+    /**
+     * Returns a new instance of the query processor under test.
+     */
+    protected abstract QueryProcessor newQueryProcessor();
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        searchIndexer = Mockito.mock(SearchIndexer.class);
+        for (int docId = 0; docId < NUMBER_OF_DOCS; docId++) {
+            Mockito.when(searchIndexer.getDocument(docId)).thenReturn(
+                    new SearchDocument(docId, "title" + docId, "", 0.0f, 0));
+        }
+        scorer = new RandomQueryScorer(new Random(42), NUMBER_OF_TERMS, NUMBER_OF_DOCS);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.QueryProcessor#process(edu.nyu.cs.engine.rank.utils.QueryScorer, edu.nyu.cs.engine.rank.utils.TopKCollector)}.
+     */
+    @Test
+    public void testProcess() {
+        for (int k : new int[] { 0, 1, 10, 100, NUMBER_OF_DOCS }) {
+            checkProcess(scorer, k);
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.QueryProcessor#process(edu.nyu.cs.engine.rank.utils.QueryScorer, edu.nyu.cs.engine.rank.utils.TopKCollector)}.
+     */
+    @Test
+    public void testProcessStopsEarly() {
+        final RandomQueryScorer descending = 
+                new RandomQueryScorer(new Random(42), NUMBER_OF_TERMS, NUMBER_OF_DOCS, true);
+        for (int k : new int[] { 0, 1, 10, 100, NUMBER_OF_DOCS }) {
+            checkProcess(descending, k);
+        }
+        assertTrue(checkProcess(descending, 10) < NUMBER_OF_DOCS / 4);
+    }
+
+    /**
+     * Checks that the query processor collects the same top {@code k} documents as the exhaustive evaluation of 
+     * every document matching a query term, and returns the number of documents it evaluated.
+     */
+    private int checkProcess(RandomQueryScorer scorer, int k) {
+        final TopKCollector expected = new TopKCollector(k);
+        int matches = 0;
+        for (int docId = 0; docId < NUMBER_OF_DOCS; docId++) {
+            boolean match = false;
+            double score = scorer.getDocumentScore(docId);
+            for (int term = 0; term < NUMBER_OF_TERMS; term++) {
+                if (scorer.contains(term, docId)) {
+                    match = true;
+                    score += scorer.score(term, docId, 1);
+                }
+            }
+            if (match) {
+                expected.collect(docId, score);
+                ++matches;
+            }
+        }
+
+        final TopKCollector collector = new TopKCollector(k);
+        final int evaluated = newQueryProcessor().process(scorer, collector);
+        assertTrue(evaluated <= matches);
+        final List<ScoredDocument> expectedResults = expected.getResults(searchIndexer);
+        final List<ScoredDocument> results = collector.getResults(searchIndexer);
+        assertEquals(expectedResults.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(expectedResults.get(i).getDocument().getId(), results.get(i).getDocument().getId());
+            assertEquals(expectedResults.get(i).getScore(), results.get(i).getScore(), 1e-9);
+        }
+        return evaluated;
+    }
+
+}
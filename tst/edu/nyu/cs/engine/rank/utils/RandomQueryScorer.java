@@ -0,0 +1,113 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import edu.nyu.cs.engine.index.postings.ArrayPostingsCursor;
+import edu.nyu.cs.engine.index.postings.BlockBoundsCursor;
+import edu.nyu.cs.engine.index.postings.PostingsCursor;
+
+/**
+ * The {@code RandomQueryScorer} class scores random query terms whose postings lists get sparser and whose 
+ * contributions get larger with the term number, so that the rare terms dominate the results as in real queries.
+ * The document-level scores are either random and negative, or descending with the document id and large enough
+ * to dominate the term contributions, as in an index whose documents are ordered by static quality.
+ */
+class RandomQueryScorer implements QueryScorer {
+    private final double[][] weights;
+    private final double[] documentScores;
+    private final boolean descending;
+
+    RandomQueryScorer(Random random, int numberOfTerms, int numberOfDocs) {
+        this(random, numberOfTerms, numberOfDocs, false);
+    }
+
+    RandomQueryScorer(Random random, int numberOfTerms, int numberOfDocs, boolean descending) {
+        weights = new double[numberOfTerms][numberOfDocs];
+        documentScores = new double[numberOfDocs];
+        for (int term = 0; term < numberOfTerms; term++) {
+            for (int docId = 0; docId < numberOfDocs; docId++) {
+                if (random.nextInt(1 << term) == 0) {
+                    weights[term][docId] = (term + 1) * random.nextDouble() * random.nextDouble() + 0.01;
+                }
+            }
+        }
+        for (int docId = 0; docId < numberOfDocs; docId++) {
+            documentScores[docId] = descending 
+                    ? 10.0 * numberOfTerms * (numberOfDocs - docId) / numberOfDocs : -random.nextDouble();
+        }
+        this.descending = descending;
+    }
+
+    boolean contains(int term, int docId) {
+        return weights[term][docId] > 0.0;
+    }
+
+    private int[] getDocIds(int term) {
+        final IntBuffer docIds = IntBuffer.allocate(weights[term].length);
+        for (int docId = 0; docId < weights[term].length; docId++) {
+            if (contains(term, docId)) {
+                docIds.put(docId);
+            }
+        }
+        return Arrays.copyOf(docIds.array(), docIds.position());
+    }
+
+    @Override
+    public int getNumberOfTerms() {
+        return weights.length;
+    }
+
+    @Override
+    public PostingsCursor newCursor(int term) {
+        final int[] docIds = getDocIds(term);
+        return new ArrayPostingsCursor(IntBuffer.wrap(docIds), 0, docIds.length);
+    }
+
+    @Override
+    public double score(int term, int docId, int frequency) {
+        return weights[term][docId];
+    }
+
+    @Override
+    public double getUpperBound(int term) {
+        double upperBound = 0.0;
+        for (double weight : weights[term]) {
+            upperBound = Math.max(upperBound, weight);
+        }
+        return upperBound;
+    }
+
+    @Override
+    public BlockBoundsCursor newBlockBoundsCursor(int term) {
+        final int[] docIds = getDocIds(term);
+        final ByteBuffer records = ByteBuffer.allocate(docIds.length * BlockBoundsCursor.RECORD_SIZE);
+        for (int start = 0; start < docIds.length; start += BlockBoundsCursor.BLOCK_SIZE) {
+            final int end = Math.min(start + BlockBoundsCursor.BLOCK_SIZE, docIds.length);
+            double maxWeight = 0.0;
+            for (int i = start; i < end; i++) {
+                maxWeight = Math.max(maxWeight, weights[term][docIds[i]]);
+            }
+            records.putInt(docIds[end - 1]).putInt(1).putFloat(Math.nextUp((float) maxWeight));
+        }
+        return new BlockBoundsCursor(records, 0, records.position() / BlockBoundsCursor.RECORD_SIZE);
+    }
+
+    @Override
+    public double getBlockUpperBound(int term, BlockBoundsCursor blocks) {
+        return blocks.maxNormalizedFrequency();
+    }
+
+    @Override
+    public double getDocumentScore(int docId) {
+        return documentScores[docId];
+    }
+
+    @Override
+    public double getDocumentUpperBound(int docId) {
+        return descending ? documentScores[Math.min(docId, documentScores.length - 1)] : 0.0;
+    }
+
+}
@@ -0,0 +1,111 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import edu.nyu.cs.engine.exception.IllegalSearchEngineConfigurationException;
+import edu.nyu.cs.engine.server.ServerOption;
+
+public class RankerOptionsTest {
+    private ServerOption serverOption;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        serverOption = Mockito.mock(ServerOption.class);
+        Mockito.when(serverOption.getOption(Matchers.anyString(), Matchers.anyString())).thenAnswer(
+                new Answer<String>() {
+                    @Override
+                    public String answer(InvocationOnMock invocation) {
+                        return (String) invocation.getArguments()[1];
+                    }
+                });
+        Mockito.when(serverOption.getIntOption("ranker_parallelism", 1)).thenReturn(3);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.RankerOptions#getRankerPool()}.
+     */
+    @Test
+    public void testGetRankerPool() {
+        RankerOptions rankerOptions = RankerOptions.newInstance(serverOption);
+        try {
+            assertEquals(3, rankerOptions.getRankerParallelism());
+            ForkJoinPool pool = rankerOptions.getRankerPool();
+            assertEquals(3, pool.getParallelism());
+            assertSame(pool, rankerOptions.getRankerPool());
+        } finally {
+            rankerOptions.close();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.RankerOptions#getRankerPool()}.
+     */
+    @Test
+    public void testGetRankerPoolWithDefaultOptions() {
+        assertEquals(1, RankerOptions.DEFAULT.getRankerParallelism());
+        assertNull(RankerOptions.DEFAULT.getRankerPool());
+        RankerOptions.DEFAULT.close();
+        assertNull(RankerOptions.DEFAULT.getRankerPool());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.RankerOptions#close()}.
+     */
+    @Test
+    public void testClose() {
+        RankerOptions rankerOptions = RankerOptions.newInstance(serverOption);
+        ForkJoinPool pool = rankerOptions.getRankerPool();
+        rankerOptions.close();
+        assertTrue(pool.isShutdown());
+        try {
+            rankerOptions.getRankerPool();
+            fail("Closed ranker options must not vend a ranking pool");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.RankerOptions#newInstance(edu.nyu.cs.engine.server.ServerOption)}.
+     */
+    @Test(expected=IllegalSearchEngineConfigurationException.class)
+    public void testNewInstanceWithInvalidParallelism() {
+        Mockito.when(serverOption.getIntOption("ranker_parallelism", 1)).thenReturn(0);
+        RankerOptions.newInstance(serverOption);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.RankerOptions#getQueryProcessorType(edu.nyu.cs.engine.rank.utils.RankerType)}.
+     */
+    @Test
+    public void testGetQueryProcessorType() {
+        Mockito.when(serverOption.getOption("query_processor", "BLOCK_MAX_WAND")).thenReturn("wand");
+        Mockito.when(serverOption.getOption("cosine_query_processor", "wand")).thenReturn("maxscore");
+        RankerOptions rankerOptions = RankerOptions.newInstance(serverOption);
+        assertEquals(QueryProcessorType.MAXSCORE, rankerOptions.getQueryProcessorType(RankerType.COSINE));
+        assertEquals(QueryProcessorType.WAND, rankerOptions.getQueryProcessorType(RankerType.LINEAR));
+        assertEquals(QueryProcessorType.BLOCK_MAX_WAND, RankerOptions.DEFAULT.getQueryProcessorType(RankerType.COSINE));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.RankerOptions#newInstance(edu.nyu.cs.engine.server.ServerOption)}.
+     */
+    @Test(expected=IllegalSearchEngineConfigurationException.class)
+    public void testNewInstanceWithInvalidQueryProcessor() {
+        Mockito.when(serverOption.getOption("query_processor", "BLOCK_MAX_WAND")).thenReturn("taat");
+        RankerOptions.newInstance(serverOption);
+    }
+
+}
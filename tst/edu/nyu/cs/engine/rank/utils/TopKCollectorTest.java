@@ -0,0 +1,88 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import edu.nyu.cs.engine.document.ScoredDocument;
+import edu.nyu.cs.engine.document.SearchDocument;
+import edu.nyu.cs.engine.index.SearchIndexer;
+
+public class TopKCollectorTest {
+    private static final int NUMBER_OF_DOCS = 1000;
+
+    private SearchIndexer searchIndexer;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        searchIndexer = Mockito.mock(SearchIndexer.class);
+        for (int docId = 0; docId < NUMBER_OF_DOCS; docId++) {
+            Mockito.when(searchIndexer.getDocument(docId)).thenReturn(
+                    new SearchDocument(docId, "title" + docId, "", 0.0f, 0));
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.TopKCollector#getResults(edu.nyu.cs.engine.index.SearchIndexer)}.
+     */
+    @Test
+    public void testGetResults() {
+        final Random random = new Random(42);
+        final List<ScoredDocument> expected = new ArrayList<>();
+        final TopKCollector collector = new TopKCollector(10);
+        for (int docId = 0; docId < NUMBER_OF_DOCS; docId++) {
+            final double score = random.nextInt(50);
+            expected.add(new ScoredDocument(searchIndexer.getDocument(docId), score));
+            collector.collect(docId, score);
+        }
+        Collections.sort(expected, Collections.reverseOrder());
+
+        final List<ScoredDocument> results = collector.getResults(searchIndexer);
+        assertEquals(10, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(expected.get(i).getScore(), results.get(i).getScore(), 0.0);
+            assertEquals(expected.get(i).getDocument().getId(), results.get(i).getDocument().getId());
+        }
+        assertEquals(0, collector.size());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.TopKCollector#threshold()}.
+     */
+    @Test
+    public void testThreshold() {
+        final TopKCollector collector = new TopKCollector(2);
+        assertEquals(Double.NEGATIVE_INFINITY, collector.threshold(), 0.0);
+        assertTrue(collector.collect(0, 3.0));
+        assertTrue(collector.collect(1, 1.0));
+        assertEquals(1.0, collector.threshold(), 0.0);
+        assertFalse(collector.collect(2, 1.0));
+        assertTrue(collector.collect(3, 2.0));
+        assertEquals(2.0, collector.threshold(), 0.0);
+
+        collector.reset();
+        assertEquals(0, collector.size());
+        assertTrue(collector.getResults(searchIndexer).isEmpty());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.TopKCollector#collect(int, double)}.
+     */
+    @Test
+    public void testCollectWithZeroResults() {
+        final TopKCollector collector = new TopKCollector(0);
+        assertFalse(collector.collect(0, 1.0));
+        assertTrue(collector.getResults(searchIndexer).isEmpty());
+    }
+
+}
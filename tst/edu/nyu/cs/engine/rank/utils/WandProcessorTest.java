@@ -0,0 +1,25 @@
+package edu.nyu.cs.engine.rank.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class WandProcessorTest extends QueryProcessorTest {
+
+    @Override
+    protected QueryProcessor newQueryProcessor() {
+        return new WandProcessor();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.engine.rank.utils.WandProcessor#process(edu.nyu.cs.engine.rank.utils.QueryScorer, edu.nyu.cs.engine.rank.utils.TopKCollector)}.
+     */
+    @Test
+    public void testProcessSkipsDocuments() {
+        final TopKCollector collector = new TopKCollector(10);
+        final int evaluated = new WandProcessor().process(scorer, collector);
+        assertEquals(10, collector.size());
+        assertTrue(evaluated < NUMBER_OF_DOCS * 3 / 4);
+    }
+
+}
@@ -0,0 +1,111 @@
+package edu.nyu.cs.engine.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import edu.nyu.cs.engine.index.SearchIndexer;
+import edu.nyu.cs.engine.index.utils.IndexerType;
+import edu.nyu.cs.engine.index.utils.SearchIndexerFactory;
+
+/**
+ * The {@code TestCorpus} class writes a corpus to a temporary directory, along with a server configuration file
+ * and an index file per search indexer built over it, so that tests could construct and load search indexers of
+ * every type over the same documents. Each document is a {@code title \t body \t numberOfViews} line.
+ */
+public final class TestCorpus {
+    private final File directory;
+    private final File corpus;
+    private int numberOfConfigurations = 0;
+
+    public TestCorpus(String... documents) throws IOException {
+        this.directory = Files.createTempDirectory("test-corpus").toFile();
+        this.corpus = new File(directory, "corpus.tsv");
+        Files.write(corpus.toPath(), Arrays.asList(documents), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns {@code numberOfDocuments} random documents over terms {@code t0} to {@code t<numberOfTerms - 1>},
+     * where the term {@code ti} is picked about {@code 1 / (i + 1)} as often as {@code t0}, as in natural
+     * language.
+     */
+    public static String[] newRandomDocuments(Random random, int numberOfDocuments, int numberOfTerms) {
+        final double[] cumulative = new double[numberOfTerms];
+        double total = 0.0;
+        for (int i = 0; i < numberOfTerms; i++) {
+            total += 1.0 / (i + 1);
+            cumulative[i] = total;
+        }
+        final String[] documents = new String[numberOfDocuments];
+        for (int docId = 0; docId < numberOfDocuments; docId++) {
+            final StringBuilder sb = new StringBuilder();
+            appendTerms(sb, random, cumulative, 1 + random.nextInt(4));
+            sb.append('\t');
+            appendTerms(sb, random, cumulative, 5 + random.nextInt(40));
+            sb.append('\t').append(random.nextInt(1000));
+            documents[docId] = sb.toString();
+        }
+        return documents;
+    }
+
+    private static void appendTerms(StringBuilder sb, Random random, double[] cumulative, int numberOfTokens) {
+        for (int i = 0; i < numberOfTokens; i++) {
+            int term = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            if (term < 0) {
+                term = Math.min(-term - 1, cumulative.length - 1);
+            }
+            sb.append(i == 0 ? "" : " ").append('t').append(term);
+        }
+    }
+
+    /**
+     * Returns the server option of a new configuration of the search indexer of {@code indexerType} over the
+     * corpus, with its own index file and the additional {@code key: value} {@code options}.
+     */
+    public ServerOption newServerOption(IndexerType indexerType, String... options) throws IOException {
+        final int configuration = numberOfConfigurations++;
+        final List<String> lines = new ArrayList<>();
+        lines.add("corpus_path: " + corpus.getPath());
+        lines.add("index_path: " + new File(directory, "index" + configuration + ".idx").getPath());
+        lines.add("indexer_type: " + indexerType.name().toLowerCase());
+        lines.addAll(Arrays.asList(options));
+        final File file = new File(directory, "engine" + configuration + ".conf");
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+        return ServerOption.newInstance(file.getPath());
+    }
+
+    /**
+     * Constructs the search indexer of {@code indexerType} with the additional {@code options} over the corpus,
+     * and returns a new search indexer loaded from the index file.
+     */
+    public SearchIndexer load(IndexerType indexerType, String... options) throws Exception {
+        final ServerOption serverOption = newServerOption(indexerType, options);
+        SearchIndexerFactory.getSearchIndexer(serverOption).construct();
+        final SearchIndexer indexer = SearchIndexerFactory.getSearchIndexer(serverOption);
+        indexer.load();
+        return indexer;
+    }
+
+    /**
+     * Deletes the temporary directory with the corpus and all index files.
+     */
+    public void delete() {
+        delete(directory);
+    }
+
+    private static void delete(File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}